@@ -1,8 +1,16 @@
 package com.edutech.controller;
 
-//Importaciones Modelo y Service
+//Importaciones DTO, Modelo y Service
+import com.edutech.dto.CursoRecomendado;
+import com.edutech.dto.FacetasCatalogo;
+import com.edutech.dto.FiltroCursos;
+import com.edutech.dto.MetricasCache;
+import com.edutech.dto.PrerrequisitosCurso;
 import com.edutech.model.Curso;
+import com.edutech.service.IdempotenciaService;
 import com.edutech.service.CursoService;
+import com.edutech.service.PrerrequisitoService;
+import com.edutech.service.RecomendacionService;
 
 //Importacion dependencias
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +32,12 @@ public class CursoController {
 
     @Autowired
     private CursoService cursoService;
+    @Autowired
+    private IdempotenciaService idempotenciaService;
+    @Autowired
+    private PrerrequisitoService prerrequisitoService;
+    @Autowired
+    private RecomendacionService recomendacionService;
 
     /**
      * Obtener todos los cursos
@@ -48,13 +62,17 @@ public ResponseEntity<Curso> obtenerPorId(@PathVariable Long id) {
      * Crear nuevo curso
      */
     @PostMapping
-    public ResponseEntity<Curso> crearCurso(@RequestBody Curso curso) {
-        try {
-            Curso nuevoCurso = cursoService.crear(curso);
-            return ResponseEntity.status(HttpStatus.CREATED).body(nuevoCurso);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().build();
-        }
+    public ResponseEntity<Curso> crearCurso(
+            @RequestBody Curso curso,
+            @RequestHeader(value = IdempotenciaService.ENCABEZADO, required = false) String claveIdempotencia) {
+        return idempotenciaService.ejecutar(claveIdempotencia, "POST /api/cursos", curso, () -> {
+            try {
+                Curso nuevoCurso = cursoService.crear(curso);
+                return ResponseEntity.status(HttpStatus.CREATED).body(nuevoCurso);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        });
     }
 
     /**
@@ -84,6 +102,33 @@ public ResponseEntity<Void> eliminar(@PathVariable Long id) {
         }
     }
 
+    /**
+     * Catálogo filtrado por modalidad, ciclo y créditos con el conteo de cada faceta;
+     * la página siguiente se pide con despuesDe = siguiente
+     */
+    @GetMapping("/facetas")
+    public ResponseEntity<FacetasCatalogo> obtenerFacetas(FiltroCursos filtro) {
+        try {
+            return ResponseEntity.ok(cursoService.obtenerFacetas(filtro));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Buscar cursos por código, nombre y descripción, ordenados por relevancia
+     */
+    @GetMapping("/buscar")
+    public ResponseEntity<List<Curso>> buscar(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limite) {
+        try {
+            return ResponseEntity.ok(cursoService.buscar(q, limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Buscar cursos por nombre
      */
@@ -140,4 +185,64 @@ public ResponseEntity<Boolean> existePorNombre(@PathVariable String nombre) {
         boolean existe = cursoService.existePorNombre(nombre);
         return ResponseEntity.ok(existe);
     }
-}
\ No newline at end of file
+
+    /**
+     * Métricas de la caché de listados de cursos
+     */
+    @GetMapping("/cache/metricas")
+    public ResponseEntity<MetricasCache> obtenerMetricasCache() {
+        return ResponseEntity.ok(cursoService.obtenerMetricasCache());
+    }
+
+    /**
+     * Prerrequisitos directos y transitivos del curso
+     */
+    @GetMapping("/{id}/prerrequisitos")
+    public ResponseEntity<PrerrequisitosCurso> obtenerPrerrequisitos(@PathVariable Long id) {
+        return ResponseEntity.ok(prerrequisitoService.obtener(id));
+    }
+
+    /**
+     * Agregar un prerrequisito al curso (rechaza duplicados y ciclos)
+     */
+    @PostMapping("/{id}/prerrequisitos/{prerrequisitoId}")
+    public ResponseEntity<PrerrequisitosCurso> agregarPrerrequisito(@PathVariable Long id, @PathVariable Long prerrequisitoId) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(prerrequisitoService.agregar(id, prerrequisitoId));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Quitar un prerrequisito del curso
+     */
+    @DeleteMapping("/{id}/prerrequisitos/{prerrequisitoId}")
+    public ResponseEntity<Void> quitarPrerrequisito(@PathVariable Long id, @PathVariable Long prerrequisitoId) {
+        return prerrequisitoService.quitar(id, prerrequisitoId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Prerrequisitos del curso que el estudiante aún no aprueba
+     */
+    @GetMapping("/{id}/prerrequisitos/faltantes")
+    public ResponseEntity<List<Long>> obtenerPrerrequisitosFaltantes(@PathVariable Long id, @RequestParam Long estudianteId) {
+        return ResponseEntity.ok(prerrequisitoService.faltantesDelEstudiante(estudianteId, id));
+    }
+
+    /**
+     * Cursos más tomados por quienes tomaron el curso
+     */
+    @GetMapping("/{id}/recomendados")
+    public ResponseEntity<List<CursoRecomendado>> obtenerRecomendados(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limite) {
+        try {
+            return ResponseEntity.ok(recomendacionService.recomendadosParaCurso(id, limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -1,11 +1,26 @@
 package com.edutech.controller;
 
 //Importaciones Modelo y Service
+import com.edutech.dto.AsignacionEjecucion;
+import com.edutech.dto.ChoqueSala;
+import com.edutech.dto.DisponibilidadCupos;
+import com.edutech.dto.FiltroEjecuciones;
+import com.edutech.dto.PaginaEjecuciones;
+import com.edutech.dto.PlanificacionPeriodo;
+import com.edutech.dto.ReporteClonacion;
+import com.edutech.dto.SolicitudPlanificacion;
 import com.edutech.model.Ejecucion;
+import com.edutech.model.Inscripcion;
+import com.edutech.model.RetencionCupo;
+import com.edutech.service.BusquedaEjecucionesService;
+import com.edutech.service.ClonacionPeriodoService;
 import com.edutech.service.EjecucionService;
+import com.edutech.service.PlanificacionPeriodoService;
+import com.edutech.service.RetencionCupoService;
 
 //Importacion dependencias
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 
 //Importaciones respuestas HTTP
 import org.springframework.http.HttpStatus;
@@ -15,6 +30,7 @@
 import org.springframework.web.bind.annotation.*;
 
 //Importaciones Java
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -24,6 +40,14 @@ public class EjecucionController {
 
     @Autowired
     private EjecucionService ejecucionService;
+    @Autowired
+    private RetencionCupoService retencionCupoService;
+    @Autowired
+    private PlanificacionPeriodoService planificacionPeriodoService;
+    @Autowired
+    private ClonacionPeriodoService clonacionPeriodoService;
+    @Autowired
+    private BusquedaEjecucionesService busquedaEjecucionesService;
     
     @GetMapping
     public ResponseEntity<List<Ejecucion>> obtenerTodas() {
@@ -38,6 +62,76 @@ public ResponseEntity<Ejecucion> obtenerPorId(@PathVariable Long id) {
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    // Búsqueda con filtros combinables; la página siguiente se pide con despuesDe = siguiente
+    
+    @GetMapping("/buscar")
+    public ResponseEntity<PaginaEjecuciones> buscar(FiltroEjecuciones filtro) {
+        try {
+            return ResponseEntity.ok(busquedaEjecucionesService.buscar(filtro));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Disponibilidad de cupos de varias ejecuciones en una sola llamada (catálogo)
+    
+    @GetMapping("/cupos")
+    public ResponseEntity<List<DisponibilidadCupos>> obtenerDisponibilidad(@RequestParam List<Long> ids) {
+        try {
+            return ResponseEntity.ok(ejecucionService.obtenerDisponibilidad(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Choques de sala: ejecuciones del mismo período en la misma sala con horarios traslapados
+    
+    @GetMapping("/periodos/{periodo}/choques-sala")
+    public ResponseEntity<List<ChoqueSala>> obtenerChoquesSala(@PathVariable String periodo) {
+        return ResponseEntity.ok(ejecucionService.obtenerChoquesSala(periodo));
+    }
+    
+    // Planificación automática de sala, horario y profesor: primero la propuesta, luego aplicarla
+    
+    @PostMapping("/periodos/{periodo}/planificacion")
+    public ResponseEntity<PlanificacionPeriodo> previsualizarPlanificacion(
+            @PathVariable String periodo,
+            @RequestBody SolicitudPlanificacion solicitud) {
+        try {
+            return ResponseEntity.ok(planificacionPeriodoService.previsualizar(periodo, solicitud));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PostMapping("/periodos/{periodo}/planificacion/aplicar")
+    public ResponseEntity<Integer> aplicarPlanificacion(
+            @PathVariable String periodo,
+            @RequestBody List<AsignacionEjecucion> asignaciones) {
+        try {
+            return ResponseEntity.ok(planificacionPeriodoService.aplicar(periodo, asignaciones));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Clonar las ejecuciones de un período en el siguiente (omite secciones ya existentes y choques)
+    
+    @PostMapping("/periodos/{origen}/clonar")
+    public ResponseEntity<ReporteClonacion> clonarPeriodo(
+            @PathVariable String origen,
+            @RequestParam String destino,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaInicio,
+            @RequestParam(defaultValue = "true") boolean conservarProfesores,
+            @RequestParam(defaultValue = "true") boolean conservarSalas) {
+        try {
+            return ResponseEntity.ok(clonacionPeriodoService.clonar(origen, destino, fechaInicio,
+                    conservarProfesores, conservarSalas));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     @PostMapping
     public ResponseEntity<Ejecucion> crear(@RequestBody Ejecucion ejecucion) {
         try {
@@ -67,4 +161,46 @@ public ResponseEntity<Void> eliminar(@PathVariable Long id) {
             return ResponseEntity.badRequest().build();
         }
     }
+    
+    // Retenciones de cupo: el cupo queda apartado por unos minutos hasta confirmar o vencer
+    
+    @PostMapping("/{id}/retenciones")
+    public ResponseEntity<RetencionCupo> retenerCupo(
+            @PathVariable Long id,
+            @RequestParam Long estudianteId,
+            @RequestParam(required = false) Integer minutos) {
+        try {
+            RetencionCupo retencion = retencionCupoService.retener(estudianteId, id, minutos);
+            return ResponseEntity.status(HttpStatus.CREATED).body(retencion);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/retenciones/{retencionId}")
+    public ResponseEntity<RetencionCupo> obtenerRetencion(@PathVariable Long retencionId) {
+        return retencionCupoService.obtenerPorId(retencionId)
+                .map(retencion -> ResponseEntity.ok(retencion))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @PostMapping("/retenciones/{retencionId}/confirmar")
+    public ResponseEntity<Inscripcion> confirmarRetencion(@PathVariable Long retencionId) {
+        try {
+            Inscripcion inscripcion = retencionCupoService.confirmar(retencionId);
+            return ResponseEntity.status(HttpStatus.CREATED).body(inscripcion);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @DeleteMapping("/retenciones/{retencionId}")
+    public ResponseEntity<Void> liberarRetencion(@PathVariable Long retencionId) {
+        try {
+            retencionCupoService.liberar(retencionId);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
@@ -1,9 +1,23 @@
 package com.edutech.controller;
 
 //Importaciones Modelo y Service
+import com.edutech.dto.ChoqueHorario;
+import com.edutech.dto.MetricasAdmision;
+import com.edutech.dto.ReporteCarrito;
+import com.edutech.dto.ReporteInscripcionLote;
+import com.edutech.dto.SolicitudCarrito;
+import com.edutech.dto.SolicitudInscripcion;
+import com.edutech.dto.TicketInscripcion;
 import com.edutech.model.Inscripcion;
+import com.edutech.model.ListaEspera;
 import com.edutech.model.Persona;
+import com.edutech.service.CarritoInscripcionService;
+import com.edutech.service.ChoqueHorarioService;
+import com.edutech.service.ColaAdmisionService;
+import com.edutech.service.IdempotenciaService;
+import com.edutech.service.InscripcionLoteService;
 import com.edutech.service.InscripcionService;
+import com.edutech.service.ListaEsperaService;
 
 //Importacion dependencias
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +30,7 @@
 import org.springframework.web.bind.annotation.*;
 
 //Importaciones Java
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -25,6 +40,18 @@ public class InscripcionController {
 
     @Autowired
     private InscripcionService inscripcionService;
+    @Autowired
+    private ColaAdmisionService colaAdmisionService;
+    @Autowired
+    private InscripcionLoteService inscripcionLoteService;
+    @Autowired
+    private ListaEsperaService listaEsperaService;
+    @Autowired
+    private IdempotenciaService idempotenciaService;
+    @Autowired
+    private CarritoInscripcionService carritoInscripcionService;
+    @Autowired
+    private ChoqueHorarioService choqueHorarioService;
     
     /**
      * Obtener todas las inscripciones
@@ -47,30 +74,151 @@ public ResponseEntity<Inscripcion> obtenerPorId(@PathVariable Long id) {
     
     /**
      * Inscribir estudiante en una ejecución
+     * (en modo admisión responde 202 con un ticket en lugar de inscribir de inmediato)
      */
     @PostMapping("/inscribir")
-    public ResponseEntity<Inscripcion> inscribir(
+    public ResponseEntity<?> inscribir(
+            @RequestParam Long estudianteId,
+            @RequestParam Long ejecucionId,
+            @RequestHeader(value = IdempotenciaService.ENCABEZADO, required = false) String claveIdempotencia) {
+        return idempotenciaService.ejecutar(claveIdempotencia, "POST /api/inscripciones/inscribir",
+                new SolicitudInscripcion(estudianteId, ejecucionId),
+                () -> procesarInscripcion(estudianteId, ejecucionId));
+    }
+    
+    /**
+     * Inscribir un lote de estudiantes (cohortes completas) con reporte por fila
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<ReporteInscripcionLote> inscribirLote(
+            @RequestBody List<SolicitudInscripcion> solicitudes,
+            @RequestHeader(value = IdempotenciaService.ENCABEZADO, required = false) String claveIdempotencia) {
+        return idempotenciaService.ejecutar(claveIdempotencia, "POST /api/inscripciones/lote", solicitudes, () -> {
+            try {
+                ReporteInscripcionLote reporte = inscripcionLoteService.inscribirLote(solicitudes);
+                return ResponseEntity.ok(reporte);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        });
+    }
+    
+    /**
+     * Inscribir al estudiante en varias ejecuciones a la vez (todas o ninguna)
+     */
+    @PostMapping("/carrito")
+    public ResponseEntity<ReporteCarrito> inscribirCarrito(
+            @RequestBody SolicitudCarrito solicitud,
+            @RequestHeader(value = IdempotenciaService.ENCABEZADO, required = false) String claveIdempotencia) {
+        return idempotenciaService.ejecutar(claveIdempotencia, "POST /api/inscripciones/carrito", solicitud, () -> {
+            try {
+                ReporteCarrito reporte = carritoInscripcionService.inscribirCarrito(
+                        solicitud.getEstudianteId(), solicitud.getEjecucionIds());
+                // Si algún ítem fue rechazado no se inscribe ninguno y se informa el motivo de cada uno
+                HttpStatus estado = reporte.isCompletado() ? HttpStatus.CREATED : HttpStatus.CONFLICT;
+                return ResponseEntity.status(estado).body(reporte);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        });
+    }
+    
+    /**
+     * Inscribir estudiante en la lista de espera de una ejecución sin cupos
+     */
+    @PostMapping("/lista-espera")
+    public ResponseEntity<ListaEspera> inscribirEnListaEspera(
             @RequestParam Long estudianteId,
-            @RequestParam Long ejecucionId) {
+            @RequestParam Long ejecucionId,
+            @RequestHeader(value = IdempotenciaService.ENCABEZADO, required = false) String claveIdempotencia) {
+        return idempotenciaService.ejecutar(claveIdempotencia, "POST /api/inscripciones/lista-espera",
+                new SolicitudInscripcion(estudianteId, ejecucionId),
+                () -> {
+                    try {
+                        ListaEspera entrada = listaEsperaService.inscribirEnLista(estudianteId, ejecucionId);
+                        return ResponseEntity.status(HttpStatus.CREATED).body(entrada);
+                    } catch (IllegalArgumentException | IllegalStateException e) {
+                        return ResponseEntity.badRequest().build();
+                    }
+                });
+    }
+    
+    /**
+     * Retirar estudiante de la lista de espera
+     */
+    @DeleteMapping("/lista-espera/estudiante/{estudianteId}/ejecucion/{ejecucionId}")
+    public ResponseEntity<Void> retirarDeListaEspera(
+            @PathVariable Long estudianteId,
+            @PathVariable Long ejecucionId) {
         try {
-            Inscripcion inscripcion = inscripcionService.inscribir(estudianteId, ejecucionId);
-            return ResponseEntity.status(HttpStatus.CREATED).body(inscripcion);
-        } catch (IllegalArgumentException | IllegalStateException e) {
-            return ResponseEntity.badRequest().build();
+            listaEsperaService.retirar(estudianteId, ejecucionId);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
         }
     }
     
+    /**
+     * Obtener la lista de espera de una ejecución
+     */
+    @GetMapping("/lista-espera/ejecucion/{ejecucionId}")
+    public ResponseEntity<List<ListaEspera>> obtenerListaEspera(@PathVariable Long ejecucionId) {
+        return ResponseEntity.ok(listaEsperaService.obtenerPorEjecucion(ejecucionId));
+    }
+    
+    /**
+     * Obtener las listas de espera en que está un estudiante
+     */
+    @GetMapping("/lista-espera/estudiante/{estudianteId}")
+    public ResponseEntity<List<ListaEspera>> obtenerListasEsperaDeEstudiante(@PathVariable Long estudianteId) {
+        return ResponseEntity.ok(listaEsperaService.obtenerPorEstudiante(estudianteId));
+    }
+    
+    /**
+     * Obtener la posición de un estudiante en la lista de espera
+     */
+    @GetMapping("/lista-espera/estudiante/{estudianteId}/ejecucion/{ejecucionId}/posicion")
+    public ResponseEntity<Long> obtenerPosicionListaEspera(
+            @PathVariable Long estudianteId,
+            @PathVariable Long ejecucionId) {
+        return listaEsperaService.obtenerPosicion(estudianteId, ejecucionId)
+                .map(posicion -> ResponseEntity.ok(posicion))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Consultar el estado de un ticket de admisión
+     */
+    @GetMapping("/tickets/{ticketId}")
+    public ResponseEntity<TicketInscripcion> obtenerTicket(@PathVariable String ticketId) {
+        return colaAdmisionService.obtenerTicket(ticketId)
+                .map(ticket -> ResponseEntity.ok(ticket))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Obtener métricas de la cola de admisión
+     */
+    @GetMapping("/admision/metricas")
+    public ResponseEntity<MetricasAdmision> obtenerMetricasAdmision() {
+        return ResponseEntity.ok(colaAdmisionService.obtenerMetricas());
+    }
+    
     /**
      * Crear inscripción con fecha específica
      */
     @PostMapping
-    public ResponseEntity<Inscripcion> crearInscripcion(@RequestBody Inscripcion inscripcion) {
-        try {
-            Inscripcion nuevaInscripcion = inscripcionService.crear(inscripcion);
-            return ResponseEntity.status(HttpStatus.CREATED).body(nuevaInscripcion);
-        } catch (IllegalArgumentException | IllegalStateException e) {
-            return ResponseEntity.badRequest().build();
-        }
+    public ResponseEntity<Inscripcion> crearInscripcion(
+            @RequestBody Inscripcion inscripcion,
+            @RequestHeader(value = IdempotenciaService.ENCABEZADO, required = false) String claveIdempotencia) {
+        return idempotenciaService.ejecutar(claveIdempotencia, "POST /api/inscripciones", inscripcion, () -> {
+            try {
+                Inscripcion nuevaInscripcion = inscripcionService.crear(inscripcion);
+                return ResponseEntity.status(HttpStatus.CREATED).body(nuevaInscripcion);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        });
     }
     
     /**
@@ -146,6 +294,16 @@ public ResponseEntity<List<Inscripcion>> obtenerPasadasDeEstudiante(@PathVariabl
         return ResponseEntity.ok(inscripciones);
     }
     
+    /**
+     * Verificar si las ejecuciones indicadas chocan con el horario actual del estudiante
+     */
+    @GetMapping("/estudiante/{estudianteId}/choques-horario")
+    public ResponseEntity<List<ChoqueHorario>> verificarChoquesHorario(
+            @PathVariable Long estudianteId,
+            @RequestParam List<Long> ejecucionIds) {
+        return ResponseEntity.ok(choqueHorarioService.verificarChoques(estudianteId, ejecucionIds));
+    }
+    
     /**
      * Obtener estudiantes inscritos en una ejecución
      */
@@ -208,4 +366,26 @@ public ResponseEntity<List<Inscripcion>> obtenerUltimas() {
         List<Inscripcion> inscripciones = inscripcionService.obtenerUltimas();
         return ResponseEntity.ok(inscripciones);
     }
-}
\ No newline at end of file
+    
+    // Métodos privados
+    
+    private ResponseEntity<?> procesarInscripcion(Long estudianteId, Long ejecucionId) {
+        if (colaAdmisionService.estaHabilitada()) {
+            return colaAdmisionService.encolar(estudianteId, ejecucionId)
+                    .<ResponseEntity<?>>map(ticket -> ResponseEntity
+                            .accepted()
+                            .location(URI.create("/api/inscripciones/tickets/" + ticket.getId()))
+                            .body(ticket))
+                    .orElse(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .header("Retry-After", "5")
+                            .build());
+        }
+        
+        try {
+            Inscripcion inscripcion = inscripcionService.inscribir(estudianteId, ejecucionId);
+            return ResponseEntity.status(HttpStatus.CREATED).body(inscripcion);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
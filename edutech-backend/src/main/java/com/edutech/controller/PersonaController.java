@@ -1,8 +1,14 @@
 package com.edutech.controller;
 
 //Importaciones Modelo y Service
+import com.edutech.dto.CargaProfesor;
+import com.edutech.dto.CursoRecomendado;
+import com.edutech.dto.PaginaPersonas;
 import com.edutech.model.Persona;
+import com.edutech.service.CargaProfesoresService;
+import com.edutech.service.IdempotenciaService;
 import com.edutech.service.PersonaService;
+import com.edutech.service.RecomendacionService;
 
 //Importacion dependencias
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +30,12 @@ public class PersonaController {
 
     @Autowired
     private PersonaService personaService;
+    @Autowired
+    private IdempotenciaService idempotenciaService;
+    @Autowired
+    private CargaProfesoresService cargaProfesoresService;
+    @Autowired
+    private RecomendacionService recomendacionService;
     
     /**
      * Obtener todas las personas con paginación
@@ -44,6 +56,28 @@ public ResponseEntity<Persona> obtenerPorId(@PathVariable Long id) {
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    /**
+     * Obtener la carga docente de un profesor (horas y horario por período)
+     */
+    @GetMapping("/{id}/carga")
+    public ResponseEntity<CargaProfesor> obtenerCarga(@PathVariable Long id) {
+        return ResponseEntity.ok(cargaProfesoresService.obtenerCarga(id));
+    }
+    
+    /**
+     * Cursos recomendados para la persona según lo que tomaron quienes compartieron cursos con ella
+     */
+    @GetMapping("/{id}/recomendaciones")
+    public ResponseEntity<List<CursoRecomendado>> obtenerRecomendaciones(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limite) {
+        try {
+            return ResponseEntity.ok(recomendacionService.recomendadosParaPersona(id, limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     /**
      * Obtener persona por RUT
      */
@@ -68,13 +102,17 @@ public ResponseEntity<Persona> obtenerPorEmail(@PathVariable String email) {
      * Crear nueva persona
      */
     @PostMapping
-    public ResponseEntity<Persona> crearPersona(@RequestBody Persona persona) {
-        try {
-            Persona nuevaPersona = personaService.crear(persona);
-            return ResponseEntity.status(HttpStatus.CREATED).body(nuevaPersona);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().build();
-        }
+    public ResponseEntity<Persona> crearPersona(
+            @RequestBody Persona persona,
+            @RequestHeader(value = IdempotenciaService.ENCABEZADO, required = false) String claveIdempotencia) {
+        return idempotenciaService.ejecutar(claveIdempotencia, "POST /api/personas", persona, () -> {
+            try {
+                Persona nuevaPersona = personaService.crear(persona);
+                return ResponseEntity.status(HttpStatus.CREATED).body(nuevaPersona);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        });
     }
     
     /**
@@ -104,6 +142,21 @@ public ResponseEntity<Void> eliminar(@PathVariable Long id) {
         }
     }
     
+    /**
+     * Buscar personas por nombre, apellido, correo o RUT con paginación, de la más a la menos parecida
+     */
+    @GetMapping("/buscar")
+    public ResponseEntity<PaginaPersonas> buscar(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(defaultValue = "20") int tamano) {
+        try {
+            return ResponseEntity.ok(personaService.buscar(q, pagina, tamano));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     /**
      * Buscar personas por nombre o apellido
      */
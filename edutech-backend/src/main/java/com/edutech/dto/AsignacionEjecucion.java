@@ -0,0 +1,21 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sala, horario y profesor propuestos (o por aplicar) para una ejecución.
+ * capacidadSala es la capacidad de la sala indicada; aplicar la exige cuando hay sala.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AsignacionEjecucion {
+    private Long ejecucionId;
+    private String sala;
+    private Integer capacidadSala;
+    private String horario;
+    private Long profesorId;
+}
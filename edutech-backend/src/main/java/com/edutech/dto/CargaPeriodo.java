@@ -0,0 +1,23 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Java
+import java.util.List;
+
+/**
+ * Carga docente de un profesor en un período
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CargaPeriodo {
+    private String periodo;
+    private int ejecuciones;
+    private int horas;
+    private int minutosSemanales;
+    private List<String> horario;
+}
@@ -0,0 +1,22 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Java
+import java.util.List;
+
+/**
+ * Carga docente de un profesor: totales y detalle por período
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CargaProfesor {
+    private Long profesorId;
+    private int ejecuciones;
+    private int horas;
+    private List<CargaPeriodo> periodos;
+}
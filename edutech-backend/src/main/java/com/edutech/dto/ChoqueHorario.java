@@ -0,0 +1,22 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Java
+import java.util.List;
+
+/**
+ * Resultado de verificar si una ejecución choca con el horario actual de un estudiante
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChoqueHorario {
+    private Long ejecucionId;
+    private boolean choca;
+    private List<Long> ejecucionesEnConflicto;
+    private List<String> horario;
+}
@@ -0,0 +1,23 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Java
+import java.util.List;
+
+/**
+ * Dos ejecuciones del mismo período asignadas a la misma sala en franjas que se traslapan
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChoqueSala {
+    private String periodo;
+    private String sala;
+    private Long ejecucionId;
+    private Long otraEjecucionId;
+    private List<String> franjas;
+}
@@ -0,0 +1,21 @@
+package com.edutech.dto;
+
+//Importaciones del model
+import com.edutech.model.Curso;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Curso recomendado por co-inscripción, con su puntaje de similitud y personas en común
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursoRecomendado {
+    private Curso curso;
+    private double puntaje;
+    private int coinscritos;
+}
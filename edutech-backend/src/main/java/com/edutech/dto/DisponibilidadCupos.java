@@ -0,0 +1,20 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cupos de una ejecución según la vista en memoria de DisponibilidadCuposService
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DisponibilidadCupos {
+    private Long ejecucionId;
+    private int capacidadMaxima;
+    private int inscritos;
+    private int cuposDisponibles;
+    private boolean disponible;
+}
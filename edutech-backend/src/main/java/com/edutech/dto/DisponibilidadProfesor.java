@@ -0,0 +1,18 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Profesor que la planificación puede asignar, con el horario en que puede dictar
+ * con el formato de Ejecucion.horario, por ejemplo "Lun, Mar y Mie 08:00-14:00". Vacío = sin restricción.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DisponibilidadProfesor {
+    private Long profesorId;
+    private String disponibilidad;
+}
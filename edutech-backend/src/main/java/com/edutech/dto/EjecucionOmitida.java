@@ -0,0 +1,17 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ejecución del período de origen que no se clonó, con el motivo
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EjecucionOmitida {
+    private Long ejecucionId;
+    private String motivo;
+}
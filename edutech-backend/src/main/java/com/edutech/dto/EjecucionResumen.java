@@ -0,0 +1,34 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Java
+import java.time.LocalDate;
+
+/**
+ * Datos de una ejecución para listados de búsqueda (sin entidades anidadas)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EjecucionResumen {
+    private Long id;
+    private Long cursoId;
+    private String cursoCodigo;
+    private String cursoNombre;
+    private String modalidad;
+    private String periodo;
+    private String seccion;
+    private LocalDate fechaInicio;
+    private LocalDate fechaFin;
+    private String horario;
+    private String sala;
+    private int capacidadMaxima;
+    private int cuposDisponibles;
+    private String estado;
+    private Long profesorId;
+    private String profesorNombre;
+}
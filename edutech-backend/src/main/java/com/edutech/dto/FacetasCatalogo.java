@@ -0,0 +1,28 @@
+package com.edutech.dto;
+
+//Importaciones del model
+import com.edutech.model.Curso;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Java
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Página del catálogo filtrado, total de cursos que cumplen y conteo por valor de cada faceta
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetasCatalogo {
+    private List<Curso> cursos;
+    private Long siguiente;
+    private int total;
+    private Map<String, Integer> modalidades;
+    private Map<String, Integer> ciclos;
+    private Map<Integer, Integer> creditos;
+}
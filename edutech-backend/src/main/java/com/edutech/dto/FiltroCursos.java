@@ -0,0 +1,24 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Java
+import java.util.List;
+
+/**
+ * Filtros de la navegación por facetas del catálogo (todos opcionales) y su paginación por clave
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FiltroCursos {
+    private List<String> modalidad;
+    private List<String> ciclo;
+    private Integer creditosMin;
+    private Integer creditosMax;
+    private Long despuesDe;
+    private Integer limite;
+}
@@ -0,0 +1,34 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Spring
+import org.springframework.format.annotation.DateTimeFormat;
+
+//Importaciones Java
+import java.time.LocalDate;
+
+/**
+ * Filtros combinables de la búsqueda de ejecuciones (todos opcionales) y su paginación por clave
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FiltroEjecuciones {
+    private Long cursoId;
+    private String periodo;
+    private String estado;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate desde;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate hasta;
+    private Integer cuposMinimos;
+    private Long profesorId;
+    private String modalidad;
+    private String dia;
+    private Long despuesDe;
+    private Integer limite;
+}
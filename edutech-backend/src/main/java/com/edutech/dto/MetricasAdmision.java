@@ -0,0 +1,28 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Java
+import java.util.Map;
+
+/**
+ * Métricas de la cola de admisión de inscripciones
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricasAdmision {
+    private boolean habilitada;
+    private int trabajadores;
+    private int capacidadPorEjecucion;
+    private long pendientes;
+    private Map<Long, Integer> pendientesPorEjecucion;
+    private long encolados;
+    private long procesados;
+    private long rechazadosPorColaLlena;
+    private double esperaPromedioMs;
+    private long esperaMaximaMs;
+}
@@ -0,0 +1,23 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Métricas de la caché de consultas del catálogo de cursos
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricasCache {
+    private int entradas;
+    private int maximoEntradas;
+    private long ttlSegundos;
+    private long aciertos;
+    private long fallos;
+    private long expulsiones;
+    private long invalidaciones;
+    private double tasaAciertos;
+}
@@ -0,0 +1,20 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Java
+import java.util.List;
+
+/**
+ * Página de la búsqueda de ejecuciones; siguiente es el valor de despuesDe para la próxima (null si no hay más)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaEjecuciones {
+    private List<EjecucionResumen> ejecuciones;
+    private Long siguiente;
+}
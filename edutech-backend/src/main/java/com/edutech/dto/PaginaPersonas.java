@@ -0,0 +1,25 @@
+package com.edutech.dto;
+
+//Importaciones del model
+import com.edutech.model.Persona;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Java
+import java.util.List;
+
+/**
+ * Página de la búsqueda de personas, por relevancia; total es la cantidad de coincidencias
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaPersonas {
+    private List<Persona> personas;
+    private int total;
+    private int pagina;
+    private int tamano;
+}
@@ -0,0 +1,25 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Java
+import java.util.List;
+
+/**
+ * Propuesta de planificación de un período (no se guarda hasta aplicarla)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanificacionPeriodo {
+    private String periodo;
+    private int total;
+    private int asignadas;
+    private List<Long> sinAsignar;
+    private boolean tiempoAgotado;
+    private long milisegundos;
+    private List<AsignacionEjecucion> asignaciones;
+}
@@ -0,0 +1,21 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Java
+import java.util.List;
+
+/**
+ * Prerrequisitos de un curso: los directos y todos los que exige transitivamente
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrerrequisitosCurso {
+    private Long cursoId;
+    private List<Long> directos;
+    private List<Long> todos;
+}
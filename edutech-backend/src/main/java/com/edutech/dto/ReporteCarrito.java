@@ -0,0 +1,21 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Java
+import java.util.List;
+
+/**
+ * Resultado de un carrito de inscripción: se inscriben todas las ejecuciones o ninguna
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReporteCarrito {
+    private Long estudianteId;
+    private boolean completado;
+    private List<ResultadoItemCarrito> resultados;
+}
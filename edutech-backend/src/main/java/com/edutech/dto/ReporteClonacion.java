@@ -0,0 +1,23 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Java
+import java.util.List;
+
+/**
+ * Resultado de clonar las ejecuciones de un período en otro
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReporteClonacion {
+    private String origen;
+    private String destino;
+    private int total;
+    private int clonadas;
+    private List<EjecucionOmitida> omitidas;
+}
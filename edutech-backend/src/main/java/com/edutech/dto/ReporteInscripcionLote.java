@@ -0,0 +1,22 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Java
+import java.util.List;
+
+/**
+ * Reporte por fila de una inscripción masiva
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReporteInscripcionLote {
+    private int total;
+    private int inscritos;
+    private int rechazados;
+    private List<ResultadoInscripcionLote> resultados;
+}
@@ -0,0 +1,24 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de una fila de una inscripción masiva
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoInscripcionLote {
+    
+    public static final String INSCRITO = "INSCRITO";
+    public static final String RECHAZADO = "RECHAZADO";
+    
+    private int indice;
+    private Long estudianteId;
+    private Long ejecucionId;
+    private String estado;
+    private String motivo;
+}
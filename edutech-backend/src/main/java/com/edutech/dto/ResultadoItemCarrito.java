@@ -0,0 +1,25 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de una ejecución dentro de un carrito de inscripción
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoItemCarrito {
+    
+    public static final String INSCRITO = "INSCRITO";
+    public static final String RECHAZADO = "RECHAZADO";
+    // Ítem válido que no se aplicó porque otro ítem del carrito fue rechazado
+    public static final String SIN_APLICAR = "SIN_APLICAR";
+    
+    private Long ejecucionId;
+    private String estado;
+    private String motivo;
+    private Long inscripcionId;
+}
@@ -0,0 +1,17 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sala disponible para la planificación de un período, con su capacidad
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalaPlanificacion {
+    private String nombre;
+    private Integer capacidad;
+}
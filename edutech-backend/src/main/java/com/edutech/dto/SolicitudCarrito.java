@@ -0,0 +1,20 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Java
+import java.util.List;
+
+/**
+ * Ejecuciones que un estudiante quiere inscribir juntas (todas o ninguna)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolicitudCarrito {
+    private Long estudianteId;
+    private List<Long> ejecucionIds;
+}
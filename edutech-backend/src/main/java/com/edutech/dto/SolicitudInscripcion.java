@@ -0,0 +1,17 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Par estudiante / ejecución usado en las inscripciones masivas
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolicitudInscripcion {
+    private Long estudianteId;
+    private Long ejecucionId;
+}
@@ -0,0 +1,22 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Java
+import java.util.List;
+
+/**
+ * Datos para planificar un período: salas, profesores disponibles y bloques horarios candidatos
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolicitudPlanificacion {
+    private List<SalaPlanificacion> salas;
+    private List<DisponibilidadProfesor> profesores;
+    private List<String> bloques;
+    private Integer tiempoMaximoSegundos;
+}
@@ -0,0 +1,48 @@
+package com.edutech.dto;
+
+//Importaciones para Lombok
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Java
+import java.time.LocalDateTime;
+
+//Importaciones de Jackson
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Ticket entregado al encolar una solicitud de inscripción en modo admisión.
+ * Los campos de estado los escribe el trabajador y los lee el endpoint de consulta.
+ */
+@Data
+@NoArgsConstructor
+public class TicketInscripcion {
+    
+    public static final String EN_COLA = "EN_COLA";
+    public static final String PROCESANDO = "PROCESANDO";
+    public static final String ACEPTADO = "ACEPTADO";
+    public static final String RECHAZADO = "RECHAZADO";
+    
+    private String id;
+    private Long estudianteId;
+    private Long ejecucionId;
+    private volatile String estado = EN_COLA;
+    private volatile Long inscripcionId;
+    private volatile String mensaje;
+    private LocalDateTime fechaSolicitud;
+    private volatile LocalDateTime fechaProcesado;
+    
+    @JsonIgnore
+    private long encoladoNanos;
+    
+    @JsonIgnore
+    private volatile long finalizadoNanos;
+    
+    public TicketInscripcion(String id, Long estudianteId, Long ejecucionId) {
+        this.id = id;
+        this.estudianteId = estudianteId;
+        this.ejecucionId = ejecucionId;
+        this.fechaSolicitud = LocalDateTime.now();
+        this.encoladoNanos = System.nanoTime();
+    }
+}
@@ -17,7 +17,12 @@
 
 //Entidad JPA
 @Entity  // Marca esta clase como una entidad JPA.
-@Table(name = "cursos")  // Especifica el nombre de la tabla en la base de datos.
+@Table(name = "cursos", indexes = {  // Especifica el nombre de la tabla en la base de datos.
+    // Rangos y orden por duración sobre la columna mantenida, en lugar de sumar las horas por fila
+    @Index(name = "idx_curso_total_horas", columnList = "total_horas"),
+    // Cursos retirados pendientes de archivar (ver RetiroCursosService)
+    @Index(name = "idx_curso_fecha_retiro", columnList = "fecha_retiro")
+})
 @Data  // Genera automáticamente getters, setters, equals, hashCode y toString.
 @NoArgsConstructor  // Genera un constructor sin argumentos.
 @AllArgsConstructor  // Genera un constructor con un argumento por cada campo en la clase.
@@ -62,18 +67,30 @@ public class Curso {
     @Column(name = "activo")
     private Boolean activo = true;
 
+    // Fecha en que el curso se retiró (eliminación lógica); null mientras está vigente
+    @Column(name = "fecha_retiro")
+    private LocalDateTime fechaRetiro;
+
+    // Sin cascada: eliminar un curso nunca carga ni borra sus ejecuciones fila por fila
     @JsonIgnore
-    @OneToMany(mappedBy = "curso", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "curso", fetch = FetchType.LAZY)
     private List<Ejecucion> ejecuciones;
 
     @PrePersist
     protected void onCreate() {
         fechaCreacion = LocalDateTime.now();
         fechaActualizacion = LocalDateTime.now();
+        actualizarTotalHoras();
     }
 
     @PreUpdate
     protected void onUpdate() {
         fechaActualizacion = LocalDateTime.now();
+        actualizarTotalHoras();
+    }
+
+    // total_horas se deriva de las horas teóricas y prácticas; no se acepta un valor independiente
+    public void actualizarTotalHoras() {
+        totalHoras = (horasTeoricas != null ? horasTeoricas : 0) + (horasPracticas != null ? horasPracticas : 0);
     }
 }
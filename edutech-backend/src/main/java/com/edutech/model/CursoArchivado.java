@@ -0,0 +1,56 @@
+package com.edutech.model;
+
+//Importaciones de Anotaciones JPA
+import jakarta.persistence.*;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Java
+import java.time.LocalDateTime;
+
+// Curso retirado movido al archivo (ver RetiroCursosService); conserva el ID original
+@Entity
+@Table(name = "cursos_archivados", indexes = {
+    @Index(name = "idx_curso_archivado_codigo", columnList = "codigo")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursoArchivado {
+
+    @Id
+    private Long id;
+
+    @Column(name = "codigo", nullable = false, length = 10)
+    private String codigo;
+
+    @Column(name = "nombre", nullable = false, length = 100)
+    private String nombre;
+
+    @Column(name = "descripcion", length = 500)
+    private String descripcion;
+
+    @Column(name = "creditos")
+    private Integer creditos;
+
+    @Column(name = "total_horas")
+    private Integer totalHoras;
+
+    @Column(name = "ciclo", length = 20)
+    private String ciclo;
+
+    @Column(name = "modalidad", length = 20)
+    private String modalidad;
+
+    @Column(name = "fecha_creacion")
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "fecha_retiro")
+    private LocalDateTime fechaRetiro;
+
+    @Column(name = "fecha_archivo", nullable = false)
+    private LocalDateTime fechaArchivo;
+}
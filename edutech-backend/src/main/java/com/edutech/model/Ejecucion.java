@@ -15,13 +15,34 @@
 //Importaciones de Jackson
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+//Importaciones del util
+import com.edutech.util.HorarioSemanal;
+
 //Entidad JPA
 @Entity  // Marca esta clase como una entidad JPA.
-@Table(name = "ejecuciones")  // Especifica el nombre de la tabla en la base de datos.
+@Table(name = "ejecuciones", indexes = {  // Especifica el nombre de la tabla en la base de datos.
+    // Filtros de cupos disponibles: rango sobre la columna cupos_libres (una comparación entre
+    // dos columnas no puede acotarse con un índice)
+    @Index(name = "idx_ejecucion_cupos_libres", columnList = "cupos_libres"),
+    @Index(name = "idx_ejecucion_curso_cupos_libres", columnList = "curso_id, cupos_libres"),
+    // Clonación de períodos: secciones ya usadas en el período de destino se leen desde el índice
+    @Index(name = "idx_ejecucion_periodo_curso_seccion", columnList = "periodo, curso_id, seccion"),
+    // Estado mantenido por EstadoEjecucionesService: filtro barato en lugar de rangos de fechas
+    @Index(name = "idx_ejecucion_estado_fechas", columnList = "estado, fecha_inicio, fecha_fin"),
+    @Index(name = "idx_ejecucion_curso_estado", columnList = "curso_id, estado")
+})
 @Data  // Genera automáticamente getters, setters, equals, hashCode y toString.
 @NoArgsConstructor  // Genera un constructor sin argumentos.
 @AllArgsConstructor  // Genera un constructor con un argumento por cada campo en la clase.
 public class Ejecucion {
+
+    // Estados que avanzan solos con las fechas (ver EstadoEjecucionesService)
+    public static final String PROGRAMADA = "PROGRAMADA";
+    public static final String EN_CURSO = "EN_CURSO";
+    public static final String FINALIZADA = "FINALIZADA";
+    // Asignado al retirar el curso; la máquina de estados no lo cambia
+    public static final String CANCELADA = "CANCELADA";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -51,9 +72,17 @@ public class Ejecucion {
     @Column(name = "capacidad_maxima", nullable = false)
     private Integer capacidadMaxima;
 
-    @Column(name = "inscritos_actuales")
+    // Contador autoritativo de cupos ocupados (inscripciones activas + retenciones activas).
+    // Solo se modifica mediante UPDATE condicional (ver ReservaCuposService y ReconciliacionCuposService)
+    @Column(name = "inscritos_actuales", updatable = false)
     private Integer inscritosActuales = 0;
 
+    // capacidad_maxima - inscritos_actuales, para filtrar cupos disponibles por índice.
+    // Se calcula al insertar y cada UPDATE que mueve el contador la vuelve a escribir
+    @JsonIgnore
+    @Column(name = "cupos_libres", updatable = false)
+    private Integer cuposLibres;
+
     @Column(name = "estado", nullable = false, length = 20)
     private String estado;
 
@@ -64,15 +93,43 @@ public class Ejecucion {
     @Column(name = "sala", length = 50)
     private String sala;
 
+    // Días del horario como máscara de bits (bit 0 = lunes), para filtrar por día en la búsqueda
+    @JsonIgnore
+    @Column(name = "dias_semana")
+    private Integer diasSemana;
+
+    // Sin cascada: las inscripciones se cancelan o archivan por conjunto (ver RetiroCursosService)
     @JsonIgnore
-    @OneToMany(mappedBy = "ejecucion", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "ejecucion", fetch = FetchType.LAZY)
     private List<Inscripcion> inscripciones;
 
+    @PrePersist
+    protected void alInsertar() {
+        calcularDiasSemana();
+        if (capacidadMaxima != null) {
+            cuposLibres = getCuposDisponibles();
+        }
+    }
+
+    @PreUpdate
+    protected void calcularDiasSemana() {
+        diasSemana = HorarioSemanal.parsearOVacio(horario).dias();
+    }
+
     // Business method
     public Integer getCuposDisponibles() {
         return capacidadMaxima - (inscritosActuales != null ? inscritosActuales : 0);
     }
 
+    // Las ejecuciones canceladas o finalizadas no reciben inscripciones, retenciones ni promociones
+    public static boolean admiteInscripciones(String estado) {
+        return !CANCELADA.equals(estado) && !FINALIZADA.equals(estado);
+    }
+
+    public boolean admiteInscripciones() {
+        return admiteInscripciones(estado);
+    }
+
     // No setter needed - this is calculated
     public void setCuposDisponibles(Integer cupos) {
         // This method exists for compatibility but doesn't set anything
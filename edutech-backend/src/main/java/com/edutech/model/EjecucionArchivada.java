@@ -0,0 +1,60 @@
+package com.edutech.model;
+
+//Importaciones de Anotaciones JPA
+import jakarta.persistence.*;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Java
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Ejecución de un curso archivado; conserva el ID original y guarda los IDs relacionados sin FK
+@Entity
+@Table(name = "ejecuciones_archivadas", indexes = {
+    @Index(name = "idx_ejecucion_archivada_curso", columnList = "curso_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EjecucionArchivada {
+
+    @Id
+    private Long id;
+
+    @Column(name = "curso_id", nullable = false)
+    private Long cursoId;
+
+    @Column(name = "periodo", length = 20)
+    private String periodo;
+
+    @Column(name = "seccion", length = 10)
+    private String seccion;
+
+    @Column(name = "fecha_inicio")
+    private LocalDate fechaInicio;
+
+    @Column(name = "fecha_fin")
+    private LocalDate fechaFin;
+
+    @Column(name = "horario", length = 100)
+    private String horario;
+
+    @Column(name = "sala", length = 50)
+    private String sala;
+
+    @Column(name = "capacidad_maxima")
+    private Integer capacidadMaxima;
+
+    @Column(name = "estado", length = 20)
+    private String estado;
+
+    @Column(name = "profesor_id")
+    private Long profesorId;
+
+    @Column(name = "fecha_archivo", nullable = false)
+    private LocalDateTime fechaArchivo;
+}
@@ -12,7 +12,11 @@
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "inscripciones")
+@Table(name = "inscripciones", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_inscripcion_persona_ejecucion", columnNames = {"persona_id", "ejecucion_id"})
+}, indexes = {
+    @Index(name = "idx_inscripcion_ejecucion_activo", columnList = "ejecucion_id, activo")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
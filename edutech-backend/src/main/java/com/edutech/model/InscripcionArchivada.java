@@ -0,0 +1,45 @@
+package com.edutech.model;
+
+//Importaciones de Anotaciones JPA
+import jakarta.persistence.*;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Java
+import java.time.LocalDateTime;
+
+// Inscripción de un curso archivado; el historial de la persona se consulta por persona_id
+@Entity
+@Table(name = "inscripciones_archivadas", indexes = {
+    @Index(name = "idx_inscripcion_archivada_persona", columnList = "persona_id"),
+    @Index(name = "idx_inscripcion_archivada_ejecucion", columnList = "ejecucion_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InscripcionArchivada {
+
+    @Id
+    private Long id;
+
+    @Column(name = "persona_id", nullable = false)
+    private Long personaId;
+
+    @Column(name = "ejecucion_id", nullable = false)
+    private Long ejecucionId;
+
+    @Column(name = "curso_id", nullable = false)
+    private Long cursoId;
+
+    @Column(name = "fecha_inscripcion")
+    private LocalDateTime fechaInscripcion;
+
+    @Column(name = "estado", length = 20)
+    private String estado;
+
+    @Column(name = "fecha_archivo", nullable = false)
+    private LocalDateTime fechaArchivo;
+}
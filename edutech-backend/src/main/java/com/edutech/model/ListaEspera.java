@@ -0,0 +1,63 @@
+package com.edutech.model;
+
+//Importaciones de Anotaciones JPA
+import jakarta.persistence.*;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Java
+import java.time.LocalDateTime;
+
+//Importaciones de Jackson
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@Entity
+@Table(name = "listas_espera", indexes = {
+    @Index(name = "idx_lista_espera_ejecucion_estado", columnList = "ejecucion_id, estado, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ListaEspera {
+    
+    public static final String EN_ESPERA = "EN_ESPERA";
+    public static final String PROMOVIDA = "PROMOVIDA";
+    public static final String RETIRADA = "RETIRADA";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "persona_id", nullable = false)
+    private Persona persona;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ejecucion_id", nullable = false)
+    private Ejecucion ejecucion;
+
+    @Column(name = "fecha_solicitud", nullable = false)
+    private LocalDateTime fechaSolicitud = LocalDateTime.now();
+
+    @Column(name = "estado", nullable = false, length = 20)
+    private String estado = EN_ESPERA;
+
+    @Column(name = "fecha_promocion")
+    private LocalDateTime fechaPromocion;
+
+    @JsonProperty("estudianteId")
+    public Long getEstudianteId() {
+        return persona != null ? persona.getId() : null;
+    }
+
+    @JsonProperty("ejecucionId")
+    public Long getEjecucionId() {
+        return ejecucion != null ? ejecucion.getId() : null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.edutech.model;
+
+//Importaciones de Anotaciones JPA
+import jakarta.persistence.*;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Java
+import java.time.LocalDateTime;
+
+/**
+ * Corrección de datos ya aplicada a la base; su presencia evita volver a correrla al iniciar.
+ */
+@Entity
+@Table(name = "migraciones_datos")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MigracionDatos {
+    
+    @Id
+    @Column(length = 100)
+    private String nombre;
+    
+    @Column(name = "aplicada_en", nullable = false)
+    private LocalDateTime aplicadaEn;
+}
@@ -0,0 +1,50 @@
+package com.edutech.model;
+
+//Importaciones de Anotaciones JPA
+import jakarta.persistence.*;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones de Jackson
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Arista del grafo de prerrequisitos: para inscribirse en "curso" hay que haber aprobado "prerrequisito"
+@Entity
+@Table(name = "curso_prerrequisitos", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_curso_prerrequisito", columnNames = {"curso_id", "prerrequisito_id"})
+}, indexes = {
+    @Index(name = "idx_prerrequisito_curso", columnList = "prerrequisito_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrerrequisitoCurso {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "curso_id", nullable = false)
+    private Curso curso;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "prerrequisito_id", nullable = false)
+    private Curso prerrequisito;
+
+    @JsonProperty("cursoId")
+    public Long getCursoId() {
+        return curso != null ? curso.getId() : null;
+    }
+
+    @JsonProperty("prerrequisitoId")
+    public Long getPrerrequisitoId() {
+        return prerrequisito != null ? prerrequisito.getId() : null;
+    }
+}
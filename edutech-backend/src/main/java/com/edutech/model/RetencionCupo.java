@@ -0,0 +1,73 @@
+package com.edutech.model;
+
+//Importaciones de Anotaciones JPA
+import jakarta.persistence.*;
+
+//Importaciones para Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Importaciones Java
+import java.time.LocalDateTime;
+
+//Importaciones de Jackson
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Cupo apartado temporalmente para un estudiante mientras confirma su inscripción.
+ * Mientras está ACTIVA ocupa un cupo en el contador inscritos_actuales de la ejecución.
+ */
+@Entity
+@Table(name = "retenciones_cupo", indexes = {
+    @Index(name = "idx_retencion_estado", columnList = "estado"),
+    @Index(name = "idx_retencion_persona_ejecucion", columnList = "persona_id, ejecucion_id, estado")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RetencionCupo {
+    
+    public static final String ACTIVA = "ACTIVA";
+    public static final String CONFIRMADA = "CONFIRMADA";
+    public static final String EXPIRADA = "EXPIRADA";
+    public static final String LIBERADA = "LIBERADA";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "persona_id", nullable = false)
+    private Persona persona;
+    
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ejecucion_id", nullable = false)
+    private Ejecucion ejecucion;
+    
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion = LocalDateTime.now();
+    
+    @Column(name = "expira_en", nullable = false)
+    private LocalDateTime expiraEn;
+    
+    // Solo se modifica mediante UPDATE condicional (ver RetencionCupoService)
+    @Column(name = "estado", nullable = false, length = 20, updatable = false)
+    private String estado = ACTIVA;
+    
+    @Column(name = "inscripcion_id")
+    private Long inscripcionId;
+    
+    @JsonProperty("estudianteId")
+    public Long getEstudianteId() {
+        return persona != null ? persona.getId() : null;
+    }
+    
+    @JsonProperty("ejecucionId")
+    public Long getEjecucionId() {
+        return ejecucion != null ? ejecucion.getId() : null;
+    }
+}
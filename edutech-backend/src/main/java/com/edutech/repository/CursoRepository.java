@@ -4,9 +4,11 @@
 import com.edutech.model.Curso;
 
 //Importaciones para BD con SpringData JPA
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 //Importaciones personalizaciones JPA
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -14,6 +16,7 @@
 import org.springframework.stereotype.Repository;
 
 //Importacion de Java
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,18 +39,32 @@ public interface CursoRepository extends JpaRepository<Curso, Long> {
     
     List<Curso> findByActivoTrue();
     
-    List<Curso> findAllByOrderByNombreAsc();
+    // Cursos vigentes: sin fecha de retiro
+    List<Curso> findByFechaRetiroIsNull();
+    
+    @Query("SELECT c FROM Curso c WHERE c.fechaRetiro IS NULL ORDER BY c.nombre ASC")
+    List<Curso> findVigentesOrderByNombreAsc();
     
     boolean existsByNombreIgnoreCase(String nombre);
     
     boolean existsByCodigo(String codigo);
     
-    @Query("SELECT c FROM Curso c WHERE (c.horasTeoricas + c.horasPracticas) BETWEEN :duracionMin AND :duracionMax")
-    List<Curso> findByDuracionHorasBetween(@Param("duracionMin") Integer duracionMin, @Param("duracionMax") Integer duracionMax);
+    @Query("SELECT c FROM Curso c WHERE c.fechaRetiro IS NULL AND c.totalHoras BETWEEN :duracionMin AND :duracionMax")
+    List<Curso> findVigentesByDuracionHorasBetween(@Param("duracionMin") Integer duracionMin, @Param("duracionMax") Integer duracionMax);
+    
+    @Query("SELECT c FROM Curso c WHERE c.fechaRetiro IS NULL ORDER BY c.totalHoras ASC, c.id ASC")
+    List<Curso> findVigentesOrderByDuracionHorasAsc();
+    
+    @Query("SELECT c FROM Curso c WHERE c.fechaRetiro IS NULL ORDER BY c.totalHoras DESC, c.id DESC")
+    List<Curso> findVigentesOrderByDuracionHorasDesc();
     
-    @Query("SELECT c FROM Curso c ORDER BY (c.horasTeoricas + c.horasPracticas) ASC")
-    List<Curso> findAllByOrderByDuracionHorasAsc();
+    // Eliminación lógica: 0 si el curso no existe o ya estaba retirado
+    @Modifying
+    @Query("UPDATE Curso c SET c.activo = false, c.fechaRetiro = :ahora, c.fechaActualizacion = :ahora " +
+           "WHERE c.id = :cursoId AND c.fechaRetiro IS NULL")
+    int retirar(@Param("cursoId") Long cursoId, @Param("ahora") LocalDateTime ahora);
     
-    @Query("SELECT c FROM Curso c ORDER BY (c.horasTeoricas + c.horasPracticas) DESC")
-    List<Curso> findAllByOrderByDuracionHorasDesc();
+    // Cursos retirados antes de la fecha, pendientes de archivar
+    @Query("SELECT c.id FROM Curso c WHERE c.fechaRetiro < :limite ORDER BY c.id")
+    List<Long> findIdsRetiradosAntesDe(@Param("limite") LocalDateTime limite, Pageable pagina);
 }
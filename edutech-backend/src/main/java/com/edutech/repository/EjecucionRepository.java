@@ -5,21 +5,30 @@
 import com.edutech.model.Curso;
 
 //Importaciones para BD con SpringData JPA
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 //Importaciones personalizaciones JPA
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 //Importacion para funcionamiento de repository
 import org.springframework.stereotype.Repository;
 
+//Importaciones JPA
+import jakarta.persistence.LockModeType;
+
 //Importacion de Java
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface EjecucionRepository extends JpaRepository<Ejecucion, Long> {
+public interface EjecucionRepository extends JpaRepository<Ejecucion, Long>, JpaSpecificationExecutor<Ejecucion> {
     
     // Buscar ejecuciones por curso
     List<Ejecucion> findByCurso(Curso curso);
@@ -29,45 +38,138 @@ public interface EjecucionRepository extends JpaRepository<Ejecucion, Long> {
     
     boolean existsByCursoIdAndSeccionAndPeriodo(Long cursoId, String seccion, String periodo);
     
-    @Query("SELECT COUNT(e) > 0 FROM Ejecucion e WHERE e.curso.id = :cursoId AND e.estado = 'ACTIVO'")
+    @Query("SELECT COUNT(e) > 0 FROM Ejecucion e WHERE e.curso.id = :cursoId AND e.estado = 'EN_CURSO'")
     boolean existeEjecucionActivaParaCurso(@Param("cursoId") Long cursoId);
     
     // Buscar ejecuciones por fechas
     List<Ejecucion> findByFechaInicioBetween(LocalDate fechaInicio, LocalDate fechaFin);
     List<Ejecucion> findByFechaFinBetween(LocalDate fechaInicio, LocalDate fechaFin);
     
-    // Buscar ejecuciones activas (que están en progreso)
-    @Query("SELECT e FROM Ejecucion e WHERE e.fechaInicio <= :fecha AND e.fechaFin >= :fecha")
-    List<Ejecucion> findEjecucionesActivas(@Param("fecha") LocalDate fecha);
+    // Transiciones de estado por fecha en una sola sentencia (EstadoEjecucionesService, al cambiar el día)
+    @Modifying
+    @Query("UPDATE Ejecucion e SET e.estado = 'FINALIZADA' WHERE e.estado IN ('PROGRAMADA', 'EN_CURSO') AND e.fechaFin < :hoy")
+    int finalizarTerminadas(@Param("hoy") LocalDate hoy);
+    
+    @Modifying
+    @Query("UPDATE Ejecucion e SET e.estado = 'EN_CURSO' WHERE e.estado = 'PROGRAMADA' AND e.fechaInicio <= :hoy AND e.fechaFin >= :hoy")
+    int iniciarComenzadas(@Param("hoy") LocalDate hoy);
+    
+    // Todas las ejecuciones con curso y profesor ya cargados (para los índices en memoria)
+    @Query("SELECT e FROM Ejecucion e JOIN FETCH e.curso LEFT JOIN FETCH e.profesor p LEFT JOIN FETCH p.tipoPersona")
+    List<Ejecucion> findAllConCursoYProfesor();
+    
+    @Query("SELECT e FROM Ejecucion e JOIN FETCH e.curso LEFT JOIN FETCH e.profesor p LEFT JOIN FETCH p.tipoPersona WHERE e.id = :id")
+    Optional<Ejecucion> findByIdConCursoYProfesor(@Param("id") Long id);
+    
+    @Query("SELECT e FROM Ejecucion e JOIN FETCH e.curso c LEFT JOIN FETCH e.profesor p LEFT JOIN FETCH p.tipoPersona WHERE c.id = :cursoId")
+    List<Ejecucion> findAllConCursoYProfesorPorCurso(@Param("cursoId") Long cursoId);
+    
+    @Query("SELECT e FROM Ejecucion e JOIN FETCH e.curso JOIN FETCH e.profesor p LEFT JOIN FETCH p.tipoPersona WHERE p.id = :profesorId")
+    List<Ejecucion> findAllConCursoYProfesorPorProfesor(@Param("profesorId") Long profesorId);
+    
+    // Sala y horario de las ejecuciones: (id, periodo, sala, aula, horario)
+    // Una ejecución cancelada no ocupa sala
+    @Query("SELECT e.id, e.periodo, e.sala, e.aula, e.horario FROM Ejecucion e WHERE e.estado <> 'CANCELADA'")
+    List<Object[]> findOcupacionSalas();
+    
+    @Query("SELECT e.id, e.periodo, e.sala, e.aula, e.horario FROM Ejecucion e WHERE e.id = :id AND e.estado <> 'CANCELADA'")
+    List<Object[]> findOcupacionSala(@Param("id") Long id);
+    
+    // Profesor, horario y horas del curso de las ejecuciones con profesor: (id, profesor_id, periodo, horario, total_horas)
+    // Las ejecuciones canceladas no suman carga
+    @Query("SELECT e.id, p.id, e.periodo, e.horario, c.totalHoras FROM Ejecucion e JOIN e.curso c JOIN e.profesor p WHERE e.estado <> 'CANCELADA'")
+    List<Object[]> findCargaProfesores();
+    
+    @Query("SELECT e.id, p.id, e.periodo, e.horario, c.totalHoras FROM Ejecucion e JOIN e.curso c JOIN e.profesor p WHERE e.id = :id AND e.estado <> 'CANCELADA'")
+    List<Object[]> findCargaProfesor(@Param("id") Long id);
     
-    // Buscar ejecuciones activas (sobrecarga para fecha actual)
-    @Query("SELECT e FROM Ejecucion e WHERE e.fechaInicio <= CURRENT_DATE AND e.fechaFin >= CURRENT_DATE")
-    List<Ejecucion> findEjecucionesActivas();
+    // Datos de planificación de un período: (id, capacidad_maxima, profesor_id, sala, aula, horario)
+    // Las ejecuciones canceladas y las de cursos retirados no se planifican ni ocupan salas o profesores
+    @Query("SELECT e.id, e.capacidadMaxima, p.id, e.sala, e.aula, e.horario FROM Ejecucion e JOIN e.curso c LEFT JOIN e.profesor p " +
+           "WHERE e.periodo = :periodo AND e.estado <> 'CANCELADA' AND c.activo = true ORDER BY e.id")
+    List<Object[]> findPlanificacionPeriodo(@Param("periodo") String periodo);
     
-    // Buscar ejecuciones futuras
-    @Query("SELECT e FROM Ejecucion e WHERE e.fechaInicio > CURRENT_DATE")
-    List<Ejecucion> findEjecucionesFuturas();
+    // Datos para clonar un período: (id, curso_id, seccion, fecha_inicio, fecha_fin, aula, horario, capacidad_maxima, profesor_id, sala)
+    // Las ejecuciones canceladas y las de cursos retirados no se clonan
+    @Query("SELECT e.id, c.id, e.seccion, e.fechaInicio, e.fechaFin, e.aula, e.horario, e.capacidadMaxima, p.id, e.sala " +
+           "FROM Ejecucion e JOIN e.curso c LEFT JOIN e.profesor p " +
+           "WHERE e.periodo = :periodo AND e.estado <> 'CANCELADA' AND c.activo = true ORDER BY e.id")
+    List<Object[]> findClonacionPeriodo(@Param("periodo") String periodo);
     
-    // Buscar ejecuciones pasadas
-    @Query("SELECT e FROM Ejecucion e WHERE e.fechaFin < CURRENT_DATE")
-    List<Ejecucion> findEjecucionesPasadas();
+    // Pares (curso_id, seccion) ya usados en un período
+    @Query("SELECT e.curso.id, e.seccion FROM Ejecucion e WHERE e.periodo = :periodo")
+    List<Object[]> findCursoSeccionPorPeriodo(@Param("periodo") String periodo);
     
-    // Buscar ejecuciones con cupos disponibles
-    @Query("SELECT e FROM Ejecucion e WHERE SIZE(e.inscripciones) < e.capacidadMaxima")
+    // Buscar ejecuciones con cupos disponibles (rango sobre idx_ejecucion_cupos_libres, sin subconsulta por fila)
+    @Query("SELECT e FROM Ejecucion e WHERE e.cuposLibres > 0")
     List<Ejecucion> findEjecucionesConCuposDisponibles();
     
-    // Buscar ejecuciones con cupos disponibles para un curso específico
-    @Query("SELECT e FROM Ejecucion e WHERE e.curso.id = :cursoId AND SIZE(e.inscripciones) < e.capacidadMaxima")
+    // Buscar ejecuciones con cupos disponibles para un curso específico (idx_ejecucion_curso_cupos_libres)
+    @Query("SELECT e FROM Ejecucion e WHERE e.curso.id = :cursoId AND e.cuposLibres > 0")
     List<Ejecucion> findEjecucionesConCuposDisponiblesByCurso(@Param("cursoId") Long cursoId);
     
-    // Contar estudiantes inscritos en una ejecución
-    @Query("SELECT SIZE(e.inscripciones) FROM Ejecucion e WHERE e.id = :ejecucionId")
+    // Contar estudiantes inscritos en una ejecución (inscripciones activas y retenciones de cupo)
+    @Query("SELECT COALESCE(e.inscritosActuales, 0) FROM Ejecucion e WHERE e.id = :ejecucionId")
     Integer countEstudiantesInscritos(@Param("ejecucionId") Long ejecucionId);
     
+    // Capacidad y cupos ocupados de varias ejecuciones: (id, capacidad_maxima, inscritos_actuales)
+    @Query("SELECT e.id, e.capacidadMaxima, e.inscritosActuales FROM Ejecucion e WHERE e.id IN :ids")
+    List<Object[]> findCupos(@Param("ids") Collection<Long> ids);
+    
+    // IDs de ejecuciones por bloques (paginación por clave, para recorridos en segundo plano)
+    @Query("SELECT e.id FROM Ejecucion e WHERE e.id > :desdeId ORDER BY e.id")
+    List<Long> findIdsDesde(@Param("desdeId") Long desdeId, Pageable pageable);
+    
+    // Corregir el contador de una ejecución (solo lo usa la reconciliación)
+    @Modifying
+    @Query("UPDATE Ejecucion e SET e.cuposLibres = e.capacidadMaxima - :inscritos, e.inscritosActuales = :inscritos " +
+           "WHERE e.id = :ejecucionId")
+    int corregirInscritos(@Param("ejecucionId") Long ejecucionId, @Param("inscritos") Integer inscritos);
+    
+    // Reservar un cupo de forma atómica: solo actualiza si aún quedan cupos y la ejecución no está cancelada ni finalizada.
+    // cupos_libres se asigna primero y se calcula desde el contador anterior (MySQL evalúa el SET de izquierda a derecha)
+    @Modifying
+    @Query("UPDATE Ejecucion e SET e.cuposLibres = e.capacidadMaxima - COALESCE(e.inscritosActuales, 0) - 1, " +
+           "e.inscritosActuales = COALESCE(e.inscritosActuales, 0) + 1 " +
+           "WHERE e.id = :ejecucionId AND COALESCE(e.inscritosActuales, 0) < e.capacidadMaxima " +
+           "AND e.estado NOT IN ('CANCELADA', 'FINALIZADA')")
+    int reservarCupo(@Param("ejecucionId") Long ejecucionId);
+    
+    // Estado actual de una ejecución (sin cargar la entidad)
+    @Query("SELECT e.estado FROM Ejecucion e WHERE e.id = :ejecucionId")
+    Optional<String> findEstadoById(@Param("ejecucionId") Long ejecucionId);
+    
+    // Liberar un cupo previamente reservado
+    @Modifying
+    @Query("UPDATE Ejecucion e SET e.cuposLibres = e.capacidadMaxima - e.inscritosActuales + 1, " +
+           "e.inscritosActuales = e.inscritosActuales - 1 " +
+           "WHERE e.id = :ejecucionId AND e.inscritosActuales > 0")
+    int liberarCupo(@Param("ejecucionId") Long ejecucionId);
+    
+    // Bloquear varias ejecuciones, siempre en orden de ID para evitar interbloqueos
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Ejecucion e WHERE e.id IN :ids ORDER BY e.id")
+    List<Ejecucion> findAllByIdParaActualizar(@Param("ids") Collection<Long> ids);
+    
     // Buscar ejecuciones por rango de capacidad máxima
     List<Ejecucion> findByCapacidadMaximaBetween(Integer cupoMin, Integer cupoMax);
     
     // Buscar ejecuciones ordenadas por fecha de inicio
     List<Ejecucion> findAllByOrderByFechaInicioAsc();
     List<Ejecucion> findAllByOrderByFechaInicioDesc();
+    
+    // Ejecuciones del curso que aún no terminan (las que se cancelan al retirarlo)
+    @Query("SELECT e.id FROM Ejecucion e WHERE e.curso.id = :cursoId AND e.estado IN ('PROGRAMADA', 'EN_CURSO') ORDER BY e.id")
+    List<Long> findIdsVigentesPorCurso(@Param("cursoId") Long cursoId);
+    
+    // Sin inscripciones activas ni retenciones el contador queda en cero
+    @Modifying
+    @Query("UPDATE Ejecucion e SET e.estado = 'CANCELADA', e.inscritosActuales = 0, e.cuposLibres = e.capacidadMaxima " +
+           "WHERE e.id IN :ejecucionIds AND e.estado IN ('PROGRAMADA', 'EN_CURSO')")
+    int cancelar(@Param("ejecucionIds") Collection<Long> ejecucionIds);
+    
+    // Completar cupos_libres en filas anteriores a la columna (sin filas pendientes no actualiza nada)
+    @Modifying
+    @Query("UPDATE Ejecucion e SET e.cuposLibres = e.capacidadMaxima - COALESCE(e.inscritosActuales, 0) WHERE e.cuposLibres IS NULL")
+    int completarCuposLibres();
 }
@@ -0,0 +1,111 @@
+package com.edutech.repository;
+
+//Importacion Clase Modelo
+import com.edutech.model.Curso;
+import com.edutech.model.Ejecucion;
+
+//Importaciones JPA y Spring Data
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+//Importaciones Java
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filtros combinables de ejecuciones para EjecucionRepository (JpaSpecificationExecutor).
+ *
+ * Cada filtro es una Specification independiente; la búsqueda combina solo los que
+ * recibe, así se arma una única consulta en lugar de un método de repositorio por
+ * combinación. conCursoYProfesor() trae curso y profesor en la misma consulta.
+ */
+public final class EjecucionSpecifications {
+
+    private EjecucionSpecifications() {
+    }
+
+    // Trae curso y profesor con JOIN FETCH (no aplica a consultas de conteo)
+    public static Specification<Ejecucion> conCursoYProfesor() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("curso", JoinType.INNER);
+                root.fetch("profesor", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    // Paginación por clave: ejecuciones con ID mayor al último de la página anterior
+    public static Specification<Ejecucion> despuesDe(Long id) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+
+    public static Specification<Ejecucion> delCurso(Long cursoId) {
+        return (root, query, cb) -> cb.equal(root.get("curso").get("id"), cursoId);
+    }
+
+    public static Specification<Ejecucion> delPeriodo(String periodo) {
+        return (root, query, cb) -> cb.equal(root.get("periodo"), periodo);
+    }
+
+    public static Specification<Ejecucion> conEstado(String estado) {
+        return (root, query, cb) -> cb.equal(root.get("estado"), estado);
+    }
+
+    // Ejecuciones que se dictan en algún día del rango (desde y hasta opcionales)
+    public static Specification<Ejecucion> entreFechas(LocalDate desde, LocalDate hasta) {
+        return (root, query, cb) -> {
+            List<Predicate> condiciones = new ArrayList<>();
+            if (desde != null) {
+                condiciones.add(cb.greaterThanOrEqualTo(root.get("fechaFin"), desde));
+            }
+            if (hasta != null) {
+                condiciones.add(cb.lessThanOrEqualTo(root.get("fechaInicio"), hasta));
+            }
+            return cb.and(condiciones.toArray(new Predicate[0]));
+        };
+    }
+
+    // Al menos esa cantidad de cupos libres (rango sobre la columna cupos_libres)
+    public static Specification<Ejecucion> conCuposMinimos(int cupos) {
+        return (root, query, cb) -> cb.ge(root.<Integer>get("cuposLibres"), cupos);
+    }
+
+    public static Specification<Ejecucion> delProfesor(Long profesorId) {
+        return (root, query, cb) -> cb.equal(root.get("profesor").get("id"), profesorId);
+    }
+
+    public static Specification<Ejecucion> conModalidad(String modalidad) {
+        return (root, query, cb) -> cb.equal(cb.upper(curso(root).get("modalidad")), modalidad.trim().toUpperCase());
+    }
+
+    // dias_semana guarda los días como máscara de bits; JPQL no tiene AND de bits, así que se
+    // listan las 64 máscaras que incluyen el día
+    public static Specification<Ejecucion> enDia(int dia) {
+        List<Integer> mascaras = new ArrayList<>();
+        for (int mascara = 1; mascara < 1 << 7; mascara++) {
+            if ((mascara & (1 << dia)) != 0) {
+                mascaras.add(mascara);
+            }
+        }
+        return (root, query, cb) -> root.get("diasSemana").in(mascaras);
+    }
+
+    // Métodos privados
+
+    // Reusar el JOIN FETCH del curso si ya existe, para no unir la tabla dos veces
+    @SuppressWarnings("unchecked")
+    private static From<Ejecucion, Curso> curso(From<?, Ejecucion> root) {
+        for (Fetch<Ejecucion, ?> fetch : root.getFetches()) {
+            if (fetch.getAttribute().getName().equals("curso") && fetch instanceof Join<?, ?>) {
+                return (From<Ejecucion, Curso>) fetch;
+            }
+        }
+        return root.join("curso");
+    }
+}
@@ -8,6 +8,7 @@
 import org.springframework.data.jpa.repository.JpaRepository;
 
 //Importaciones personalizaciones JPA
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -15,6 +16,7 @@
 import org.springframework.stereotype.Repository;
 
 //Importacion de Java
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -53,4 +55,32 @@ public interface InscripcionRepository extends JpaRepository<Inscripcion, Long>
     boolean existsByPersonaIdAndCursoId(@Param("estudianteId") Long estudianteId, @Param("cursoId") Long cursoId);
     
     List<Inscripcion> findTop10ByOrderByFechaInscripcionDesc();
+    
+    // Pares (persona, ejecución) ya inscritos, en una sola consulta para validaciones masivas
+    @Query("SELECT i.persona.id, i.ejecucion.id FROM Inscripcion i WHERE i.persona.id IN :estudianteIds AND i.ejecucion.id IN :ejecucionIds")
+    List<Object[]> findParesInscritos(@Param("estudianteIds") Collection<Long> estudianteIds, @Param("ejecucionIds") Collection<Long> ejecucionIds);
+    
+    // Inscripciones activas por ejecución (para reconciliar el contador inscritos_actuales)
+    @Query("SELECT i.ejecucion.id, COUNT(i) FROM Inscripcion i WHERE i.ejecucion.id IN :ejecucionIds AND i.activo = true GROUP BY i.ejecucion.id")
+    List<Object[]> contarActivasPorEjecucion(@Param("ejecucionIds") Collection<Long> ejecucionIds);
+    
+    // Horarios de las inscripciones activas de varios estudiantes en un período: (persona, ejecución, horario)
+    @Query("SELECT i.persona.id, e.id, e.horario FROM Inscripcion i JOIN i.ejecucion e WHERE i.persona.id IN :estudianteIds AND e.periodo = :periodo AND i.activo = true")
+    List<Object[]> findHorariosActivos(@Param("estudianteIds") Collection<Long> estudianteIds, @Param("periodo") String periodo);
+    
+    // Estudiantes con inscripción activa en alguna de las ejecuciones
+    @Query("SELECT DISTINCT i.persona.id FROM Inscripcion i WHERE i.ejecucion.id IN :ejecucionIds AND i.activo = true")
+    List<Long> findEstudiantesActivosDeEjecuciones(@Param("ejecucionIds") Collection<Long> ejecucionIds);
+    
+    // Cursos aprobados (inscripción COMPLETADA) de un estudiante, para verificar prerrequisitos
+    @Query("SELECT DISTINCT e.curso.id FROM Inscripcion i JOIN i.ejecucion e WHERE i.persona.id = :estudianteId AND i.estado = 'COMPLETADA'")
+    List<Long> findCursosAprobados(@Param("estudianteId") Long estudianteId);
+    
+    @Query("SELECT DISTINCT i.persona.id, e.curso.id FROM Inscripcion i JOIN i.ejecucion e WHERE i.persona.id IN :estudianteIds AND i.estado = 'COMPLETADA'")
+    List<Object[]> findCursosAprobadosDeEstudiantes(@Param("estudianteIds") Collection<Long> estudianteIds);
+    
+    // Cancelación por conjunto al retirar un curso (las COMPLETADA se conservan)
+    @Modifying
+    @Query("UPDATE Inscripcion i SET i.estado = 'CANCELADA', i.activo = false WHERE i.ejecucion.id IN :ejecucionIds AND i.activo = true")
+    int cancelarActivasDeEjecuciones(@Param("ejecucionIds") Collection<Long> ejecucionIds);
 }
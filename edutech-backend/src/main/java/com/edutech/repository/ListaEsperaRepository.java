@@ -0,0 +1,46 @@
+package com.edutech.repository;
+
+//Importacion Clase Modelo
+import com.edutech.model.ListaEspera;
+
+//Importaciones para BD con SpringData JPA
+import org.springframework.data.jpa.repository.JpaRepository;
+
+//Importaciones personalizaciones JPA
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+//Importacion para funcionamiento de repository
+import org.springframework.stereotype.Repository;
+
+//Importacion de Java
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ListaEsperaRepository extends JpaRepository<ListaEspera, Long> {
+    
+    List<ListaEspera> findByEjecucion_IdAndEstadoOrderByIdAsc(Long ejecucionId, String estado);
+    
+    List<ListaEspera> findByPersona_IdAndEstadoOrderByIdAsc(Long estudianteId, String estado);
+    
+    Optional<ListaEspera> findByPersona_IdAndEjecucion_IdAndEstado(Long estudianteId, Long ejecucionId, String estado);
+    
+    boolean existsByPersona_IdAndEjecucion_IdAndEstado(Long estudianteId, Long ejecucionId, String estado);
+    
+    long countByEjecucion_IdAndEstadoAndIdLessThan(Long ejecucionId, String estado, Long id);
+    
+    boolean existsByEjecucion_Id(Long ejecucionId);
+    
+    @Modifying
+    @Query("UPDATE ListaEspera l SET l.estado = 'RETIRADA' WHERE l.ejecucion.id IN :ejecucionIds AND l.estado = 'EN_ESPERA'")
+    int retirarEnEsperaDeEjecuciones(@Param("ejecucionIds") Collection<Long> ejecucionIds);
+    
+    // Estudiantes que se inscribieron en la ejecución por otra vía dejan de esperar
+    @Modifying
+    @Query("UPDATE ListaEspera l SET l.estado = 'RETIRADA' " +
+           "WHERE l.ejecucion.id = :ejecucionId AND l.persona.id IN :estudianteIds AND l.estado = 'EN_ESPERA'")
+    int retirarEnEsperaDeEstudiantes(@Param("ejecucionId") Long ejecucionId, @Param("estudianteIds") Collection<Long> estudianteIds);
+}
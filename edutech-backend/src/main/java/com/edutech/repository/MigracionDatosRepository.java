@@ -0,0 +1,14 @@
+package com.edutech.repository;
+
+//Importacion Clase Modelo
+import com.edutech.model.MigracionDatos;
+
+//Importaciones para BD con SpringData JPA
+import org.springframework.data.jpa.repository.JpaRepository;
+
+//Importacion para funcionamiento de repository
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MigracionDatosRepository extends JpaRepository<MigracionDatos, String> {
+}
@@ -14,6 +14,7 @@
 import org.springframework.stereotype.Repository;
 
 //Importacion de Java
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,17 +37,15 @@ public interface PersonaRepository extends JpaRepository<Persona, Long> {
     
     List<Persona> findByActivoTrue();
     
+    @Query("SELECT p.id FROM Persona p WHERE p.id IN :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+    
     @Query("SELECT p FROM Persona p WHERE p.tipoPersona.nombre = :tipoPersona AND p.activo = true")
     List<Persona> findByTipoPersonaNombre(@Param("tipoPersona") String tipoPersona);
     
-    @Query("SELECT p FROM Persona p WHERE " +
-           "(LOWER(p.nombres) LIKE LOWER(CONCAT('%', :busqueda, '%')) OR " +
-           "LOWER(p.apellidoPaterno) LIKE LOWER(CONCAT('%', :busqueda, '%')) OR " +
-           "LOWER(p.apellidoMaterno) LIKE LOWER(CONCAT('%', :busqueda, '%')) OR " +
-           "p.rut LIKE CONCAT('%', :busqueda, '%') OR " +
-           "LOWER(p.correo) LIKE LOWER(CONCAT('%', :busqueda, '%'))) " +
-           "AND p.activo = true")
-    List<Persona> buscarPersonas(@Param("busqueda") String busqueda);
+    // Campos de búsqueda de las personas activas (id, nombres, apellidos, correo y RUT), para el índice de trigramas
+    @Query("SELECT p.id, p.nombres, p.apellidoPaterno, p.apellidoMaterno, p.correo, p.rut FROM Persona p WHERE p.activo = true")
+    List<Object[]> findCamposBusqueda();
     
     @Query("SELECT p FROM Persona p WHERE p.tipoPersona.nombre = 'ESTUDIANTE' AND p.activo = true ORDER BY p.apellidoPaterno, p.nombres")
     List<Persona> findEstudiantes();
@@ -0,0 +1,34 @@
+package com.edutech.repository;
+
+//Importacion Clase Modelo
+import com.edutech.model.PrerrequisitoCurso;
+
+//Importaciones para BD con SpringData JPA
+import org.springframework.data.jpa.repository.JpaRepository;
+
+//Importaciones personalizaciones JPA
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+//Importacion para funcionamiento de repository
+import org.springframework.stereotype.Repository;
+
+//Importacion de Java
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PrerrequisitoCursoRepository extends JpaRepository<PrerrequisitoCurso, Long> {
+
+    Optional<PrerrequisitoCurso> findByCurso_IdAndPrerrequisito_Id(Long cursoId, Long prerrequisitoId);
+
+    // Todas las aristas (curso, prerrequisito) para cargar el grafo en memoria
+    @Query("SELECT p.curso.id, p.prerrequisito.id FROM PrerrequisitoCurso p")
+    List<Object[]> findAristas();
+
+    // Aristas en que participa un curso que se elimina
+    @Modifying
+    @Query("DELETE FROM PrerrequisitoCurso p WHERE p.curso.id = :cursoId OR p.prerrequisito.id = :cursoId")
+    int deleteByCursoInvolucrado(@Param("cursoId") Long cursoId);
+}
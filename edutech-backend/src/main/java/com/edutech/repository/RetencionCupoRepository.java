@@ -0,0 +1,42 @@
+package com.edutech.repository;
+
+//Importacion Clase Modelo
+import com.edutech.model.RetencionCupo;
+
+//Importaciones para BD con SpringData JPA
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+//Importacion para funcionamiento de repository
+import org.springframework.stereotype.Repository;
+
+//Importacion de Java
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RetencionCupoRepository extends JpaRepository<RetencionCupo, Long> {
+    
+    List<RetencionCupo> findByEstado(String estado);
+    
+    boolean existsByPersona_IdAndEjecucion_IdAndEstado(Long estudianteId, Long ejecucionId, String estado);
+    
+    long countByEjecucion_IdAndEstado(Long ejecucionId, String estado);
+    
+    boolean existsByEjecucion_Id(Long ejecucionId);
+    
+    // Retenciones activas por ejecución (para reconciliar el contador inscritos_actuales)
+    @Query("SELECT r.ejecucion.id, COUNT(r) FROM RetencionCupo r WHERE r.ejecucion.id IN :ejecucionIds AND r.estado = 'ACTIVA' GROUP BY r.ejecucion.id")
+    List<Object[]> contarActivasPorEjecucion(@Param("ejecucionIds") Collection<Long> ejecucionIds);
+    
+    // Cambio de estado condicional: solo una de confirmar / liberar / expirar gana sobre una retención activa
+    @Modifying
+    @Query("UPDATE RetencionCupo r SET r.estado = :nuevoEstado WHERE r.id = :id AND r.estado = 'ACTIVA'")
+    int cerrarSiActiva(@Param("id") Long id, @Param("nuevoEstado") String nuevoEstado);
+    
+    @Modifying
+    @Query("UPDATE RetencionCupo r SET r.estado = 'LIBERADA' WHERE r.ejecucion.id IN :ejecucionIds AND r.estado = 'ACTIVA'")
+    int liberarActivasDeEjecuciones(@Param("ejecucionIds") Collection<Long> ejecucionIds);
+}
@@ -0,0 +1,170 @@
+package com.edutech.service;
+
+//Importaciones del dto, model, repository y util
+import com.edutech.dto.EjecucionResumen;
+import com.edutech.dto.FiltroEjecuciones;
+import com.edutech.dto.PaginaEjecuciones;
+import com.edutech.model.Ejecucion;
+import com.edutech.model.MigracionDatos;
+import com.edutech.model.Persona;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.EjecucionSpecifications;
+import com.edutech.repository.MigracionDatosRepository;
+import com.edutech.util.HorarioSemanal;
+
+//Importaciones Spring y Lombok
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+//Importaciones Java
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Búsqueda de ejecuciones con filtros combinables y paginación por clave.
+ *
+ * Los filtros recibidos se combinan en una sola consulta (Specification) que trae curso
+ * y profesor con JOIN FETCH, ordenada por ID y limitada a una página más una fila para
+ * saber si hay siguiente. La página siguiente se pide con despuesDe = último ID, así el
+ * costo no crece con el número de página como con OFFSET.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BusquedaEjecucionesService {
+
+    public static final int LIMITE_POR_DEFECTO = 50;
+    public static final int LIMITE_MAXIMO = 200;
+    private static final int TAMANO_BATCH = 500;
+
+    private static final String SQL_SIN_DIAS = "SELECT id, horario FROM ejecuciones WHERE dias_semana IS NULL";
+    private static final String SQL_ACTUALIZAR_DIAS = "UPDATE ejecuciones SET dias_semana = ? WHERE id = ?";
+    private static final String MIGRACION_DIAS_SEMANA = "completar_dias_semana";
+
+    private final EjecucionRepository ejecucionRepository;
+    private final MigracionDatosRepository migracionDatosRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Completar dias_semana de las ejecuciones anteriores a la columna; corre una sola vez por base de datos
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (migracionDatosRepository.existsById(MIGRACION_DIAS_SEMANA)) {
+            return;
+        }
+        completarDiasSemana();
+        migracionDatosRepository.save(new MigracionDatos(MIGRACION_DIAS_SEMANA, LocalDateTime.now()));
+    }
+
+    /**
+     * Calcular dias_semana en las filas que no lo tienen (por ejemplo tras una carga por SQL directo).
+     * Devuelve la cantidad de ejecuciones completadas.
+     */
+    public int completarDiasSemana() {
+        List<Object[]> pendientes = jdbcTemplate.query(SQL_SIN_DIAS,
+                (rs, fila) -> new Object[] {HorarioSemanal.parsearOVacio(rs.getString("horario")).dias(), rs.getLong("id")});
+        if (pendientes.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(SQL_ACTUALIZAR_DIAS, pendientes, TAMANO_BATCH, (ps, fila) -> {
+            ps.setInt(1, (Integer) fila[0]);
+            ps.setLong(2, (Long) fila[1]);
+        });
+        log.info("Días de la semana completados para {} ejecuciones", pendientes.size());
+        return pendientes.size();
+    }
+
+    /**
+     * Buscar ejecuciones con los filtros indicados (los nulos no filtran)
+     */
+    public PaginaEjecuciones buscar(FiltroEjecuciones filtro) {
+        int limite = filtro.getLimite() != null ? filtro.getLimite() : LIMITE_POR_DEFECTO;
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + LIMITE_MAXIMO);
+        }
+        if (filtro.getDesde() != null && filtro.getHasta() != null && filtro.getHasta().isBefore(filtro.getDesde())) {
+            throw new IllegalArgumentException("La fecha hasta no puede ser anterior a la fecha desde");
+        }
+        if (filtro.getCuposMinimos() != null && filtro.getCuposMinimos() < 0) {
+            throw new IllegalArgumentException("Los cupos mínimos no pueden ser negativos");
+        }
+
+        List<Specification<Ejecucion>> filtros = new ArrayList<>();
+        filtros.add(EjecucionSpecifications.conCursoYProfesor());
+        if (filtro.getDespuesDe() != null) {
+            filtros.add(EjecucionSpecifications.despuesDe(filtro.getDespuesDe()));
+        }
+        if (filtro.getCursoId() != null) {
+            filtros.add(EjecucionSpecifications.delCurso(filtro.getCursoId()));
+        }
+        if (tieneTexto(filtro.getPeriodo())) {
+            filtros.add(EjecucionSpecifications.delPeriodo(filtro.getPeriodo().trim()));
+        }
+        if (tieneTexto(filtro.getEstado())) {
+            filtros.add(EjecucionSpecifications.conEstado(filtro.getEstado().trim().toUpperCase()));
+        }
+        if (filtro.getDesde() != null || filtro.getHasta() != null) {
+            filtros.add(EjecucionSpecifications.entreFechas(filtro.getDesde(), filtro.getHasta()));
+        }
+        if (filtro.getCuposMinimos() != null) {
+            filtros.add(EjecucionSpecifications.conCuposMinimos(filtro.getCuposMinimos()));
+        }
+        if (filtro.getProfesorId() != null) {
+            filtros.add(EjecucionSpecifications.delProfesor(filtro.getProfesorId()));
+        }
+        if (tieneTexto(filtro.getModalidad())) {
+            filtros.add(EjecucionSpecifications.conModalidad(filtro.getModalidad()));
+        }
+        if (tieneTexto(filtro.getDia())) {
+            filtros.add(EjecucionSpecifications.enDia(HorarioSemanal.indiceDia(filtro.getDia())));
+        }
+
+        // Una fila de más indica si existe una página siguiente
+        List<Ejecucion> encontradas = ejecucionRepository.findBy(Specification.allOf(filtros),
+                consulta -> consulta.sortBy(Sort.by("id")).limit(limite + 1).all());
+
+        boolean hayMas = encontradas.size() > limite;
+        List<EjecucionResumen> resumenes = new ArrayList<>(Math.min(encontradas.size(), limite));
+        for (Ejecucion ejecucion : hayMas ? encontradas.subList(0, limite) : encontradas) {
+            resumenes.add(resumir(ejecucion));
+        }
+        Long siguiente = hayMas ? resumenes.get(resumenes.size() - 1).getId() : null;
+        return new PaginaEjecuciones(resumenes, siguiente);
+    }
+
+    // Métodos privados
+
+    private static EjecucionResumen resumir(Ejecucion ejecucion) {
+        Persona profesor = ejecucion.getProfesor();
+        String sala = tieneTexto(ejecucion.getSala()) ? ejecucion.getSala() : ejecucion.getAula();
+        return new EjecucionResumen(
+                ejecucion.getId(),
+                ejecucion.getCurso().getId(),
+                ejecucion.getCurso().getCodigo(),
+                ejecucion.getCurso().getNombre(),
+                ejecucion.getCurso().getModalidad(),
+                ejecucion.getPeriodo(),
+                ejecucion.getSeccion(),
+                ejecucion.getFechaInicio(),
+                ejecucion.getFechaFin(),
+                ejecucion.getHorario(),
+                sala,
+                ejecucion.getCapacidadMaxima(),
+                ejecucion.getCuposDisponibles(),
+                ejecucion.getEstado(),
+                profesor != null ? profesor.getId() : null,
+                profesor != null ? profesor.getNombres() + " " + profesor.getApellidoPaterno() : null);
+    }
+
+    private static boolean tieneTexto(String texto) {
+        return texto != null && !texto.isBlank();
+    }
+}
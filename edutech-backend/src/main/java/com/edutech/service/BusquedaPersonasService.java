@@ -0,0 +1,134 @@
+package com.edutech.service;
+
+//Importaciones del dto, model, repository y util
+import com.edutech.dto.PaginaPersonas;
+import com.edutech.model.Persona;
+import com.edutech.repository.PersonaRepository;
+import com.edutech.util.IndiceEnMemoria;
+import com.edutech.util.IndiceTrigramasPersonas;
+
+//Importaciones Spring y Lombok
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+//Importaciones Java
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Búsqueda de personas resuelta en memoria con un índice de trigramas.
+ *
+ * Las personas activas se cargan una vez en un IndiceTrigramasPersonas (nombres, apellidos,
+ * correo y dígitos del RUT, sin tildes) y se actualizan después de cada commit que crea,
+ * modifica o elimina una persona; las inactivas no se indexan. El índice solo entrega los IDs
+ * de la página pedida, que se traen por clave primaria: reemplaza los cinco
+ * LIKE '%texto%' que recorrían la tabla completa en cada búsqueda.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BusquedaPersonasService {
+
+    public static final int TAMANO_POR_DEFECTO = 20;
+    public static final int TAMANO_MAXIMO = 100;
+    // Más allá de esta posición la consulta debe ser más precisa, no la página más profunda
+    public static final int RESULTADOS_MAXIMOS = 1000;
+
+    private final PersonaRepository personaRepository;
+
+    private final IndiceEnMemoria<IndiceTrigramasPersonas> indice = new IndiceEnMemoria<>(this::cargar);
+
+    /**
+     * Página de las personas que coinciden con la consulta, de la más a la menos parecida
+     */
+    public PaginaPersonas buscar(String consulta, int pagina, int tamano) {
+        if (tamano < 1 || tamano > TAMANO_MAXIMO) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + TAMANO_MAXIMO);
+        }
+        if (pagina < 0 || (long) (pagina + 1) * tamano > RESULTADOS_MAXIMOS) {
+            throw new IllegalArgumentException("Solo se pueden recorrer los primeros " + RESULTADOS_MAXIMOS + " resultados");
+        }
+        IndiceTrigramasPersonas.Resultado resultado = indice.obtener().buscar(consulta, pagina * tamano, tamano);
+        return new PaginaPersonas(personasPorId(resultado.ids()), resultado.total(), pagina, tamano);
+    }
+
+    /**
+     * Todas las personas que contienen cada palabra de la consulta, sin errores de tipeo ni
+     * parecidos (sin paginar)
+     */
+    public List<Persona> buscarTodas(String consulta) {
+        return personasPorId(indice.obtener().buscarExacta(consulta, 0, Integer.MAX_VALUE).ids());
+    }
+
+    /**
+     * Volver a indexar la persona cuando la transacción en curso confirme (alta o modificación)
+     */
+    public void actualizarAlConfirmar(Persona persona) {
+        // Se copian los campos ahora, así la acción no vuelve a leer la entidad después del commit
+        Long id = persona.getId();
+        if (id == null) {
+            return;
+        }
+        boolean activa = Boolean.TRUE.equals(persona.getActivo());
+        String nombres = persona.getNombres();
+        String apellidoPaterno = persona.getApellidoPaterno();
+        String apellidoMaterno = persona.getApellidoMaterno();
+        String correo = persona.getCorreo();
+        String rut = persona.getRut();
+        indice.cambiarAlConfirmar(actual -> {
+            if (activa) {
+                actual.poner(id, nombres, apellidoPaterno, apellidoMaterno, correo, rut);
+            } else {
+                actual.quitar(id);
+            }
+        });
+    }
+
+    /**
+     * Quitar la persona cuando la transacción en curso confirme
+     */
+    public void quitarAlConfirmar(Long personaId) {
+        indice.cambiarAlConfirmar(actual -> actual.quitar(personaId));
+    }
+
+    /**
+     * Cargar de nuevo el índice completo desde la base de datos
+     */
+    public void recargar() {
+        indice.recargar();
+    }
+
+    // Métodos privados
+
+    private IndiceTrigramasPersonas cargar() {
+        IndiceTrigramasPersonas nuevo = new IndiceTrigramasPersonas();
+        for (Object[] campos : personaRepository.findCamposBusqueda()) {
+            nuevo.poner((Long) campos[0], (String) campos[1], (String) campos[2], (String) campos[3],
+                    (String) campos[4], (String) campos[5]);
+        }
+        log.debug("Búsqueda de personas indexada con {} personas", nuevo.tamano());
+        return nuevo;
+    }
+
+    // Una consulta por clave primaria para la página, en el orden del índice
+    private List<Persona> personasPorId(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Persona> porId = new HashMap<>();
+        for (Persona persona : personaRepository.findAllById(ids)) {
+            porId.put(persona.getId(), persona);
+        }
+        List<Persona> resultado = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Persona persona = porId.get(id);
+            if (persona != null) {
+                resultado.add(persona);
+            }
+        }
+        return resultado;
+    }
+}
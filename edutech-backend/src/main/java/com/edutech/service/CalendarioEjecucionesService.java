@@ -0,0 +1,216 @@
+package com.edutech.service;
+
+//Importaciones del model, dto, repository y util
+import com.edutech.dto.DisponibilidadCupos;
+import com.edutech.model.Ejecucion;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.util.IndiceEnMemoria;
+import com.edutech.util.IndiceIntervalosFechas;
+
+//Importaciones Spring y Lombok
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+//Importaciones Java
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ejecuciones activas, futuras y pasadas resueltas en memoria.
+ *
+ * Las fechas de las ejecuciones no canceladas se mantienen en un IndiceIntervalosFechas
+ * que se carga una vez, se actualiza después de cada commit que crea, modifica, cancela
+ * o elimina una ejecución y avanza de día a la medianoche de la zona configurada
+ * (TareasMedianocheService). Los datos de cada ejecución se guardan con curso y profesor
+ * ya cargados, así que los cambios de un curso, de un profesor o de una planificación
+ * también vuelven a leer las ejecuciones afectadas; el contador de inscritos se toma de
+ * DisponibilidadCuposService, que es el que sigue a las inscripciones.
+ */
+@Service
+@Slf4j
+public class CalendarioEjecucionesService {
+
+    private final EjecucionRepository ejecucionRepository;
+    private final DisponibilidadCuposService disponibilidadCuposService;
+    private final TareasMedianocheService tareasMedianocheService;
+
+    private final IndiceEnMemoria<IndiceIntervalosFechas> indice = new IndiceEnMemoria<>(this::cargar);
+    // Solo cambia con la carga y los cambios del índice
+    private final Map<Long, Ejecucion> ejecuciones = new ConcurrentHashMap<>();
+
+    public CalendarioEjecucionesService(
+            EjecucionRepository ejecucionRepository,
+            DisponibilidadCuposService disponibilidadCuposService,
+            TareasMedianocheService tareasMedianocheService) {
+        this.ejecucionRepository = ejecucionRepository;
+        this.disponibilidadCuposService = disponibilidadCuposService;
+        this.tareasMedianocheService = tareasMedianocheService;
+    }
+
+    /**
+     * Registrar el cambio de día de cada medianoche
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        tareasMedianocheService.registrar("calendario de ejecuciones", this::avanzarDia);
+    }
+
+    /**
+     * Ejecuciones en curso hoy
+     */
+    public List<Ejecucion> obtenerActivas() {
+        return ejecucionesPorId(indiceDelDia().activos());
+    }
+
+    /**
+     * Ejecuciones que aún no comienzan
+     */
+    public List<Ejecucion> obtenerFuturas() {
+        return ejecucionesPorId(indiceDelDia().futuros());
+    }
+
+    /**
+     * Ejecuciones ya terminadas
+     */
+    public List<Ejecucion> obtenerPasadas() {
+        return ejecucionesPorId(indiceDelDia().pasados());
+    }
+
+    /**
+     * Indica si la ejecución está en curso hoy (false si no existe)
+     */
+    public boolean estaActiva(Long ejecucionId) {
+        return indiceDelDia().estaActivo(ejecucionId);
+    }
+
+    /**
+     * Volver a leer la ejecución cuando la transacción en curso confirme (alta o modificación)
+     */
+    public void actualizarAlConfirmar(Long ejecucionId) {
+        indice.cambiarAlConfirmar(actual -> ejecucionRepository.findByIdConCursoYProfesor(ejecucionId)
+                .ifPresentOrElse(ejecucion -> poner(actual, ejecucion), () -> quitar(actual, ejecucionId)));
+    }
+
+    /**
+     * Quitar la ejecución cuando la transacción en curso confirme
+     */
+    public void quitarAlConfirmar(Long ejecucionId) {
+        indice.cambiarAlConfirmar(actual -> quitar(actual, ejecucionId));
+    }
+
+    /**
+     * Volver a leer las ejecuciones del curso cuando la transacción en curso confirme
+     */
+    public void actualizarCursoAlConfirmar(Long cursoId) {
+        indice.cambiarAlConfirmar(actual -> ejecucionRepository.findAllConCursoYProfesorPorCurso(cursoId)
+                .forEach(ejecucion -> poner(actual, ejecucion)));
+    }
+
+    /**
+     * Volver a leer las ejecuciones que dicta el profesor cuando la transacción en curso confirme
+     */
+    public void actualizarProfesorAlConfirmar(Long profesorId) {
+        indice.cambiarAlConfirmar(actual -> ejecucionRepository.findAllConCursoYProfesorPorProfesor(profesorId)
+                .forEach(ejecucion -> poner(actual, ejecucion)));
+    }
+
+    /**
+     * Cargar de nuevo todas las ejecuciones cuando la transacción en curso confirme (cambios masivos)
+     */
+    public void recargarAlConfirmar() {
+        indice.recargarAlConfirmar();
+    }
+
+    /**
+     * Cargar de nuevo todas las ejecuciones desde la base de datos
+     */
+    public void recargar() {
+        indice.recargar();
+    }
+
+    // Métodos privados
+
+    private IndiceIntervalosFechas cargar() {
+        IndiceIntervalosFechas nuevo = new IndiceIntervalosFechas(tareasMedianocheService.hoy());
+        Map<Long, Ejecucion> cargadas = new HashMap<>();
+        for (Ejecucion ejecucion : ejecucionRepository.findAllConCursoYProfesor()) {
+            if (!Ejecucion.CANCELADA.equals(ejecucion.getEstado())) {
+                cargadas.put(ejecucion.getId(), ejecucion);
+                nuevo.poner(ejecucion.getId(), ejecucion.getFechaInicio(), ejecucion.getFechaFin());
+            }
+        }
+        ejecuciones.clear();
+        ejecuciones.putAll(cargadas);
+        log.debug("Calendario de ejecuciones cargado con {} ejecuciones", cargadas.size());
+        return nuevo;
+    }
+
+    private IndiceIntervalosFechas indiceDelDia() {
+        IndiceIntervalosFechas actual = indice.obtener();
+        // Si la tarea de medianoche aún no corrió, el cambio de día se aplica aquí
+        actual.avanzarA(tareasMedianocheService.hoy());
+        return actual;
+    }
+
+    // Una ejecución cancelada no está activa, futura ni pasada: sale del índice
+    private void poner(IndiceIntervalosFechas actual, Ejecucion ejecucion) {
+        if (Ejecucion.CANCELADA.equals(ejecucion.getEstado())) {
+            quitar(actual, ejecucion.getId());
+            return;
+        }
+        ejecuciones.put(ejecucion.getId(), ejecucion);
+        actual.poner(ejecucion.getId(), ejecucion.getFechaInicio(), ejecucion.getFechaFin());
+    }
+
+    private void quitar(IndiceIntervalosFechas actual, Long ejecucionId) {
+        actual.quitar(ejecucionId);
+        ejecuciones.remove(ejecucionId);
+    }
+
+    private List<Ejecucion> ejecucionesPorId(List<Long> ids) {
+        Map<Long, Integer> inscritos = new HashMap<>();
+        for (DisponibilidadCupos disponibilidad : disponibilidadCuposService.obtener(ids)) {
+            inscritos.put(disponibilidad.getEjecucionId(), disponibilidad.getInscritos());
+        }
+
+        List<Ejecucion> resultado = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Ejecucion ejecucion = ejecuciones.get(id);
+            if (ejecucion != null) {
+                resultado.add(copiarConInscritos(ejecucion, inscritos.getOrDefault(id, ejecucion.getInscritosActuales())));
+            }
+        }
+        return resultado;
+    }
+
+    private static Ejecucion copiarConInscritos(Ejecucion original, Integer inscritos) {
+        // Copia para no compartir la instancia en memoria con quien recibe la lista
+        Ejecucion copia = new Ejecucion();
+        copia.setId(original.getId());
+        copia.setCurso(original.getCurso());
+        copia.setPeriodo(original.getPeriodo());
+        copia.setSeccion(original.getSeccion());
+        copia.setFechaInicio(original.getFechaInicio());
+        copia.setFechaFin(original.getFechaFin());
+        copia.setAula(original.getAula());
+        copia.setHorario(original.getHorario());
+        copia.setCapacidadMaxima(original.getCapacidadMaxima());
+        copia.setInscritosActuales(inscritos);
+        copia.setEstado(original.getEstado());
+        copia.setProfesor(original.getProfesor());
+        copia.setSala(original.getSala());
+        return copia;
+    }
+
+    private void avanzarDia() {
+        indice.cambiar(actual -> {
+            actual.avanzarA(tareasMedianocheService.hoy());
+            log.debug("Calendario de ejecuciones avanzado a {}", actual.obtenerHoy());
+        });
+    }
+}
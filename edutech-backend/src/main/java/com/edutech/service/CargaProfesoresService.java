@@ -0,0 +1,222 @@
+package com.edutech.service;
+
+//Importaciones del dto, model, repository y util
+import com.edutech.dto.CargaPeriodo;
+import com.edutech.dto.CargaProfesor;
+import com.edutech.model.Ejecucion;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.util.HorarioSemanal;
+import com.edutech.util.IndiceCargaProfesores;
+import com.edutech.util.IndiceEnMemoria;
+import com.edutech.util.TransaccionUtils;
+
+//Importaciones Spring y Lombok
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+//Importaciones Java
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Carga docente de los profesores y verificación de choques de horario al asignarlos.
+ *
+ * El índice se carga una vez con una consulta de proyección (ejecución, profesor, período,
+ * horario y horas del curso) y se actualiza después de cada commit que asigna, reasigna o
+ * elimina una ejecución, así la carga de un profesor se responde sin leer sus ejecuciones.
+ * Al guardar, el profesor se verifica y se asigna en el índice bajo el mismo candado, dentro
+ * de la transacción, así dos asignaciones simultáneas en las mismas franjas no pasan ambas.
+ * Hasta que la transacción termina la asignación se recuerda aparte, para que una recarga
+ * completa no la pierda. Las ejecuciones canceladas no suman carga.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CargaProfesoresService {
+
+    private final EjecucionRepository ejecucionRepository;
+
+    private final IndiceEnMemoria<IndiceCargaProfesores> indice = new IndiceEnMemoria<>(this::cargar);
+    // Asignaciones de transacciones aún sin terminar (solo se tocan bajo el candado del índice)
+    private final Map<Long, Asignacion> enCurso = new HashMap<>();
+
+    /**
+     * Asignar el profesor de la ejecución ya guardada en sus franjas del período, o lanzar
+     * IllegalArgumentException si ya dicta otra ejecución en ellas. Se llama dentro de la
+     * transacción que guarda la ejecución; si se revierte, la asignación se vuelve a leer.
+     */
+    public void reservar(Long ejecucionId, Ejecucion ejecucion) {
+        List<Long> conflictos = intentarReservar(ejecucionId, ejecucion);
+        if (!conflictos.isEmpty()) {
+            throw new IllegalArgumentException(describirChoque(asignacionDe(ejecucion), conflictos));
+        }
+    }
+
+    /**
+     * Igual que reservar(), pero devuelve las ejecuciones del profesor que chocan en lugar de
+     * lanzar la excepción (vacía si quedó asignado)
+     */
+    public List<Long> intentarReservar(Long ejecucionId, Ejecucion ejecucion) {
+        if (Ejecucion.CANCELADA.equals(ejecucion.getEstado())) {
+            return List.of();
+        }
+        Asignacion asignacion = asignacionDe(ejecucion);
+        List<Long> conflictos = indice.usar(actual -> {
+            List<Long> choques = asignacion.choquesEn(actual, ejecucionId);
+            if (choques.isEmpty()) {
+                asignacion.aplicar(actual, ejecucionId);
+                enCurso.put(ejecucionId, asignacion);
+            }
+            return choques;
+        });
+        if (conflictos.isEmpty()) {
+            soltarAlTerminar(Set.of(ejecucionId));
+        }
+        return conflictos;
+    }
+
+    /**
+     * Asignar en un solo paso los profesores de varias ejecuciones ya guardadas (cambios
+     * masivos), o lanzar IllegalArgumentException sin asignar ninguno si alguno choca con una
+     * ejecución que no está entre ellas. Las asignaciones anteriores de esas ejecuciones no
+     * cuentan, y los choques entre ellas los verifica quien llama.
+     */
+    public void reservarTodas(List<Ejecucion> ejecuciones) {
+        Map<Long, Asignacion> asignaciones = new LinkedHashMap<>();
+        for (Ejecucion ejecucion : ejecuciones) {
+            if (!Ejecucion.CANCELADA.equals(ejecucion.getEstado())) {
+                asignaciones.put(ejecucion.getId(), asignacionDe(ejecucion));
+            }
+        }
+        String conflicto = indice.usar(actual -> {
+            for (Map.Entry<Long, Asignacion> entrada : asignaciones.entrySet()) {
+                List<Long> choques = new ArrayList<>(entrada.getValue().choquesEn(actual, entrada.getKey()));
+                choques.removeAll(asignaciones.keySet());
+                if (!choques.isEmpty()) {
+                    return describirChoque(entrada.getValue(), choques);
+                }
+            }
+            asignaciones.forEach((ejecucionId, asignacion) -> {
+                asignacion.aplicar(actual, ejecucionId);
+                enCurso.put(ejecucionId, asignacion);
+            });
+            return null;
+        });
+        if (conflicto != null) {
+            throw new IllegalArgumentException(conflicto);
+        }
+        soltarAlTerminar(asignaciones.keySet());
+    }
+
+    /**
+     * Carga docente del profesor (sin períodos si no tiene ejecuciones asignadas)
+     */
+    public CargaProfesor obtenerCarga(Long profesorId) {
+        List<CargaPeriodo> periodos = new ArrayList<>();
+        int ejecuciones = 0;
+        int horas = 0;
+        for (IndiceCargaProfesores.Resumen resumen : indice.obtener().resumen(profesorId)) {
+            periodos.add(new CargaPeriodo(resumen.periodo(), resumen.ejecuciones(), resumen.horas(),
+                    resumen.minutosSemanales(), resumen.horario().describir()));
+            ejecuciones += resumen.ejecuciones();
+            horas += resumen.horas();
+        }
+        return new CargaProfesor(profesorId, ejecuciones, horas, periodos);
+    }
+
+    /**
+     * Volver a leer la asignación de la ejecución cuando la transacción en curso confirme
+     */
+    public void actualizarAlConfirmar(Long ejecucionId) {
+        indice.cambiarAlConfirmar(actual -> refrescar(actual, ejecucionId));
+    }
+
+    /**
+     * Quitar la ejecución cuando la transacción en curso confirme
+     */
+    public void quitarAlConfirmar(Long ejecucionId) {
+        indice.cambiarAlConfirmar(actual -> actual.quitar(ejecucionId));
+    }
+
+    /**
+     * Cargar de nuevo la carga docente cuando la transacción en curso confirme (cambios masivos)
+     */
+    public void recargarAlConfirmar() {
+        indice.recargarAlConfirmar();
+    }
+
+    /**
+     * Cargar de nuevo la carga de todos los profesores desde la base de datos
+     */
+    public void recargar() {
+        indice.recargar();
+    }
+
+    // Métodos privados
+
+    private IndiceCargaProfesores cargar() {
+        IndiceCargaProfesores nuevo = new IndiceCargaProfesores();
+        int asignaciones = 0;
+        for (Object[] fila : ejecucionRepository.findCargaProfesores()) {
+            poner(nuevo, fila);
+            asignaciones++;
+        }
+        enCurso.forEach((ejecucionId, asignacion) -> asignacion.aplicar(nuevo, ejecucionId));
+        log.debug("Carga docente cargada con {} ejecuciones asignadas", asignaciones);
+        return nuevo;
+    }
+
+    private void refrescar(IndiceCargaProfesores actual, Long ejecucionId) {
+        // Sin filas: la ejecución no existe o quedó sin profesor
+        List<Object[]> filas = ejecucionRepository.findCargaProfesor(ejecucionId);
+        if (filas.isEmpty()) {
+            actual.quitar(ejecucionId);
+        } else {
+            poner(actual, filas.get(0));
+        }
+    }
+
+    /**
+     * Al terminar la transacción las asignaciones dejan de recordarse aparte; si se revierte,
+     * las de esas ejecuciones se vuelven a leer desde la base de datos
+     */
+    private void soltarAlTerminar(Set<Long> ejecucionIds) {
+        TransaccionUtils.alTerminar(() -> indice.cambiar(actual -> enCurso.keySet().removeAll(ejecucionIds)));
+        TransaccionUtils.siSeRevierte(() -> indice.cambiar(actual -> ejecucionIds.forEach(id -> refrescar(actual, id))));
+    }
+
+    private static Asignacion asignacionDe(Ejecucion ejecucion) {
+        Long profesorId = ejecucion.getProfesor() != null ? ejecucion.getProfesor().getId() : null;
+        // Las horas definitivas del curso se leen al confirmar
+        Integer horas = ejecucion.getCurso() != null ? ejecucion.getCurso().getTotalHoras() : null;
+        return new Asignacion(profesorId, ejecucion.getPeriodo(), HorarioSemanal.parsearOVacio(ejecucion.getHorario()),
+                horas != null ? horas : 0);
+    }
+
+    private static String describirChoque(Asignacion asignacion, List<Long> conflictos) {
+        return "El profesor " + asignacion.profesorId() + " ya dicta las ejecuciones " + conflictos
+                + " en el período " + asignacion.periodo() + " (" + asignacion.horario() + ")";
+    }
+
+    private static void poner(IndiceCargaProfesores destino, Object[] fila) {
+        // (id, profesor_id, periodo, horario, total_horas)
+        Integer horas = (Integer) fila[4];
+        destino.poner((Long) fila[0], (Long) fila[1], (String) fila[2],
+                HorarioSemanal.parsearOVacio((String) fila[3]), horas != null ? horas : 0);
+    }
+
+    private record Asignacion(Long profesorId, String periodo, HorarioSemanal horario, int horas) {
+        void aplicar(IndiceCargaProfesores destino, Long ejecucionId) {
+            destino.poner(ejecucionId, profesorId, periodo, horario, horas);
+        }
+
+        List<Long> choquesEn(IndiceCargaProfesores destino, Long ejecucionId) {
+            return profesorId != null ? destino.choquesCon(ejecucionId, profesorId, periodo, horario) : List.of();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.edutech.service;
+
+//Importaciones del model, dto y repository
+import com.edutech.dto.ReporteCarrito;
+import com.edutech.dto.ResultadoItemCarrito;
+import com.edutech.model.Ejecucion;
+import com.edutech.model.Inscripcion;
+import com.edutech.model.Persona;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.InscripcionRepository;
+import com.edutech.repository.PersonaRepository;
+
+//Importaciones Spring y Lombok
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+//Importaciones Java
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Carrito de inscripción: todas las ejecuciones del carrito o ninguna.
+ *
+ * Los cupos se toman con el mismo UPDATE condicional de inscribir, siempre en orden
+ * ascendente de ID de ejecución; como todas las operaciones que bloquean más de una
+ * ejecución usan ese mismo orden global, dos carritos que se traslapan nunca quedan
+ * esperándose mutuamente. Si algún ítem es rechazado la transacción se revierte
+ * completa y se informa el motivo de cada ítem.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CarritoInscripcionService {
+
+    public static final int MAXIMO_POR_CARRITO = 20;
+
+    private final PersonaRepository personaRepository;
+    private final EjecucionRepository ejecucionRepository;
+    private final InscripcionRepository inscripcionRepository;
+    private final ReservaCuposService reservaCuposService;
+    private final ChoqueHorarioService choqueHorarioService;
+    private final PrerrequisitoService prerrequisitoService;
+    private final ListaEsperaService listaEsperaService;
+
+    /**
+     * Inscribir al estudiante en todas las ejecuciones del carrito, o en ninguna
+     */
+    @Transactional
+    public ReporteCarrito inscribirCarrito(Long estudianteId, List<Long> ejecucionIds) {
+        if (ejecucionIds == null || ejecucionIds.isEmpty()) {
+            throw new IllegalArgumentException("El carrito está vacío");
+        }
+        if (ejecucionIds.size() > MAXIMO_POR_CARRITO) {
+            throw new IllegalArgumentException("El carrito no puede superar " + MAXIMO_POR_CARRITO + " ejecuciones");
+        }
+        if (estudianteId == null) {
+            throw new IllegalArgumentException("El estudiante es obligatorio");
+        }
+        Persona estudiante = personaRepository.findById(estudianteId)
+                .orElseThrow(() -> new IllegalArgumentException("Estudiante no encontrado"));
+
+        // Orden global: ID de ejecución ascendente
+        Map<Long, ResultadoItemCarrito> resultados = new LinkedHashMap<>();
+        TreeSet<Long> ordenadas = new TreeSet<>();
+        for (Long ejecucionId : ejecucionIds) {
+            if (ejecucionId == null) {
+                throw new IllegalArgumentException("El carrito contiene una ejecución sin ID");
+            }
+            if (!ordenadas.add(ejecucionId)) {
+                throw new IllegalArgumentException("La ejecución " + ejecucionId + " está repetida en el carrito");
+            }
+        }
+
+        Map<Long, Ejecucion> ejecuciones = new HashMap<>();
+        for (Ejecucion ejecucion : ejecucionRepository.findAllById(ordenadas)) {
+            ejecuciones.put(ejecucion.getId(), ejecucion);
+        }
+        Set<Long> yaInscritas = new HashSet<>();
+        for (Object[] par : inscripcionRepository.findParesInscritos(List.of(estudianteId), ordenadas)) {
+            yaInscritas.add((Long) par[1]);
+        }
+
+        // Validaciones sin bloqueo y luego reserva de horario y cupos en orden
+        LocalDate hoy = LocalDate.now();
+        boolean rechazado = false;
+        BitSet aprobados = null;
+        for (Long ejecucionId : ordenadas) {
+            String motivo = validar(ejecuciones.get(ejecucionId), yaInscritas.contains(ejecucionId), hoy);
+            // Los cursos aprobados se leen una vez, y solo si algún curso del carrito tiene prerrequisitos
+            if (motivo == null && prerrequisitoService.tieneRequisitos(ejecuciones.get(ejecucionId).getCurso().getId())) {
+                if (aprobados == null) {
+                    aprobados = prerrequisitoService.aprobados(estudianteId);
+                }
+                List<Long> faltantes = prerrequisitoService.faltantes(ejecuciones.get(ejecucionId).getCurso().getId(), aprobados);
+                if (!faltantes.isEmpty()) {
+                    motivo = PrerrequisitoService.motivo(faltantes);
+                }
+            }
+            // Las franjas se reservan ítem a ítem, así también se detectan choques dentro del mismo carrito
+            if (motivo == null && !choqueHorarioService.intentarReservarFranjas(estudianteId, ejecuciones.get(ejecucionId))) {
+                motivo = "El horario de la ejecución choca con otra inscripción del estudiante o del carrito";
+            }
+            if (motivo == null && !reservaCuposService.reservar(ejecucionId)) {
+                motivo = "No hay cupos disponibles en esta ejecución";
+            }
+            if (motivo != null) {
+                rechazado = true;
+                resultados.put(ejecucionId, new ResultadoItemCarrito(ejecucionId, ResultadoItemCarrito.RECHAZADO, motivo, null));
+            } else {
+                resultados.put(ejecucionId, new ResultadoItemCarrito(ejecucionId, ResultadoItemCarrito.INSCRITO, null, null));
+            }
+        }
+
+        if (rechazado) {
+            // Se revierten los cupos ya tomados; el reporte se devuelve igual
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            for (ResultadoItemCarrito resultado : resultados.values()) {
+                if (ResultadoItemCarrito.INSCRITO.equals(resultado.getEstado())) {
+                    resultado.setEstado(ResultadoItemCarrito.SIN_APLICAR);
+                    resultado.setMotivo("No se aplicó porque otra ejecución del carrito fue rechazada");
+                }
+            }
+            log.debug("Carrito del estudiante {} rechazado", estudianteId);
+            return new ReporteCarrito(estudianteId, false, ordenarComoSolicitud(ejecucionIds, resultados));
+        }
+
+        List<Inscripcion> inscripciones = new ArrayList<>(ordenadas.size());
+        LocalDateTime ahora = LocalDateTime.now();
+        for (Long ejecucionId : ordenadas) {
+            Inscripcion inscripcion = new Inscripcion();
+            inscripcion.setPersona(estudiante);
+            inscripcion.setEjecucion(ejecuciones.get(ejecucionId));
+            inscripcion.setFechaInscripcion(ahora);
+            inscripcion.setEstado("ACTIVA");
+            inscripcion.setActivo(true);
+            inscripciones.add(inscripcion);
+        }
+        try {
+            for (Inscripcion guardada : inscripcionRepository.saveAllAndFlush(inscripciones)) {
+                resultados.get(guardada.getEjecucion().getId()).setInscripcionId(guardada.getId());
+                listaEsperaService.retirarInscritos(guardada.getEjecucion().getId(), List.of(estudianteId));
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Otra solicitud concurrente inscribió al mismo estudiante en alguna de las ejecuciones
+            throw new IllegalStateException("El estudiante ya está inscrito en alguna de las ejecuciones del carrito");
+        }
+        return new ReporteCarrito(estudianteId, true, ordenarComoSolicitud(ejecucionIds, resultados));
+    }
+
+    // Métodos privados
+
+    private String validar(Ejecucion ejecucion, boolean yaInscrito, LocalDate hoy) {
+        if (ejecucion == null) {
+            return "Ejecución no encontrada";
+        }
+        if (yaInscrito) {
+            return "El estudiante ya está inscrito en esta ejecución";
+        }
+        if (!ejecucion.admiteInscripciones()) {
+            return ReservaCuposService.motivoEstado(ejecucion.getEstado());
+        }
+        if (ejecucion.getFechaInicio().isAfter(hoy)) {
+            return "No se puede inscribir a una ejecución que aún no ha comenzado";
+        }
+        return null;
+    }
+
+    private static List<ResultadoItemCarrito> ordenarComoSolicitud(List<Long> ejecucionIds, Map<Long, ResultadoItemCarrito> resultados) {
+        List<ResultadoItemCarrito> ordenados = new ArrayList<>(ejecucionIds.size());
+        for (Long ejecucionId : ejecucionIds) {
+            ordenados.add(resultados.get(ejecucionId));
+        }
+        return ordenados;
+    }
+}
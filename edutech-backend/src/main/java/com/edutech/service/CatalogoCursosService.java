@@ -0,0 +1,189 @@
+package com.edutech.service;
+
+//Importaciones del dto, model, repository y util
+import com.edutech.dto.FacetasCatalogo;
+import com.edutech.dto.FiltroCursos;
+import com.edutech.model.Curso;
+import com.edutech.repository.CursoRepository;
+import com.edutech.util.ColumnasCatalogo;
+import com.edutech.util.IndiceEnMemoria;
+import com.edutech.util.IndiceTextoCursos;
+
+//Importaciones Spring y Lombok
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+//Importaciones Java
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Búsqueda de texto del catálogo de cursos resuelta en memoria.
+ *
+ * Los cursos se cargan una vez en un IndiceTextoCursos (código, nombre y descripción,
+ * sin tildes y por raíz) junto con una copia de cada curso, y se actualizan después de
+ * cada commit que crea, modifica o retira un curso (los retirados no se indexan). Una
+ * búsqueda no consulta la base de datos: reemplaza los LIKE '%texto%' que recorrían la
+ * tabla completa.
+ *
+ * La navegación por facetas usa una copia columnar (ColumnasCatalogo) de esos mismos
+ * cursos, que se descarta con cada cambio y se vuelve a armar en la consulta siguiente.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogoCursosService {
+
+    public static final int LIMITE_POR_DEFECTO = 50;
+    public static final int LIMITE_MAXIMO = 200;
+
+    private final CursoRepository cursoRepository;
+
+    private final IndiceEnMemoria<IndiceTextoCursos> indice = new IndiceEnMemoria<>(this::cargar);
+    // La copia de cursos y la columnar solo cambian con la carga y los cambios del índice
+    private final Map<Long, Curso> cursos = new ConcurrentHashMap<>();
+    private volatile ColumnasCatalogo columnas;
+
+    /**
+     * Cursos que contienen todas las palabras de la consulta (código, nombre o descripción), por relevancia
+     */
+    public List<Curso> buscar(String consulta, int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + LIMITE_MAXIMO);
+        }
+        return cursosPorId(indice.obtener().buscar(consulta, IndiceTextoCursos.TODOS, limite));
+    }
+
+    /**
+     * Cursos cuyo nombre contiene las palabras indicadas, por relevancia
+     */
+    public List<Curso> buscarPorNombre(String nombre) {
+        return cursosPorId(indice.obtener().buscar(nombre, IndiceTextoCursos.NOMBRE, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Cursos cuya descripción contiene las palabras indicadas, por relevancia
+     */
+    public List<Curso> buscarPorDescripcion(String descripcion) {
+        return cursosPorId(indice.obtener().buscar(descripcion, IndiceTextoCursos.DESCRIPCION, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Curso del catálogo en memoria (vacío si no existe)
+     */
+    public Optional<Curso> obtener(Long cursoId) {
+        indice.obtener();
+        return Optional.ofNullable(cursos.get(cursoId));
+    }
+
+    /**
+     * Página del catálogo filtrado por modalidad, ciclo y créditos, con el conteo de cada faceta
+     */
+    public FacetasCatalogo facetas(FiltroCursos filtro) {
+        int limite = filtro.getLimite() != null ? filtro.getLimite() : LIMITE_POR_DEFECTO;
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + LIMITE_MAXIMO);
+        }
+        if (filtro.getCreditosMin() != null && filtro.getCreditosMax() != null
+                && filtro.getCreditosMax() < filtro.getCreditosMin()) {
+            throw new IllegalArgumentException("Los créditos máximos no pueden ser menores que los mínimos");
+        }
+
+        long despuesDe = filtro.getDespuesDe() != null ? filtro.getDespuesDe() : Long.MIN_VALUE;
+        ColumnasCatalogo.Resultado resultado = columnasCargadas().consultar(filtro.getModalidad(), filtro.getCiclo(),
+                filtro.getCreditosMin(), filtro.getCreditosMax(), despuesDe, limite);
+        List<Long> ids = resultado.ids();
+        Long siguiente = resultado.hayMas() ? ids.get(ids.size() - 1) : null;
+        return new FacetasCatalogo(cursosPorId(ids), siguiente, resultado.total(),
+                resultado.modalidades(), resultado.ciclos(), resultado.creditos());
+    }
+
+    /**
+     * Volver a indexar el curso cuando la transacción en curso confirme (alta o modificación)
+     */
+    public void actualizarAlConfirmar(Long cursoId) {
+        indice.cambiarAlConfirmar(actual -> refrescar(actual, cursoId));
+    }
+
+    /**
+     * Quitar el curso cuando la transacción en curso confirme
+     */
+    public void quitarAlConfirmar(Long cursoId) {
+        indice.cambiarAlConfirmar(actual -> quitar(actual, cursoId));
+    }
+
+    /**
+     * Cargar de nuevo el catálogo completo desde la base de datos
+     */
+    public void recargar() {
+        indice.recargar();
+    }
+
+    // Métodos privados
+
+    private IndiceTextoCursos cargar() {
+        IndiceTextoCursos nuevo = new IndiceTextoCursos();
+        Map<Long, Curso> cargados = new HashMap<>();
+        for (Curso curso : cursoRepository.findAll()) {
+            if (curso.getFechaRetiro() != null) {
+                continue;
+            }
+            cargados.put(curso.getId(), curso);
+            nuevo.poner(curso.getId(), curso.getCodigo(), curso.getNombre(), curso.getDescripcion());
+        }
+        cursos.clear();
+        cursos.putAll(cargados);
+        columnas = null;
+        log.debug("Catálogo de cursos indexado con {} cursos", cargados.size());
+        return nuevo;
+    }
+
+    // Se arma bajo el candado del índice, así la copia de cursos refleja un estado completo
+    private ColumnasCatalogo columnasCargadas() {
+        ColumnasCatalogo actual = columnas;
+        if (actual != null) {
+            return actual;
+        }
+        return indice.usar(cargado -> {
+            if (columnas == null) {
+                List<ColumnasCatalogo.Fila> filas = new ArrayList<>(cursos.size());
+                for (Curso curso : cursos.values()) {
+                    filas.add(new ColumnasCatalogo.Fila(curso.getId(), curso.getModalidad(), curso.getCiclo(),
+                            curso.getCreditos() != null ? curso.getCreditos() : 0));
+                }
+                columnas = new ColumnasCatalogo(filas);
+            }
+            return columnas;
+        });
+    }
+
+    private void refrescar(IndiceTextoCursos actual, Long cursoId) {
+        cursoRepository.findById(cursoId).filter(curso -> curso.getFechaRetiro() == null).ifPresentOrElse(curso -> {
+            cursos.put(cursoId, curso);
+            actual.poner(cursoId, curso.getCodigo(), curso.getNombre(), curso.getDescripcion());
+            columnas = null;
+        }, () -> quitar(actual, cursoId));
+    }
+
+    private void quitar(IndiceTextoCursos actual, Long cursoId) {
+        actual.quitar(cursoId);
+        cursos.remove(cursoId);
+        columnas = null;
+    }
+
+    private List<Curso> cursosPorId(List<Long> ids) {
+        List<Curso> resultado = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Curso curso = cursos.get(id);
+            if (curso != null) {
+                resultado.add(curso);
+            }
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,408 @@
+package com.edutech.service;
+
+//Importaciones del model, dto, repository y util
+import com.edutech.dto.ChoqueHorario;
+import com.edutech.model.Ejecucion;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.InscripcionRepository;
+import com.edutech.util.HorarioSemanal;
+import com.edutech.util.TransaccionUtils;
+
+//Importaciones Spring y Lombok
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+//Importaciones Java
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiFunction;
+
+/**
+ * Detección de choques de horario entre inscripciones.
+ *
+ * Por cada estudiante y período se mantiene en memoria el mapa de bits de su horario
+ * (unión de las ejecuciones del período en que está inscrito), cargado desde la base de
+ * datos; ejecuciones de períodos distintos nunca chocan entre sí. Verificar un choque
+ * es un AND con el horario de la ejecución. La reserva de franjas se hace bajo el
+ * candado del estudiante antes del commit y se deshace si la transacción se revierte,
+ * así dos inscripciones concurrentes que chocan no pasan ambas. Los horarios de un
+ * estudiante se descartan por antigüedad (TTL), por tamaño máximo y al invalidarlos,
+ * nunca mientras una transacción suya tiene franjas reservadas: invalidado en ese estado
+ * queda marcado como obsoleto y se reemplaza cuando la última transacción lo suelta,
+ * porque una recarga desde la base de datos no vería las reservas aún sin confirmar.
+ * Se vuelven a cargar al usarlos.
+ */
+@Service
+@Slf4j
+public class ChoqueHorarioService {
+
+    private final InscripcionRepository inscripcionRepository;
+    private final EjecucionRepository ejecucionRepository;
+    private final int maximoEstudiantes;
+    private final long ttlNanos;
+
+    private final Map<Long, HorariosEstudiante> horarios = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<HorariosEstudiante> ordenLlegada = new ConcurrentLinkedQueue<>();
+
+    public ChoqueHorarioService(
+            InscripcionRepository inscripcionRepository,
+            EjecucionRepository ejecucionRepository,
+            @Value("${edutech.inscripciones.horarios.maximo-estudiantes:20000}") int maximoEstudiantes,
+            @Value("${edutech.inscripciones.horarios.ttl-minutos:30}") long ttlMinutos) {
+        this.inscripcionRepository = inscripcionRepository;
+        this.ejecucionRepository = ejecucionRepository;
+        this.maximoEstudiantes = maximoEstudiantes;
+        this.ttlNanos = Duration.ofMinutes(ttlMinutos).toNanos();
+    }
+
+    /**
+     * Reservar las franjas de la ejecución en el horario del estudiante; falla si hay choque
+     */
+    public void reservarFranjas(Long estudianteId, Ejecucion ejecucion) {
+        if (!intentarReservarFranjas(estudianteId, ejecucion)) {
+            throw new IllegalStateException("El horario de la ejecución choca con otra inscripción del estudiante");
+        }
+    }
+
+    /**
+     * Igual que reservarFranjas, pero devuelve false en lugar de fallar si hay choque
+     */
+    public boolean intentarReservarFranjas(Long estudianteId, Ejecucion ejecucion) {
+        HorarioSemanal franjas = HorarioSemanal.parsearOVacio(ejecucion.getHorario());
+        if (franjas.estaVacio()) {
+            return true;
+        }
+
+        // Fijado hasta que la transacción termine: no se descarta con una reserva sin confirmar
+        HorariosEstudiante delEstudiante = fijar(estudianteId);
+        boolean reservada = false;
+        try {
+            HorarioEstudiante horario = delEstudiante.delPeriodo(ejecucion.getPeriodo(), this::cargar);
+            Long ejecucionId = ejecucion.getId();
+            if (!horario.agregarSiNoChoca(ejecucionId, franjas)) {
+                return false;
+            }
+            TransaccionUtils.siSeRevierte(() -> horario.quitar(ejecucionId));
+            reservada = true;
+            return true;
+        } finally {
+            if (reservada) {
+                TransaccionUtils.alTerminar(() -> soltar(delEstudiante));
+            } else {
+                soltar(delEstudiante);
+            }
+        }
+    }
+
+    /**
+     * Indica si la ejecución choca con el horario actual del estudiante (sin reservar)
+     */
+    public boolean choca(Long estudianteId, Ejecucion ejecucion) {
+        HorarioSemanal franjas = HorarioSemanal.parsearOVacio(ejecucion.getHorario());
+        if (franjas.estaVacio()) {
+            return false;
+        }
+        HorariosEstudiante delEstudiante = fijar(estudianteId);
+        try {
+            return delEstudiante.delPeriodo(ejecucion.getPeriodo(), this::cargar).choca(franjas);
+        } finally {
+            soltar(delEstudiante);
+        }
+    }
+
+    /**
+     * Quitar una ejecución del horario del estudiante cuando la transacción confirme
+     */
+    public void quitarAlConfirmar(Long estudianteId, Long ejecucionId) {
+        TransaccionUtils.despuesDelCommit(() -> liberarFranjas(estudianteId, ejecucionId));
+    }
+
+    /**
+     * Deshacer de inmediato una reserva de franjas que no llegó a usarse
+     */
+    public void liberarFranjas(Long estudianteId, Long ejecucionId) {
+        HorariosEstudiante delEstudiante = horarios.get(estudianteId);
+        if (delEstudiante != null) {
+            delEstudiante.porPeriodo.values().forEach(horario -> horario.quitar(ejecucionId));
+        }
+    }
+
+    /**
+     * Descartar el horario en memoria de un estudiante (se vuelve a cargar al usarlo)
+     */
+    public void invalidarEstudianteAlConfirmar(Long estudianteId) {
+        TransaccionUtils.despuesDelCommit(() -> {
+            HorariosEstudiante delEstudiante = horarios.get(estudianteId);
+            if (delEstudiante != null) {
+                invalidar(delEstudiante);
+            }
+        });
+    }
+
+    /**
+     * Descartar todos los horarios en memoria (por ejemplo, si cambió el horario de una ejecución)
+     */
+    public void invalidarTodoAlConfirmar() {
+        TransaccionUtils.despuesDelCommit(() -> horarios.values().forEach(this::invalidar));
+    }
+
+    /**
+     * Horario ocupado en un período de varios estudiantes, con una sola consulta para los que no están en memoria
+     */
+    public Map<Long, HorarioSemanal> obtenerHorariosOcupados(Collection<Long> estudianteIds, String periodo) {
+        Map<Long, HorarioSemanal> ocupados = new HashMap<>();
+        List<Long> faltantes = new ArrayList<>();
+        long ahora = System.nanoTime();
+        for (Long estudianteId : estudianteIds) {
+            HorariosEstudiante delEstudiante = horarios.get(estudianteId);
+            HorarioEstudiante horario = delEstudiante != null && delEstudiante.estaVigente(ahora, ttlNanos)
+                    ? delEstudiante.porPeriodo.get(clave(periodo)) : null;
+            if (horario != null) {
+                ocupados.put(estudianteId, horario.ocupado());
+            } else {
+                faltantes.add(estudianteId);
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            Map<Long, List<HorarioSemanal>> porEstudiante = new HashMap<>();
+            for (Object[] fila : inscripcionRepository.findHorariosActivos(faltantes, periodo)) {
+                porEstudiante.computeIfAbsent((Long) fila[0], id -> new ArrayList<>())
+                        .add(HorarioSemanal.parsearOVacio((String) fila[2]));
+            }
+            for (Long estudianteId : faltantes) {
+                ocupados.put(estudianteId, HorarioSemanal.unir(porEstudiante.getOrDefault(estudianteId, List.of())));
+            }
+        }
+        return ocupados;
+    }
+
+    /**
+     * Verificar qué ejecuciones chocan con el horario actual del estudiante
+     */
+    public List<ChoqueHorario> verificarChoques(Long estudianteId, Collection<Long> ejecucionIds) {
+        List<ChoqueHorario> choques = new ArrayList<>();
+        HorariosEstudiante delEstudiante = fijar(estudianteId);
+        try {
+            for (Ejecucion ejecucion : ejecucionRepository.findAllById(ejecucionIds)) {
+                HorarioEstudiante horario = delEstudiante.delPeriodo(ejecucion.getPeriodo(), this::cargar);
+                HorarioSemanal franjas = HorarioSemanal.parsearOVacio(ejecucion.getHorario());
+                List<Long> enConflicto = horario.ejecucionesEnConflicto(ejecucion.getId(), franjas);
+                choques.add(new ChoqueHorario(ejecucion.getId(), !enConflicto.isEmpty(), enConflicto, franjas.describir()));
+            }
+        } finally {
+            soltar(delEstudiante);
+        }
+        return choques;
+    }
+
+    /**
+     * Cantidad de estudiantes con horarios en memoria
+     */
+    public int obtenerTamano() {
+        return horarios.size();
+    }
+
+    // Métodos privados
+
+    // Horarios del estudiante marcados en uso (hay que llamar a soltar()); uno vencido y libre se reemplaza
+    private HorariosEstudiante fijar(Long estudianteId) {
+        while (true) {
+            long ahora = System.nanoTime();
+            HorariosEstudiante delEstudiante = horarios.get(estudianteId);
+            if (delEstudiante == null) {
+                // Se crea ya fijado, así la purga no lo quita antes de usarlo
+                HorariosEstudiante nuevo = new HorariosEstudiante(estudianteId, ahora);
+                if (horarios.putIfAbsent(estudianteId, nuevo) == null) {
+                    ordenLlegada.add(nuevo);
+                    purgar();
+                    return nuevo;
+                }
+            } else if (delEstudiante.fijarSiVigente(ahora, ttlNanos)) {
+                return delEstudiante;
+            } else {
+                // Descartado o vencido: se quita del mapa y se vuelve a crear
+                descartar(delEstudiante);
+            }
+        }
+    }
+
+    private HorarioEstudiante cargar(Long estudianteId, String periodo) {
+        HorarioEstudiante cargado = new HorarioEstudiante();
+        for (Object[] fila : inscripcionRepository.findHorariosActivos(List.of(estudianteId), periodo)) {
+            cargado.agregar((Long) fila[1], HorarioSemanal.parsearOVacio((String) fila[2]));
+        }
+        return cargado;
+    }
+
+    private void descartar(HorariosEstudiante delEstudiante) {
+        delEstudiante.descartar();
+        horarios.remove(delEstudiante.estudianteId, delEstudiante);
+    }
+
+    // Uno en uso solo se marca obsoleto: lo quita soltar() cuando la última transacción termina
+    private void invalidar(HorariosEstudiante delEstudiante) {
+        if (delEstudiante.invalidar()) {
+            horarios.remove(delEstudiante.estudianteId, delEstudiante);
+        }
+    }
+
+    private void soltar(HorariosEstudiante delEstudiante) {
+        if (delEstudiante.soltar()) {
+            horarios.remove(delEstudiante.estudianteId, delEstudiante);
+        }
+    }
+
+    // Quitar por orden de llegada los vencidos y los que exceden el máximo; los que están en uso se saltan
+    private void purgar() {
+        long limite = System.nanoTime() - ttlNanos;
+        int revisados = 0;
+        HorariosEstudiante masAntiguo;
+        while (revisados++ < maximoEstudiantes && (masAntiguo = ordenLlegada.peek()) != null
+                && (masAntiguo.cargadoNanos - limite < 0 || horarios.size() > maximoEstudiantes)) {
+            if (!ordenLlegada.remove(masAntiguo)) {
+                continue;
+            }
+            if (masAntiguo.descartarSiLibre()) {
+                horarios.remove(masAntiguo.estudianteId, masAntiguo);
+            } else if (!masAntiguo.estaDescartado()) {
+                ordenLlegada.add(masAntiguo);
+            }
+        }
+    }
+
+    // ConcurrentHashMap no admite claves nulas; una ejecución sin período solo choca con otras sin período
+    private static String clave(String periodo) {
+        return periodo != null ? periodo : "";
+    }
+
+    /**
+     * Horarios de un estudiante por período, con el instante de carga y las transacciones que los usan
+     */
+    private static final class HorariosEstudiante {
+        private final Long estudianteId;
+        private final long cargadoNanos;
+        private final Map<String, HorarioEstudiante> porPeriodo = new ConcurrentHashMap<>();
+        private int enUso = 1;
+        private boolean obsoleto;
+        private boolean descartado;
+
+        private HorariosEstudiante(Long estudianteId, long cargadoNanos) {
+            this.estudianteId = estudianteId;
+            this.cargadoNanos = cargadoNanos;
+        }
+
+        private HorarioEstudiante delPeriodo(String periodo, BiFunction<Long, String, HorarioEstudiante> cargar) {
+            HorarioEstudiante horario = porPeriodo.get(clave(periodo));
+            if (horario != null) {
+                return horario;
+            }
+            HorarioEstudiante cargado = cargar.apply(estudianteId, periodo);
+            HorarioEstudiante existente = porPeriodo.putIfAbsent(clave(periodo), cargado);
+            return existente != null ? existente : cargado;
+        }
+
+        // Uno vencido u obsoleto sigue en uso mientras alguna transacción lo tiene fijado
+        private synchronized boolean fijarSiVigente(long ahora, long ttlNanos) {
+            if (descartado || (enUso == 0 && (obsoleto || ahora - cargadoNanos >= ttlNanos))) {
+                return false;
+            }
+            enUso++;
+            return true;
+        }
+
+        // true si quedó descartado (obsoleto y ya sin transacciones que lo usen)
+        private synchronized boolean soltar() {
+            enUso--;
+            if (enUso == 0 && obsoleto) {
+                descartado = true;
+            }
+            return descartado;
+        }
+
+        // true si se descartó de inmediato; en uso queda obsoleto hasta que se suelte
+        private synchronized boolean invalidar() {
+            if (enUso > 0) {
+                obsoleto = true;
+                return false;
+            }
+            descartado = true;
+            return true;
+        }
+
+        private synchronized boolean estaVigente(long ahora, long ttlNanos) {
+            return !descartado && !obsoleto && ahora - cargadoNanos < ttlNanos;
+        }
+
+        private synchronized boolean descartarSiLibre() {
+            if (enUso > 0) {
+                return false;
+            }
+            descartado = true;
+            return true;
+        }
+
+        private synchronized void descartar() {
+            descartado = true;
+        }
+
+        private synchronized boolean estaDescartado() {
+            return descartado;
+        }
+    }
+
+    /**
+     * Horario de un estudiante: franjas por ejecución y su unión
+     */
+    private static final class HorarioEstudiante {
+        private final Map<Long, HorarioSemanal> porEjecucion = new HashMap<>();
+        private HorarioSemanal ocupado = HorarioSemanal.VACIO;
+
+        private synchronized boolean agregarSiNoChoca(Long ejecucionId, HorarioSemanal franjas) {
+            if (ocupado.seTraslapaCon(franjas)) {
+                return false;
+            }
+            agregar(ejecucionId, franjas);
+            return true;
+        }
+
+        private synchronized void agregar(Long ejecucionId, HorarioSemanal franjas) {
+            porEjecucion.put(ejecucionId, franjas);
+            ocupado = HorarioSemanal.unir(List.of(ocupado, franjas));
+        }
+
+        private synchronized void quitar(Long ejecucionId) {
+            // Se recalcula la unión: con datos antiguos dos inscripciones podrían compartir franjas
+            if (porEjecucion.remove(ejecucionId) != null) {
+                ocupado = HorarioSemanal.unir(porEjecucion.values());
+            }
+        }
+
+        private synchronized boolean choca(HorarioSemanal franjas) {
+            return ocupado.seTraslapaCon(franjas);
+        }
+
+        private synchronized HorarioSemanal ocupado() {
+            return ocupado;
+        }
+
+        private synchronized List<Long> ejecucionesEnConflicto(Long ejecucionId, HorarioSemanal franjas) {
+            List<Long> enConflicto = new ArrayList<>();
+            if (!ocupado.seTraslapaCon(franjas)) {
+                return enConflicto;
+            }
+            for (Map.Entry<Long, HorarioSemanal> entrada : porEjecucion.entrySet()) {
+                if (!entrada.getKey().equals(ejecucionId) && entrada.getValue().seTraslapaCon(franjas)) {
+                    enConflicto.add(entrada.getKey());
+                }
+            }
+            return enConflicto;
+        }
+    }
+}
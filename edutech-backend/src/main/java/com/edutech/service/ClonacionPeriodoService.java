@@ -0,0 +1,292 @@
+package com.edutech.service;
+
+//Importaciones del dto, model, repository y util
+import com.edutech.dto.EjecucionOmitida;
+import com.edutech.dto.ReporteClonacion;
+import com.edutech.model.Ejecucion;
+import com.edutech.model.Persona;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.util.HorarioSemanal;
+import com.edutech.util.IndiceOcupacionSalas;
+import com.edutech.util.OcupacionSemanal;
+
+//Importaciones Spring y Lombok
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+//Importaciones Java
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Clonación de todas las ejecuciones de un período en un período nuevo.
+ *
+ * Las fechas se desplazan para que la primera ejecución del origen comience en la fecha
+ * indicada. Los duplicados (mismo curso y sección ya presentes en el destino) se detectan
+ * con una sola consulta, y si se conservan salas o profesores se verifica que las copias
+ * no choquen con lo que ya existe en el destino ni entre sí. Las filas se insertan con
+ * JDBC batch en una sola transacción, ya que el ID IDENTITY de Ejecucion impide que
+ * Hibernate agrupe los INSERT. Después, con los IDs generados, cada copia ocupa su sala y
+ * su profesor en OcupacionSalasService y CargaProfesoresService, que también ven las
+ * reservas de transacciones aún sin confirmar; la copia que choca ahí se elimina antes
+ * del commit y queda entre las omitidas.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClonacionPeriodoService {
+
+    private static final int TAMANO_BATCH = 500;
+    private static final int LARGO_PERIODO = 20;
+
+    private static final String SQL_INSERTAR_EJECUCION =
+            "INSERT INTO ejecuciones (curso_id, periodo, seccion, fecha_inicio, fecha_fin, aula, horario, " +
+            "capacidad_maxima, inscritos_actuales, estado, profesor_id, sala, dias_semana, cupos_libres) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, ?, ?)";
+
+    private final EjecucionRepository ejecucionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CalendarioEjecucionesService calendarioEjecucionesService;
+    private final OcupacionSalasService ocupacionSalasService;
+    private final CargaProfesoresService cargaProfesoresService;
+    private final EstadoEjecucionesService estadoEjecucionesService;
+
+    /**
+     * Copiar las ejecuciones de origen en destino, con la primera comenzando en fechaInicio
+     */
+    @Transactional
+    public ReporteClonacion clonar(String origen, String destino, LocalDate fechaInicio,
+                                   boolean conservarProfesores, boolean conservarSalas) {
+        if (destino == null || destino.isBlank() || destino.length() > LARGO_PERIODO) {
+            throw new IllegalArgumentException("El período de destino es obligatorio (máximo " + LARGO_PERIODO + " caracteres)");
+        }
+        if (destino.equals(origen)) {
+            throw new IllegalArgumentException("El período de destino debe ser distinto del de origen");
+        }
+        LocalDate hoy = estadoEjecucionesService.hoy();
+        if (fechaInicio == null || fechaInicio.isBefore(hoy)) {
+            throw new IllegalArgumentException("La fecha de inicio no puede ser anterior a la fecha actual");
+        }
+
+        List<Object[]> filas = ejecucionRepository.findClonacionPeriodo(origen);
+        if (filas.isEmpty()) {
+            throw new IllegalArgumentException("El período " + origen + " no tiene ejecuciones para clonar");
+        }
+        // (id, curso_id, seccion, fecha_inicio, fecha_fin, aula, horario, capacidad_maxima, profesor_id, sala)
+        LocalDate primerInicio = (LocalDate) filas.get(0)[3];
+        for (Object[] fila : filas) {
+            if (((LocalDate) fila[3]).isBefore(primerInicio)) {
+                primerInicio = (LocalDate) fila[3];
+            }
+        }
+        long desplazamiento = ChronoUnit.DAYS.between(primerInicio, fechaInicio);
+
+        // Consultas por conjunto sobre el destino: secciones existentes y ocupación de salas y profesores
+        Set<String> existentes = new HashSet<>();
+        for (Object[] par : ejecucionRepository.findCursoSeccionPorPeriodo(destino)) {
+            existentes.add(clave((Long) par[0], (String) par[1]));
+        }
+        Map<String, OcupacionSemanal> porSala = new HashMap<>();
+        Map<Long, OcupacionSemanal> porProfesor = new HashMap<>();
+        if (conservarSalas || conservarProfesores) {
+            for (Object[] fila : ejecucionRepository.findPlanificacionPeriodo(destino)) {
+                // (id, capacidad_maxima, profesor_id, sala, aula, horario)
+                HorarioSemanal horario = HorarioSemanal.parsearOVacio((String) fila[5]);
+                String sala = IndiceOcupacionSalas.normalizarSala(fila[3] != null && !((String) fila[3]).isBlank()
+                        ? (String) fila[3] : (String) fila[4]);
+                if (conservarSalas && sala != null) {
+                    porSala.computeIfAbsent(sala, s -> new OcupacionSemanal()).agregar((Long) fila[0], horario);
+                }
+                if (conservarProfesores && fila[2] != null) {
+                    porProfesor.computeIfAbsent((Long) fila[2], p -> new OcupacionSemanal()).agregar((Long) fila[0], horario);
+                }
+            }
+        }
+
+        List<Object[]> filasAInsertar = new ArrayList<>();
+        List<Long> origenes = new ArrayList<>();
+        List<EjecucionOmitida> omitidas = new ArrayList<>();
+        for (Object[] fila : filas) {
+            Long id = (Long) fila[0];
+            if (!existentes.add(clave((Long) fila[1], (String) fila[2]))) {
+                omitidas.add(new EjecucionOmitida(id, "Ya existe la sección " + fila[2] + " del curso en " + destino));
+                continue;
+            }
+
+            HorarioSemanal horario = HorarioSemanal.parsearOVacio((String) fila[6]);
+            String aula = conservarSalas ? (String) fila[5] : null;
+            String sala = conservarSalas ? (String) fila[9] : null;
+            Long profesorId = conservarProfesores ? (Long) fila[8] : null;
+            String motivo = reservar(id, horario, IndiceOcupacionSalas.normalizarSala(sala != null && !sala.isBlank() ? sala : aula),
+                    profesorId, porSala, porProfesor);
+            if (motivo != null) {
+                existentes.remove(clave((Long) fila[1], (String) fila[2]));
+                omitidas.add(new EjecucionOmitida(id, motivo));
+                continue;
+            }
+
+            LocalDate inicio = ((LocalDate) fila[3]).plusDays(desplazamiento);
+            LocalDate fin = ((LocalDate) fila[4]).plusDays(desplazamiento);
+            filasAInsertar.add(new Object[] {fila[1], destino, fila[2], Date.valueOf(inicio), Date.valueOf(fin),
+                    aula, fila[6], fila[7], EstadoEjecucionesService.estadoSegunFechas(inicio, fin, hoy), profesorId, sala,
+                    horario.dias()});
+            origenes.add(id);
+        }
+
+        List<Long> ids = insertar(filasAInsertar);
+
+        // La foto del destino no ve las altas y cambios de otras transacciones aún sin confirmar:
+        // salas y profesores se ocupan además en sus índices, y las copias que chocan se descartan
+        List<Long> descartadas = new ArrayList<>();
+        if (conservarSalas || conservarProfesores) {
+            for (int i = 0; i < ids.size(); i++) {
+                String motivo = reservarEnIndices(ids.get(i), destino, filasAInsertar.get(i));
+                if (motivo != null) {
+                    descartadas.add(ids.get(i));
+                    omitidas.add(new EjecucionOmitida(origenes.get(i), motivo));
+                }
+            }
+            if (!descartadas.isEmpty()) {
+                ejecucionRepository.deleteAllByIdInBatch(descartadas);
+            }
+        }
+        int creadas = ids.size() - descartadas.size();
+
+        // Cambio masivo: los índices en memoria se recargan una vez al confirmar
+        if (creadas > 0) {
+            calendarioEjecucionesService.recargarAlConfirmar();
+            ocupacionSalasService.recargarAlConfirmar();
+            cargaProfesoresService.recargarAlConfirmar();
+        }
+        log.info("Período {} clonado en {}: {} ejecuciones creadas, {} omitidas",
+                origen, destino, creadas, omitidas.size());
+        return new ReporteClonacion(origen, destino, filas.size(), creadas, omitidas);
+    }
+
+    // Métodos privados
+
+    /**
+     * Registrar la sala y el profesor de la copia; devuelve el motivo si choca con algo ya registrado
+     */
+    private static String reservar(Long id, HorarioSemanal horario, String sala, Long profesorId,
+                                   Map<String, OcupacionSemanal> porSala, Map<Long, OcupacionSemanal> porProfesor) {
+        // Las copias se registran con ID negativo para no confundirlas con las ejecuciones del destino
+        long clave = -id;
+        OcupacionSemanal ocupacionSala = sala != null ? porSala.computeIfAbsent(sala, s -> new OcupacionSemanal()) : null;
+        OcupacionSemanal ocupacionProfesor = profesorId != null
+                ? porProfesor.computeIfAbsent(profesorId, p -> new OcupacionSemanal()) : null;
+        if (ocupacionSala != null && !ocupacionSala.choquesCon(null, horario).isEmpty()) {
+            return "La sala " + sala + " ya está ocupada en ese horario en el período de destino";
+        }
+        if (ocupacionProfesor != null && !ocupacionProfesor.choquesCon(null, horario).isEmpty()) {
+            return "El profesor " + profesorId + " ya dicta otra ejecución en ese horario en el período de destino";
+        }
+        if (ocupacionSala != null) {
+            ocupacionSala.agregar(clave, horario);
+        }
+        if (ocupacionProfesor != null) {
+            ocupacionProfesor.agregar(clave, horario);
+        }
+        return null;
+    }
+
+    /**
+     * Insertar las copias con JDBC batch; devuelve los IDs generados en el mismo orden
+     */
+    private List<Long> insertar(List<Object[]> filasAInsertar) {
+        List<Long> ids = new ArrayList<>(filasAInsertar.size());
+        for (int desde = 0; desde < filasAInsertar.size(); desde += TAMANO_BATCH) {
+            List<Object[]> lote = filasAInsertar.subList(desde, Math.min(desde + TAMANO_BATCH, filasAInsertar.size()));
+            GeneratedKeyHolder claves = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(con -> con.prepareStatement(SQL_INSERTAR_EJECUCION, new String[] {"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            asignarParametros(ps, lote.get(i));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return lote.size();
+                        }
+                    }, claves);
+            for (Map<String, Object> generadas : claves.getKeyList()) {
+                // Solo se pide la columna id; el nombre con que vuelve depende del driver
+                ids.add(((Number) generadas.values().iterator().next()).longValue());
+            }
+        }
+        return ids;
+    }
+
+    private static void asignarParametros(PreparedStatement ps, Object[] fila) throws SQLException {
+        ps.setLong(1, (Long) fila[0]);
+        ps.setString(2, (String) fila[1]);
+        ps.setString(3, (String) fila[2]);
+        ps.setDate(4, (Date) fila[3]);
+        ps.setDate(5, (Date) fila[4]);
+        ps.setString(6, (String) fila[5]);
+        ps.setString(7, (String) fila[6]);
+        ps.setInt(8, (Integer) fila[7]);
+        ps.setString(9, (String) fila[8]);
+        if (fila[9] != null) {
+            ps.setLong(10, (Long) fila[9]);
+        } else {
+            ps.setNull(10, Types.BIGINT);
+        }
+        ps.setString(11, (String) fila[10]);
+        ps.setInt(12, (Integer) fila[11]);
+        // Sin inscritos todos los cupos están libres
+        ps.setInt(13, (Integer) fila[7]);
+    }
+
+    /**
+     * Ocupar la sala y el profesor de la copia ya insertada en los índices de
+     * OcupacionSalasService y CargaProfesoresService; devuelve el motivo si choca
+     */
+    private String reservarEnIndices(Long id, String destino, Object[] fila) {
+        // (curso_id, periodo, seccion, fecha_inicio, fecha_fin, aula, horario, capacidad_maxima, estado, profesor_id, sala, dias)
+        Ejecucion copia = new Ejecucion();
+        copia.setId(id);
+        copia.setPeriodo(destino);
+        copia.setAula((String) fila[5]);
+        copia.setHorario((String) fila[6]);
+        copia.setEstado((String) fila[8]);
+        copia.setSala((String) fila[10]);
+        if (fila[9] != null) {
+            Persona profesor = new Persona();
+            profesor.setId((Long) fila[9]);
+            copia.setProfesor(profesor);
+        }
+
+        List<Long> choquesSala = ocupacionSalasService.intentarReservar(id, copia);
+        if (!choquesSala.isEmpty()) {
+            return "La sala " + IndiceOcupacionSalas.normalizarSala(copia.getSala() != null && !copia.getSala().isBlank()
+                    ? copia.getSala() : copia.getAula()) + " ya está ocupada en ese horario en el período de destino";
+        }
+        List<Long> choquesProfesor = cargaProfesoresService.intentarReservar(id, copia);
+        if (!choquesProfesor.isEmpty()) {
+            ocupacionSalasService.liberar(id);
+            return "El profesor " + fila[9] + " ya dicta otra ejecución en ese horario en el período de destino";
+        }
+        return null;
+    }
+
+    private static String clave(Long cursoId, String seccion) {
+        return cursoId + ":" + seccion;
+    }
+}
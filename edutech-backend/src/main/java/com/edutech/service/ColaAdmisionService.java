@@ -0,0 +1,274 @@
+package com.edutech.service;
+
+//Importaciones del model y dto
+import com.edutech.dto.MetricasAdmision;
+import com.edutech.dto.TicketInscripcion;
+import com.edutech.model.Inscripcion;
+
+//Importaciones Spring y Lombok
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+//Importaciones Java
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cola de admisión para los días de apertura de inscripciones.
+ *
+ * Cada ejecución tiene su propia cola acotada (FIFO) y como máximo un trabajador
+ * la procesa a la vez, por lo que el orden de llegada se respeta por ejecución.
+ * El pool de trabajadores es pequeño y fijo: ese número es también el máximo de
+ * conexiones a la base de datos que usan las inscripciones encoladas.
+ *
+ * Una tarea periódica purga los tickets vencidos y descarta las colas de las
+ * ejecuciones que no reciben solicitudes durante el mismo tiempo de retención.
+ */
+@Service
+@Slf4j
+public class ColaAdmisionService {
+
+    // Solicitudes que procesa un trabajador antes de ceder el turno a otra ejecución
+    private static final int LOTE_POR_TURNO = 32;
+    private static final long INTERVALO_LIMPIEZA_SEGUNDOS = 60;
+
+    private final InscripcionService inscripcionService;
+    private final boolean habilitada;
+    private final int capacidadPorEjecucion;
+    private final int numeroTrabajadores;
+    private final long retencionTicketsNanos;
+    private final ExecutorService trabajadores;
+    private final ScheduledExecutorService planificador;
+
+    private final Map<Long, ColaEjecucion> colas = new ConcurrentHashMap<>();
+    private final Map<String, TicketInscripcion> tickets = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<TicketInscripcion> ticketsFinalizados = new ConcurrentLinkedQueue<>();
+
+    // Métricas
+    private final AtomicLong encolados = new AtomicLong();
+    private final AtomicLong procesados = new AtomicLong();
+    private final AtomicLong rechazadosPorColaLlena = new AtomicLong();
+    private final AtomicLong esperaTotalNanos = new AtomicLong();
+    private final AtomicLong esperaMaximaNanos = new AtomicLong();
+
+    public ColaAdmisionService(
+            InscripcionService inscripcionService,
+            @Value("${edutech.inscripciones.admision.habilitada:false}") boolean habilitada,
+            @Value("${edutech.inscripciones.admision.capacidad-cola:500}") int capacidadPorEjecucion,
+            @Value("${edutech.inscripciones.admision.trabajadores:4}") int numeroTrabajadores,
+            @Value("${edutech.inscripciones.admision.retencion-tickets-minutos:30}") long retencionTicketsMinutos) {
+        this.inscripcionService = inscripcionService;
+        this.habilitada = habilitada;
+        this.capacidadPorEjecucion = capacidadPorEjecucion;
+        this.numeroTrabajadores = numeroTrabajadores;
+        this.retencionTicketsNanos = Duration.ofMinutes(retencionTicketsMinutos).toNanos();
+
+        AtomicInteger contador = new AtomicInteger();
+        this.trabajadores = Executors.newFixedThreadPool(numeroTrabajadores, runnable -> {
+            Thread hilo = new Thread(runnable, "admision-inscripciones-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        this.planificador = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread hilo = new Thread(runnable, "admision-limpieza");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Programar la limpieza periódica al iniciar la aplicación
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (habilitada) {
+            planificador.scheduleWithFixedDelay(this::limpiarProgramada,
+                    INTERVALO_LIMPIEZA_SEGUNDOS, INTERVALO_LIMPIEZA_SEGUNDOS, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Indica si el modo admisión está activo
+     */
+    public boolean estaHabilitada() {
+        return habilitada;
+    }
+
+    /**
+     * Encolar una solicitud de inscripción. Devuelve vacío si la cola de la ejecución está llena.
+     */
+    public Optional<TicketInscripcion> encolar(Long estudianteId, Long ejecucionId) {
+        // El último uso se marca dentro de compute(): la limpieza no descarta una cola que se está usando
+        ColaEjecucion cola = colas.compute(ejecucionId, (id, actual) -> {
+            ColaEjecucion usada = actual != null ? actual : new ColaEjecucion(capacidadPorEjecucion);
+            usada.ultimoUsoNanos = System.nanoTime();
+            return usada;
+        });
+        TicketInscripcion ticket = new TicketInscripcion(UUID.randomUUID().toString(), estudianteId, ejecucionId);
+
+        tickets.put(ticket.getId(), ticket);
+        if (!cola.pendientes.offer(ticket)) {
+            tickets.remove(ticket.getId());
+            rechazadosPorColaLlena.incrementAndGet();
+            log.debug("Cola de admisión llena para la ejecución {}", ejecucionId);
+            return Optional.empty();
+        }
+
+        encolados.incrementAndGet();
+        programar(cola);
+        return Optional.of(ticket);
+    }
+
+    /**
+     * Obtener el estado de un ticket
+     */
+    public Optional<TicketInscripcion> obtenerTicket(String ticketId) {
+        return Optional.ofNullable(tickets.get(ticketId));
+    }
+
+    /**
+     * Obtener métricas de profundidad de cola y tiempos de espera
+     */
+    public MetricasAdmision obtenerMetricas() {
+        Map<Long, Integer> porEjecucion = new TreeMap<>();
+        long pendientes = 0;
+        for (Map.Entry<Long, ColaEjecucion> entrada : colas.entrySet()) {
+            int tamano = entrada.getValue().pendientes.size();
+            if (tamano > 0) {
+                porEjecucion.put(entrada.getKey(), tamano);
+                pendientes += tamano;
+            }
+        }
+
+        long totalProcesados = procesados.get();
+        double esperaPromedioMs = totalProcesados == 0 ? 0.0
+                : esperaTotalNanos.get() / (double) totalProcesados / 1_000_000.0;
+
+        return new MetricasAdmision(habilitada, numeroTrabajadores, capacidadPorEjecucion,
+                pendientes, porEjecucion, encolados.get(), totalProcesados, rechazadosPorColaLlena.get(),
+                esperaPromedioMs, TimeUnit.NANOSECONDS.toMillis(esperaMaximaNanos.get()));
+    }
+
+    /**
+     * Purgar los tickets vencidos y descartar las colas vacías sin uso reciente
+     */
+    public void limpiar() {
+        purgarTicketsVencidos();
+        long limite = System.nanoTime() - retencionTicketsNanos;
+        for (Long ejecucionId : colas.keySet()) {
+            colas.computeIfPresent(ejecucionId, (id, cola) -> cola.inactiva(limite) ? null : cola);
+        }
+    }
+
+    @PreDestroy
+    public void detener() {
+        planificador.shutdownNow();
+        trabajadores.shutdown();
+    }
+
+    // Colas registradas (para las pruebas)
+    int cantidadColas() {
+        return colas.size();
+    }
+
+    // Métodos privados
+
+    private void limpiarProgramada() {
+        // Un error no debe cancelar las ejecuciones siguientes de la tarea
+        try {
+            limpiar();
+        } catch (RuntimeException e) {
+            log.error("Error en la limpieza de la cola de admisión", e);
+        }
+    }
+
+    private void programar(ColaEjecucion cola) {
+        if (cola.programada.compareAndSet(false, true)) {
+            trabajadores.execute(() -> drenar(cola));
+        }
+    }
+
+    private void drenar(ColaEjecucion cola) {
+        int procesadosEnTurno = 0;
+        TicketInscripcion ticket;
+        while (procesadosEnTurno < LOTE_POR_TURNO && (ticket = cola.pendientes.poll()) != null) {
+            procesar(ticket);
+            procesadosEnTurno++;
+        }
+
+        cola.programada.set(false);
+        // Si quedaron solicitudes (o llegaron mientras se liberaba el turno) se vuelve a la fila del pool
+        if (!cola.pendientes.isEmpty()) {
+            programar(cola);
+        }
+    }
+
+    private void procesar(TicketInscripcion ticket) {
+        long espera = System.nanoTime() - ticket.getEncoladoNanos();
+        esperaTotalNanos.addAndGet(espera);
+        esperaMaximaNanos.accumulateAndGet(espera, Math::max);
+
+        ticket.setEstado(TicketInscripcion.PROCESANDO);
+        try {
+            Inscripcion inscripcion = inscripcionService.inscribir(ticket.getEstudianteId(), ticket.getEjecucionId());
+            ticket.setInscripcionId(inscripcion.getId());
+            ticket.setEstado(TicketInscripcion.ACEPTADO);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            ticket.setMensaje(e.getMessage());
+            ticket.setEstado(TicketInscripcion.RECHAZADO);
+        } catch (RuntimeException e) {
+            log.error("Error procesando el ticket {}", ticket.getId(), e);
+            ticket.setMensaje("Error interno al procesar la inscripción");
+            ticket.setEstado(TicketInscripcion.RECHAZADO);
+        } finally {
+            ticket.setFechaProcesado(LocalDateTime.now());
+            ticket.setFinalizadoNanos(System.nanoTime());
+            procesados.incrementAndGet();
+            ticketsFinalizados.add(ticket);
+            purgarTicketsVencidos();
+        }
+    }
+
+    private void purgarTicketsVencidos() {
+        long limite = System.nanoTime() - retencionTicketsNanos;
+        TicketInscripcion masAntiguo;
+        while ((masAntiguo = ticketsFinalizados.peek()) != null && masAntiguo.getFinalizadoNanos() - limite < 0) {
+            if (ticketsFinalizados.remove(masAntiguo)) {
+                tickets.remove(masAntiguo.getId());
+            }
+        }
+    }
+
+    // Acotada pero sin reservar la capacidad completa por adelantado
+    private static final class ColaEjecucion {
+        private final LinkedBlockingQueue<TicketInscripcion> pendientes;
+        private final AtomicBoolean programada = new AtomicBoolean();
+        private volatile long ultimoUsoNanos;
+
+        private ColaEjecucion(int capacidad) {
+            this.pendientes = new LinkedBlockingQueue<>(capacidad);
+        }
+
+        private boolean inactiva(long limite) {
+            return pendientes.isEmpty() && !programada.get() && ultimoUsoNanos - limite < 0;
+        }
+    }
+}
@@ -1,30 +1,105 @@
 package com.edutech.service;
 
+import com.edutech.dto.FacetasCatalogo;
+import com.edutech.dto.FiltroCursos;
+import com.edutech.dto.MetricasCache;
 import com.edutech.model.Curso;
+import com.edutech.model.MigracionDatos;
 import com.edutech.repository.CursoRepository;
-import lombok.RequiredArgsConstructor;
+import com.edutech.repository.MigracionDatosRepository;
+import com.edutech.util.CacheConsultas;
+import com.edutech.util.TransaccionUtils;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 @Transactional
 public class CursoService {
     
+    // Filas cuyo total_horas no coincide con sus horas (cargadas por SQL o antes de mantener la columna)
+    private static final String SQL_COMPLETAR_TOTAL_HORAS = "UPDATE cursos SET total_horas = horas_teoricas + horas_practicas "
+            + "WHERE total_horas IS NULL OR total_horas <> horas_teoricas + horas_practicas";
+    private static final String MIGRACION_TOTAL_HORAS = "completar_total_horas";
+    
     private final CursoRepository cursoRepository;
+    private final MigracionDatosRepository migracionDatosRepository;
+    private final CatalogoCursosService catalogoCursosService;
+    private final CargaProfesoresService cargaProfesoresService;
+    private final CalendarioEjecucionesService calendarioEjecucionesService;
+    private final RetiroCursosService retiroCursosService;
+    private final JdbcTemplate jdbcTemplate;
+    
+    // Listados del catálogo por forma de consulta; se invalidan después del commit de cada escritura
+    private final CacheConsultas<ConsultaCursos, List<Curso>> cache;
+    
+    public CursoService(
+            CursoRepository cursoRepository,
+            MigracionDatosRepository migracionDatosRepository,
+            CatalogoCursosService catalogoCursosService,
+            CargaProfesoresService cargaProfesoresService,
+            CalendarioEjecucionesService calendarioEjecucionesService,
+            RetiroCursosService retiroCursosService,
+            JdbcTemplate jdbcTemplate,
+            @Value("${edutech.cursos.cache.maximo-entradas:256}") int maximoEntradas,
+            @Value("${edutech.cursos.cache.ttl-segundos:300}") long ttlSegundos) {
+        this.cursoRepository = cursoRepository;
+        this.migracionDatosRepository = migracionDatosRepository;
+        this.catalogoCursosService = catalogoCursosService;
+        this.cargaProfesoresService = cargaProfesoresService;
+        this.calendarioEjecucionesService = calendarioEjecucionesService;
+        this.retiroCursosService = retiroCursosService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cache = new CacheConsultas<>(maximoEntradas, Duration.ofSeconds(ttlSegundos));
+    }
     
     /**
-     * Obtener todos los cursos
+     * Obtener todos los cursos (sin los retirados)
      */
     @Transactional(readOnly = true)
     public List<Curso> obtenerTodos() {
         log.debug("Obteniendo todos los cursos");
-        return cursoRepository.findAll();
+        return cache.obtener(ConsultaCursos.TODOS, () -> List.copyOf(cursoRepository.findByFechaRetiroIsNull()));
+    }
+    
+    /**
+     * Completar total_horas de las filas anteriores a la columna; corre una sola vez por base de datos
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (migracionDatosRepository.existsById(MIGRACION_TOTAL_HORAS)) {
+            return;
+        }
+        completarTotalHoras();
+        migracionDatosRepository.save(new MigracionDatos(MIGRACION_TOTAL_HORAS, LocalDateTime.now()));
+    }
+    
+    /**
+     * Recalcular total_horas en las filas que no coinciden con sus horas teóricas y prácticas.
+     * Devuelve la cantidad de cursos corregidos (por ejemplo tras una carga por SQL directo).
+     */
+    public int completarTotalHoras() {
+        int corregidos = jdbcTemplate.update(SQL_COMPLETAR_TOTAL_HORAS);
+        if (corregidos > 0) {
+            log.info("Total de horas recalculado para {} cursos", corregidos);
+            // Las vistas en memoria guardan total_horas: se vuelven a leer tras el commit
+            TransaccionUtils.despuesDelCommit(() -> {
+                cache.invalidarTodo();
+                catalogoCursosService.recargar();
+            });
+            cargaProfesoresService.recargarAlConfirmar();
+        }
+        return corregidos;
     }
     
     /**
@@ -42,7 +117,11 @@ public Optional<Curso> obtenerPorId(Long id) {
     public Curso crear(Curso curso) {
         log.debug("Creando nuevo curso: {}", curso.getNombre());
         
-        return cursoRepository.save(curso);
+        curso.actualizarTotalHoras();
+        Curso guardado = cursoRepository.save(curso);
+        catalogoCursosService.actualizarAlConfirmar(guardado.getId());
+        invalidarAlConfirmar(curso.getTotalHoras());
+        return guardado;
     }
     
     /**
@@ -53,43 +132,75 @@ public Optional<Curso> actualizar(Long id, Curso cursoActualizado) {
         
         return cursoRepository.findById(id)
                 .map(cursoExistente -> {
+                    Integer totalAnterior = cursoExistente.getTotalHoras();
                     cursoExistente.setNombre(cursoActualizado.getNombre());
                     cursoExistente.setDescripcion(cursoActualizado.getDescripcion());
                     cursoExistente.setHorasTeoricas(cursoActualizado.getHorasTeoricas());
                     cursoExistente.setHorasPracticas(cursoActualizado.getHorasPracticas());
-                    cursoExistente.setActivo(cursoActualizado.getActivo());
-                    return cursoRepository.save(cursoExistente);
+                    // El curso solo deja de estar activo al retirarlo (eliminar), que además cancela sus ejecuciones
+                    cursoExistente.actualizarTotalHoras();
+                    Curso guardado = cursoRepository.save(cursoExistente);
+                    catalogoCursosService.actualizarAlConfirmar(id);
+                    int total = cursoExistente.getTotalHoras();
+                    invalidarAlConfirmar(totalAnterior != null ? totalAnterior : total, total);
+                    // La carga docente suma las horas del curso en cada ejecución
+                    if (totalAnterior == null || totalAnterior != total) {
+                        cargaProfesoresService.recargarAlConfirmar();
+                    }
+                    // El calendario guarda las ejecuciones con su curso
+                    calendarioEjecucionesService.actualizarCursoAlConfirmar(id);
+                    return guardado;
                 });
     }
     
     /**
-     * Eliminar curso
+     * Eliminar curso: se retira (eliminación lógica) y sus datos se archivan más tarde
      */
     public boolean eliminar(Long id) {
         log.debug("Eliminando curso con ID: {}", id);
-        if (cursoRepository.existsById(id)) {
-            cursoRepository.deleteById(id);
+        if (retiroCursosService.retirar(id)) {
+            catalogoCursosService.quitarAlConfirmar(id);
+            // La duración del curso retirado no se conoce sin leerlo: se descartan todos los listados
+            TransaccionUtils.despuesDelCommit(cache::invalidarTodo);
             return true;
         }
         return false;
     }
     
     /**
-     * Buscar cursos por descripción
+     * Buscar cursos por descripción (índice en memoria, sin tildes y por raíz)
      */
     @Transactional(readOnly = true)
     public List<Curso> buscarPorDescripcion(String descripcion) {
         log.debug("Buscando cursos por descripción: {}", descripcion);
-        return cursoRepository.findByDescripcionContainingIgnoreCase(descripcion);
+        return catalogoCursosService.buscarPorDescripcion(descripcion);
     }
     
     /**
-     * Buscar cursos por nombre
+     * Buscar cursos por nombre (índice en memoria, sin tildes y por raíz)
      */
     @Transactional(readOnly = true)
     public List<Curso> buscarPorNombre(String nombre) {
         log.debug("Buscando cursos por nombre: {}", nombre);
-        return cursoRepository.findByNombreContainingIgnoreCase(nombre);
+        return catalogoCursosService.buscarPorNombre(nombre);
+    }
+    
+    /**
+     * Buscar cursos por código, nombre y descripción, del más al menos relevante
+     */
+    @Transactional(readOnly = true)
+    public List<Curso> buscar(String consulta, int limite) {
+        log.debug("Buscando cursos: {}", consulta);
+        return catalogoCursosService.buscar(consulta, limite);
+    }
+    
+    /**
+     * Navegar el catálogo por modalidad, ciclo y créditos con el conteo de cada faceta (copia en memoria)
+     */
+    @Transactional(readOnly = true)
+    public FacetasCatalogo obtenerFacetas(FiltroCursos filtro) {
+        log.debug("Obteniendo facetas del catálogo: {}", filtro);
+        return catalogoCursosService.facetas(filtro);
     }
     
     /**
@@ -98,7 +209,8 @@ public List<Curso> buscarPorNombre(String nombre) {
     @Transactional(readOnly = true)
     public List<Curso> obtenerPorRangoDuracion(Integer duracionMin, Integer duracionMax) {
         log.debug("Obteniendo cursos con duración entre {} y {} horas", duracionMin, duracionMax);
-        return cursoRepository.findByDuracionHorasBetween(duracionMin, duracionMax);
+        return cache.obtener(ConsultaCursos.rango(duracionMin, duracionMax),
+                () -> List.copyOf(cursoRepository.findVigentesByDuracionHorasBetween(duracionMin, duracionMax)));
     }
     
     /**
@@ -107,7 +219,7 @@ public List<Curso> obtenerPorRangoDuracion(Integer duracionMin, Integer duracion
     @Transactional(readOnly = true)
     public List<Curso> obtenerOrdenadosPorNombre() {
         log.debug("Obteniendo cursos ordenados por nombre");
-        return cursoRepository.findAllByOrderByNombreAsc();
+        return cache.obtener(ConsultaCursos.POR_NOMBRE, () -> List.copyOf(cursoRepository.findVigentesOrderByNombreAsc()));
     }
     
     /**
@@ -116,7 +228,9 @@ public List<Curso> obtenerOrdenadosPorNombre() {
     @Transactional(readOnly = true)
     public List<Curso> obtenerOrdenadosPorDuracion(boolean ascendente) {
         log.debug("Obteniendo cursos ordenados por duración: {}", ascendente ? "ascendente" : "descendente");
-        return ascendente ? cursoRepository.findAllByOrderByDuracionHorasAsc() : cursoRepository.findAllByOrderByDuracionHorasDesc();
+        return ascendente
+                ? cache.obtener(ConsultaCursos.POR_DURACION_ASC, () -> List.copyOf(cursoRepository.findVigentesOrderByDuracionHorasAsc()))
+                : cache.obtener(ConsultaCursos.POR_DURACION_DESC, () -> List.copyOf(cursoRepository.findVigentesOrderByDuracionHorasDesc()));
     }
     
     /**
@@ -126,4 +240,56 @@ public List<Curso> obtenerOrdenadosPorDuracion(boolean ascendente) {
     public boolean existePorNombre(String nombre) {
         return cursoRepository.existsByNombreIgnoreCase(nombre);
     }
+    
+    /**
+     * Métricas de la caché de listados (aciertos, fallos, expulsiones e invalidaciones)
+     */
+    public MetricasCache obtenerMetricasCache() {
+        long aciertos = cache.aciertos();
+        long fallos = cache.fallos();
+        double tasa = aciertos + fallos == 0 ? 0 : (double) aciertos / (aciertos + fallos);
+        return new MetricasCache(cache.tamano(), cache.maximoEntradas(), cache.ttl().toSeconds(),
+                aciertos, fallos, cache.expulsiones(), cache.invalidaciones(), tasa);
+    }
+    
+    /**
+     * Descartar todos los listados en caché (por ejemplo tras cambios hechos por SQL directo)
+     */
+    public void invalidarCache() {
+        cache.invalidarTodo();
+    }
+    
+    // Métodos privados
+    
+    // Los listados completos siempre incluyen el curso; los por rango, solo si alguna de sus duraciones cae en él
+    private void invalidarAlConfirmar(int... duraciones) {
+        TransaccionUtils.despuesDelCommit(() -> cache.invalidar(consulta -> consulta.incluyeAlguna(duraciones)));
+    }
+    
+    /**
+     * Forma de una consulta de listado; el rango solo aplica a las consultas por duración
+     */
+    private record ConsultaCursos(String tipo, Integer duracionMin, Integer duracionMax) {
+        
+        static final ConsultaCursos TODOS = new ConsultaCursos("TODOS", null, null);
+        static final ConsultaCursos POR_NOMBRE = new ConsultaCursos("POR_NOMBRE", null, null);
+        static final ConsultaCursos POR_DURACION_ASC = new ConsultaCursos("POR_DURACION_ASC", null, null);
+        static final ConsultaCursos POR_DURACION_DESC = new ConsultaCursos("POR_DURACION_DESC", null, null);
+        
+        static ConsultaCursos rango(Integer duracionMin, Integer duracionMax) {
+            return new ConsultaCursos("RANGO", duracionMin, duracionMax);
+        }
+        
+        boolean incluyeAlguna(int... duraciones) {
+            if (!tipo.equals("RANGO")) {
+                return true;
+            }
+            for (int duracion : duraciones) {
+                if ((duracionMin == null || duracion >= duracionMin) && (duracionMax == null || duracion <= duracionMax)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
 }
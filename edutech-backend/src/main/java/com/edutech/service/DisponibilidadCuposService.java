@@ -0,0 +1,144 @@
+package com.edutech.service;
+
+//Importaciones del dto, repository y util
+import com.edutech.dto.DisponibilidadCupos;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.util.TransaccionUtils;
+
+//Importaciones Spring y Lombok
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+//Importaciones Java
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Vista en memoria de los cupos por ejecución (capacidad e inscritos_actuales).
+ *
+ * Las consultas de disponibilidad se responden desde memoria; las ejecuciones que
+ * faltan se cargan con una consulta por bloque de IDs. Cada commit que mueve el
+ * contador (reservas, liberaciones, inscripción masiva) descarta la entrada en lugar
+ * de sumarle una diferencia: una lectura hecha entre el commit y el ajuste ya vería
+ * el valor nuevo y lo contaría dos veces. Lo cargado solo se guarda si ninguna
+ * invalidación ocurrió durante la consulta (igual que CacheConsultas), y cada entrada
+ * vence tras un tiempo, lo que acota el desfase con escrituras de otras instancias.
+ * Es solo informativa: quien obtiene un cupo lo decide siempre el UPDATE condicional
+ * de ReservaCuposService.
+ */
+@Service
+@Slf4j
+public class DisponibilidadCuposService {
+
+    // Máximo de IDs por consulta IN al cargar ejecuciones faltantes
+    private static final int TAMANO_CONSULTA = 1000;
+
+    private final EjecucionRepository ejecucionRepository;
+    private final long ttlNanos;
+
+    private final Map<Long, Cupos> cupos = new ConcurrentHashMap<>();
+    // Aumenta con cada invalidación; protegida por el monitor de la instancia
+    private long generacion;
+
+    public DisponibilidadCuposService(
+            EjecucionRepository ejecucionRepository,
+            @Value("${edutech.cupos.disponibilidad.ttl-segundos:30}") long ttlSegundos) {
+        this.ejecucionRepository = ejecucionRepository;
+        this.ttlNanos = Duration.ofSeconds(ttlSegundos).toNanos();
+    }
+
+    /**
+     * Disponibilidad de una ejecución (vacío si no existe)
+     */
+    public Optional<DisponibilidadCupos> obtener(Long ejecucionId) {
+        List<DisponibilidadCupos> resultado = obtener(List.of(ejecucionId));
+        return resultado.isEmpty() ? Optional.empty() : Optional.of(resultado.get(0));
+    }
+
+    /**
+     * Disponibilidad de varias ejecuciones, en el orden pedido; las que no existen se omiten
+     */
+    public List<DisponibilidadCupos> obtener(Collection<Long> ejecucionIds) {
+        Set<Long> ids = new LinkedHashSet<>(ejecucionIds);
+        long ahora = System.nanoTime();
+
+        Map<Long, Cupos> vigentes = new HashMap<>();
+        List<Long> faltantes = new ArrayList<>();
+        for (Long id : ids) {
+            Cupos entrada = cupos.get(id);
+            if (entrada == null || ahora - entrada.cargadoEn() > ttlNanos) {
+                faltantes.add(id);
+            } else {
+                vigentes.put(id, entrada);
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            long generacionLeida;
+            synchronized (this) {
+                generacionLeida = generacion;
+            }
+            Map<Long, Cupos> cargados = new HashMap<>();
+            for (int desde = 0; desde < faltantes.size(); desde += TAMANO_CONSULTA) {
+                List<Long> bloque = faltantes.subList(desde, Math.min(desde + TAMANO_CONSULTA, faltantes.size()));
+                for (Object[] fila : ejecucionRepository.findCupos(bloque)) {
+                    int inscritos = fila[2] != null ? (Integer) fila[2] : 0;
+                    cargados.put((Long) fila[0], new Cupos((Integer) fila[1], inscritos, ahora));
+                }
+            }
+            // Si algo se invalidó durante la consulta lo cargado puede ser anterior a ese commit
+            synchronized (this) {
+                if (generacionLeida == generacion) {
+                    cupos.putAll(cargados);
+                }
+            }
+            vigentes.putAll(cargados);
+        }
+
+        List<DisponibilidadCupos> resultado = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Cupos entrada = vigentes.get(id);
+            if (entrada != null) {
+                int libres = Math.max(0, entrada.capacidad() - entrada.inscritos());
+                resultado.add(new DisponibilidadCupos(id, entrada.capacidad(), entrada.inscritos(), libres, libres > 0));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Descartar la ejecución de la vista cuando la transacción en curso confirme
+     */
+    public void invalidarAlConfirmar(Long ejecucionId) {
+        TransaccionUtils.despuesDelCommit(() -> invalidar(ejecucionId));
+    }
+
+    /**
+     * Descartar toda la vista en memoria
+     */
+    public synchronized void invalidarTodo() {
+        generacion++;
+        cupos.clear();
+    }
+
+    // Métodos privados
+
+    private synchronized void invalidar(Long ejecucionId) {
+        generacion++;
+        cupos.remove(ejecucionId);
+    }
+
+    /**
+     * Capacidad y cupos ocupados de una ejecución, con el instante de carga
+     */
+    private record Cupos(int capacidad, int inscritos, long cargadoEn) {
+    }
+}
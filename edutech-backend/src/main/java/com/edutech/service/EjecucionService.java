@@ -1,13 +1,21 @@
 package com.edutech.service;
 
 //Importaciones del model y repository
+import com.edutech.dto.ChoqueSala;
+import com.edutech.dto.DisponibilidadCupos;
 import com.edutech.model.Ejecucion;
 import com.edutech.repository.EjecucionRepository;
 import com.edutech.repository.CursoRepository;
+import com.edutech.repository.InscripcionRepository;
+import com.edutech.repository.ListaEsperaRepository;
+import com.edutech.repository.RetencionCupoRepository;
+import com.edutech.util.HorarioSemanal;
 
 //Importacion para dependencias
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 //Importaciones Java
 import java.time.LocalDate;
@@ -17,10 +25,30 @@
 @Service
 public class EjecucionService {
     
+    public static final int MAXIMO_DISPONIBILIDAD = 200;
+    
     @Autowired
     private EjecucionRepository ejecucionRepository;
     @Autowired
     private CursoRepository cursoRepository;
+    @Autowired
+    private InscripcionRepository inscripcionRepository;
+    @Autowired
+    private ListaEsperaRepository listaEsperaRepository;
+    @Autowired
+    private RetencionCupoRepository retencionCupoRepository;
+    @Autowired
+    private ChoqueHorarioService choqueHorarioService;
+    @Autowired
+    private DisponibilidadCuposService disponibilidadCuposService;
+    @Autowired
+    private CalendarioEjecucionesService calendarioEjecucionesService;
+    @Autowired
+    private OcupacionSalasService ocupacionSalasService;
+    @Autowired
+    private CargaProfesoresService cargaProfesoresService;
+    @Autowired
+    private EstadoEjecucionesService estadoEjecucionesService;
     
     /**
      * Obtener todas las ejecuciones
@@ -39,12 +67,14 @@ public Optional<Ejecucion> obtenerPorId(Long id) {
     /**
      * Crear nueva ejecución
      */
+    @Transactional
     public Ejecucion crear(Ejecucion ejecucion) {
         
         // Validaciones
         validarCurso(ejecucion.getCurso().getId());
         validarFechas(ejecucion.getFechaInicio(), ejecucion.getFechaFin());
         validarCupoMaximo(ejecucion.getCuposDisponibles());
+        validarHorario(ejecucion.getHorario());
         
         // Verificar que no exista otra ejecución del mismo curso con la misma sección en el mismo período
         if (ejecucionRepository.existsByCursoIdAndSeccionAndPeriodo(
@@ -52,12 +82,25 @@ public Ejecucion crear(Ejecucion ejecucion) {
             throw new IllegalArgumentException("Ya existe una ejecución del curso con la misma sección en este período");
         }
         
-        return ejecucionRepository.save(ejecucion);
+        // El estado sigue a las fechas (salvo un estado asignado a mano)
+        estadoEjecucionesService.asignarSegunFechas(ejecucion);
+        
+        Ejecucion guardada = ejecucionRepository.save(ejecucion);
+        
+        // Ocupar la sala y asignar el profesor (fallan si chocan con otra ejecución del período; revierte el alta)
+        ocupacionSalasService.reservar(guardada.getId(), guardada);
+        cargaProfesoresService.reservar(guardada.getId(), guardada);
+        
+        calendarioEjecucionesService.actualizarAlConfirmar(guardada.getId());
+        ocupacionSalasService.actualizarAlConfirmar(guardada.getId());
+        cargaProfesoresService.actualizarAlConfirmar(guardada.getId());
+        return guardada;
     }
 
     /**
      * Actualizar ejecución existente
      */
+    @Transactional
     public Ejecucion actualizar(Long id, Ejecucion ejecucionActualizada) {
         
         return ejecucionRepository.findById(id)
@@ -66,6 +109,7 @@ public Ejecucion actualizar(Long id, Ejecucion ejecucionActualizada) {
                     validarCurso(ejecucionActualizada.getCurso().getId());
                     validarFechas(ejecucionActualizada.getFechaInicio(), ejecucionActualizada.getFechaFin());
                     validarCupoMaximo(ejecucionActualizada.getCuposDisponibles());
+                    validarHorario(ejecucionActualizada.getHorario());
                     
                     // Verificar conflictos si cambió curso, sección o período
                     if (!ejecucionExistente.getCurso().getId().equals(ejecucionActualizada.getCurso().getId()) ||
@@ -80,6 +124,10 @@ public Ejecucion actualizar(Long id, Ejecucion ejecucionActualizada) {
                         }
                     }
                     
+                    boolean cambiaHorario = !HorarioSemanal.parsear(ejecucionActualizada.getHorario())
+                            .equals(HorarioSemanal.parsearOVacio(ejecucionExistente.getHorario()))
+                            || !ejecucionExistente.getPeriodo().equals(ejecucionActualizada.getPeriodo());
+                    
                     // Actualizar campos
                     ejecucionExistente.setCurso(ejecucionActualizada.getCurso());
                     ejecucionExistente.setPeriodo(ejecucionActualizada.getPeriodo());
@@ -91,27 +139,59 @@ public Ejecucion actualizar(Long id, Ejecucion ejecucionActualizada) {
                     ejecucionExistente.setHorario(ejecucionActualizada.getHorario());
                     ejecucionExistente.setCuposDisponibles(ejecucionActualizada.getCuposDisponibles());
                     ejecucionExistente.setEstado(ejecucionActualizada.getEstado());
+                    estadoEjecucionesService.asignarSegunFechas(ejecucionExistente);
                     
-                    return ejecucionRepository.save(ejecucionExistente);
+                    Ejecucion guardada = ejecucionRepository.save(ejecucionExistente);
+                    
+                    // Ocupar la sala y asignar el profesor (fallan si chocan con otra ejecución del período)
+                    ocupacionSalasService.reservar(id, guardada);
+                    cargaProfesoresService.reservar(id, guardada);
+                    
+                    // Si cambia el horario o el período, los horarios en memoria de los estudiantes
+                    // quedan obsoletos; se descartan cuando la transacción confirma
+                    if (cambiaHorario) {
+                        choqueHorarioService.invalidarTodoAlConfirmar();
+                    }
+                    calendarioEjecucionesService.actualizarAlConfirmar(id);
+                    ocupacionSalasService.actualizarAlConfirmar(id);
+                    cargaProfesoresService.actualizarAlConfirmar(id);
+                    return guardada;
                 })
                 .orElseThrow(() -> new IllegalArgumentException("Ejecución no encontrada con ID: " + id));
     }
     
     /**
-     * Eliminar ejecución
+     * Eliminar ejecución (solo si nadie la usa; en otro caso se debe cancelar)
      */
+    @Transactional
     public void eliminar(Long id) {
         
         Ejecucion ejecucion = ejecucionRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Ejecución no encontrada con ID: " + id));
         
-        // Verificar que no tenga inscripciones
-        Integer inscripciones = ejecucionRepository.countEstudiantesInscritos(id);
-        if (inscripciones > 0) {
+        // Verificar que no tenga inscripciones (de cualquier estado), listas de espera ni retenciones
+        Integer inscripciones = inscripcionRepository.countByEjecucionId(id);
+        if (inscripciones != null && inscripciones > 0) {
             throw new IllegalStateException("No se puede eliminar la ejecución porque tiene " + inscripciones + " inscripciones");
         }
+        if (listaEsperaRepository.existsByEjecucion_Id(id)) {
+            throw new IllegalStateException("No se puede eliminar la ejecución porque tiene una lista de espera");
+        }
+        if (retencionCupoRepository.existsByEjecucion_Id(id)) {
+            throw new IllegalStateException("No se puede eliminar la ejecución porque tiene retenciones de cupo");
+        }
         
-        ejecucionRepository.delete(ejecucion);
+        try {
+            ejecucionRepository.delete(ejecucion);
+            ejecucionRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            // Una inscripción concurrente llegó después de las verificaciones
+            throw new IllegalStateException("No se puede eliminar la ejecución porque tiene registros asociados");
+        }
+        disponibilidadCuposService.invalidarAlConfirmar(id);
+        calendarioEjecucionesService.quitarAlConfirmar(id);
+        ocupacionSalasService.quitarAlConfirmar(id);
+        cargaProfesoresService.quitarAlConfirmar(id);
     }
     
     /**
@@ -125,21 +205,21 @@ public List<Ejecucion> obtenerPorCurso(Long cursoId) {
      * Obtener ejecuciones activas
      */
     public List<Ejecucion> obtenerActivas() {
-        return ejecucionRepository.findEjecucionesActivas();
+        return calendarioEjecucionesService.obtenerActivas();
     }
     
     /**
      * Obtener ejecuciones futuras
      */
     public List<Ejecucion> obtenerFuturas() {
-        return ejecucionRepository.findEjecucionesFuturas();
+        return calendarioEjecucionesService.obtenerFuturas();
     }
     
     /**
      * Obtener ejecuciones pasadas
      */
     public List<Ejecucion> obtenerPasadas() {
-        return ejecucionRepository.findEjecucionesPasadas();
+        return calendarioEjecucionesService.obtenerPasadas();
     }
     
     /**
@@ -200,11 +280,8 @@ public Integer contarEstudiantesInscritos(Long ejecucionId) {
      * Verificar si hay cupos disponibles
      */
     public boolean tieneCuposDisponibles(Long ejecucionId) {
-        return ejecucionRepository.findById(ejecucionId)
-                .map(ejecucion -> {
-                    Integer inscritos = ejecucionRepository.countEstudiantesInscritos(ejecucionId);
-                    return inscritos < ejecucion.getCuposDisponibles();
-                })
+        return disponibilidadCuposService.obtener(ejecucionId)
+                .map(DisponibilidadCupos::isDisponible)
                 .orElse(false);
     }
     
@@ -212,14 +289,28 @@ public boolean tieneCuposDisponibles(Long ejecucionId) {
      * Obtener número de cupos disponibles
      */
     public Integer obtenerCuposDisponibles(Long ejecucionId) {
-        return ejecucionRepository.findById(ejecucionId)
-                .map(ejecucion -> {
-                    Integer inscritos = ejecucionRepository.countEstudiantesInscritos(ejecucionId);
-                    return ejecucion.getCuposDisponibles() - inscritos;
-                })
+        return disponibilidadCuposService.obtener(ejecucionId)
+                .map(DisponibilidadCupos::getCuposDisponibles)
                 .orElse(0);
     }
     
+    /**
+     * Obtener la disponibilidad de cupos de varias ejecuciones en una sola llamada
+     */
+    public List<DisponibilidadCupos> obtenerDisponibilidad(List<Long> ejecucionIds) {
+        if (ejecucionIds.size() > MAXIMO_DISPONIBILIDAD) {
+            throw new IllegalArgumentException("No se puede consultar más de " + MAXIMO_DISPONIBILIDAD + " ejecuciones a la vez");
+        }
+        return disponibilidadCuposService.obtener(ejecucionIds);
+    }
+    
+    /**
+     * Obtener los choques de sala de un período
+     */
+    public List<ChoqueSala> obtenerChoquesSala(String periodo) {
+        return ocupacionSalasService.obtenerChoques(periodo);
+    }
+    
     /**
      * Verificar si existe ejecución activa para un curso
      */
@@ -231,12 +322,7 @@ public boolean existeEjecucionActivaParaCurso(Long cursoId) {
      * Verificar si una ejecución está activa
      */
     public boolean estaActiva(Long ejecucionId) {
-        return ejecucionRepository.findById(ejecucionId)
-                .map(ejecucion -> {
-                    LocalDate hoy = LocalDate.now();
-                    return !hoy.isBefore(ejecucion.getFechaInicio()) && !hoy.isAfter(ejecucion.getFechaFin());
-                })
-                .orElse(false);
+        return calendarioEjecucionesService.estaActiva(ejecucionId);
     }
     
     // Métodos de validación privados
@@ -261,6 +347,11 @@ private void validarCurso(Long cursoId) {
         }
     }
     
+    private void validarHorario(String horario) {
+        // Lanza IllegalArgumentException si el texto no tiene el formato "Lunes 08:00-10:00"
+        HorarioSemanal.parsear(horario);
+    }
+    
     private void validarCupoMaximo(Integer cupoMaximo) {
         if (cupoMaximo == null || cupoMaximo <= 0) {
             throw new IllegalArgumentException("El cupo máximo debe ser mayor a 0");
@@ -0,0 +1,118 @@
+package com.edutech.service;
+
+//Importaciones del model y repository
+import com.edutech.model.Ejecucion;
+import com.edutech.repository.EjecucionRepository;
+
+//Importaciones Spring y Lombok
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+//Importaciones Java
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Máquina de estados de las ejecuciones según sus fechas: PROGRAMADA → EN_CURSO → FINALIZADA.
+ *
+ * Al guardar una ejecución su estado se calcula con las fechas; después, a la medianoche
+ * de la zona configurada (TareasMedianocheService) y una vez al iniciar, por si la
+ * aplicación estuvo detenida en el cambio de día, dos UPDATE por conjunto avanzan las
+ * que comenzaron o terminaron.
+ * Otros estados asignados a mano (por ejemplo CANCELADA) no se tocan. Las listas de
+ * activas, futuras y pasadas las entrega CalendarioEjecucionesService, que clasifica por
+ * las mismas fechas y deja fuera las canceladas, así coinciden con EN_CURSO, PROGRAMADA
+ * y FINALIZADA.
+ */
+@Service
+@Slf4j
+public class EstadoEjecucionesService {
+
+    private static final Set<String> ESTADOS_POR_FECHA =
+            Set.of(Ejecucion.PROGRAMADA, Ejecucion.EN_CURSO, Ejecucion.FINALIZADA);
+
+    private final EjecucionRepository ejecucionRepository;
+    private final CalendarioEjecucionesService calendarioEjecucionesService;
+    private final TareasMedianocheService tareasMedianocheService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean habilitada;
+
+    public EstadoEjecucionesService(
+            EjecucionRepository ejecucionRepository,
+            CalendarioEjecucionesService calendarioEjecucionesService,
+            TareasMedianocheService tareasMedianocheService,
+            PlatformTransactionManager transactionManager,
+            @Value("${edutech.ejecuciones.transicion-estados.habilitada:true}") boolean habilitada) {
+        this.ejecucionRepository = ejecucionRepository;
+        this.calendarioEjecucionesService = calendarioEjecucionesService;
+        this.tareasMedianocheService = tareasMedianocheService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.habilitada = habilitada;
+    }
+
+    /**
+     * Ponerse al día al iniciar y registrar las transiciones de cada medianoche
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (habilitada) {
+            tareasMedianocheService.ejecutar("estados de ejecuciones", this::transicionar);
+            tareasMedianocheService.registrar("estados de ejecuciones", this::transicionar);
+        }
+    }
+
+    /**
+     * Estado que corresponde a las fechas en el día indicado
+     */
+    public static String estadoSegunFechas(LocalDate fechaInicio, LocalDate fechaFin, LocalDate hoy) {
+        if (fechaFin.isBefore(hoy)) {
+            return Ejecucion.FINALIZADA;
+        }
+        return fechaInicio.isAfter(hoy) ? Ejecucion.PROGRAMADA : Ejecucion.EN_CURSO;
+    }
+
+    /**
+     * Calcular el estado de una ejecución antes de guardarla. Solo cambia estados vacíos o
+     * de la máquina de estados; un estado asignado a mano se respeta.
+     */
+    public void asignarSegunFechas(Ejecucion ejecucion) {
+        if (ejecucion.getFechaInicio() == null || ejecucion.getFechaFin() == null) {
+            return;
+        }
+        String estado = ejecucion.getEstado();
+        if (estado == null || estado.isBlank() || ESTADOS_POR_FECHA.contains(estado)) {
+            ejecucion.setEstado(estadoSegunFechas(ejecucion.getFechaInicio(), ejecucion.getFechaFin(), hoy()));
+        }
+    }
+
+    /**
+     * Avanzar las ejecuciones que comenzaron o terminaron. Devuelve la cantidad de cambios.
+     */
+    public int transicionar() {
+        LocalDate hoy = hoy();
+        Integer cambios = transactionTemplate.execute(estado -> {
+            // Primero las terminadas: una PROGRAMADA cuyo rango ya pasó va directo a FINALIZADA
+            int finalizadas = ejecucionRepository.finalizarTerminadas(hoy);
+            int iniciadas = ejecucionRepository.iniciarComenzadas(hoy);
+            if (finalizadas + iniciadas > 0) {
+                // El calendario guarda las ejecuciones con su estado
+                calendarioEjecucionesService.recargarAlConfirmar();
+                log.info("Estados de ejecuciones al {}: {} en curso, {} finalizadas", hoy, iniciadas, finalizadas);
+            }
+            return finalizadas + iniciadas;
+        });
+        return cambios != null ? cambios : 0;
+    }
+
+    /**
+     * Fecha actual en la zona configurada
+     */
+    public LocalDate hoy() {
+        return tareasMedianocheService.hoy();
+    }
+}
@@ -0,0 +1,196 @@
+package com.edutech.service;
+
+//Importaciones Spring, Jackson y Lombok
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+//Importaciones Java
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Almacén de respuestas para el encabezado Idempotency-Key.
+ *
+ * La primera solicitud con una clave ejecuta la acción y su respuesta queda guardada;
+ * las repeticiones (reintentos por timeout de la app) reciben esa misma respuesta sin
+ * volver a la base de datos. Si la primera aún está en curso, las repeticiones esperan
+ * su resultado. Las claves se descartan por antigüedad (TTL) y por tamaño máximo, pero
+ * nunca mientras la primera solicitud sigue en curso: su repetición la volvería a ejecutar.
+ * Las respuestas 5xx y las excepciones no se guardan, para que el cliente pueda reintentar.
+ * Junto con la clave se guarda un hash SHA-256 del cuerpo: reutilizar la clave con otro
+ * cuerpo es un error del cliente y se responde 422 en lugar de repetir la primera respuesta.
+ */
+@Service
+@Slf4j
+public class IdempotenciaService {
+
+    public static final String ENCABEZADO = "Idempotency-Key";
+    public static final String ENCABEZADO_REPETIDA = "Idempotent-Replayed";
+
+    private final int maximoClaves;
+    private final long ttlNanos;
+    private final long esperaMaximaSegundos;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entrada> ordenLlegada = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger tamano = new AtomicInteger();
+
+    public IdempotenciaService(
+            @Value("${edutech.idempotencia.maximo-claves:10000}") int maximoClaves,
+            @Value("${edutech.idempotencia.ttl-minutos:60}") long ttlMinutos,
+            @Value("${edutech.idempotencia.espera-maxima-segundos:30}") long esperaMaximaSegundos,
+            ObjectMapper objectMapper) {
+        this.maximoClaves = maximoClaves;
+        this.ttlNanos = Duration.ofMinutes(ttlMinutos).toNanos();
+        this.esperaMaximaSegundos = esperaMaximaSegundos;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Ejecutar la acción una sola vez por clave dentro de un alcance (por ejemplo "POST /api/personas").
+     * Sin clave, la acción se ejecuta siempre. Para solicitudes sin cuerpo ni parámetros; los parámetros
+     * de consulta se pasan como cuerpo para que una repetición con otros valores reciba 422.
+     */
+    public <T> ResponseEntity<T> ejecutar(String clave, String alcance, Supplier<ResponseEntity<T>> accion) {
+        return ejecutar(clave, alcance, null, accion);
+    }
+
+    /**
+     * Ejecutar la acción una sola vez por clave y alcance; una repetición con otro cuerpo recibe 422
+     */
+    public <T> ResponseEntity<T> ejecutar(String clave, String alcance, Object cuerpo, Supplier<ResponseEntity<T>> accion) {
+        if (clave == null || clave.isBlank()) {
+            return accion.get();
+        }
+
+        // El hash se calcula antes de la acción, que puede modificar el cuerpo (por ejemplo asignarle el ID)
+        byte[] huella = huella(cuerpo);
+        purgarVencidas();
+        String id = alcance + " " + clave;
+        Entrada nueva = new Entrada(id, System.nanoTime(), huella);
+        Entrada existente = entradas.putIfAbsent(id, nueva);
+        if (existente != null) {
+            if (!Arrays.equals(existente.huella, huella)) {
+                log.debug("Clave de idempotencia {} reutilizada con otro cuerpo", id);
+                return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+            }
+            return repetir(existente);
+        }
+
+        ordenLlegada.add(nueva);
+        tamano.incrementAndGet();
+        try {
+            ResponseEntity<T> respuesta = accion.get();
+            if (respuesta.getStatusCode().is5xxServerError()) {
+                descartar(nueva);
+            }
+            nueva.respuesta.complete(respuesta);
+            return respuesta;
+        } catch (RuntimeException e) {
+            descartar(nueva);
+            nueva.respuesta.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Cantidad de claves guardadas
+     */
+    public int obtenerTamano() {
+        return tamano.get();
+    }
+
+    // Métodos privados
+
+    private byte[] huella(Object cuerpo) {
+        if (cuerpo == null) {
+            return new byte[0];
+        }
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(cuerpo));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("El cuerpo de la solicitud no se puede serializar", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> repetir(Entrada entrada) {
+        ResponseEntity<?> original;
+        try {
+            original = entrada.respuesta.get(esperaMaximaSegundos, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (ExecutionException e) {
+            // La solicitud original falló: la repetición recibe el mismo error
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
+        HttpHeaders encabezados = new HttpHeaders();
+        encabezados.addAll(original.getHeaders());
+        encabezados.set(ENCABEZADO_REPETIDA, "true");
+        return (ResponseEntity<T>) new ResponseEntity<>(original.getBody(), encabezados, original.getStatusCode());
+    }
+
+    private void descartar(Entrada entrada) {
+        if (entradas.remove(entrada.id, entrada)) {
+            tamano.decrementAndGet();
+        }
+    }
+
+    // Quitar por orden de llegada las vencidas y las que exceden el máximo; las que aún no responden se saltan
+    private void purgarVencidas() {
+        long limite = System.nanoTime() - ttlNanos;
+        int porRevisar = tamano.get();
+        Entrada masAntigua;
+        while (porRevisar-- > 0 && (masAntigua = ordenLlegada.peek()) != null
+                && (masAntigua.creadaNanos - limite < 0 || tamano.get() >= maximoClaves)) {
+            if (!ordenLlegada.remove(masAntigua)) {
+                continue;
+            }
+            if (masAntigua.respuesta.isDone()) {
+                descartar(masAntigua);
+            } else if (entradas.get(masAntigua.id) == masAntigua) {
+                ordenLlegada.add(masAntigua);
+            }
+        }
+    }
+
+    private static final class Entrada {
+        private final String id;
+        private final long creadaNanos;
+        private final byte[] huella;
+        private final CompletableFuture<ResponseEntity<?>> respuesta = new CompletableFuture<>();
+
+        private Entrada(String id, long creadaNanos, byte[] huella) {
+            this.id = id;
+            this.creadaNanos = creadaNanos;
+            this.huella = huella;
+        }
+    }
+}
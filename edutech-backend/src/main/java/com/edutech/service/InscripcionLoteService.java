@@ -0,0 +1,238 @@
+package com.edutech.service;
+
+//Importaciones del model, dto y repository
+import com.edutech.dto.ReporteInscripcionLote;
+import com.edutech.dto.ResultadoInscripcionLote;
+import com.edutech.dto.SolicitudInscripcion;
+import com.edutech.model.Ejecucion;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.InscripcionRepository;
+import com.edutech.repository.PersonaRepository;
+import com.edutech.util.HorarioSemanal;
+
+//Importaciones Spring y Lombok
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+//Importaciones Java
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inscripción masiva de cohortes.
+ *
+ * Las validaciones se resuelven con tres consultas por conjunto (personas,
+ * ejecuciones bloqueadas en orden de ID e inscripciones existentes) y las filas
+ * aceptadas se insertan con JDBC batch, ya que el ID IDENTITY de Inscripcion
+ * impide que Hibernate agrupe los INSERT.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InscripcionLoteService {
+
+    public static final int MAXIMO_POR_LOTE = 10_000;
+    private static final int TAMANO_BATCH = 500;
+    // Estudiante sin cursos aprobados (solo se lee)
+    private static final BitSet SIN_APROBADOS = new BitSet();
+
+    private static final String SQL_INSERTAR_INSCRIPCION =
+            "INSERT INTO inscripciones (persona_id, ejecucion_id, fecha_inscripcion, estado, activo) VALUES (?, ?, ?, ?, ?)";
+    // cupos_libres se asigna primero para leer el contador anterior en cualquier base
+    private static final String SQL_SUMAR_INSCRITOS =
+            "UPDATE ejecuciones SET cupos_libres = capacidad_maxima - COALESCE(inscritos_actuales, 0) - ?, " +
+            "inscritos_actuales = COALESCE(inscritos_actuales, 0) + ? WHERE id = ?";
+
+    private final PersonaRepository personaRepository;
+    private final EjecucionRepository ejecucionRepository;
+    private final InscripcionRepository inscripcionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ChoqueHorarioService choqueHorarioService;
+    private final PrerrequisitoService prerrequisitoService;
+    private final DisponibilidadCuposService disponibilidadCuposService;
+    private final ListaEsperaService listaEsperaService;
+
+    /**
+     * Inscribir un lote de pares estudiante / ejecución y devolver el resultado de cada fila
+     */
+    @Transactional
+    public ReporteInscripcionLote inscribirLote(List<SolicitudInscripcion> solicitudes) {
+        if (solicitudes == null || solicitudes.isEmpty()) {
+            throw new IllegalArgumentException("El lote de inscripciones está vacío");
+        }
+        if (solicitudes.size() > MAXIMO_POR_LOTE) {
+            throw new IllegalArgumentException("El lote no puede superar " + MAXIMO_POR_LOTE + " inscripciones");
+        }
+        log.debug("Procesando lote de {} inscripciones", solicitudes.size());
+
+        // Consultas por conjunto
+        Set<Long> estudianteIds = new HashSet<>();
+        Set<Long> ejecucionIds = new HashSet<>();
+        for (SolicitudInscripcion solicitud : solicitudes) {
+            if (solicitud != null && solicitud.getEstudianteId() != null && solicitud.getEjecucionId() != null) {
+                estudianteIds.add(solicitud.getEstudianteId());
+                ejecucionIds.add(solicitud.getEjecucionId());
+            }
+        }
+
+        Set<Long> estudiantesExistentes = estudianteIds.isEmpty()
+                ? Set.of() : new HashSet<>(personaRepository.findIdsExistentes(estudianteIds));
+
+        Map<Long, Ejecucion> ejecuciones = new HashMap<>();
+        if (!ejecucionIds.isEmpty()) {
+            for (Ejecucion ejecucion : ejecucionRepository.findAllByIdParaActualizar(ejecucionIds)) {
+                ejecuciones.put(ejecucion.getId(), ejecucion);
+            }
+        }
+
+        Set<String> yaInscritos = new HashSet<>();
+        if (!estudiantesExistentes.isEmpty() && !ejecuciones.isEmpty()) {
+            for (Object[] par : inscripcionRepository.findParesInscritos(estudiantesExistentes, ejecuciones.keySet())) {
+                yaInscritos.add(clave((Long) par[0], (Long) par[1]));
+            }
+        }
+
+        // Horarios ocupados de los estudiantes (por período) y de las ejecuciones, como mapas de bits
+        Map<String, HorarioSemanal> horariosOcupados = new HashMap<>();
+        if (!estudiantesExistentes.isEmpty()) {
+            Set<String> periodos = new HashSet<>();
+            ejecuciones.values().forEach(ejecucion -> periodos.add(ejecucion.getPeriodo()));
+            for (String periodo : periodos) {
+                choqueHorarioService.obtenerHorariosOcupados(estudiantesExistentes, periodo)
+                        .forEach((estudianteId, ocupado) -> horariosOcupados.put(claveHorario(estudianteId, periodo), ocupado));
+            }
+        }
+        Map<Long, HorarioSemanal> horariosEjecucion = new HashMap<>();
+        ejecuciones.forEach((id, ejecucion) -> horariosEjecucion.put(id, HorarioSemanal.parsearOVacio(ejecucion.getHorario())));
+
+        // Cursos aprobados de los estudiantes, con una consulta y solo si algún curso del lote tiene prerrequisitos
+        boolean conPrerrequisitos = ejecuciones.values().stream()
+                .anyMatch(ejecucion -> prerrequisitoService.tieneRequisitos(ejecucion.getCurso().getId()));
+        Map<Long, BitSet> aprobados = conPrerrequisitos && !estudiantesExistentes.isEmpty()
+                ? prerrequisitoService.aprobados(estudiantesExistentes) : Map.of();
+
+        // Validación fila por fila (en memoria)
+        LocalDate hoy = LocalDate.now();
+        Map<Long, Integer> cuposUsados = new HashMap<>();
+        List<ResultadoInscripcionLote> resultados = new ArrayList<>(solicitudes.size());
+        List<Object[]> filasAInsertar = new ArrayList<>();
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+
+        for (int i = 0; i < solicitudes.size(); i++) {
+            SolicitudInscripcion solicitud = solicitudes.get(i);
+            Long estudianteId = solicitud != null ? solicitud.getEstudianteId() : null;
+            Long ejecucionId = solicitud != null ? solicitud.getEjecucionId() : null;
+
+            String motivo = validarFila(estudianteId, ejecucionId, estudiantesExistentes, ejecuciones, yaInscritos,
+                    cuposUsados, horariosOcupados, horariosEjecucion, aprobados, hoy);
+            if (motivo != null) {
+                resultados.add(new ResultadoInscripcionLote(i, estudianteId, ejecucionId, ResultadoInscripcionLote.RECHAZADO, motivo));
+                continue;
+            }
+
+            yaInscritos.add(clave(estudianteId, ejecucionId));
+            cuposUsados.merge(ejecucionId, 1, Integer::sum);
+            horariosOcupados.merge(claveHorario(estudianteId, ejecuciones.get(ejecucionId).getPeriodo()),
+                    horariosEjecucion.get(ejecucionId), (ocupado, nuevo) -> HorarioSemanal.unir(List.of(ocupado, nuevo)));
+            filasAInsertar.add(new Object[] {estudianteId, ejecucionId, ahora, "ACTIVA", true});
+            resultados.add(new ResultadoInscripcionLote(i, estudianteId, ejecucionId, ResultadoInscripcionLote.INSCRITO, null));
+        }
+
+        // Escritura en batch: inscripciones y contadores de cupos
+        if (!filasAInsertar.isEmpty()) {
+            jdbcTemplate.batchUpdate(SQL_INSERTAR_INSCRIPCION, filasAInsertar, TAMANO_BATCH, (ps, fila) -> {
+                ps.setLong(1, (Long) fila[0]);
+                ps.setLong(2, (Long) fila[1]);
+                ps.setTimestamp(3, (Timestamp) fila[2]);
+                ps.setString(4, (String) fila[3]);
+                ps.setBoolean(5, (Boolean) fila[4]);
+            });
+
+            List<Object[]> incrementos = new ArrayList<>(cuposUsados.size());
+            cuposUsados.forEach((ejecucionId, cantidad) -> {
+                incrementos.add(new Object[] {cantidad, cantidad, ejecucionId});
+                disponibilidadCuposService.invalidarAlConfirmar(ejecucionId);
+            });
+            jdbcTemplate.batchUpdate(SQL_SUMAR_INSCRITOS, incrementos);
+
+            // Los horarios en memoria de los estudiantes inscritos se vuelven a cargar al usarlos,
+            // y los inscritos dejan la lista de espera de su ejecución (una sentencia por ejecución)
+            Set<Long> estudiantesInscritos = new HashSet<>();
+            Map<Long, List<Long>> inscritosPorEjecucion = new HashMap<>();
+            for (Object[] fila : filasAInsertar) {
+                estudiantesInscritos.add((Long) fila[0]);
+                inscritosPorEjecucion.computeIfAbsent((Long) fila[1], id -> new ArrayList<>()).add((Long) fila[0]);
+            }
+            estudiantesInscritos.forEach(choqueHorarioService::invalidarEstudianteAlConfirmar);
+            inscritosPorEjecucion.forEach(listaEsperaService::retirarInscritos);
+        }
+
+        int inscritos = filasAInsertar.size();
+        log.debug("Lote procesado: {} inscritos, {} rechazados", inscritos, solicitudes.size() - inscritos);
+        return new ReporteInscripcionLote(solicitudes.size(), inscritos, solicitudes.size() - inscritos, resultados);
+    }
+
+    // Métodos privados
+
+    private String validarFila(Long estudianteId, Long ejecucionId, Set<Long> estudiantesExistentes,
+                               Map<Long, Ejecucion> ejecuciones, Set<String> yaInscritos,
+                               Map<Long, Integer> cuposUsados, Map<String, HorarioSemanal> horariosOcupados,
+                               Map<Long, HorarioSemanal> horariosEjecucion, Map<Long, BitSet> aprobados,
+                               LocalDate hoy) {
+        if (estudianteId == null || ejecucionId == null) {
+            return "El estudiante y la ejecución son obligatorios";
+        }
+        if (!estudiantesExistentes.contains(estudianteId)) {
+            return "Estudiante no encontrado";
+        }
+
+        Ejecucion ejecucion = ejecuciones.get(ejecucionId);
+        if (ejecucion == null) {
+            return "Ejecución no encontrada";
+        }
+        if (yaInscritos.contains(clave(estudianteId, ejecucionId))) {
+            return "El estudiante ya está inscrito en esta ejecución";
+        }
+        if (!ejecucion.admiteInscripciones()) {
+            return ReservaCuposService.motivoEstado(ejecucion.getEstado());
+        }
+        if (ejecucion.getFechaInicio().isAfter(hoy)) {
+            return "No se puede inscribir a una ejecución que aún no ha comenzado";
+        }
+        List<Long> faltantes = prerrequisitoService.faltantes(ejecucion.getCurso().getId(),
+                aprobados.getOrDefault(estudianteId, SIN_APROBADOS));
+        if (!faltantes.isEmpty()) {
+            return PrerrequisitoService.motivo(faltantes);
+        }
+        HorarioSemanal ocupado = horariosOcupados.get(claveHorario(estudianteId, ejecucion.getPeriodo()));
+        if (ocupado != null && ocupado.seTraslapaCon(horariosEjecucion.get(ejecucionId))) {
+            return "El horario de la ejecución choca con otra inscripción del estudiante";
+        }
+
+        int ocupados = (ejecucion.getInscritosActuales() != null ? ejecucion.getInscritosActuales() : 0)
+                + cuposUsados.getOrDefault(ejecucionId, 0);
+        if (ocupados >= ejecucion.getCapacidadMaxima()) {
+            return "No hay cupos disponibles en esta ejecución";
+        }
+        return null;
+    }
+
+    private static String clave(Long estudianteId, Long ejecucionId) {
+        return estudianteId + ":" + ejecucionId;
+    }
+
+    private static String claveHorario(Long estudianteId, String periodo) {
+        return estudianteId + ":" + periodo;
+    }
+}
@@ -9,7 +9,9 @@
 
 //Importacion para dependencias
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 //Importaciones Java
@@ -26,6 +28,14 @@ public class InscripcionService {
     private PersonaRepository personaRepository;
     @Autowired
     private EjecucionRepository ejecucionRepository;
+    @Autowired
+    private ReservaCuposService reservaCuposService;
+    @Autowired
+    private ListaEsperaService listaEsperaService;
+    @Autowired
+    private ChoqueHorarioService choqueHorarioService;
+    @Autowired
+    private PrerrequisitoService prerrequisitoService;
     
     /**
      * Obtener todas las inscripciones
@@ -44,6 +54,7 @@ public Optional<Inscripcion> obtenerPorId(Long id) {
     /**
      * Crear nueva inscripción
      */
+    @Transactional
     public Inscripcion crear(Inscripcion inscripcion) {
         
         // Validaciones básicas
@@ -52,38 +63,74 @@ public Inscripcion crear(Inscripcion inscripcion) {
         // Establecer fecha de inscripción
         inscripcion.setFechaInscripcion(LocalDateTime.now());
         
+        // Una inscripción activa ocupa cupo: se reserva con el mismo UPDATE condicional que inscribir
+        if (Boolean.TRUE.equals(inscripcion.getActivo())) {
+            reservarCupo(inscripcion.getPersona().getId(), inscripcion.getEjecucion().getId());
+        }
+        
+        // El horario en memoria del estudiante se vuelve a cargar con la nueva inscripción
+        choqueHorarioService.invalidarEstudianteAlConfirmar(inscripcion.getPersona().getId());
+        
         return inscripcionRepository.save(inscripcion);
     }
     
     /**
      * Actualizar inscripción existente
      */
+    @Transactional
     public Optional<Inscripcion> actualizar(Long id, Inscripcion inscripcionActualizada) {
         
+        validarInscripcion(inscripcionActualizada);
+        
         return inscripcionRepository.findById(id)
                 .map(inscripcionExistente -> {
+                    Persona personaAnterior = inscripcionExistente.getPersona();
+                    Long ejecucionAnterior = inscripcionExistente.getEjecucion().getId();
+                    Long ejecucionNueva = inscripcionActualizada.getEjecucion().getId();
+                    boolean ocupabaCupo = Boolean.TRUE.equals(inscripcionExistente.getActivo());
+                    boolean ocupaCupo = Boolean.TRUE.equals(inscripcionActualizada.getActivo());
+                    boolean mismaEjecucion = ejecucionAnterior.equals(ejecucionNueva);
+                    
+                    // Al activarla o moverla de ejecución toma un cupo nuevo antes de soltar el anterior
+                    if (ocupaCupo && (!ocupabaCupo || !mismaEjecucion)) {
+                        reservarCupo(inscripcionActualizada.getPersona().getId(), ejecucionNueva);
+                    }
+                    
+                    invalidarHorario(personaAnterior);
+                    invalidarHorario(inscripcionActualizada.getPersona());
                     inscripcionExistente.setEjecucion(inscripcionActualizada.getEjecucion());
                     inscripcionExistente.setPersona(inscripcionActualizada.getPersona());
                     inscripcionExistente.setEstado(inscripcionActualizada.getEstado());
                     inscripcionExistente.setActivo(inscripcionActualizada.getActivo());
-                    return inscripcionRepository.save(inscripcionExistente);
+                    Inscripcion guardada = inscripcionRepository.save(inscripcionExistente);
+                    
+                    if (ocupabaCupo && (!ocupaCupo || !mismaEjecucion)) {
+                        liberarCupo(personaAnterior.getId(), ejecucionAnterior);
+                    }
+                    return guardada;
                 });
     }
     
     /**
      * Eliminar inscripción
      */
+    @Transactional
     public boolean eliminar(Long id) {
-        if (inscripcionRepository.existsById(id)) {
-            inscripcionRepository.deleteById(id);
-            return true;
-        }
-        return false;
+        return inscripcionRepository.findById(id)
+                .map(inscripcion -> {
+                    inscripcionRepository.deleteById(id);
+                    if (Boolean.TRUE.equals(inscripcion.getActivo())) {
+                        liberarCupo(inscripcion.getPersona().getId(), inscripcion.getEjecucion().getId());
+                    }
+                    return true;
+                })
+                .orElse(false);
     }
     
     /**
      * Inscribir estudiante en una ejecución
      */
+    @Transactional
     public Inscripcion inscribir(Long estudianteId, Long ejecucionId) {
         
         // Verificar que el estudiante existe
@@ -103,6 +150,15 @@ public Inscripcion inscribir(Long estudianteId, Long ejecucionId) {
         if (ejecucion.getFechaInicio().isAfter(LocalDate.now())) {
             throw new IllegalStateException("No se puede inscribir a una ejecución que aún no ha comenzado");
         }
+        
+        // Verificar que aprobó los prerrequisitos del curso (inclusión de bits, sin consulta si no tiene)
+        prerrequisitoService.verificar(estudianteId, ejecucion.getCurso().getId());
+        
+        // Verificar choque de horario contra las demás inscripciones activas del estudiante
+        choqueHorarioService.reservarFranjas(estudianteId, ejecucion);
+        
+        // Reservar el cupo con un UPDATE condicional (se revierte si la transacción falla)
+        reservarCupo(estudianteId, ejecucionId);
  
         // Crear inscripción
         Inscripcion inscripcion = new Inscripcion();
@@ -112,33 +168,36 @@ public Inscripcion inscribir(Long estudianteId, Long ejecucionId) {
         inscripcion.setEstado("ACTIVA");
         inscripcion.setActivo(true);
         
-        return inscripcionRepository.save(inscripcion);
+        try {
+            return inscripcionRepository.save(inscripcion);
+        } catch (DataIntegrityViolationException e) {
+            // Otra solicitud concurrente inscribió al mismo estudiante
+            throw new IllegalStateException("El estudiante ya está inscrito en esta ejecución");
+        }
     }
     
     /**
      * Cancelar inscripción por ID
      */
+    @Transactional
     public void cancelarInscripcion(Long inscripcionId) {
         
         Inscripcion inscripcion = inscripcionRepository.findById(inscripcionId)
                 .orElseThrow(() -> new IllegalArgumentException("Inscripción no encontrada"));
         
-        inscripcion.setEstado("CANCELADA");
-        inscripcion.setActivo(false);
-        inscripcionRepository.save(inscripcion);
+        cancelar(inscripcion);
     }
     
     /**
      * Cancelar inscripción por estudiante y ejecución
      */
+    @Transactional
     public void cancelarInscripcion(Long estudianteId, Long ejecucionId) {
         
         Inscripcion inscripcion = inscripcionRepository.findByPersonaIdAndEjecucionId(estudianteId, ejecucionId)
                 .orElseThrow(() -> new IllegalArgumentException("Inscripción no encontrada"));
         
-        inscripcion.setEstado("CANCELADA");
-        inscripcion.setActivo(false);
-        inscripcionRepository.save(inscripcion);
+        cancelar(inscripcion);
     }
     
     /**
@@ -232,7 +291,42 @@ public List<Inscripcion> obtenerUltimas() {
         return inscripcionRepository.findTop10ByOrderByFechaInscripcionDesc();
     }
     
-    // Métodos de validación privados
+    // Métodos privados
+    
+    private void cancelar(Inscripcion inscripcion) {
+        boolean ocupabaCupo = Boolean.TRUE.equals(inscripcion.getActivo());
+        
+        inscripcion.setEstado("CANCELADA");
+        inscripcion.setActivo(false);
+        inscripcionRepository.save(inscripcion);
+        
+        // Solo una inscripción activa ocupa cupo
+        if (ocupabaCupo) {
+            liberarCupo(inscripcion.getPersona().getId(), inscripcion.getEjecucion().getId());
+        }
+    }
+    
+    // Al tomar el cupo el estudiante deja de esperar en la lista de esa ejecución
+    private void reservarCupo(Long estudianteId, Long ejecucionId) {
+        if (!reservaCuposService.reservar(ejecucionId)) {
+            throw new IllegalStateException("No hay cupos disponibles en esta ejecución");
+        }
+        listaEsperaService.retirarInscritos(ejecucionId, List.of(estudianteId));
+    }
+    
+    private void liberarCupo(Long estudianteId, Long ejecucionId) {
+        choqueHorarioService.quitarAlConfirmar(estudianteId, ejecucionId);
+        
+        // El cupo liberado pasa al primero de la lista de espera dentro de la misma transacción
+        reservaCuposService.liberar(ejecucionId);
+        listaEsperaService.promoverSiguiente(ejecucionId);
+    }
+    
+    private void invalidarHorario(Persona estudiante) {
+        if (estudiante != null && estudiante.getId() != null) {
+            choqueHorarioService.invalidarEstudianteAlConfirmar(estudiante.getId());
+        }
+    }
     
     private void validarInscripcion(Inscripcion inscripcion) {
         if (inscripcion.getPersona() == null || inscripcion.getPersona().getId() == null) {
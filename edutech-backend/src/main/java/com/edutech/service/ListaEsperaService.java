@@ -0,0 +1,245 @@
+package com.edutech.service;
+
+//Importaciones del model y repository
+import com.edutech.model.Ejecucion;
+import com.edutech.model.Inscripcion;
+import com.edutech.model.ListaEspera;
+import com.edutech.model.Persona;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.InscripcionRepository;
+import com.edutech.repository.ListaEsperaRepository;
+import com.edutech.repository.PersonaRepository;
+import com.edutech.util.TransaccionUtils;
+
+//Importaciones Spring y Lombok
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+//Importaciones Java
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Lista de espera por ejecución con promoción automática.
+ *
+ * La tabla listas_espera es la fuente de verdad; en memoria se mantiene una cola
+ * de IDs por ejecución para encontrar la cabeza en O(1). Las altas se agregan a la
+ * cola antes del commit y las bajas se quitan después, así la cola en memoria siempre
+ * contiene al menos las entradas vigentes y cada candidato se verifica por PK.
+ * Inscribirse en la lista y promover desde ella toman el bloqueo de la fila de la
+ * ejecución, por lo que ambas operaciones quedan serializadas por ejecución.
+ *
+ * Todas las vías de inscripción retiran la entrada del estudiante en esa ejecución
+ * (retirarInscritos). Como en la inscripción directa, solo entra a la lista quien aprobó
+ * los prerrequisitos del curso. La promoción igualmente retira, sin darle el cupo, al
+ * candidato que ya está inscrito, que ya no cumple los prerrequisitos (por ejemplo, porque
+ * se agregaron después) o cuyo horario choca con otra de sus inscripciones.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ListaEsperaService {
+
+    private final ListaEsperaRepository listaEsperaRepository;
+    private final InscripcionRepository inscripcionRepository;
+    private final PersonaRepository personaRepository;
+    private final EjecucionRepository ejecucionRepository;
+    private final ReservaCuposService reservaCuposService;
+    private final ChoqueHorarioService choqueHorarioService;
+    private final PrerrequisitoService prerrequisitoService;
+
+    private final Map<Long, ConcurrentLinkedDeque<Long>> colas = new ConcurrentHashMap<>();
+
+    /**
+     * Inscribir a un estudiante en la lista de espera de una ejecución llena
+     */
+    @Transactional
+    public ListaEspera inscribirEnLista(Long estudianteId, Long ejecucionId) {
+        Persona estudiante = personaRepository.findById(estudianteId)
+                .orElseThrow(() -> new IllegalArgumentException("Estudiante no encontrado"));
+
+        // Bloquear la fila de la ejecución para serializar con cancelaciones y promociones
+        Ejecucion ejecucion = ejecucionRepository.findAllByIdParaActualizar(List.of(ejecucionId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Ejecución no encontrada"));
+
+        if (inscripcionRepository.existsByPersonaIdAndEjecucionId(estudianteId, ejecucionId)) {
+            throw new IllegalStateException("El estudiante ya está inscrito en esta ejecución");
+        }
+        if (listaEsperaRepository.existsByPersona_IdAndEjecucion_IdAndEstado(estudianteId, ejecucionId, ListaEspera.EN_ESPERA)) {
+            throw new IllegalStateException("El estudiante ya está en la lista de espera de esta ejecución");
+        }
+        prerrequisitoService.verificar(estudianteId, ejecucion.getCurso().getId());
+        if (!ejecucion.admiteInscripciones()) {
+            throw new IllegalStateException(ReservaCuposService.motivoEstado(ejecucion.getEstado()));
+        }
+        if (ejecucion.getCuposDisponibles() > 0) {
+            throw new IllegalStateException("La ejecución tiene cupos disponibles, el estudiante puede inscribirse directamente");
+        }
+
+        ListaEspera entrada = new ListaEspera();
+        entrada.setPersona(estudiante);
+        entrada.setEjecucion(ejecucion);
+        entrada.setFechaSolicitud(LocalDateTime.now());
+        entrada.setEstado(ListaEspera.EN_ESPERA);
+        ListaEspera guardada = listaEsperaRepository.save(entrada);
+
+        // Si la cola aún no se ha cargado, la primera carga (bajo este mismo bloqueo) la leerá de la tabla
+        TransaccionUtils.antesDelCommit(() -> colas.computeIfPresent(ejecucionId, (id, cola) -> {
+            cola.addLast(guardada.getId());
+            return cola;
+        }));
+        return guardada;
+    }
+
+    /**
+     * Retirar a un estudiante de la lista de espera
+     */
+    @Transactional
+    public void retirar(Long estudianteId, Long ejecucionId) {
+        ListaEspera entrada = listaEsperaRepository
+                .findByPersona_IdAndEjecucion_IdAndEstado(estudianteId, ejecucionId, ListaEspera.EN_ESPERA)
+                .orElseThrow(() -> new IllegalArgumentException("El estudiante no está en la lista de espera"));
+
+        entrada.setEstado(ListaEspera.RETIRADA);
+        listaEsperaRepository.save(entrada);
+        TransaccionUtils.despuesDelCommit(() -> cola(ejecucionId).remove(entrada.getId()));
+    }
+
+    /**
+     * Retirar de la lista de espera de la ejecución a los estudiantes recién inscritos en ella.
+     * Se llama en la misma transacción que crea la inscripción.
+     */
+    @Transactional
+    public void retirarInscritos(Long ejecucionId, Collection<Long> estudianteIds) {
+        // La cola en memoria no se toca: la promoción descarta las entradas que ya no están en espera
+        if (!estudianteIds.isEmpty()) {
+            listaEsperaRepository.retirarEnEsperaDeEstudiantes(ejecucionId, estudianteIds);
+        }
+    }
+
+    /**
+     * Promover al primero de la lista ocupando el cupo recién liberado.
+     * Debe llamarse dentro de la misma transacción que liberó el cupo.
+     */
+    @Transactional
+    public Optional<Inscripcion> promoverSiguiente(Long ejecucionId) {
+        // Una ejecución cancelada o finalizada no promueve a nadie
+        if (!reservaCuposService.admiteInscripciones(ejecucionId)) {
+            return Optional.empty();
+        }
+        ConcurrentLinkedDeque<Long> cola = cola(ejecucionId);
+
+        for (Long candidatoId : cola) {
+            Optional<ListaEspera> candidato = listaEsperaRepository.findById(candidatoId)
+                    .filter(entrada -> ListaEspera.EN_ESPERA.equals(entrada.getEstado()));
+            if (candidato.isEmpty()) {
+                // Entrada ya promovida, retirada o revertida: se descarta de la cola
+                cola.remove(candidatoId);
+                continue;
+            }
+
+            // Ya inscrito por otra vía: otra inscripción violaría la restricción única (persona, ejecución)
+            ListaEspera entrada = candidato.get();
+            if (inscripcionRepository.existsByPersonaIdAndEjecucionId(entrada.getEstudianteId(), ejecucionId)) {
+                retirarCandidato(cola, entrada);
+                continue;
+            }
+
+            // Sin los prerrequisitos tampoco puede tomarlo: se retira igual que con un choque
+            if (!prerrequisitoService.faltantesDelEstudiante(entrada.getEstudianteId(),
+                    entrada.getEjecucion().getCurso().getId()).isEmpty()) {
+                retirarCandidato(cola, entrada);
+                continue;
+            }
+
+            // Con un choque de horario no puede tomar el cupo: se retira en lugar de bloquear la cabeza
+            if (!choqueHorarioService.intentarReservarFranjas(entrada.getEstudianteId(), entrada.getEjecucion())) {
+                retirarCandidato(cola, entrada);
+                continue;
+            }
+
+            if (!reservaCuposService.reservar(ejecucionId)) {
+                choqueHorarioService.liberarFranjas(entrada.getEstudianteId(), ejecucionId);
+                return Optional.empty();
+            }
+
+            Inscripcion inscripcion = new Inscripcion();
+            inscripcion.setPersona(entrada.getPersona());
+            inscripcion.setEjecucion(entrada.getEjecucion());
+            inscripcion.setFechaInscripcion(LocalDateTime.now());
+            inscripcion.setEstado("ACTIVA");
+            inscripcion.setActivo(true);
+            Inscripcion guardada = inscripcionRepository.save(inscripcion);
+
+            entrada.setEstado(ListaEspera.PROMOVIDA);
+            entrada.setFechaPromocion(LocalDateTime.now());
+            listaEsperaRepository.save(entrada);
+
+            TransaccionUtils.despuesDelCommit(() -> cola.remove(candidatoId));
+            log.debug("Estudiante {} promovido desde la lista de espera de la ejecución {}",
+                    entrada.getEstudianteId(), ejecucionId);
+            return Optional.of(guardada);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Obtener la lista de espera vigente de una ejecución (en orden)
+     */
+    @Transactional(readOnly = true)
+    public List<ListaEspera> obtenerPorEjecucion(Long ejecucionId) {
+        return listaEsperaRepository.findByEjecucion_IdAndEstadoOrderByIdAsc(ejecucionId, ListaEspera.EN_ESPERA);
+    }
+
+    /**
+     * Obtener las listas de espera vigentes de un estudiante
+     */
+    @Transactional(readOnly = true)
+    public List<ListaEspera> obtenerPorEstudiante(Long estudianteId) {
+        return listaEsperaRepository.findByPersona_IdAndEstadoOrderByIdAsc(estudianteId, ListaEspera.EN_ESPERA);
+    }
+
+    /**
+     * Obtener la posición (desde 1) de un estudiante en la lista de espera
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> obtenerPosicion(Long estudianteId, Long ejecucionId) {
+        return listaEsperaRepository
+                .findByPersona_IdAndEjecucion_IdAndEstado(estudianteId, ejecucionId, ListaEspera.EN_ESPERA)
+                .map(entrada -> listaEsperaRepository.countByEjecucion_IdAndEstadoAndIdLessThan(
+                        ejecucionId, ListaEspera.EN_ESPERA, entrada.getId()) + 1);
+    }
+
+    // Métodos privados
+
+    private void retirarCandidato(ConcurrentLinkedDeque<Long> cola, ListaEspera entrada) {
+        entrada.setEstado(ListaEspera.RETIRADA);
+        listaEsperaRepository.save(entrada);
+        TransaccionUtils.despuesDelCommit(() -> cola.remove(entrada.getId()));
+        log.debug("Estudiante {} retirado de la lista de espera de la ejecución {} sin promoverlo",
+                entrada.getEstudianteId(), entrada.getEjecucionId());
+    }
+
+    private ConcurrentLinkedDeque<Long> cola(Long ejecucionId) {
+        ConcurrentLinkedDeque<Long> cola = colas.get(ejecucionId);
+        if (cola != null) {
+            return cola;
+        }
+
+        // Primera vez que se usa la ejecución: se carga desde la tabla
+        ConcurrentLinkedDeque<Long> cargada = new ConcurrentLinkedDeque<>();
+        for (ListaEspera entrada : listaEsperaRepository.findByEjecucion_IdAndEstadoOrderByIdAsc(ejecucionId, ListaEspera.EN_ESPERA)) {
+            cargada.addLast(entrada.getId());
+        }
+        ConcurrentLinkedDeque<Long> existente = colas.putIfAbsent(ejecucionId, cargada);
+        return existente != null ? existente : cargada;
+    }
+}
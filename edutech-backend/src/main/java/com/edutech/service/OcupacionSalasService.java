@@ -0,0 +1,227 @@
+package com.edutech.service;
+
+//Importaciones del dto, model, repository y util
+import com.edutech.dto.ChoqueSala;
+import com.edutech.model.Ejecucion;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.util.HorarioSemanal;
+import com.edutech.util.IndiceEnMemoria;
+import com.edutech.util.IndiceOcupacionSalas;
+import com.edutech.util.TransaccionUtils;
+
+//Importaciones Spring y Lombok
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+//Importaciones Java
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ocupación de salas por período para detectar choques de sala entre ejecuciones.
+ *
+ * La sala de una ejecución es el campo sala o, si está vacío, el campo aula. El índice
+ * se carga una vez con una consulta de proyección (sin entidades) y se actualiza después
+ * de cada commit que crea, modifica o elimina una ejecución. Al guardar, la sala se verifica
+ * y se ocupa en el índice bajo el mismo candado, dentro de la transacción que guarda la
+ * ejecución, así dos altas simultáneas en la misma sala no pasan ambas; si la transacción
+ * se revierte, la ocupación se vuelve a leer desde la base de datos. Mientras la transacción
+ * no termina, la reserva se recuerda aparte y una recarga completa la vuelve a aplicar
+ * sobre la foto de la base de datos, que aún no la incluye. Una ejecución cancelada no
+ * ocupa sala.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OcupacionSalasService {
+
+    private final EjecucionRepository ejecucionRepository;
+
+    private final IndiceEnMemoria<IndiceOcupacionSalas> indice = new IndiceEnMemoria<>(this::cargar);
+    // Reservas de transacciones aún sin terminar (solo se tocan bajo el candado del índice)
+    private final Map<Long, Reserva> enCurso = new HashMap<>();
+
+    /**
+     * Ocupar la sala de la ejecución ya guardada en sus franjas del período, o lanzar
+     * IllegalArgumentException si otra ejecución la ocupa. Se llama dentro de la transacción
+     * que guarda la ejecución.
+     */
+    public void reservar(Long ejecucionId, Ejecucion ejecucion) {
+        List<Long> conflictos = intentarReservar(ejecucionId, ejecucion);
+        if (!conflictos.isEmpty()) {
+            throw new IllegalArgumentException(describirChoque(reservaDe(ejecucion), conflictos));
+        }
+    }
+
+    /**
+     * Igual que reservar(), pero devuelve las ejecuciones que ocupan la sala en lugar de lanzar
+     * la excepción (vacía si la sala quedó ocupada)
+     */
+    public List<Long> intentarReservar(Long ejecucionId, Ejecucion ejecucion) {
+        if (Ejecucion.CANCELADA.equals(ejecucion.getEstado())) {
+            return List.of();
+        }
+        Reserva reserva = reservaDe(ejecucion);
+        List<Long> conflictos = indice.usar(actual -> {
+            List<Long> choques = reserva.choquesEn(actual, ejecucionId);
+            if (choques.isEmpty()) {
+                reserva.aplicar(actual, ejecucionId);
+                enCurso.put(ejecucionId, reserva);
+            }
+            return choques;
+        });
+        if (conflictos.isEmpty()) {
+            soltarAlTerminar(Set.of(ejecucionId));
+        }
+        return conflictos;
+    }
+
+    /**
+     * Ocupar en un solo paso las salas de varias ejecuciones ya guardadas (cambios masivos),
+     * o lanzar IllegalArgumentException sin ocupar ninguna si alguna choca con una ejecución
+     * que no está entre ellas. Las salas que ocupaban antes no cuentan, y los choques entre
+     * ellas los verifica quien llama.
+     */
+    public void reservarTodas(List<Ejecucion> ejecuciones) {
+        Map<Long, Reserva> reservas = new LinkedHashMap<>();
+        for (Ejecucion ejecucion : ejecuciones) {
+            if (!Ejecucion.CANCELADA.equals(ejecucion.getEstado())) {
+                reservas.put(ejecucion.getId(), reservaDe(ejecucion));
+            }
+        }
+        String conflicto = indice.usar(actual -> {
+            for (Map.Entry<Long, Reserva> entrada : reservas.entrySet()) {
+                List<Long> choques = new ArrayList<>(entrada.getValue().choquesEn(actual, entrada.getKey()));
+                choques.removeAll(reservas.keySet());
+                if (!choques.isEmpty()) {
+                    return describirChoque(entrada.getValue(), choques);
+                }
+            }
+            reservas.forEach((ejecucionId, reserva) -> {
+                reserva.aplicar(actual, ejecucionId);
+                enCurso.put(ejecucionId, reserva);
+            });
+            return null;
+        });
+        if (conflicto != null) {
+            throw new IllegalArgumentException(conflicto);
+        }
+        soltarAlTerminar(reservas.keySet());
+    }
+
+    /**
+     * Soltar de inmediato la sala que ocupó una ejecución que la transacción en curso descarta
+     */
+    public void liberar(Long ejecucionId) {
+        indice.cambiar(actual -> {
+            actual.quitar(ejecucionId);
+            enCurso.remove(ejecucionId);
+        });
+    }
+
+    /**
+     * Todos los choques de sala de un período
+     */
+    public List<ChoqueSala> obtenerChoques(String periodo) {
+        List<ChoqueSala> choques = new ArrayList<>();
+        for (IndiceOcupacionSalas.Choque choque : indice.obtener().choquesDelPeriodo(periodo)) {
+            choques.add(new ChoqueSala(periodo, choque.sala(), choque.ejecucionId(),
+                    choque.otraEjecucionId(), choque.franjas().describir()));
+        }
+        return choques;
+    }
+
+    /**
+     * Volver a leer la sala y el horario de la ejecución cuando la transacción en curso confirme
+     */
+    public void actualizarAlConfirmar(Long ejecucionId) {
+        indice.cambiarAlConfirmar(actual -> refrescar(actual, ejecucionId));
+    }
+
+    /**
+     * Quitar la ejecución cuando la transacción en curso confirme
+     */
+    public void quitarAlConfirmar(Long ejecucionId) {
+        indice.cambiarAlConfirmar(actual -> actual.quitar(ejecucionId));
+    }
+
+    /**
+     * Cargar de nuevo la ocupación de salas cuando la transacción en curso confirme (cambios masivos)
+     */
+    public void recargarAlConfirmar() {
+        indice.recargarAlConfirmar();
+    }
+
+    /**
+     * Cargar de nuevo la ocupación de todas las salas desde la base de datos
+     */
+    public void recargar() {
+        indice.recargar();
+    }
+
+    // Métodos privados
+
+    private IndiceOcupacionSalas cargar() {
+        IndiceOcupacionSalas nuevo = new IndiceOcupacionSalas();
+        for (Object[] fila : ejecucionRepository.findOcupacionSalas()) {
+            poner(nuevo, fila);
+        }
+        enCurso.forEach((ejecucionId, reserva) -> reserva.aplicar(nuevo, ejecucionId));
+        log.debug("Ocupación de salas cargada con {} ejecuciones", nuevo.tamano());
+        return nuevo;
+    }
+
+    private void refrescar(IndiceOcupacionSalas actual, Long ejecucionId) {
+        List<Object[]> filas = ejecucionRepository.findOcupacionSala(ejecucionId);
+        if (filas.isEmpty()) {
+            actual.quitar(ejecucionId);
+        } else {
+            poner(actual, filas.get(0));
+        }
+    }
+
+    private static void poner(IndiceOcupacionSalas destino, Object[] fila) {
+        // (id, periodo, sala, aula, horario); un horario guardado que no se puede interpretar no ocupa la sala
+        destino.poner((Long) fila[0], (String) fila[1], salaDe((String) fila[2], (String) fila[3]),
+                HorarioSemanal.parsearOVacio((String) fila[4]));
+    }
+
+    /**
+     * Al terminar la transacción las reservas dejan de recordarse aparte; si se revierte,
+     * la ocupación de esas ejecuciones se vuelve a leer desde la base de datos
+     */
+    private void soltarAlTerminar(Set<Long> ejecucionIds) {
+        TransaccionUtils.alTerminar(() -> indice.cambiar(actual -> enCurso.keySet().removeAll(ejecucionIds)));
+        TransaccionUtils.siSeRevierte(() -> indice.cambiar(actual -> ejecucionIds.forEach(id -> refrescar(actual, id))));
+    }
+
+    private static Reserva reservaDe(Ejecucion ejecucion) {
+        return new Reserva(ejecucion.getPeriodo(), salaDe(ejecucion.getSala(), ejecucion.getAula()),
+                HorarioSemanal.parsearOVacio(ejecucion.getHorario()));
+    }
+
+    private static String describirChoque(Reserva reserva, List<Long> conflictos) {
+        return "La sala " + IndiceOcupacionSalas.normalizarSala(reserva.sala())
+                + " ya está ocupada en el período " + reserva.periodo()
+                + " por las ejecuciones " + conflictos + " (" + reserva.horario() + ")";
+    }
+
+    private static String salaDe(String sala, String aula) {
+        return sala != null && !sala.isBlank() ? sala : aula;
+    }
+
+    private record Reserva(String periodo, String sala, HorarioSemanal horario) {
+        void aplicar(IndiceOcupacionSalas destino, Long ejecucionId) {
+            destino.poner(ejecucionId, periodo, sala, horario);
+        }
+
+        List<Long> choquesEn(IndiceOcupacionSalas destino, Long ejecucionId) {
+            return sala != null ? destino.choquesCon(ejecucionId, periodo, sala, horario) : List.of();
+        }
+    }
+}
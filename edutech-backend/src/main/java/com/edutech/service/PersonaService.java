@@ -1,6 +1,7 @@
 package com.edutech.service;
 
-//Importaciones del model y repository
+//Importaciones del dto, model y repository
+import com.edutech.dto.PaginaPersonas;
 import com.edutech.model.Persona;
 import com.edutech.repository.PersonaRepository;
 
@@ -18,6 +19,12 @@ public class PersonaService {
     @Autowired
     private PersonaRepository personaRepository;
     
+    @Autowired
+    private BusquedaPersonasService busquedaPersonasService;
+    
+    @Autowired
+    private CalendarioEjecucionesService calendarioEjecucionesService;
+    
     /**
      * Obtener todas las personas
      */
@@ -56,7 +63,9 @@ public Persona crear(Persona persona) {
             throw new IllegalArgumentException("Ya existe una persona con el RUT: " + persona.getRut());
         }
         
-        return personaRepository.save(persona);
+        Persona nuevaPersona = personaRepository.save(persona);
+        busquedaPersonasService.actualizarAlConfirmar(nuevaPersona);
+        return nuevaPersona;
     }
     
     /**
@@ -82,7 +91,11 @@ public Optional<Persona> actualizar(Long id, Persona personaActualizada) {
                     personaExistente.setTipoPersona(personaActualizada.getTipoPersona());
                     personaExistente.setActivo(personaActualizada.getActivo());
                     
-                    return personaRepository.save(personaExistente);
+                    Persona guardada = personaRepository.save(personaExistente);
+                    busquedaPersonasService.actualizarAlConfirmar(guardada);
+                    // El calendario guarda las ejecuciones con su profesor
+                    calendarioEjecucionesService.actualizarProfesorAlConfirmar(id);
+                    return guardada;
                 });
     }
     
@@ -94,14 +107,22 @@ public void eliminar(Long id) {
                 .orElseThrow(() -> new IllegalArgumentException("Persona no encontrada con ID: " + id));
         
         personaRepository.delete(persona);
+        busquedaPersonasService.quitarAlConfirmar(id);
     }
     
     /**
-     * Buscar personas por nombre o apellido
+     * Buscar personas por nombre, apellido, correo o RUT: todas las que contienen el término,
+     * sin coincidencias aproximadas. La búsqueda tolerante a errores de tipeo es buscar().
      */
     public List<Persona> buscarPorNombreOApellido(String termino) {
-        // Usar la consulta personalizada que ya maneja la búsqueda completa
-        return personaRepository.buscarPersonas(termino);
+        return busquedaPersonasService.buscarTodas(termino);
+    }
+    
+    /**
+     * Buscar personas por nombre, apellido, correo o RUT con paginación, por relevancia
+     */
+    public PaginaPersonas buscar(String consulta, int pagina, int tamano) {
+        return busquedaPersonasService.buscar(consulta, pagina, tamano);
     }
     
     /**
@@ -0,0 +1,303 @@
+package com.edutech.service;
+
+//Importaciones del dto, model, repository y util
+import com.edutech.dto.AsignacionEjecucion;
+import com.edutech.dto.DisponibilidadProfesor;
+import com.edutech.dto.PlanificacionPeriodo;
+import com.edutech.dto.SalaPlanificacion;
+import com.edutech.dto.SolicitudPlanificacion;
+import com.edutech.model.Ejecucion;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.InscripcionRepository;
+import com.edutech.repository.PersonaRepository;
+import com.edutech.util.HorarioSemanal;
+import com.edutech.util.IndiceOcupacionSalas;
+import com.edutech.util.OcupacionSemanal;
+import com.edutech.util.PlanificadorHorarios;
+
+//Importaciones Spring y Lombok
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+//Importaciones Java
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Planificación automática de sala, horario y profesor para las ejecuciones de un período.
+ *
+ * previsualizar() calcula una propuesta con PlanificadorHorarios sin guardar nada;
+ * aplicar() recibe la propuesta (o una versión editada), verifica que cada sala alcance para
+ * la capacidad máxima de su ejecución, que el período completo quede sin choques de sala ni
+ * de profesor y que ningún estudiante inscrito quede con dos ejecuciones a la misma hora,
+ * y la guarda en una sola transacción. Las salas y los profesores se ocupan además en
+ * OcupacionSalasService y CargaProfesoresService dentro de esa transacción, así una alta o
+ * un cambio simultáneo que aún no confirma tampoco puede quedar chocando con la planificación.
+ */
+@Service
+@Slf4j
+public class PlanificacionPeriodoService {
+
+    private final EjecucionRepository ejecucionRepository;
+    private final PersonaRepository personaRepository;
+    private final InscripcionRepository inscripcionRepository;
+    private final OcupacionSalasService ocupacionSalasService;
+    private final CargaProfesoresService cargaProfesoresService;
+    private final CalendarioEjecucionesService calendarioEjecucionesService;
+    private final ChoqueHorarioService choqueHorarioService;
+    private final int tiempoMaximoSegundos;
+    private final int paralelismo;
+
+    public PlanificacionPeriodoService(
+            EjecucionRepository ejecucionRepository,
+            PersonaRepository personaRepository,
+            InscripcionRepository inscripcionRepository,
+            OcupacionSalasService ocupacionSalasService,
+            CargaProfesoresService cargaProfesoresService,
+            CalendarioEjecucionesService calendarioEjecucionesService,
+            ChoqueHorarioService choqueHorarioService,
+            @Value("${edutech.planificacion.tiempo-maximo-segundos:10}") int tiempoMaximoSegundos,
+            @Value("${edutech.planificacion.paralelismo:0}") int paralelismo) {
+        this.ejecucionRepository = ejecucionRepository;
+        this.personaRepository = personaRepository;
+        this.inscripcionRepository = inscripcionRepository;
+        this.ocupacionSalasService = ocupacionSalasService;
+        this.cargaProfesoresService = cargaProfesoresService;
+        this.calendarioEjecucionesService = calendarioEjecucionesService;
+        this.choqueHorarioService = choqueHorarioService;
+        this.tiempoMaximoSegundos = tiempoMaximoSegundos;
+        // 0 = un hilo por procesador
+        this.paralelismo = paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Calcular una propuesta de sala, horario y profesor para todas las ejecuciones del período
+     */
+    public PlanificacionPeriodo previsualizar(String periodo, SolicitudPlanificacion solicitud) {
+        if (solicitud == null || solicitud.getBloques() == null || solicitud.getBloques().isEmpty()) {
+            throw new IllegalArgumentException("Se necesita al menos un bloque horario candidato");
+        }
+        if (solicitud.getSalas() == null || solicitud.getSalas().isEmpty()) {
+            throw new IllegalArgumentException("Se necesita al menos una sala");
+        }
+
+        List<HorarioSemanal> bloques = new ArrayList<>();
+        for (String bloque : solicitud.getBloques()) {
+            HorarioSemanal horario = HorarioSemanal.parsear(bloque);
+            if (horario.estaVacio()) {
+                throw new IllegalArgumentException("Bloque horario vacío");
+            }
+            bloques.add(horario);
+        }
+        List<PlanificadorHorarios.Sala> salas = new ArrayList<>();
+        Map<String, Integer> capacidadPorSala = new HashMap<>();
+        for (SalaPlanificacion sala : solicitud.getSalas()) {
+            if (IndiceOcupacionSalas.normalizarSala(sala.getNombre()) == null || sala.getCapacidad() == null || sala.getCapacidad() <= 0) {
+                throw new IllegalArgumentException("Cada sala necesita nombre y capacidad positiva");
+            }
+            salas.add(new PlanificadorHorarios.Sala(sala.getNombre().trim(), sala.getCapacidad()));
+            capacidadPorSala.put(sala.getNombre().trim(), sala.getCapacidad());
+        }
+        List<PlanificadorHorarios.Profesor> profesores = new ArrayList<>();
+        if (solicitud.getProfesores() != null) {
+            for (DisponibilidadProfesor profesor : solicitud.getProfesores()) {
+                if (profesor.getProfesorId() == null) {
+                    throw new IllegalArgumentException("Cada profesor disponible necesita su ID");
+                }
+                String disponibilidad = profesor.getDisponibilidad();
+                profesores.add(new PlanificadorHorarios.Profesor(profesor.getProfesorId(),
+                        disponibilidad == null || disponibilidad.isBlank() ? null : HorarioSemanal.parsear(disponibilidad)));
+            }
+        }
+
+        List<PlanificadorHorarios.Seccion> secciones = new ArrayList<>();
+        for (Object[] fila : ejecucionRepository.findPlanificacionPeriodo(periodo)) {
+            // (id, capacidad_maxima, profesor_id, sala, aula, horario)
+            secciones.add(new PlanificadorHorarios.Seccion((Long) fila[0], (Integer) fila[1], (Long) fila[2]));
+        }
+
+        int segundos = solicitud.getTiempoMaximoSegundos() != null
+                ? Math.max(1, Math.min(solicitud.getTiempoMaximoSegundos(), tiempoMaximoSegundos)) : tiempoMaximoSegundos;
+        long inicio = System.nanoTime();
+        PlanificadorHorarios.Resultado resultado = new PlanificadorHorarios(bloques, paralelismo, Duration.ofSeconds(segundos))
+                .resolver(secciones, salas, profesores);
+        long milisegundos = Duration.ofNanos(System.nanoTime() - inicio).toMillis();
+        log.info("Planificación del período {}: {} de {} ejecuciones asignadas en {} ms",
+                periodo, resultado.asignaciones().size(), secciones.size(), milisegundos);
+
+        List<AsignacionEjecucion> asignaciones = new ArrayList<>(resultado.asignaciones().size());
+        for (PlanificadorHorarios.Asignacion asignacion : resultado.asignaciones()) {
+            asignaciones.add(new AsignacionEjecucion(asignacion.ejecucionId(), asignacion.sala(),
+                    capacidadPorSala.get(asignacion.sala()), solicitud.getBloques().get(asignacion.bloque()).trim(),
+                    asignacion.profesorId()));
+        }
+        return new PlanificacionPeriodo(periodo, secciones.size(), asignaciones.size(), resultado.sinAsignar(),
+                resultado.tiempoAgotado(), milisegundos, asignaciones);
+    }
+
+    /**
+     * Guardar las asignaciones en una sola transacción. Devuelve la cantidad de ejecuciones actualizadas.
+     */
+    @Transactional
+    public int aplicar(String periodo, List<AsignacionEjecucion> asignaciones) {
+        if (asignaciones == null || asignaciones.isEmpty()) {
+            throw new IllegalArgumentException("No hay asignaciones para aplicar");
+        }
+
+        Map<Long, AsignacionEjecucion> porEjecucion = new LinkedHashMap<>();
+        Set<Long> profesorIds = new HashSet<>();
+        for (AsignacionEjecucion asignacion : asignaciones) {
+            if (asignacion == null || asignacion.getEjecucionId() == null) {
+                throw new IllegalArgumentException("Cada asignación necesita el ID de la ejecución");
+            }
+            if (porEjecucion.put(asignacion.getEjecucionId(), asignacion) != null) {
+                throw new IllegalArgumentException("La ejecución " + asignacion.getEjecucionId() + " aparece más de una vez");
+            }
+            HorarioSemanal.parsear(asignacion.getHorario());
+            if (asignacion.getProfesorId() != null) {
+                profesorIds.add(asignacion.getProfesorId());
+            }
+        }
+        if (!profesorIds.isEmpty()) {
+            Set<Long> existentes = new HashSet<>(personaRepository.findIdsExistentes(profesorIds));
+            profesorIds.removeAll(existentes);
+            if (!profesorIds.isEmpty()) {
+                throw new IllegalArgumentException("Profesores no encontrados: " + profesorIds);
+            }
+        }
+
+        // Bloquear las filas (en orden de ID) antes de verificar el período completo
+        List<Ejecucion> ejecuciones = ejecucionRepository.findAllByIdParaActualizar(porEjecucion.keySet());
+        if (ejecuciones.size() != porEjecucion.size()) {
+            throw new IllegalArgumentException("Alguna de las ejecuciones no existe");
+        }
+        for (Ejecucion ejecucion : ejecuciones) {
+            if (!ejecucion.getPeriodo().equals(periodo)) {
+                throw new IllegalArgumentException("La ejecución " + ejecucion.getId() + " no pertenece al período " + periodo);
+            }
+            verificarCapacidadSala(ejecucion, porEjecucion.get(ejecucion.getId()));
+        }
+        verificarSinChoques(periodo, porEjecucion);
+        verificarEstudiantesSinChoques(periodo, porEjecucion);
+
+        for (Ejecucion ejecucion : ejecuciones) {
+            AsignacionEjecucion asignacion = porEjecucion.get(ejecucion.getId());
+            ejecucion.setSala(asignacion.getSala());
+            ejecucion.setHorario(asignacion.getHorario());
+            ejecucion.setProfesor(asignacion.getProfesorId() != null
+                    ? personaRepository.getReferenceById(asignacion.getProfesorId()) : null);
+        }
+        ejecucionRepository.saveAll(ejecuciones);
+
+        // Salas y profesores se ocupan bajo el candado de sus índices, contra las reservas de
+        // transacciones aún sin confirmar que la foto de la base de datos no ve
+        ocupacionSalasService.reservarTodas(ejecuciones);
+        cargaProfesoresService.reservarTodas(ejecuciones);
+
+        // Cambio masivo: el calendario se recarga una vez en lugar de ejecución por ejecución
+        calendarioEjecucionesService.recargarAlConfirmar();
+        choqueHorarioService.invalidarTodoAlConfirmar();
+        log.info("Planificación del período {} aplicada a {} ejecuciones", periodo, ejecuciones.size());
+        return ejecuciones.size();
+    }
+
+    // Métodos privados
+
+    /**
+     * La sala asignada debe admitir a todos los inscritos que permite la ejecución
+     */
+    private static void verificarCapacidadSala(Ejecucion ejecucion, AsignacionEjecucion asignacion) {
+        String sala = IndiceOcupacionSalas.normalizarSala(asignacion.getSala());
+        if (sala == null) {
+            return;
+        }
+        if (asignacion.getCapacidadSala() == null) {
+            throw new IllegalArgumentException("Falta la capacidad de la sala " + sala + " para la ejecución " + ejecucion.getId());
+        }
+        if (asignacion.getCapacidadSala() < ejecucion.getCapacidadMaxima()) {
+            throw new IllegalArgumentException("La sala " + sala + " (capacidad " + asignacion.getCapacidadSala()
+                    + ") no alcanza para la ejecución " + ejecucion.getId() + " (capacidad máxima "
+                    + ejecucion.getCapacidadMaxima() + ")");
+        }
+    }
+
+    /**
+     * Verificar que los estudiantes inscritos en las ejecuciones asignadas no queden con dos a la misma hora
+     */
+    private void verificarEstudiantesSinChoques(String periodo, Map<Long, AsignacionEjecucion> asignaciones) {
+        List<Long> estudianteIds = inscripcionRepository.findEstudiantesActivosDeEjecuciones(asignaciones.keySet());
+        if (estudianteIds.isEmpty()) {
+            return;
+        }
+        Map<Long, OcupacionSemanal> porEstudiante = new HashMap<>();
+        // Primero los horarios que no cambian, luego los nuevos: cada choque involucra una ejecución asignada
+        List<Object[]> asignadas = new ArrayList<>();
+        for (Object[] fila : inscripcionRepository.findHorariosActivos(estudianteIds, periodo)) {
+            // (persona, ejecución, horario)
+            if (asignaciones.containsKey((Long) fila[1])) {
+                asignadas.add(fila);
+            } else {
+                porEstudiante.computeIfAbsent((Long) fila[0], e -> new OcupacionSemanal())
+                        .agregar((Long) fila[1], HorarioSemanal.parsearOVacio((String) fila[2]));
+            }
+        }
+        for (Object[] fila : asignadas) {
+            Long estudianteId = (Long) fila[0];
+            Long id = (Long) fila[1];
+            HorarioSemanal horario = HorarioSemanal.parsear(asignaciones.get(id).getHorario());
+            OcupacionSemanal ocupacion = porEstudiante.computeIfAbsent(estudianteId, e -> new OcupacionSemanal());
+            List<Long> conflictos = ocupacion.choquesCon(null, horario);
+            if (!conflictos.isEmpty()) {
+                throw new IllegalArgumentException("La ejecución " + id + " choca con las ejecuciones " + conflictos
+                        + " del estudiante " + estudianteId);
+            }
+            ocupacion.agregar(id, horario);
+        }
+    }
+
+    /**
+     * Verificar sala y profesor de todas las ejecuciones del período con las asignaciones ya aplicadas
+     */
+    private void verificarSinChoques(String periodo, Map<Long, AsignacionEjecucion> asignaciones) {
+        Map<String, OcupacionSemanal> porSala = new HashMap<>();
+        Map<Long, OcupacionSemanal> porProfesor = new HashMap<>();
+        for (Object[] fila : ejecucionRepository.findPlanificacionPeriodo(periodo)) {
+            // (id, capacidad_maxima, profesor_id, sala, aula, horario)
+            Long id = (Long) fila[0];
+            AsignacionEjecucion asignacion = asignaciones.get(id);
+            String sala = asignacion != null ? asignacion.getSala()
+                    : fila[3] != null && !((String) fila[3]).isBlank() ? (String) fila[3] : (String) fila[4];
+            Long profesorId = asignacion != null ? asignacion.getProfesorId() : (Long) fila[2];
+            HorarioSemanal horario = asignacion != null ? HorarioSemanal.parsear(asignacion.getHorario())
+                    : HorarioSemanal.parsearOVacio((String) fila[5]);
+
+            String clave = IndiceOcupacionSalas.normalizarSala(sala);
+            if (clave != null) {
+                OcupacionSemanal ocupacion = porSala.computeIfAbsent(clave, s -> new OcupacionSemanal());
+                List<Long> conflictos = ocupacion.choquesCon(null, horario);
+                if (!conflictos.isEmpty()) {
+                    throw new IllegalArgumentException("La ejecución " + id + " choca en la sala " + clave
+                            + " con las ejecuciones " + conflictos);
+                }
+                ocupacion.agregar(id, horario);
+            }
+            if (profesorId != null) {
+                OcupacionSemanal ocupacion = porProfesor.computeIfAbsent(profesorId, p -> new OcupacionSemanal());
+                List<Long> conflictos = ocupacion.choquesCon(null, horario);
+                if (!conflictos.isEmpty()) {
+                    throw new IllegalArgumentException("La ejecución " + id + " choca con las ejecuciones " + conflictos
+                            + " del profesor " + profesorId);
+                }
+                ocupacion.agregar(id, horario);
+            }
+        }
+    }
+}
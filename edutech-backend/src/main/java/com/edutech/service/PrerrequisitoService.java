@@ -0,0 +1,212 @@
+package com.edutech.service;
+
+//Importaciones del dto, model, repository y util
+import com.edutech.dto.PrerrequisitosCurso;
+import com.edutech.model.Curso;
+import com.edutech.model.PrerrequisitoCurso;
+import com.edutech.repository.CursoRepository;
+import com.edutech.repository.InscripcionRepository;
+import com.edutech.repository.PrerrequisitoCursoRepository;
+import com.edutech.util.GrafoPrerrequisitos;
+import com.edutech.util.TransaccionUtils;
+
+//Importaciones Spring y Lombok
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+//Importaciones Java
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prerrequisitos entre cursos y verificación al inscribir.
+ *
+ * Las aristas se cargan una vez en un GrafoPrerrequisitos con el cierre transitivo de
+ * cada curso precalculado. Una arista nueva se reserva en el grafo antes del commit (así
+ * dos altas concurrentes que juntas forman un ciclo no pasan ambas) y la deshace solo la
+ * transacción que la puso, si se revierte; una arista quitada sale del grafo después del
+ * commit. Un estudiante cumple si el cierre del curso está contenido en sus cursos
+ * aprobados (inscripciones COMPLETADA); los cursos sin prerrequisitos no consultan la
+ * base de datos.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PrerrequisitoService {
+
+    private final PrerrequisitoCursoRepository prerrequisitoCursoRepository;
+    private final CursoRepository cursoRepository;
+    private final InscripcionRepository inscripcionRepository;
+
+    private final GrafoPrerrequisitos grafo = new GrafoPrerrequisitos();
+    private volatile boolean cargado;
+
+    /**
+     * Prerrequisitos directos y transitivos del curso
+     */
+    public PrerrequisitosCurso obtener(Long cursoId) {
+        GrafoPrerrequisitos actual = grafoCargado();
+        return new PrerrequisitosCurso(cursoId, actual.directos(cursoId), actual.todos(cursoId));
+    }
+
+    /**
+     * Agregar un prerrequisito al curso; falla si ya existe o si formaría un ciclo
+     */
+    @Transactional
+    public PrerrequisitosCurso agregar(Long cursoId, Long prerrequisitoId) {
+        if (cursoId == null || prerrequisitoId == null) {
+            throw new IllegalArgumentException("El curso y el prerrequisito son obligatorios");
+        }
+        Curso curso = cursoRepository.findById(cursoId)
+                .orElseThrow(() -> new IllegalArgumentException("Curso no encontrado"));
+        Curso prerrequisito = cursoRepository.findById(prerrequisitoId)
+                .orElseThrow(() -> new IllegalArgumentException("Prerrequisito no encontrado"));
+        if (curso.getFechaRetiro() != null || prerrequisito.getFechaRetiro() != null) {
+            throw new IllegalStateException("Un curso retirado no puede tener ni ser prerrequisito");
+        }
+        if (prerrequisitoCursoRepository.findByCurso_IdAndPrerrequisito_Id(cursoId, prerrequisitoId).isPresent()) {
+            throw yaEsPrerrequisito(cursoId, prerrequisitoId);
+        }
+
+        GrafoPrerrequisitos actual = grafoCargado();
+        switch (actual.agregar(cursoId, prerrequisitoId)) {
+            case CICLO -> throw new IllegalStateException("El prerrequisito formaría un ciclo: el curso " + prerrequisitoId
+                    + " ya exige (directa o indirectamente) el curso " + cursoId);
+            // Solo quien puso la arista en el grafo la deshace; si ya estaba (otra alta en curso), se
+            // repone tras el commit por si aquella transacción se revirtió y la quitó
+            case AGREGADA -> TransaccionUtils.siSeRevierte(() -> actual.quitar(cursoId, prerrequisitoId));
+            case EXISTENTE -> TransaccionUtils.despuesDelCommit(() -> actual.agregar(cursoId, prerrequisitoId));
+        }
+
+        PrerrequisitoCurso arista = new PrerrequisitoCurso();
+        arista.setCurso(curso);
+        arista.setPrerrequisito(prerrequisito);
+        try {
+            prerrequisitoCursoRepository.saveAndFlush(arista);
+        } catch (DataIntegrityViolationException e) {
+            // Otra solicitud concurrente agregó la misma arista
+            throw yaEsPrerrequisito(cursoId, prerrequisitoId);
+        }
+        return obtener(cursoId);
+    }
+
+    /**
+     * Quitar un prerrequisito del curso (false si no existía)
+     */
+    @Transactional
+    public boolean quitar(Long cursoId, Long prerrequisitoId) {
+        return prerrequisitoCursoRepository.findByCurso_IdAndPrerrequisito_Id(cursoId, prerrequisitoId)
+                .map(arista -> {
+                    prerrequisitoCursoRepository.delete(arista);
+                    TransaccionUtils.despuesDelCommit(() -> grafoCargado().quitar(cursoId, prerrequisitoId));
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    /**
+     * Quitar las aristas del curso (que se elimina) en la base de datos y, tras el commit, del grafo
+     */
+    public void quitarCurso(Long cursoId) {
+        prerrequisitoCursoRepository.deleteByCursoInvolucrado(cursoId);
+        TransaccionUtils.despuesDelCommit(() -> grafoCargado().quitarCurso(cursoId));
+    }
+
+    /**
+     * Lanzar IllegalStateException si el estudiante no aprobó todos los prerrequisitos del curso
+     */
+    public void verificar(Long estudianteId, Long cursoId) {
+        List<Long> faltan = faltantesDelEstudiante(estudianteId, cursoId);
+        if (!faltan.isEmpty()) {
+            throw new IllegalStateException(motivo(faltan));
+        }
+    }
+
+    /**
+     * Prerrequisitos del curso que el estudiante aún no aprueba (vacío si cumple)
+     */
+    public List<Long> faltantesDelEstudiante(Long estudianteId, Long cursoId) {
+        if (!tieneRequisitos(cursoId)) {
+            return List.of();
+        }
+        return faltantes(cursoId, aprobados(estudianteId));
+    }
+
+    public boolean tieneRequisitos(Long cursoId) {
+        return grafoCargado().tieneRequisitos(cursoId);
+    }
+
+    /**
+     * Cursos aprobados del estudiante como BitSet del grafo
+     */
+    public BitSet aprobados(Long estudianteId) {
+        return grafoCargado().aBits(inscripcionRepository.findCursosAprobados(estudianteId));
+    }
+
+    /**
+     * Cursos aprobados de varios estudiantes con una sola consulta (los que no aprobaron nada no aparecen)
+     */
+    public Map<Long, BitSet> aprobados(Collection<Long> estudianteIds) {
+        Map<Long, List<Long>> cursos = new HashMap<>();
+        for (Object[] fila : inscripcionRepository.findCursosAprobadosDeEstudiantes(estudianteIds)) {
+            cursos.computeIfAbsent((Long) fila[0], id -> new ArrayList<>()).add((Long) fila[1]);
+        }
+        GrafoPrerrequisitos actual = grafoCargado();
+        Map<Long, BitSet> resultado = new HashMap<>();
+        cursos.forEach((estudianteId, aprobados) -> resultado.put(estudianteId, actual.aBits(aprobados)));
+        return resultado;
+    }
+
+    /**
+     * Prerrequisitos del curso que no están entre los aprobados (vacío si cumple)
+     */
+    public List<Long> faltantes(Long cursoId, BitSet aprobados) {
+        return grafoCargado().faltantes(cursoId, aprobados);
+    }
+
+    /**
+     * Motivo de rechazo para una inscripción a la que le faltan prerrequisitos
+     */
+    public static String motivo(List<Long> faltantes) {
+        return "El estudiante no ha aprobado los prerrequisitos del curso: " + faltantes;
+    }
+
+    /**
+     * Cargar de nuevo todas las aristas desde la base de datos
+     */
+    public synchronized void recargar() {
+        grafo.vaciar();
+        List<Object[]> aristas = prerrequisitoCursoRepository.findAristas();
+        for (Object[] arista : aristas) {
+            if (grafo.agregar((Long) arista[0], (Long) arista[1]) == GrafoPrerrequisitos.Resultado.CICLO) {
+                log.warn("Se omite el prerrequisito {} del curso {}: forma un ciclo", arista[1], arista[0]);
+            }
+        }
+        cargado = true;
+        log.debug("Grafo de prerrequisitos cargado con {} aristas", grafo.cantidadAristas());
+    }
+
+    // Métodos privados
+
+    private static IllegalStateException yaEsPrerrequisito(Long cursoId, Long prerrequisitoId) {
+        return new IllegalStateException("El curso " + prerrequisitoId + " ya es prerrequisito del curso " + cursoId);
+    }
+
+    private GrafoPrerrequisitos grafoCargado() {
+        if (!cargado) {
+            synchronized (this) {
+                if (!cargado) {
+                    recargar();
+                }
+            }
+        }
+        return grafo;
+    }
+}
@@ -0,0 +1,178 @@
+package com.edutech.service;
+
+//Importaciones del dto y util
+import com.edutech.dto.CursoRecomendado;
+import com.edutech.util.SimilitudCursos;
+
+//Importaciones Spring y Lombok
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+//Importaciones Java
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recomendaciones de cursos por co-inscripción ("quienes tomaron este curso también tomaron").
+ *
+ * Un proceso programado lee los pares (persona, curso) de las inscripciones no canceladas
+ * directo a arreglos primitivos y arma una SimilitudCursos en paralelo, con los K cursos
+ * más similares a cada curso. Las consultas se responden desde esa copia en memoria y no
+ * tocan la base de datos; la copia anterior sigue respondiendo mientras se calcula la nueva.
+ * Las inscripciones posteriores al último cálculo se reflejan en el siguiente.
+ */
+@Service
+@Slf4j
+public class RecomendacionService {
+
+    private static final String SQL_COINSCRIPCIONES =
+            "SELECT i.persona_id, e.curso_id FROM inscripciones i JOIN ejecuciones e ON e.id = i.ejecucion_id "
+            + "WHERE i.estado IS NULL OR i.estado <> 'CANCELADA'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogoCursosService catalogoCursosService;
+    private final boolean habilitada;
+    private final long intervaloMinutos;
+    private final int vecinosPorCurso;
+    private final int paralelismo;
+    private final ScheduledExecutorService planificador;
+
+    private volatile SimilitudCursos similitud;
+
+    public RecomendacionService(
+            JdbcTemplate jdbcTemplate,
+            CatalogoCursosService catalogoCursosService,
+            @Value("${edutech.recomendaciones.habilitada:true}") boolean habilitada,
+            @Value("${edutech.recomendaciones.intervalo-minutos:360}") long intervaloMinutos,
+            @Value("${edutech.recomendaciones.vecinos-por-curso:20}") int vecinosPorCurso,
+            @Value("${edutech.recomendaciones.paralelismo:0}") int paralelismo) {
+        if (vecinosPorCurso < 1) {
+            throw new IllegalArgumentException("La cantidad de cursos similares por curso debe ser positiva");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.catalogoCursosService = catalogoCursosService;
+        this.habilitada = habilitada;
+        this.intervaloMinutos = intervaloMinutos;
+        this.vecinosPorCurso = vecinosPorCurso;
+        this.paralelismo = paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors();
+        this.planificador = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread hilo = new Thread(runnable, "recomendaciones-cursos");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Calcular las recomendaciones al iniciar la aplicación y luego en cada intervalo
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (habilitada) {
+            planificador.scheduleWithFixedDelay(this::recalcularProgramado, 0, intervaloMinutos, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Cursos más tomados junto con el curso indicado
+     */
+    public List<CursoRecomendado> recomendadosParaCurso(Long cursoId, int limite) {
+        validarLimite(limite);
+        return conCursos(similitudCalculada().similares(cursoId, limite));
+    }
+
+    /**
+     * Cursos que la persona no ha tomado, según lo que tomaron quienes compartieron cursos con ella
+     */
+    public List<CursoRecomendado> recomendadosParaPersona(Long personaId, int limite) {
+        validarLimite(limite);
+        return conCursos(similitudCalculada().recomendar(personaId, limite));
+    }
+
+    /**
+     * Volver a calcular la similitud desde todas las inscripciones y reemplazar la copia en memoria
+     */
+    public synchronized SimilitudCursos recalcular() {
+        long inicio = System.nanoTime();
+        Pares pares = new Pares();
+        jdbcTemplate.query(SQL_COINSCRIPCIONES, fila -> {
+            pares.agregar(fila.getLong(1), fila.getLong(2));
+        });
+        SimilitudCursos nueva = new SimilitudCursos(pares.personas, pares.cursos, pares.cantidad,
+                vecinosPorCurso, paralelismo);
+        similitud = nueva;
+        log.info("Recomendaciones calculadas: {} inscripciones, {} cursos, {} personas en {} ms",
+                nueva.cantidadPares(), nueva.cantidadCursos(), nueva.cantidadPersonas(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        return nueva;
+    }
+
+    @PreDestroy
+    public void detener() {
+        planificador.shutdownNow();
+    }
+
+    // Métodos privados
+
+    private SimilitudCursos similitudCalculada() {
+        SimilitudCursos actual = similitud;
+        if (actual == null) {
+            synchronized (this) {
+                actual = similitud != null ? similitud : recalcular();
+            }
+        }
+        return actual;
+    }
+
+    private void validarLimite(int limite) {
+        if (limite < 1 || limite > vecinosPorCurso) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + vecinosPorCurso);
+        }
+    }
+
+    // Los cursos eliminados después del cálculo se omiten
+    private List<CursoRecomendado> conCursos(List<SimilitudCursos.Recomendacion> recomendaciones) {
+        List<CursoRecomendado> resultado = new ArrayList<>(recomendaciones.size());
+        for (SimilitudCursos.Recomendacion recomendacion : recomendaciones) {
+            catalogoCursosService.obtener(recomendacion.cursoId()).ifPresent(curso -> resultado.add(
+                    new CursoRecomendado(curso, recomendacion.puntaje(), recomendacion.coinscritos())));
+        }
+        return resultado;
+    }
+
+    private void recalcularProgramado() {
+        try {
+            recalcular();
+        } catch (RuntimeException e) {
+            // Un fallo no debe cancelar las ejecuciones siguientes del planificador
+            log.error("Error al calcular las recomendaciones de cursos", e);
+        }
+    }
+
+    /**
+     * Pares (persona, curso) leídos, en arreglos que crecen sin objetos por fila
+     */
+    private static final class Pares {
+        private long[] personas = new long[1024];
+        private long[] cursos = new long[1024];
+        private int cantidad;
+
+        void agregar(long persona, long curso) {
+            if (cantidad == personas.length) {
+                personas = Arrays.copyOf(personas, cantidad * 2);
+                cursos = Arrays.copyOf(cursos, cantidad * 2);
+            }
+            personas[cantidad] = persona;
+            cursos[cantidad] = curso;
+            cantidad++;
+        }
+    }
+}
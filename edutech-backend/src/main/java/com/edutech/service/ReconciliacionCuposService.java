@@ -0,0 +1,177 @@
+package com.edutech.service;
+
+//Importaciones del model y repository
+import com.edutech.model.Ejecucion;
+import com.edutech.model.MigracionDatos;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.InscripcionRepository;
+import com.edutech.repository.MigracionDatosRepository;
+import com.edutech.repository.RetencionCupoRepository;
+
+//Importaciones Spring y Lombok
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+//Importaciones Java
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reconciliación en segundo plano del contador inscritos_actuales (y de cupos_libres, que se deriva de él).
+ *
+ * Recorre las ejecuciones por bloques de ID. Cada bloque se procesa en su propia
+ * transacción: bloquea las filas de las ejecuciones (en orden de ID, igual que el
+ * resto de las operaciones), cuenta las inscripciones activas y las retenciones
+ * activas, y corrige el contador donde no coincide. Con las filas bloqueadas ninguna
+ * inscripción o cancelación puede mover el contador entre la lectura y la corrección.
+ */
+@Service
+@Slf4j
+public class ReconciliacionCuposService {
+
+    private static final String MIGRACION_CUPOS_LIBRES = "completar_cupos_libres";
+
+    private final EjecucionRepository ejecucionRepository;
+    private final InscripcionRepository inscripcionRepository;
+    private final RetencionCupoRepository retencionCupoRepository;
+    private final MigracionDatosRepository migracionDatosRepository;
+    private final DisponibilidadCuposService disponibilidadCuposService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean habilitada;
+    private final long intervaloMinutos;
+    private final int tamanoBloque;
+    private final ScheduledExecutorService planificador;
+
+    public ReconciliacionCuposService(
+            EjecucionRepository ejecucionRepository,
+            InscripcionRepository inscripcionRepository,
+            RetencionCupoRepository retencionCupoRepository,
+            MigracionDatosRepository migracionDatosRepository,
+            DisponibilidadCuposService disponibilidadCuposService,
+            PlatformTransactionManager transactionManager,
+            @Value("${edutech.cupos.reconciliacion.habilitada:true}") boolean habilitada,
+            @Value("${edutech.cupos.reconciliacion.intervalo-minutos:15}") long intervaloMinutos,
+            @Value("${edutech.cupos.reconciliacion.tamano-bloque:500}") int tamanoBloque) {
+        if (tamanoBloque < 1) {
+            throw new IllegalArgumentException("El tamaño de bloque de la reconciliación debe ser positivo");
+        }
+        this.ejecucionRepository = ejecucionRepository;
+        this.inscripcionRepository = inscripcionRepository;
+        this.retencionCupoRepository = retencionCupoRepository;
+        this.migracionDatosRepository = migracionDatosRepository;
+        this.disponibilidadCuposService = disponibilidadCuposService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.habilitada = habilitada;
+        this.intervaloMinutos = intervaloMinutos;
+        this.tamanoBloque = tamanoBloque;
+        this.planificador = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread hilo = new Thread(runnable, "reconciliacion-cupos");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Completar cupos_libres de las filas anteriores a la columna (una sola vez por base de datos)
+     * y programar la reconciliación periódica al iniciar la aplicación
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!migracionDatosRepository.existsById(MIGRACION_CUPOS_LIBRES)) {
+            completarCuposLibres();
+            migracionDatosRepository.save(new MigracionDatos(MIGRACION_CUPOS_LIBRES, LocalDateTime.now()));
+        }
+        if (habilitada) {
+            planificador.scheduleWithFixedDelay(this::reconciliarProgramada, intervaloMinutos, intervaloMinutos, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Verificar todos los contadores y corregir los que no coinciden. Devuelve la cantidad corregida.
+     */
+    public int reconciliar() {
+        int corregidas = 0;
+        long ultimoId = 0L;
+        while (true) {
+            List<Long> ids = ejecucionRepository.findIdsDesde(ultimoId, PageRequest.of(0, tamanoBloque));
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer corregidasBloque = transactionTemplate.execute(estado -> reconciliarBloque(ids));
+            corregidas += corregidasBloque != null ? corregidasBloque : 0;
+            ultimoId = ids.get(ids.size() - 1);
+        }
+        if (corregidas > 0) {
+            log.warn("Reconciliación de cupos: se corrigieron {} contadores", corregidas);
+        }
+        return corregidas;
+    }
+
+    /**
+     * Calcular cupos_libres en las filas que no lo tienen (por ejemplo tras una carga por SQL directo).
+     * Devuelve la cantidad de ejecuciones completadas.
+     */
+    public int completarCuposLibres() {
+        Integer completadas = transactionTemplate.execute(estado -> ejecucionRepository.completarCuposLibres());
+        int total = completadas != null ? completadas : 0;
+        if (total > 0) {
+            log.info("Se completaron los cupos libres de {} ejecuciones", total);
+        }
+        return total;
+    }
+
+    @PreDestroy
+    public void detener() {
+        planificador.shutdownNow();
+    }
+
+    // Métodos privados
+
+    private int reconciliarBloque(List<Long> ids) {
+        List<Ejecucion> ejecuciones = ejecucionRepository.findAllByIdParaActualizar(ids);
+
+        Map<Long, Long> ocupados = new HashMap<>();
+        for (Object[] fila : inscripcionRepository.contarActivasPorEjecucion(ids)) {
+            ocupados.merge((Long) fila[0], (Long) fila[1], Long::sum);
+        }
+        for (Object[] fila : retencionCupoRepository.contarActivasPorEjecucion(ids)) {
+            ocupados.merge((Long) fila[0], (Long) fila[1], Long::sum);
+        }
+
+        int corregidas = 0;
+        for (Ejecucion ejecucion : ejecuciones) {
+            int real = ocupados.getOrDefault(ejecucion.getId(), 0L).intValue();
+            Integer libres = ejecucion.getCapacidadMaxima() - real;
+            if (ejecucion.getInscritosActuales() == null || ejecucion.getInscritosActuales() != real
+                    || !libres.equals(ejecucion.getCuposLibres())) {
+                log.warn("Contador de la ejecución {} desajustado: {} registrados, {} reales",
+                        ejecucion.getId(), ejecucion.getInscritosActuales(), real);
+                ejecucionRepository.corregirInscritos(ejecucion.getId(), real);
+                disponibilidadCuposService.invalidarAlConfirmar(ejecucion.getId());
+                corregidas++;
+            }
+        }
+        return corregidas;
+    }
+
+    private void reconciliarProgramada() {
+        try {
+            reconciliar();
+        } catch (RuntimeException e) {
+            // Un fallo no debe cancelar las ejecuciones siguientes del planificador
+            log.error("Error en la reconciliación de cupos", e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.edutech.service;
+
+//Importaciones del model y repository
+import com.edutech.model.Ejecucion;
+import com.edutech.repository.EjecucionRepository;
+
+//Importaciones Spring y Lombok
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Motor de reserva de cupos por ejecución.
+ *
+ * Cada reserva es un único UPDATE condicional sobre la fila de la ejecución
+ * (inscritos &lt; capacidad), por lo que la base de datos decide de forma atómica
+ * quién obtiene el último cupo. El bloqueo de fila dura solo hasta el commit de
+ * la transacción que llama, y nunca se lee el contador antes de escribirlo. El mismo
+ * UPDATE excluye las ejecuciones canceladas o finalizadas, así ninguna vía de
+ * inscripción ocupa un cupo en ellas aunque el estado cambie mientras tanto.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservaCuposService {
+    
+    private final EjecucionRepository ejecucionRepository;
+    private final DisponibilidadCuposService disponibilidadCuposService;
+    
+    /**
+     * Reservar un cupo en la ejecución. Devuelve false si ya no quedan cupos y lanza
+     * IllegalStateException si la ejecución está cancelada o finalizada.
+     */
+    @Transactional
+    public boolean reservar(Long ejecucionId) {
+        boolean reservado = ejecucionRepository.reservarCupo(ejecucionId) == 1;
+        if (reservado) {
+            disponibilidadCuposService.invalidarAlConfirmar(ejecucionId);
+            return true;
+        }
+        String estado = ejecucionRepository.findEstadoById(ejecucionId).orElse(null);
+        if (estado != null && !Ejecucion.admiteInscripciones(estado)) {
+            throw new IllegalStateException(motivoEstado(estado));
+        }
+        log.debug("Sin cupos disponibles en la ejecución {}", ejecucionId);
+        return false;
+    }
+    
+    /**
+     * Indica si la ejecución admite inscripciones (existe y no está cancelada ni finalizada)
+     */
+    @Transactional(readOnly = true)
+    public boolean admiteInscripciones(Long ejecucionId) {
+        return ejecucionRepository.findEstadoById(ejecucionId).map(Ejecucion::admiteInscripciones).orElse(false);
+    }
+    
+    /**
+     * Motivo de rechazo para una ejecución que no admite inscripciones
+     */
+    public static String motivoEstado(String estado) {
+        return "La ejecución está " + estado + " y no admite inscripciones";
+    }
+    
+    /**
+     * Liberar un cupo de la ejecución
+     */
+    @Transactional
+    public void liberar(Long ejecucionId) {
+        if (ejecucionRepository.liberarCupo(ejecucionId) == 0) {
+            log.warn("Se intentó liberar un cupo en la ejecución {} sin inscritos registrados", ejecucionId);
+        } else {
+            disponibilidadCuposService.invalidarAlConfirmar(ejecucionId);
+        }
+    }
+}
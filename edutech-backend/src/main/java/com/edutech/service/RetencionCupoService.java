@@ -0,0 +1,242 @@
+package com.edutech.service;
+
+//Importaciones del model, repository y util
+import com.edutech.model.Ejecucion;
+import com.edutech.model.Inscripcion;
+import com.edutech.model.Persona;
+import com.edutech.model.RetencionCupo;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.InscripcionRepository;
+import com.edutech.repository.PersonaRepository;
+import com.edutech.repository.RetencionCupoRepository;
+import com.edutech.util.RuedaTemporizadora;
+import com.edutech.util.TransaccionUtils;
+
+//Importaciones Spring y Lombok
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+//Importaciones Java
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Retenciones de cupo con vencimiento.
+ *
+ * Retener un cupo usa el mismo UPDATE condicional que inscribir, así que una retención
+ * activa cuenta contra la capacidad máxima igual que una inscripción. El vencimiento lo
+ * maneja una rueda temporizadora en memoria (sin recorrer la tabla periódicamente);
+ * al arrancar se vuelven a programar las retenciones activas guardadas.
+ * Confirmar, liberar y expirar cierran la retención con un UPDATE condicional sobre
+ * su estado, por lo que solo una de ellas gana y el cupo nunca se devuelve dos veces.
+ */
+@Service
+@Slf4j
+public class RetencionCupoService {
+
+    private static final int RANURAS_RUEDA = 512;
+
+    private final RetencionCupoRepository retencionCupoRepository;
+    private final PersonaRepository personaRepository;
+    private final EjecucionRepository ejecucionRepository;
+    private final InscripcionRepository inscripcionRepository;
+    private final ReservaCuposService reservaCuposService;
+    private final ListaEsperaService listaEsperaService;
+    private final ChoqueHorarioService choqueHorarioService;
+    private final PrerrequisitoService prerrequisitoService;
+    private final TransactionTemplate transactionTemplate;
+    private final int minutosPorDefecto;
+    private final int minutosMaximos;
+    private final RuedaTemporizadora<Long> rueda;
+
+    public RetencionCupoService(
+            RetencionCupoRepository retencionCupoRepository,
+            PersonaRepository personaRepository,
+            EjecucionRepository ejecucionRepository,
+            InscripcionRepository inscripcionRepository,
+            ReservaCuposService reservaCuposService,
+            ListaEsperaService listaEsperaService,
+            ChoqueHorarioService choqueHorarioService,
+            PrerrequisitoService prerrequisitoService,
+            PlatformTransactionManager transactionManager,
+            @Value("${edutech.retenciones.minutos-por-defecto:10}") int minutosPorDefecto,
+            @Value("${edutech.retenciones.minutos-maximos:30}") int minutosMaximos,
+            @Value("${edutech.retenciones.tic-milisegundos:1000}") long ticMilisegundos) {
+        this.retencionCupoRepository = retencionCupoRepository;
+        this.personaRepository = personaRepository;
+        this.ejecucionRepository = ejecucionRepository;
+        this.inscripcionRepository = inscripcionRepository;
+        this.reservaCuposService = reservaCuposService;
+        this.listaEsperaService = listaEsperaService;
+        this.choqueHorarioService = choqueHorarioService;
+        this.prerrequisitoService = prerrequisitoService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.minutosPorDefecto = minutosPorDefecto;
+        this.minutosMaximos = minutosMaximos;
+        this.rueda = new RuedaTemporizadora<>("vencimiento-retenciones", Duration.ofMillis(ticMilisegundos),
+                RANURAS_RUEDA, this::expirar);
+    }
+
+    /**
+     * Retener un cupo para el estudiante durante los minutos indicados
+     */
+    @Transactional
+    public RetencionCupo retener(Long estudianteId, Long ejecucionId, Integer minutos) {
+        int duracion = minutos != null ? minutos : minutosPorDefecto;
+        if (duracion < 1 || duracion > minutosMaximos) {
+            throw new IllegalArgumentException("La retención debe durar entre 1 y " + minutosMaximos + " minutos");
+        }
+        return retenerPor(estudianteId, ejecucionId, Duration.ofMinutes(duracion));
+    }
+
+    /**
+     * Confirmar la retención creando la inscripción (el cupo ya está contado)
+     */
+    @Transactional
+    public Inscripcion confirmar(Long retencionId) {
+        RetencionCupo retencion = retencionCupoRepository.findById(retencionId)
+                .orElseThrow(() -> new IllegalArgumentException("Retención no encontrada"));
+        if (retencion.getExpiraEn().isBefore(LocalDateTime.now())) {
+            throw new IllegalStateException("La retención expiró");
+        }
+        if (retencionCupoRepository.cerrarSiActiva(retencionId, RetencionCupo.CONFIRMADA) == 0) {
+            throw new IllegalStateException("La retención ya no está activa");
+        }
+        choqueHorarioService.reservarFranjas(retencion.getPersona().getId(), retencion.getEjecucion());
+
+        Inscripcion inscripcion = new Inscripcion();
+        inscripcion.setPersona(retencion.getPersona());
+        inscripcion.setEjecucion(retencion.getEjecucion());
+        inscripcion.setFechaInscripcion(LocalDateTime.now());
+        inscripcion.setEstado("ACTIVA");
+        inscripcion.setActivo(true);
+
+        Inscripcion guardada;
+        try {
+            guardada = inscripcionRepository.saveAndFlush(inscripcion);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("El estudiante ya está inscrito en esta ejecución");
+        }
+        retencion.setInscripcionId(guardada.getId());
+        listaEsperaService.retirarInscritos(retencion.getEjecucionId(), List.of(retencion.getPersona().getId()));
+
+        TransaccionUtils.despuesDelCommit(() -> rueda.cancelar(retencionId));
+        return guardada;
+    }
+
+    /**
+     * Liberar una retención antes de su vencimiento
+     */
+    @Transactional
+    public void liberar(Long retencionId) {
+        RetencionCupo retencion = retencionCupoRepository.findById(retencionId)
+                .orElseThrow(() -> new IllegalArgumentException("Retención no encontrada"));
+        if (retencionCupoRepository.cerrarSiActiva(retencionId, RetencionCupo.LIBERADA) == 0) {
+            throw new IllegalStateException("La retención ya no está activa");
+        }
+        devolverCupo(retencion.getEjecucionId());
+        TransaccionUtils.despuesDelCommit(() -> rueda.cancelar(retencionId));
+    }
+
+    /**
+     * Obtener retención por ID
+     */
+    @Transactional(readOnly = true)
+    public Optional<RetencionCupo> obtenerPorId(Long retencionId) {
+        return retencionCupoRepository.findById(retencionId);
+    }
+
+    /**
+     * Cantidad de retenciones con vencimiento programado en memoria
+     */
+    public int obtenerProgramadas() {
+        return rueda.obtenerProgramadas();
+    }
+
+    /**
+     * Volver a programar las retenciones activas guardadas (por ejemplo tras un reinicio)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void programarRetencionesActivas() {
+        List<RetencionCupo> activas = retencionCupoRepository.findByEstado(RetencionCupo.ACTIVA);
+        LocalDateTime ahora = LocalDateTime.now();
+        for (RetencionCupo retencion : activas) {
+            rueda.programar(retencion.getId(), Duration.between(ahora, retencion.getExpiraEn()));
+        }
+        if (!activas.isEmpty()) {
+            log.info("Se programaron {} retenciones de cupo activas", activas.size());
+        }
+    }
+
+    @PreDestroy
+    public void detener() {
+        rueda.detener();
+    }
+
+    // Métodos con visibilidad de paquete (usados también por las pruebas)
+
+    @Transactional
+    RetencionCupo retenerPor(Long estudianteId, Long ejecucionId, Duration duracion) {
+        Persona estudiante = personaRepository.findById(estudianteId)
+                .orElseThrow(() -> new IllegalArgumentException("Estudiante no encontrado"));
+        Ejecucion ejecucion = ejecucionRepository.findById(ejecucionId)
+                .orElseThrow(() -> new IllegalArgumentException("Ejecución no encontrada"));
+
+        if (inscripcionRepository.existsByPersonaIdAndEjecucionId(estudianteId, ejecucionId)) {
+            throw new IllegalStateException("El estudiante ya está inscrito en esta ejecución");
+        }
+        if (retencionCupoRepository.existsByPersona_IdAndEjecucion_IdAndEstado(estudianteId, ejecucionId, RetencionCupo.ACTIVA)) {
+            throw new IllegalStateException("El estudiante ya tiene un cupo retenido en esta ejecución");
+        }
+        if (ejecucion.getFechaInicio().isAfter(LocalDate.now())) {
+            throw new IllegalStateException("No se puede inscribir a una ejecución que aún no ha comenzado");
+        }
+        prerrequisitoService.verificar(estudianteId, ejecucion.getCurso().getId());
+        // El horario se vuelve a verificar al confirmar; aquí solo se evita retener un cupo inútil
+        if (choqueHorarioService.choca(estudianteId, ejecucion)) {
+            throw new IllegalStateException("El horario de la ejecución choca con otra inscripción del estudiante");
+        }
+        if (!reservaCuposService.reservar(ejecucionId)) {
+            throw new IllegalStateException("No hay cupos disponibles en esta ejecución");
+        }
+
+        RetencionCupo retencion = new RetencionCupo();
+        retencion.setPersona(estudiante);
+        retencion.setEjecucion(ejecucion);
+        retencion.setFechaCreacion(LocalDateTime.now());
+        retencion.setExpiraEn(LocalDateTime.now().plus(duracion));
+        retencion.setEstado(RetencionCupo.ACTIVA);
+        RetencionCupo guardada = retencionCupoRepository.save(retencion);
+
+        TransaccionUtils.despuesDelCommit(() -> rueda.programar(guardada.getId(), duracion));
+        return guardada;
+    }
+
+    // Métodos privados
+
+    private void expirar(Long retencionId) {
+        transactionTemplate.executeWithoutResult(estado -> retencionCupoRepository.findById(retencionId)
+                .filter(retencion -> retencionCupoRepository.cerrarSiActiva(retencionId, RetencionCupo.EXPIRADA) == 1)
+                .ifPresent(retencion -> {
+                    devolverCupo(retencion.getEjecucionId());
+                    log.debug("Retención {} expirada en la ejecución {}", retencionId, retencion.getEjecucionId());
+                }));
+    }
+
+    private void devolverCupo(Long ejecucionId) {
+        // El cupo devuelto pasa al primero de la lista de espera, igual que al cancelar una inscripción
+        reservaCuposService.liberar(ejecucionId);
+        listaEsperaService.promoverSiguiente(ejecucionId);
+    }
+}
@@ -0,0 +1,280 @@
+package com.edutech.service;
+
+//Importaciones del repository
+import com.edutech.repository.CursoRepository;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.InscripcionRepository;
+import com.edutech.repository.ListaEsperaRepository;
+import com.edutech.repository.RetencionCupoRepository;
+
+//Importaciones Spring y Lombok
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+//Importaciones Java
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Retiro (eliminación lógica) y archivo de cursos.
+ *
+ * Retirar un curso no borra nada: lo marca como inactivo con su fecha de retiro, cancela
+ * sus ejecuciones vigentes y, con un UPDATE por tabla, cancela sus inscripciones activas,
+ * libera sus retenciones y retira sus listas de espera. Ninguna fila se carga en memoria,
+ * así el costo de la petición no depende de cuántas inscripciones tenga el curso.
+ *
+ * Un proceso programado mueve después los cursos retirados hace más de los días de
+ * retención a las tablas de archivo: inscripciones, ejecuciones y por último el curso.
+ * Cada bloque de IDs se copia (INSERT ... SELECT) y se borra en su propia transacción,
+ * así el proceso puede interrumpirse y retomarse sin dejar filas a medio mover.
+ */
+@Service
+@Slf4j
+public class RetiroCursosService {
+
+    private static final String SQL_EJECUCIONES_DEL_CURSO = "SELECT id FROM ejecuciones WHERE curso_id = :cursoId";
+
+    private static final String SQL_IDS_INSCRIPCIONES =
+            "SELECT id FROM inscripciones WHERE ejecucion_id IN (:ejecuciones) ORDER BY id LIMIT :limite";
+    private static final String SQL_ARCHIVAR_INSCRIPCIONES = "INSERT INTO inscripciones_archivadas "
+            + "(id, persona_id, ejecucion_id, curso_id, fecha_inscripcion, estado, fecha_archivo) "
+            + "SELECT id, persona_id, ejecucion_id, :cursoId, fecha_inscripcion, estado, :ahora FROM inscripciones WHERE id IN (:ids)";
+    private static final String SQL_BORRAR_INSCRIPCIONES = "DELETE FROM inscripciones WHERE id IN (:ids)";
+
+    private static final String SQL_IDS_LISTAS_ESPERA =
+            "SELECT id FROM listas_espera WHERE ejecucion_id IN (:ejecuciones) ORDER BY id LIMIT :limite";
+    private static final String SQL_BORRAR_LISTAS_ESPERA = "DELETE FROM listas_espera WHERE id IN (:ids)";
+
+    private static final String SQL_IDS_RETENCIONES =
+            "SELECT id FROM retenciones_cupo WHERE ejecucion_id IN (:ejecuciones) ORDER BY id LIMIT :limite";
+    private static final String SQL_BORRAR_RETENCIONES = "DELETE FROM retenciones_cupo WHERE id IN (:ids)";
+
+    private static final String SQL_IDS_EJECUCIONES =
+            "SELECT id FROM ejecuciones WHERE curso_id = :cursoId ORDER BY id LIMIT :limite";
+    private static final String SQL_ARCHIVAR_EJECUCIONES = "INSERT INTO ejecuciones_archivadas "
+            + "(id, curso_id, periodo, seccion, fecha_inicio, fecha_fin, horario, sala, capacidad_maxima, estado, profesor_id, fecha_archivo) "
+            + "SELECT id, curso_id, periodo, seccion, fecha_inicio, fecha_fin, horario, sala, capacidad_maxima, estado, profesor_id, :ahora "
+            + "FROM ejecuciones WHERE id IN (:ids)";
+    private static final String SQL_BORRAR_EJECUCIONES = "DELETE FROM ejecuciones WHERE id IN (:ids)";
+
+    private static final String SQL_ARCHIVAR_CURSO = "INSERT INTO cursos_archivados "
+            + "(id, codigo, nombre, descripcion, creditos, total_horas, ciclo, modalidad, fecha_creacion, fecha_retiro, fecha_archivo) "
+            + "SELECT id, codigo, nombre, descripcion, creditos, total_horas, ciclo, modalidad, fecha_creacion, fecha_retiro, :ahora "
+            + "FROM cursos WHERE id = :cursoId AND fecha_retiro IS NOT NULL";
+    private static final String SQL_BORRAR_CURSO = "DELETE FROM cursos WHERE id = :cursoId AND fecha_retiro IS NOT NULL";
+
+    private static final int CURSOS_POR_CONSULTA = 100;
+
+    private final CursoRepository cursoRepository;
+    private final EjecucionRepository ejecucionRepository;
+    private final InscripcionRepository inscripcionRepository;
+    private final RetencionCupoRepository retencionCupoRepository;
+    private final ListaEsperaRepository listaEsperaRepository;
+    private final PrerrequisitoService prerrequisitoService;
+    private final DisponibilidadCuposService disponibilidadCuposService;
+    private final CalendarioEjecucionesService calendarioEjecucionesService;
+    private final OcupacionSalasService ocupacionSalasService;
+    private final CargaProfesoresService cargaProfesoresService;
+    private final ChoqueHorarioService choqueHorarioService;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean habilitado;
+    private final long diasRetencion;
+    private final long intervaloMinutos;
+    private final int tamanoBloque;
+    private final ScheduledExecutorService planificador;
+
+    public RetiroCursosService(
+            CursoRepository cursoRepository,
+            EjecucionRepository ejecucionRepository,
+            InscripcionRepository inscripcionRepository,
+            RetencionCupoRepository retencionCupoRepository,
+            ListaEsperaRepository listaEsperaRepository,
+            PrerrequisitoService prerrequisitoService,
+            DisponibilidadCuposService disponibilidadCuposService,
+            CalendarioEjecucionesService calendarioEjecucionesService,
+            OcupacionSalasService ocupacionSalasService,
+            CargaProfesoresService cargaProfesoresService,
+            ChoqueHorarioService choqueHorarioService,
+            NamedParameterJdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${edutech.cursos.archivo.habilitado:true}") boolean habilitado,
+            @Value("${edutech.cursos.archivo.dias-retencion:30}") long diasRetencion,
+            @Value("${edutech.cursos.archivo.intervalo-minutos:60}") long intervaloMinutos,
+            @Value("${edutech.cursos.archivo.tamano-bloque:500}") int tamanoBloque) {
+        if (tamanoBloque < 1) {
+            throw new IllegalArgumentException("El tamaño de bloque del archivo debe ser positivo");
+        }
+        this.cursoRepository = cursoRepository;
+        this.ejecucionRepository = ejecucionRepository;
+        this.inscripcionRepository = inscripcionRepository;
+        this.retencionCupoRepository = retencionCupoRepository;
+        this.listaEsperaRepository = listaEsperaRepository;
+        this.prerrequisitoService = prerrequisitoService;
+        this.disponibilidadCuposService = disponibilidadCuposService;
+        this.calendarioEjecucionesService = calendarioEjecucionesService;
+        this.ocupacionSalasService = ocupacionSalasService;
+        this.cargaProfesoresService = cargaProfesoresService;
+        this.choqueHorarioService = choqueHorarioService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.habilitado = habilitado;
+        this.diasRetencion = diasRetencion;
+        this.intervaloMinutos = intervaloMinutos;
+        this.tamanoBloque = tamanoBloque;
+        this.planificador = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread hilo = new Thread(runnable, "archivo-cursos");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Programar el archivo periódico al iniciar la aplicación
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (habilitado) {
+            planificador.scheduleWithFixedDelay(this::archivarProgramado, intervaloMinutos, intervaloMinutos, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Retirar el curso y cancelar por conjunto lo que depende de él. false si no existe o ya estaba retirado.
+     */
+    @Transactional
+    public boolean retirar(Long cursoId) {
+        if (cursoRepository.retirar(cursoId, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        prerrequisitoService.quitarCurso(cursoId);
+
+        // Las secciones de un curso son pocas; sus filas dependientes se actualizan sin leerlas
+        List<Long> ejecuciones = ejecucionRepository.findIdsVigentesPorCurso(cursoId);
+        if (!ejecuciones.isEmpty()) {
+            ejecucionRepository.cancelar(ejecuciones);
+            int inscripciones = inscripcionRepository.cancelarActivasDeEjecuciones(ejecuciones);
+            retencionCupoRepository.liberarActivasDeEjecuciones(ejecuciones);
+            listaEsperaRepository.retirarEnEsperaDeEjecuciones(ejecuciones);
+            for (Long ejecucionId : ejecuciones) {
+                disponibilidadCuposService.invalidarAlConfirmar(ejecucionId);
+                calendarioEjecucionesService.actualizarAlConfirmar(ejecucionId);
+                ocupacionSalasService.actualizarAlConfirmar(ejecucionId);
+                cargaProfesoresService.actualizarAlConfirmar(ejecucionId);
+            }
+            if (inscripciones > 0) {
+                choqueHorarioService.invalidarTodoAlConfirmar();
+            }
+            log.info("Curso {} retirado: {} ejecuciones y {} inscripciones canceladas", cursoId, ejecuciones.size(), inscripciones);
+        }
+        return true;
+    }
+
+    /**
+     * Archivar los cursos retirados hace más de los días de retención. Devuelve la cantidad archivada.
+     */
+    public int archivar() {
+        return archivarRetiradosAntesDe(LocalDateTime.now().minusDays(diasRetencion));
+    }
+
+    /**
+     * Archivar los cursos retirados antes de la fecha indicada. Devuelve la cantidad archivada.
+     */
+    public int archivarRetiradosAntesDe(LocalDateTime limite) {
+        int archivados = 0;
+        while (true) {
+            List<Long> cursos = cursoRepository.findIdsRetiradosAntesDe(limite, PageRequest.of(0, CURSOS_POR_CONSULTA));
+            if (cursos.isEmpty()) {
+                break;
+            }
+            for (Long cursoId : cursos) {
+                archivarCurso(cursoId);
+                archivados++;
+            }
+        }
+        if (archivados > 0) {
+            log.info("Archivo de cursos: {} cursos retirados movidos a las tablas de archivo", archivados);
+        }
+        return archivados;
+    }
+
+    @PreDestroy
+    public void detener() {
+        planificador.shutdownNow();
+    }
+
+    // Métodos privados
+
+    private void archivarCurso(Long cursoId) {
+        LocalDateTime ahora = LocalDateTime.now();
+        MapSqlParameterSource curso = new MapSqlParameterSource("cursoId", cursoId)
+                .addValue("ahora", ahora)
+                .addValue("limite", tamanoBloque);
+
+        List<Long> ejecuciones = jdbcTemplate.queryForList(SQL_EJECUCIONES_DEL_CURSO, curso, Long.class);
+        if (!ejecuciones.isEmpty()) {
+            MapSqlParameterSource delCurso = new MapSqlParameterSource(curso.getValues()).addValue("ejecuciones", ejecuciones);
+            // Una inscripción activa de una sección ya terminada también deja de contar en los choques de horario
+            moverPorBloques(SQL_IDS_INSCRIPCIONES, delCurso, SQL_ARCHIVAR_INSCRIPCIONES, SQL_BORRAR_INSCRIPCIONES,
+                    ids -> choqueHorarioService.invalidarTodoAlConfirmar());
+            moverPorBloques(SQL_IDS_LISTAS_ESPERA, delCurso, null, SQL_BORRAR_LISTAS_ESPERA, ids -> { });
+            moverPorBloques(SQL_IDS_RETENCIONES, delCurso, null, SQL_BORRAR_RETENCIONES, ids -> { });
+            moverPorBloques(SQL_IDS_EJECUCIONES, curso, SQL_ARCHIVAR_EJECUCIONES, SQL_BORRAR_EJECUCIONES, ids -> {
+                for (Long ejecucionId : ids) {
+                    disponibilidadCuposService.invalidarAlConfirmar(ejecucionId);
+                    calendarioEjecucionesService.quitarAlConfirmar(ejecucionId);
+                    ocupacionSalasService.quitarAlConfirmar(ejecucionId);
+                    cargaProfesoresService.quitarAlConfirmar(ejecucionId);
+                }
+            });
+        }
+
+        transactionTemplate.executeWithoutResult(estado -> {
+            prerrequisitoService.quitarCurso(cursoId);
+            jdbcTemplate.update(SQL_ARCHIVAR_CURSO, curso);
+            jdbcTemplate.update(SQL_BORRAR_CURSO, curso);
+        });
+    }
+
+    // Copia (si hay tabla de archivo) y borra bloques de IDs hasta que la consulta no devuelve más, una transacción por bloque
+    private void moverPorBloques(String sqlIds, MapSqlParameterSource parametros, String sqlCopiar, String sqlBorrar,
+                                 Consumer<List<Long>> alMover) {
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(sqlIds, parametros, Long.class);
+            if (ids.isEmpty()) {
+                return;
+            }
+            MapSqlParameterSource bloque = new MapSqlParameterSource(parametros.getValues()).addValue("ids", ids);
+            transactionTemplate.executeWithoutResult(estado -> {
+                if (sqlCopiar != null) {
+                    jdbcTemplate.update(sqlCopiar, bloque);
+                }
+                jdbcTemplate.update(sqlBorrar, bloque);
+                alMover.accept(ids);
+            });
+        }
+    }
+
+    private void archivarProgramado() {
+        try {
+            archivar();
+        } catch (RuntimeException e) {
+            // Un fallo no debe cancelar las ejecuciones siguientes del planificador
+            log.error("Error al archivar los cursos retirados", e);
+        }
+    }
+}
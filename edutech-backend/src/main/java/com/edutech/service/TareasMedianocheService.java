@@ -0,0 +1,106 @@
+package com.edutech.service;
+
+//Importaciones Spring y Lombok
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+//Importaciones Java
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un solo hilo para las tareas que corren al cambiar el día en la zona configurada.
+ *
+ * Cada servicio registra su tarea (estados de ejecuciones, calendario, ...) y al iniciar
+ * la aplicación se programa la primera medianoche; ahí corren todas en el orden en que se
+ * registraron y se programa la siguiente. El fallo de una tarea se registra y no impide
+ * las demás ni las medianoches siguientes.
+ */
+@Service
+@Slf4j
+public class TareasMedianocheService {
+
+    private final ZoneId zona;
+    private final ScheduledExecutorService planificador;
+    private final List<Tarea> tareas = new CopyOnWriteArrayList<>();
+
+    public TareasMedianocheService(@Value("${edutech.calendario.zona-horaria:America/Santiago}") String zonaHoraria) {
+        this.zona = ZoneId.of(zonaHoraria);
+        this.planificador = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread hilo = new Thread(runnable, "tareas-medianoche");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Programar la primera medianoche
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        programarMedianoche();
+    }
+
+    /**
+     * Correr la tarea en cada cambio de día
+     */
+    public void registrar(String nombre, Runnable tarea) {
+        tareas.add(new Tarea(nombre, tarea));
+    }
+
+    /**
+     * Correr la tarea una vez, en el mismo hilo que las de medianoche (por ejemplo para ponerse al día al iniciar)
+     */
+    public void ejecutar(String nombre, Runnable tarea) {
+        planificador.execute(() -> correr(new Tarea(nombre, tarea)));
+    }
+
+    /**
+     * Fecha actual en la zona configurada
+     */
+    public LocalDate hoy() {
+        return LocalDate.now(zona);
+    }
+
+    @PreDestroy
+    public void detener() {
+        planificador.shutdownNow();
+    }
+
+    // Métodos privados
+
+    private void programarMedianoche() {
+        ZonedDateTime ahora = ZonedDateTime.now(zona);
+        ZonedDateTime medianoche = ahora.toLocalDate().plusDays(1).atStartOfDay(zona);
+        long espera = Duration.between(ahora, medianoche).toMillis();
+        planificador.schedule(() -> {
+            try {
+                tareas.forEach(this::correr);
+            } finally {
+                programarMedianoche();
+            }
+        }, espera, TimeUnit.MILLISECONDS);
+    }
+
+    private void correr(Tarea tarea) {
+        try {
+            tarea.accion().run();
+        } catch (RuntimeException e) {
+            log.error("Error en la tarea de medianoche {}", tarea.nombre(), e);
+        }
+    }
+
+    private record Tarea(String nombre, Runnable accion) {
+    }
+}
@@ -0,0 +1,131 @@
+package com.edutech.util;
+
+//Importaciones Java
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Caché de resultados de consultas con tamaño máximo (LRU) y vencimiento (TTL).
+ *
+ * Cada invalidación avanza una generación. Un resultado cargado desde la base de datos
+ * solo se guarda si ninguna invalidación ocurrió mientras se cargaba: así una lectura
+ * que empezó antes de un commit no deja en la caché datos anteriores a ese commit.
+ * La carga se hace fuera del candado; dos lecturas simultáneas de la misma clave
+ * pueden cargarla ambas, lo que es preferible a bloquear a los lectores.
+ */
+public final class CacheConsultas<K, V> {
+
+    private final int maximoEntradas;
+    private final long ttlNanos;
+    private final LongSupplier reloj;
+
+    private final LinkedHashMap<K, Entrada<V>> entradas = new LinkedHashMap<>(16, 0.75f, true);
+    private long generacion;
+    private long aciertos;
+    private long fallos;
+    private long expulsiones;
+    private long invalidaciones;
+
+    public CacheConsultas(int maximoEntradas, Duration ttl) {
+        this(maximoEntradas, ttl, System::nanoTime);
+    }
+
+    CacheConsultas(int maximoEntradas, Duration ttl, LongSupplier reloj) {
+        if (maximoEntradas < 1) {
+            throw new IllegalArgumentException("La caché debe admitir al menos una entrada");
+        }
+        this.maximoEntradas = maximoEntradas;
+        this.ttlNanos = ttl.toNanos();
+        this.reloj = reloj;
+    }
+
+    /**
+     * Valor guardado para la clave o, si no está o venció, el que entregue la carga
+     */
+    public V obtener(K clave, Supplier<V> cargar) {
+        long generacionLeida;
+        synchronized (this) {
+            Entrada<V> entrada = entradas.get(clave);
+            if (entrada != null) {
+                if (reloj.getAsLong() - entrada.cargadaEn() < ttlNanos) {
+                    aciertos++;
+                    return entrada.valor();
+                }
+                entradas.remove(clave);
+                expulsiones++;
+            }
+            fallos++;
+            generacionLeida = generacion;
+        }
+
+        V valor = cargar.get();
+        synchronized (this) {
+            if (generacionLeida == generacion) {
+                entradas.put(clave, new Entrada<>(valor, reloj.getAsLong()));
+                if (entradas.size() > maximoEntradas) {
+                    Iterator<K> masAntigua = entradas.keySet().iterator();
+                    masAntigua.next();
+                    masAntigua.remove();
+                    expulsiones++;
+                }
+            }
+        }
+        return valor;
+    }
+
+    /**
+     * Descartar las entradas cuya clave cumple la condición
+     */
+    public synchronized void invalidar(Predicate<K> afectada) {
+        generacion++;
+        invalidaciones++;
+        entradas.keySet().removeIf(afectada);
+    }
+
+    /**
+     * Descartar todas las entradas
+     */
+    public synchronized void invalidarTodo() {
+        generacion++;
+        invalidaciones++;
+        entradas.clear();
+    }
+
+    public synchronized int tamano() {
+        return entradas.size();
+    }
+
+    public int maximoEntradas() {
+        return maximoEntradas;
+    }
+
+    public Duration ttl() {
+        return Duration.ofNanos(ttlNanos);
+    }
+
+    public synchronized long aciertos() {
+        return aciertos;
+    }
+
+    public synchronized long fallos() {
+        return fallos;
+    }
+
+    // Entradas quitadas por tamaño o por vencimiento (no cuenta las invalidaciones)
+    public synchronized long expulsiones() {
+        return expulsiones;
+    }
+
+    public synchronized long invalidaciones() {
+        return invalidaciones;
+    }
+
+    // Métodos privados
+
+    private record Entrada<V>(V valor, long cargadaEn) {
+    }
+}
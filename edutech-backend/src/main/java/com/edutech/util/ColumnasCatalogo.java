@@ -0,0 +1,157 @@
+package com.edutech.util;
+
+//Importaciones Java
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Copia columnar e inmutable del catálogo de cursos para la navegación por facetas.
+ *
+ * Cada curso es una fila (ordenadas por ID) y cada faceta una columna de enteros:
+ * modalidad y ciclo se guardan como códigos de un diccionario y los créditos como
+ * código de su valor. Una consulta recorre las filas una sola vez y en esa pasada
+ * arma la página y cuenta las facetas: una fila que cumple todos los filtros suma en
+ * todas las facetas, y una que falla solo el filtro de una faceta suma únicamente en
+ * esa faceta (así cada faceta muestra cuántos cursos habría al cambiar su valor).
+ */
+public final class ColumnasCatalogo {
+
+    private final long[] ids;
+    private final int[] modalidades;
+    private final int[] ciclos;
+    private final int[] creditos;
+    private final String[] valoresModalidad;
+    private final String[] valoresCiclo;
+    private final int[] valoresCreditos;
+
+    public ColumnasCatalogo(Collection<Fila> filas) {
+        List<Fila> ordenadas = new ArrayList<>(filas);
+        ordenadas.sort(Comparator.comparingLong(Fila::id));
+        valoresModalidad = diccionario(ordenadas.stream().map(fila -> normalizar(fila.modalidad())).toList());
+        valoresCiclo = diccionario(ordenadas.stream().map(fila -> normalizar(fila.ciclo())).toList());
+        valoresCreditos = ordenadas.stream().mapToInt(Fila::creditos).distinct().sorted().toArray();
+
+        int n = ordenadas.size();
+        ids = new long[n];
+        modalidades = new int[n];
+        ciclos = new int[n];
+        creditos = new int[n];
+        for (int i = 0; i < n; i++) {
+            Fila fila = ordenadas.get(i);
+            ids[i] = fila.id();
+            modalidades[i] = Arrays.binarySearch(valoresModalidad, normalizar(fila.modalidad()));
+            ciclos[i] = Arrays.binarySearch(valoresCiclo, normalizar(fila.ciclo()));
+            creditos[i] = Arrays.binarySearch(valoresCreditos, fila.creditos());
+        }
+    }
+
+    /**
+     * Filtrar y contar facetas en una pasada. Las colecciones vacías o nulas no filtran;
+     * la página son los primeros "limite" IDs mayores que despuesDe.
+     */
+    public Resultado consultar(Collection<String> modalidad, Collection<String> ciclo,
+                               Integer creditosMin, Integer creditosMax, long despuesDe, int limite) {
+        boolean[] modalidadAceptada = aceptados(valoresModalidad, modalidad);
+        boolean[] cicloAceptado = aceptados(valoresCiclo, ciclo);
+        boolean[] creditosAceptados = null;
+        if (creditosMin != null || creditosMax != null) {
+            creditosAceptados = new boolean[valoresCreditos.length];
+            for (int v = 0; v < valoresCreditos.length; v++) {
+                creditosAceptados[v] = (creditosMin == null || valoresCreditos[v] >= creditosMin)
+                        && (creditosMax == null || valoresCreditos[v] <= creditosMax);
+            }
+        }
+
+        int[] porModalidad = new int[valoresModalidad.length];
+        int[] porCiclo = new int[valoresCiclo.length];
+        int[] porCreditos = new int[valoresCreditos.length];
+        List<Long> pagina = new ArrayList<>(Math.min(limite + 1, ids.length));
+        int total = 0;
+
+        for (int i = 0; i < ids.length; i++) {
+            boolean m = modalidadAceptada == null || modalidadAceptada[modalidades[i]];
+            boolean c = cicloAceptado == null || cicloAceptado[ciclos[i]];
+            boolean k = creditosAceptados == null || creditosAceptados[creditos[i]];
+            if (m && c && k) {
+                total++;
+                porModalidad[modalidades[i]]++;
+                porCiclo[ciclos[i]]++;
+                porCreditos[creditos[i]]++;
+                // Una fila de más indica si existe una página siguiente
+                if (ids[i] > despuesDe && pagina.size() <= limite) {
+                    pagina.add(ids[i]);
+                }
+            } else if (!m && c && k) {
+                porModalidad[modalidades[i]]++;
+            } else if (m && !c && k) {
+                porCiclo[ciclos[i]]++;
+            } else if (m && c) {
+                porCreditos[creditos[i]]++;
+            }
+        }
+
+        boolean hayMas = pagina.size() > limite;
+        Map<String, Integer> conteoModalidad = new LinkedHashMap<>();
+        for (int v = 0; v < valoresModalidad.length; v++) {
+            conteoModalidad.put(valoresModalidad[v], porModalidad[v]);
+        }
+        Map<String, Integer> conteoCiclo = new LinkedHashMap<>();
+        for (int v = 0; v < valoresCiclo.length; v++) {
+            conteoCiclo.put(valoresCiclo[v], porCiclo[v]);
+        }
+        Map<Integer, Integer> conteoCreditos = new LinkedHashMap<>();
+        for (int v = 0; v < valoresCreditos.length; v++) {
+            conteoCreditos.put(valoresCreditos[v], porCreditos[v]);
+        }
+        return new Resultado(hayMas ? pagina.subList(0, limite) : pagina, hayMas, total,
+                conteoModalidad, conteoCiclo, conteoCreditos);
+    }
+
+    public int tamano() {
+        return ids.length;
+    }
+
+    // Métodos privados
+
+    private static String[] diccionario(List<String> valores) {
+        return new TreeSet<>(valores).toArray(new String[0]);
+    }
+
+    // null si no hay filtro; los valores que no están en el diccionario no aceptan ninguna fila
+    private static boolean[] aceptados(String[] diccionario, Collection<String> filtro) {
+        if (filtro == null || filtro.isEmpty()) {
+            return null;
+        }
+        boolean[] aceptados = new boolean[diccionario.length];
+        for (String valor : filtro) {
+            int codigo = Arrays.binarySearch(diccionario, normalizar(valor));
+            if (codigo >= 0) {
+                aceptados[codigo] = true;
+            }
+        }
+        return aceptados;
+    }
+
+    private static String normalizar(String valor) {
+        return valor == null ? "" : valor.trim().toUpperCase();
+    }
+
+    /**
+     * Valores de faceta de un curso
+     */
+    public record Fila(long id, String modalidad, String ciclo, int creditos) {
+    }
+
+    /**
+     * IDs de la página, si hay más, total filtrado y conteo por valor de cada faceta
+     */
+    public record Resultado(List<Long> ids, boolean hayMas, int total, Map<String, Integer> modalidades,
+                            Map<String, Integer> ciclos, Map<Integer, Integer> creditos) {
+    }
+}
@@ -0,0 +1,222 @@
+package com.edutech.util;
+
+//Importaciones Java
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grafo de prerrequisitos entre cursos con su cierre transitivo precalculado.
+ *
+ * Cada curso del grafo recibe un índice denso; por curso se guardan sus prerrequisitos
+ * directos y el cierre (todos los cursos que exige, directa o indirectamente) como
+ * BitSet. Verificar si un estudiante cumple es una prueba de inclusión del cierre en
+ * el BitSet de sus cursos aprobados. Agregar una arista solo suma bits al curso y a
+ * quienes dependen de él; quitarla recalcula únicamente esos cursos. Una arista que
+ * cerraría un ciclo se rechaza. Los índices de los cursos no se reasignan (ni al
+ * vaciar el grafo), así un BitSet de aprobados ya calculado sigue siendo válido.
+ * Las operaciones están sincronizadas.
+ */
+public final class GrafoPrerrequisitos {
+
+    private final Map<Long, Integer> indices = new HashMap<>();
+    private final List<Long> ids = new ArrayList<>();
+    private final List<BitSet> directos = new ArrayList<>();
+    private final List<BitSet> cierres = new ArrayList<>();
+    private int aristas;
+
+    /**
+     * Resultado de agregar una arista: solo AGREGADA indica que esta llamada la puso en el grafo
+     */
+    public enum Resultado {
+        AGREGADA, EXISTENTE, CICLO
+    }
+
+    /**
+     * Agregar "prerrequisito" como requisito de "curso"
+     */
+    public synchronized Resultado agregar(long curso, long prerrequisito) {
+        if (curso == prerrequisito) {
+            return Resultado.CICLO;
+        }
+        int c = indice(curso);
+        int p = indice(prerrequisito);
+        if (cierres.get(p).get(c)) {
+            return Resultado.CICLO;
+        }
+        if (directos.get(c).get(p)) {
+            return Resultado.EXISTENTE;
+        }
+        directos.get(c).set(p);
+        aristas++;
+
+        BitSet nuevos = (BitSet) cierres.get(p).clone();
+        nuevos.set(p);
+        for (int x = 0; x < cierres.size(); x++) {
+            if (x == c || cierres.get(x).get(c)) {
+                cierres.get(x).or(nuevos);
+            }
+        }
+        return Resultado.AGREGADA;
+    }
+
+    /**
+     * Quitar la arista (si existe) y recalcular el cierre del curso y de quienes dependen de él
+     */
+    public synchronized void quitar(long curso, long prerrequisito) {
+        Integer c = indices.get(curso);
+        Integer p = indices.get(prerrequisito);
+        if (c == null || p == null || !directos.get(c).get(p)) {
+            return;
+        }
+        directos.get(c).clear(p);
+        aristas--;
+        recalcular(dependientesY(c));
+    }
+
+    /**
+     * Quitar todas las aristas en que participa el curso
+     */
+    public synchronized void quitarCurso(long curso) {
+        Integer c = indices.get(curso);
+        if (c == null) {
+            return;
+        }
+        BitSet afectados = dependientesY(c);
+        aristas -= directos.get(c).cardinality();
+        directos.get(c).clear();
+        for (BitSet requisitos : directos) {
+            if (requisitos.get(c)) {
+                requisitos.clear(c);
+                aristas--;
+            }
+        }
+        recalcular(afectados);
+    }
+
+    /**
+     * Prerrequisitos directos del curso
+     */
+    public synchronized List<Long> directos(long curso) {
+        Integer c = indices.get(curso);
+        return c == null ? List.of() : aIds(directos.get(c));
+    }
+
+    /**
+     * Todos los cursos que exige el curso, directa o indirectamente
+     */
+    public synchronized List<Long> todos(long curso) {
+        Integer c = indices.get(curso);
+        return c == null ? List.of() : aIds(cierres.get(c));
+    }
+
+    public synchronized boolean tieneRequisitos(long curso) {
+        Integer c = indices.get(curso);
+        return c != null && !cierres.get(c).isEmpty();
+    }
+
+    /**
+     * BitSet de los cursos indicados (los que no están en el grafo no son requisito de nadie y se omiten)
+     */
+    public synchronized BitSet aBits(Collection<Long> cursos) {
+        BitSet bits = new BitSet(ids.size());
+        for (Long curso : cursos) {
+            Integer c = indices.get(curso);
+            if (c != null) {
+                bits.set(c);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Requisitos del curso que no están entre los aprobados (vacío si cumple)
+     */
+    public synchronized List<Long> faltantes(long curso, BitSet aprobados) {
+        Integer c = indices.get(curso);
+        if (c == null || cierres.get(c).isEmpty()) {
+            return List.of();
+        }
+        BitSet faltan = (BitSet) cierres.get(c).clone();
+        faltan.andNot(aprobados);
+        return faltan.isEmpty() ? List.of() : aIds(faltan);
+    }
+
+    /**
+     * Quitar todas las aristas, conservando los índices de los cursos
+     */
+    public synchronized void vaciar() {
+        directos.forEach(BitSet::clear);
+        cierres.forEach(BitSet::clear);
+        aristas = 0;
+    }
+
+    public synchronized int cantidadAristas() {
+        return aristas;
+    }
+
+    // Métodos privados
+
+    private int indice(long curso) {
+        Integer existente = indices.get(curso);
+        if (existente != null) {
+            return existente;
+        }
+        int nuevo = ids.size();
+        indices.put(curso, nuevo);
+        ids.add(curso);
+        directos.add(new BitSet());
+        cierres.add(new BitSet());
+        return nuevo;
+    }
+
+    // El curso y todos los que lo exigen (directa o indirectamente)
+    private BitSet dependientesY(int c) {
+        BitSet afectados = new BitSet(ids.size());
+        afectados.set(c);
+        for (int x = 0; x < cierres.size(); x++) {
+            if (cierres.get(x).get(c)) {
+                afectados.set(x);
+            }
+        }
+        return afectados;
+    }
+
+    // Recalcular desde los directos; los requisitos fuera de "afectados" ya tienen su cierre correcto
+    private void recalcular(BitSet afectados) {
+        for (int x = afectados.nextSetBit(0); x >= 0; x = afectados.nextSetBit(x + 1)) {
+            cierres.get(x).clear();
+        }
+        BitSet listos = new BitSet(ids.size());
+        for (int x = afectados.nextSetBit(0); x >= 0; x = afectados.nextSetBit(x + 1)) {
+            calcular(x, afectados, listos);
+        }
+    }
+
+    private void calcular(int x, BitSet afectados, BitSet listos) {
+        if (listos.get(x)) {
+            return;
+        }
+        BitSet cierre = cierres.get(x);
+        BitSet requisitos = directos.get(x);
+        for (int d = requisitos.nextSetBit(0); d >= 0; d = requisitos.nextSetBit(d + 1)) {
+            if (afectados.get(d)) {
+                calcular(d, afectados, listos);
+            }
+            cierre.set(d);
+            cierre.or(cierres.get(d));
+        }
+        listos.set(x);
+    }
+
+    private List<Long> aIds(BitSet bits) {
+        List<Long> resultado = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            resultado.add(ids.get(i));
+        }
+        return resultado;
+    }
+}
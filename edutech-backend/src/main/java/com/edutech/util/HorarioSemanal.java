@@ -0,0 +1,279 @@
+package com.edutech.util;
+
+//Importaciones Java
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Horario semanal como mapa de bits: 7 días x 96 franjas de 15 minutos (672 bits en 11 longs).
+ *
+ * Se construye desde el texto libre de Ejecucion.horario, por ejemplo
+ * "Lunes 08:00-10:00", "Lunes y Miércoles 08:00-09:30" o "Lun 08:00-10:00, Jue 14:00-16:00".
+ * Verificar un choque entre dos horarios es un AND bit a bit.
+ */
+public final class HorarioSemanal {
+
+    public static final int MINUTOS_POR_FRANJA = 15;
+    public static final int FRANJAS_POR_DIA = 24 * 60 / MINUTOS_POR_FRANJA;
+    public static final int DIAS = 7;
+    private static final int PALABRAS = (DIAS * FRANJAS_POR_DIA + 63) / 64;
+
+    public static final HorarioSemanal VACIO = new HorarioSemanal(new long[PALABRAS]);
+
+    private static final String[] NOMBRES_DIAS = {"Lunes", "Martes", "Miércoles", "Jueves", "Viernes", "Sábado", "Domingo"};
+    private static final Map<String, Integer> DIAS_POR_NOMBRE = Map.ofEntries(
+            Map.entry("lunes", 0), Map.entry("lun", 0), Map.entry("lu", 0),
+            Map.entry("martes", 1), Map.entry("mar", 1), Map.entry("ma", 1),
+            Map.entry("miercoles", 2), Map.entry("mie", 2), Map.entry("mi", 2),
+            Map.entry("jueves", 3), Map.entry("jue", 3), Map.entry("ju", 3),
+            Map.entry("viernes", 4), Map.entry("vie", 4), Map.entry("vi", 4),
+            Map.entry("sabado", 5), Map.entry("sab", 5), Map.entry("sa", 5),
+            Map.entry("domingo", 6), Map.entry("dom", 6), Map.entry("do", 6));
+    private static final Pattern BLOQUE = Pattern.compile(
+            "^(.+?)\\s+(\\d{1,2}):(\\d{2})\\s*-\\s*(\\d{1,2}):(\\d{2})$");
+    // Los bloques se separan con ";" o con "," después de una hora ("Lun 08:00-10:00, Jue 14:00-16:00")
+    private static final Pattern SEPARADOR_BLOQUES = Pattern.compile("(?<=\\d)\\s*[;,]\\s*|\\s*;\\s*");
+    private static final Pattern SEPARADOR_DIAS = Pattern.compile("\\s*(?:,|/|\\by\\b|\\s)\\s*");
+
+    private final long[] bits;
+
+    private HorarioSemanal(long[] bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * Interpretar el texto de un horario. Un texto vacío o nulo es un horario vacío.
+     */
+    public static HorarioSemanal parsear(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return VACIO;
+        }
+
+        long[] bits = new long[PALABRAS];
+        for (String bloque : SEPARADOR_BLOQUES.split(texto.trim())) {
+            Matcher matcher = BLOQUE.matcher(bloque.trim());
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Horario inválido: '" + texto + "' (formato esperado: 'Lunes 08:00-10:00')");
+            }
+
+            int inicio = minutos(matcher.group(2), matcher.group(3), texto);
+            int fin = minutos(matcher.group(4), matcher.group(5), texto);
+            if (fin <= inicio) {
+                throw new IllegalArgumentException("Horario inválido: '" + texto + "' (la hora de término debe ser posterior a la de inicio)");
+            }
+            // Redondeo hacia afuera: una clase de 08:10 a 09:50 ocupa las franjas de 08:00 a 10:00
+            int primeraFranja = inicio / MINUTOS_POR_FRANJA;
+            int ultimaFranja = (fin + MINUTOS_POR_FRANJA - 1) / MINUTOS_POR_FRANJA;
+
+            for (String nombreDia : SEPARADOR_DIAS.split(matcher.group(1).trim())) {
+                if (nombreDia.isEmpty()) {
+                    continue;
+                }
+                Integer dia = DIAS_POR_NOMBRE.get(normalizar(nombreDia));
+                if (dia == null) {
+                    throw new IllegalArgumentException("Horario inválido: '" + texto + "' (día desconocido: " + nombreDia + ")");
+                }
+                for (int franja = primeraFranja; franja < ultimaFranja; franja++) {
+                    int indice = dia * FRANJAS_POR_DIA + franja;
+                    bits[indice >>> 6] |= 1L << indice;
+                }
+            }
+        }
+        return new HorarioSemanal(bits);
+    }
+
+    /**
+     * Interpretar el texto de un horario; si no es válido se trata como vacío
+     */
+    public static HorarioSemanal parsearOVacio(String texto) {
+        try {
+            return parsear(texto);
+        } catch (IllegalArgumentException e) {
+            return VACIO;
+        }
+    }
+
+    /**
+     * Índice del día (0 = lunes) a partir de su nombre o abreviatura ("Miércoles", "mie", "Mi")
+     */
+    public static int indiceDia(String nombreDia) {
+        Integer dia = nombreDia != null ? DIAS_POR_NOMBRE.get(normalizar(nombreDia.trim())) : null;
+        if (dia == null) {
+            throw new IllegalArgumentException("Día desconocido: " + nombreDia);
+        }
+        return dia;
+    }
+
+    /**
+     * Unir varios horarios en uno nuevo
+     */
+    public static HorarioSemanal unir(Iterable<HorarioSemanal> horarios) {
+        long[] union = new long[PALABRAS];
+        for (HorarioSemanal horario : horarios) {
+            for (int i = 0; i < PALABRAS; i++) {
+                union[i] |= horario.bits[i];
+            }
+        }
+        return new HorarioSemanal(union);
+    }
+
+    /**
+     * Horario formado por las franjas indicadas (índice = día * FRANJAS_POR_DIA + franja del día)
+     */
+    public static HorarioSemanal deFranjas(int[] franjas) {
+        long[] bits = new long[PALABRAS];
+        for (int indice : franjas) {
+            bits[indice >>> 6] |= 1L << indice;
+        }
+        return new HorarioSemanal(bits);
+    }
+
+    /**
+     * Franjas que ambos horarios comparten
+     */
+    public HorarioSemanal interseccion(HorarioSemanal otro) {
+        long[] comunes = new long[PALABRAS];
+        for (int i = 0; i < PALABRAS; i++) {
+            comunes[i] = bits[i] & otro.bits[i];
+        }
+        return new HorarioSemanal(comunes);
+    }
+
+    /**
+     * Indica si la franja está ocupada (índice = día * FRANJAS_POR_DIA + franja del día)
+     */
+    public boolean ocupaFranja(int indice) {
+        return (bits[indice >>> 6] & (1L << indice)) != 0;
+    }
+
+    /**
+     * Índices de las franjas ocupadas, en orden (índice = día * FRANJAS_POR_DIA + franja del día)
+     */
+    public int[] franjas() {
+        int[] franjas = new int[contarFranjas()];
+        int posicion = 0;
+        for (int i = 0; i < PALABRAS; i++) {
+            long palabra = bits[i];
+            while (palabra != 0) {
+                franjas[posicion++] = i * 64 + Long.numberOfTrailingZeros(palabra);
+                palabra &= palabra - 1;
+            }
+        }
+        return franjas;
+    }
+
+    /**
+     * Indica si ambos horarios comparten al menos una franja
+     */
+    public boolean seTraslapaCon(HorarioSemanal otro) {
+        for (int i = 0; i < PALABRAS; i++) {
+            if ((bits[i] & otro.bits[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean estaVacio() {
+        for (long palabra : bits) {
+            if (palabra != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Días con al menos una franja ocupada, como máscara de bits (bit 0 = lunes)
+     */
+    public int dias() {
+        int mascara = 0;
+        for (int dia = 0; dia < DIAS; dia++) {
+            for (int franja = 0; franja < FRANJAS_POR_DIA; franja++) {
+                if (ocupada(dia, franja)) {
+                    mascara |= 1 << dia;
+                    break;
+                }
+            }
+        }
+        return mascara;
+    }
+
+    /**
+     * Cantidad de franjas de 15 minutos ocupadas
+     */
+    public int contarFranjas() {
+        int total = 0;
+        for (long palabra : bits) {
+            total += Long.bitCount(palabra);
+        }
+        return total;
+    }
+
+    /**
+     * Describir los bloques ocupados, por ejemplo ["Lunes 08:00-10:00"]
+     */
+    public List<String> describir() {
+        List<String> bloques = new ArrayList<>();
+        for (int dia = 0; dia < DIAS; dia++) {
+            int franja = 0;
+            while (franja < FRANJAS_POR_DIA) {
+                if (!ocupada(dia, franja)) {
+                    franja++;
+                    continue;
+                }
+                int inicio = franja;
+                while (franja < FRANJAS_POR_DIA && ocupada(dia, franja)) {
+                    franja++;
+                }
+                bloques.add(NOMBRES_DIAS[dia] + " " + hora(inicio) + "-" + hora(franja));
+            }
+        }
+        return bloques;
+    }
+
+    @Override
+    public boolean equals(Object otro) {
+        return otro instanceof HorarioSemanal horario && Arrays.equals(bits, horario.bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bits);
+    }
+
+    @Override
+    public String toString() {
+        return String.join(", ", describir());
+    }
+
+    // Métodos privados
+
+    private boolean ocupada(int dia, int franja) {
+        return ocupaFranja(dia * FRANJAS_POR_DIA + franja);
+    }
+
+    private static int minutos(String horas, String minutos, String texto) {
+        int h = Integer.parseInt(horas);
+        int m = Integer.parseInt(minutos);
+        if (h > 24 || m > 59 || (h == 24 && m > 0)) {
+            throw new IllegalArgumentException("Horario inválido: '" + texto + "' (hora fuera de rango)");
+        }
+        return h * 60 + m;
+    }
+
+    private static String hora(int franja) {
+        int minutos = franja * MINUTOS_POR_FRANJA;
+        return String.format("%02d:%02d", minutos / 60, minutos % 60);
+    }
+
+    private static String normalizar(String nombreDia) {
+        String sinTildes = Normalizer.normalize(nombreDia, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return sinTildes.toLowerCase().replace(".", "");
+    }
+}
@@ -0,0 +1,99 @@
+package com.edutech.util;
+
+//Importaciones Java
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Carga docente por profesor y período: horas de los cursos asignados y ocupación semanal.
+ *
+ * Los totales de horas se mantienen al asignar, reasignar o quitar una ejecución, así la
+ * carga de un profesor se lee sin recorrer sus ejecuciones. Los choques de horario de un
+ * profesor se verifican con la OcupacionSemanal del período. Las operaciones están
+ * sincronizadas.
+ */
+public final class IndiceCargaProfesores {
+
+    private final Map<Long, Map<String, CargaPeriodo>> porProfesor = new HashMap<>();
+    private final Map<Long, Asignacion> porEjecucion = new HashMap<>();
+
+    /**
+     * Asignar (o reasignar) una ejecución a un profesor. Sin profesor o período no se registra.
+     */
+    public synchronized void poner(long ejecucionId, Long profesorId, String periodo, HorarioSemanal horario, int horas) {
+        quitar(ejecucionId);
+        if (profesorId == null || periodo == null) {
+            return;
+        }
+        CargaPeriodo carga = porProfesor.computeIfAbsent(profesorId, p -> new HashMap<>())
+                .computeIfAbsent(periodo, p -> new CargaPeriodo());
+        carga.ocupacion.agregar(ejecucionId, horario);
+        carga.horas += horas;
+        carga.ejecuciones++;
+        carga.franjas += horario.contarFranjas();
+        porEjecucion.put(ejecucionId, new Asignacion(profesorId, periodo, horas, horario.contarFranjas()));
+    }
+
+    /**
+     * Quitar la asignación de una ejecución (si existe)
+     */
+    public synchronized void quitar(long ejecucionId) {
+        Asignacion asignacion = porEjecucion.remove(ejecucionId);
+        if (asignacion == null) {
+            return;
+        }
+        Map<String, CargaPeriodo> periodos = porProfesor.get(asignacion.profesorId());
+        CargaPeriodo carga = periodos.get(asignacion.periodo());
+        carga.ocupacion.quitar(ejecucionId);
+        carga.horas -= asignacion.horas();
+        carga.ejecuciones--;
+        carga.franjas -= asignacion.franjas();
+        if (carga.ejecuciones == 0) {
+            periodos.remove(asignacion.periodo());
+            if (periodos.isEmpty()) {
+                porProfesor.remove(asignacion.profesorId());
+            }
+        }
+    }
+
+    /**
+     * Ejecuciones del profesor en el período cuyo horario se traslapa con el indicado.
+     * La ejecución indicada (si no es null) no cuenta contra sí misma.
+     */
+    public synchronized List<Long> choquesCon(Long ejecucionId, long profesorId, String periodo, HorarioSemanal horario) {
+        CargaPeriodo carga = porProfesor.getOrDefault(profesorId, Map.of()).get(periodo);
+        return carga != null ? carga.ocupacion.choquesCon(ejecucionId, horario) : List.of();
+    }
+
+    /**
+     * Carga del profesor por período, ordenada por período (vacía si no tiene asignaciones)
+     */
+    public synchronized List<Resumen> resumen(long profesorId) {
+        List<Resumen> resumen = new ArrayList<>();
+        new TreeMap<>(porProfesor.getOrDefault(profesorId, Map.of())).forEach((periodo, carga) ->
+                resumen.add(new Resumen(periodo, carga.ejecuciones, carga.horas,
+                        carga.franjas * HorarioSemanal.MINUTOS_POR_FRANJA, carga.ocupacion.ocupado())));
+        return resumen;
+    }
+
+    /**
+     * Carga de un período: ejecuciones, horas de curso, minutos semanales de clase y horario ocupado
+     */
+    public record Resumen(String periodo, int ejecuciones, int horas, int minutosSemanales, HorarioSemanal horario) {
+    }
+
+    // Métodos privados
+
+    private record Asignacion(long profesorId, String periodo, int horas, int franjas) {
+    }
+
+    private static final class CargaPeriodo {
+        private final OcupacionSemanal ocupacion = new OcupacionSemanal();
+        private int ejecuciones;
+        private int horas;
+        private int franjas;
+    }
+}
@@ -0,0 +1,83 @@
+package com.edutech.util;
+
+//Importaciones Java
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Contenedor de un índice en memoria que se carga la primera vez que se usa y se mantiene
+ * al día con los commits.
+ *
+ * La carga completa y cada cambio se ejecutan bajo el mismo candado (el del contenedor):
+ * un cambio confirmado mientras se carga el índice espera a que la carga termine y se aplica
+ * sobre el índice nuevo, en lugar de aplicarse sobre el anterior y perderse con el reemplazo.
+ * Los cambios que llegan antes de la primera carga se descartan, porque esa carga ya los lee
+ * de la base de datos. Las lecturas no toman el candado. El estado auxiliar que el servicio
+ * guarde junto al índice queda protegido si solo se toca desde la carga y desde los cambios.
+ */
+public final class IndiceEnMemoria<T> {
+
+    private final Supplier<T> cargar;
+    private volatile T indice;
+
+    public IndiceEnMemoria(Supplier<T> cargar) {
+        this.cargar = cargar;
+    }
+
+    /**
+     * Índice actual, cargándolo si aún no se carga
+     */
+    public T obtener() {
+        T actual = indice;
+        if (actual == null) {
+            synchronized (this) {
+                if (indice == null) {
+                    indice = cargar.get();
+                }
+                actual = indice;
+            }
+        }
+        return actual;
+    }
+
+    /**
+     * Cargar de nuevo el índice completo y reemplazar el actual
+     */
+    public synchronized T recargar() {
+        T nuevo = cargar.get();
+        indice = nuevo;
+        return nuevo;
+    }
+
+    /**
+     * Aplicar un cambio al índice bajo el candado de la carga; si aún no se carga no hace nada
+     */
+    public synchronized void cambiar(Consumer<T> cambio) {
+        if (indice != null) {
+            cambio.accept(indice);
+        }
+    }
+
+    /**
+     * Resultado de la acción ejecutada con el índice bajo el candado de la carga, cargándolo si
+     * aún no se carga (para verificar y modificar en un solo paso)
+     */
+    public synchronized <R> R usar(Function<T, R> accion) {
+        return accion.apply(obtener());
+    }
+
+    /**
+     * Aplicar el cambio cuando la transacción en curso confirme
+     */
+    public void cambiarAlConfirmar(Consumer<T> cambio) {
+        TransaccionUtils.despuesDelCommit(() -> cambiar(cambio));
+    }
+
+    /**
+     * Cargar de nuevo el índice completo cuando la transacción en curso confirme (cambios masivos)
+     */
+    public void recargarAlConfirmar() {
+        TransaccionUtils.despuesDelCommit(this::recargar);
+    }
+}
@@ -0,0 +1,145 @@
+package com.edutech.util;
+
+//Importaciones Java
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Índice en memoria de intervalos de fechas [inicio, fin] clasificados respecto de "hoy"
+ * en futuros (inicio &gt; hoy), activos (inicio &lt;= hoy &lt;= fin) y pasados (fin &lt; hoy).
+ *
+ * Los futuros se ordenan por fecha de inicio y los activos por fecha de fin, así al
+ * cambiar de día solo se mueven los intervalos que cruzan el borde (cabezas de cada
+ * conjunto) en lugar de reclasificar todo. Las operaciones están sincronizadas.
+ */
+public final class IndiceIntervalosFechas {
+
+    private static final Comparator<Intervalo> POR_INICIO =
+            Comparator.comparing(Intervalo::inicio).thenComparingLong(Intervalo::id);
+    private static final Comparator<Intervalo> POR_FIN =
+            Comparator.comparing(Intervalo::fin).thenComparingLong(Intervalo::id);
+
+    private final Map<Long, Intervalo> porId = new HashMap<>();
+    private final TreeSet<Intervalo> futuros = new TreeSet<>(POR_INICIO);
+    private final TreeSet<Intervalo> activos = new TreeSet<>(POR_FIN);
+    private final TreeSet<Intervalo> pasados = new TreeSet<>(POR_FIN);
+    private LocalDate hoy;
+
+    public IndiceIntervalosFechas(LocalDate hoy) {
+        this.hoy = hoy;
+    }
+
+    /**
+     * Agregar o reemplazar el intervalo de un ID
+     */
+    public synchronized void poner(long id, LocalDate inicio, LocalDate fin) {
+        quitar(id);
+        Intervalo intervalo = new Intervalo(id, inicio, fin);
+        porId.put(id, intervalo);
+        clasificar(intervalo);
+    }
+
+    /**
+     * Quitar el intervalo de un ID (si existe)
+     */
+    public synchronized void quitar(long id) {
+        Intervalo intervalo = porId.remove(id);
+        if (intervalo != null) {
+            futuros.remove(intervalo);
+            activos.remove(intervalo);
+            pasados.remove(intervalo);
+        }
+    }
+
+    /**
+     * Cambiar la fecha de referencia moviendo solo los intervalos que cruzan el borde
+     */
+    public synchronized void avanzarA(LocalDate nuevoHoy) {
+        if (nuevoHoy.equals(hoy)) {
+            return;
+        }
+        if (nuevoHoy.isBefore(hoy)) {
+            // El reloj retrocedió: se reclasifica todo
+            hoy = nuevoHoy;
+            futuros.clear();
+            activos.clear();
+            pasados.clear();
+            porId.values().forEach(this::clasificar);
+            return;
+        }
+
+        hoy = nuevoHoy;
+        while (!futuros.isEmpty() && !futuros.first().inicio().isAfter(hoy)) {
+            clasificar(futuros.pollFirst());
+        }
+        while (!activos.isEmpty() && activos.first().fin().isBefore(hoy)) {
+            pasados.add(activos.pollFirst());
+        }
+    }
+
+    public synchronized LocalDate obtenerHoy() {
+        return hoy;
+    }
+
+    /**
+     * IDs activos, ordenados por fecha de fin
+     */
+    public synchronized List<Long> activos() {
+        return ids(activos);
+    }
+
+    /**
+     * IDs futuros, ordenados por fecha de inicio
+     */
+    public synchronized List<Long> futuros() {
+        return ids(futuros);
+    }
+
+    /**
+     * IDs pasados, ordenados por fecha de fin
+     */
+    public synchronized List<Long> pasados() {
+        return ids(pasados);
+    }
+
+    public synchronized boolean estaActivo(long id) {
+        Intervalo intervalo = porId.get(id);
+        return intervalo != null && activos.contains(intervalo);
+    }
+
+    public synchronized boolean contiene(long id) {
+        return porId.containsKey(id);
+    }
+
+    public synchronized int tamano() {
+        return porId.size();
+    }
+
+    // Métodos privados
+
+    private void clasificar(Intervalo intervalo) {
+        if (intervalo.inicio().isAfter(hoy)) {
+            futuros.add(intervalo);
+        } else if (intervalo.fin().isBefore(hoy)) {
+            pasados.add(intervalo);
+        } else {
+            activos.add(intervalo);
+        }
+    }
+
+    private static List<Long> ids(TreeSet<Intervalo> conjunto) {
+        List<Long> ids = new ArrayList<>(conjunto.size());
+        for (Intervalo intervalo : conjunto) {
+            ids.add(intervalo.id());
+        }
+        return ids;
+    }
+
+    private record Intervalo(long id, LocalDate inicio, LocalDate fin) {
+    }
+}
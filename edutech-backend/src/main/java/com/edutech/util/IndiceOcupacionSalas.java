@@ -0,0 +1,108 @@
+package com.edutech.util;
+
+//Importaciones Java
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Ocupación semanal de las salas, por período y sala.
+ *
+ * Cada sala guarda el horario de cada ejecución que la usa en una OcupacionSemanal, con un
+ * contador por franja de 15 minutos. Verificar si un horario choca recorre solo las
+ * franjas de ese horario; el reporte de un período revisa únicamente las salas con
+ * alguna franja ocupada dos veces y, dentro de ellas, las ejecuciones que tocan esas
+ * franjas. Las operaciones están sincronizadas.
+ */
+public final class IndiceOcupacionSalas {
+
+    private final Map<String, Map<String, OcupacionSemanal>> porPeriodo = new HashMap<>();
+    private final Map<Long, Reserva> porEjecucion = new HashMap<>();
+
+    /**
+     * Nombre de sala normalizado (sin espacios extra y en mayúsculas); null si está vacío
+     */
+    public static String normalizarSala(String sala) {
+        if (sala == null || sala.isBlank()) {
+            return null;
+        }
+        return sala.trim().replaceAll("\\s+", " ").toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Agregar o reemplazar la ocupación de una ejecución. Sin sala u horario no ocupa nada.
+     */
+    public synchronized void poner(long ejecucionId, String periodo, String sala, HorarioSemanal horario) {
+        quitar(ejecucionId);
+        String clave = normalizarSala(sala);
+        if (periodo == null || clave == null || horario.estaVacio()) {
+            return;
+        }
+        porPeriodo.computeIfAbsent(periodo, p -> new HashMap<>())
+                .computeIfAbsent(clave, s -> new OcupacionSemanal())
+                .agregar(ejecucionId, horario);
+        porEjecucion.put(ejecucionId, new Reserva(periodo, clave));
+    }
+
+    /**
+     * Quitar la ocupación de una ejecución (si existe)
+     */
+    public synchronized void quitar(long ejecucionId) {
+        Reserva reserva = porEjecucion.remove(ejecucionId);
+        if (reserva == null) {
+            return;
+        }
+        Map<String, OcupacionSemanal> salas = porPeriodo.get(reserva.periodo());
+        OcupacionSemanal ocupacion = salas.get(reserva.sala());
+        ocupacion.quitar(ejecucionId);
+        if (ocupacion.estaVacia()) {
+            salas.remove(reserva.sala());
+            if (salas.isEmpty()) {
+                porPeriodo.remove(reserva.periodo());
+            }
+        }
+    }
+
+    /**
+     * Ejecuciones de la misma sala y período cuyo horario se traslapa con el indicado.
+     * La ejecución indicada (si no es null) no cuenta contra sí misma.
+     */
+    public synchronized List<Long> choquesCon(Long ejecucionId, String periodo, String sala, HorarioSemanal horario) {
+        Map<String, OcupacionSemanal> salas = porPeriodo.get(periodo);
+        String clave = normalizarSala(sala);
+        OcupacionSemanal ocupacion = salas != null && clave != null ? salas.get(clave) : null;
+        return ocupacion != null ? ocupacion.choquesCon(ejecucionId, horario) : List.of();
+    }
+
+    /**
+     * Todos los pares de ejecuciones que comparten sala y franja en un período, por sala y ID
+     */
+    public synchronized List<Choque> choquesDelPeriodo(String periodo) {
+        Map<String, OcupacionSemanal> salas = porPeriodo.getOrDefault(periodo, Map.of());
+        List<Choque> choques = new ArrayList<>();
+        for (Map.Entry<String, OcupacionSemanal> entrada : new TreeMap<>(salas).entrySet()) {
+            for (OcupacionSemanal.Traslape traslape : entrada.getValue().traslapes()) {
+                choques.add(new Choque(entrada.getKey(), traslape.ejecucionId(), traslape.otraEjecucionId(), traslape.franjas()));
+            }
+        }
+        return choques;
+    }
+
+    public synchronized int tamano() {
+        return porEjecucion.size();
+    }
+
+    /**
+     * Par de ejecuciones que ocupan la misma sala en las franjas indicadas
+     */
+    public record Choque(String sala, long ejecucionId, long otraEjecucionId, HorarioSemanal franjas) {
+    }
+
+    // Métodos privados
+
+    private record Reserva(String periodo, String sala) {
+    }
+}
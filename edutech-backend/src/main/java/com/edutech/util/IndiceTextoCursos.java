@@ -0,0 +1,187 @@
+package com.edutech.util;
+
+//Importaciones Java
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Índice invertido del catálogo de cursos sobre código, nombre y descripción.
+ *
+ * Cada raíz (TextoBusqueda) apunta a los cursos que la contienen y a los campos en que
+ * aparece. Una consulta exige que todas sus palabras aparezcan (en la raíz exacta o, desde
+ * tres letras, como prefijo de una raíz) y ordena por la suma de peso del campo × idf.
+ * Se intersecta partiendo por la palabra con menos cursos, así el costo depende de los
+ * resultados y no del tamaño del catálogo. Las operaciones están sincronizadas.
+ */
+public final class IndiceTextoCursos {
+
+    // Campos como máscara de bits, para filtrar la búsqueda
+    public static final int DESCRIPCION = 1;
+    public static final int NOMBRE = 2;
+    public static final int CODIGO = 4;
+    public static final int TODOS = CODIGO | NOMBRE | DESCRIPCION;
+
+    private static final int PESO_CODIGO = 5;
+    private static final int PESO_NOMBRE = 3;
+    private static final int PESO_DESCRIPCION = 1;
+    private static final int LARGO_MINIMO_PREFIJO = 3;
+    private static final double FACTOR_PREFIJO = 0.5;
+
+    // raíz → (curso → campos en que aparece)
+    private final TreeMap<String, Map<Long, Integer>> terminos = new TreeMap<>();
+    private final Map<Long, Set<String>> terminosPorCurso = new HashMap<>();
+
+    /**
+     * Indexar (o volver a indexar) un curso
+     */
+    public synchronized void poner(long cursoId, String codigo, String nombre, String descripcion) {
+        quitar(cursoId);
+        Map<String, Integer> campos = new HashMap<>();
+        for (String palabra : TextoBusqueda.palabras(codigo)) {
+            campos.merge(TextoBusqueda.raiz(palabra), CODIGO, (a, b) -> a | b);
+        }
+        // El código completo sin separadores: "INF-101" se encuentra como "inf101"
+        String codigoCompleto = String.join("", TextoBusqueda.palabras(codigo));
+        if (!codigoCompleto.isEmpty()) {
+            campos.merge(codigoCompleto, CODIGO, (a, b) -> a | b);
+        }
+        for (String palabra : TextoBusqueda.palabras(nombre)) {
+            campos.merge(TextoBusqueda.raiz(palabra), NOMBRE, (a, b) -> a | b);
+        }
+        for (String palabra : TextoBusqueda.palabras(descripcion)) {
+            campos.merge(TextoBusqueda.raiz(palabra), DESCRIPCION, (a, b) -> a | b);
+        }
+
+        for (Map.Entry<String, Integer> campo : campos.entrySet()) {
+            terminos.computeIfAbsent(campo.getKey(), t -> new HashMap<>()).put(cursoId, campo.getValue());
+        }
+        terminosPorCurso.put(cursoId, campos.keySet());
+    }
+
+    /**
+     * Quitar un curso del índice (si existe)
+     */
+    public synchronized void quitar(long cursoId) {
+        Set<String> anteriores = terminosPorCurso.remove(cursoId);
+        if (anteriores == null) {
+            return;
+        }
+        for (String termino : anteriores) {
+            Map<Long, Integer> cursos = terminos.get(termino);
+            cursos.remove(cursoId);
+            if (cursos.isEmpty()) {
+                terminos.remove(termino);
+            }
+        }
+    }
+
+    /**
+     * IDs de los cursos que contienen todas las palabras de la consulta en los campos indicados,
+     * del más al menos relevante (a igual puntaje, por ID). Una consulta sin palabras no encuentra nada.
+     */
+    public synchronized List<Long> buscar(String consulta, int campos, int limite) {
+        List<List<Coincidencia>> porPalabra = new ArrayList<>();
+        for (String palabra : new LinkedHashSet<>(TextoBusqueda.palabras(consulta))) {
+            List<Coincidencia> coincidencias = coincidencias(palabra);
+            if (coincidencias.isEmpty()) {
+                return List.of();
+            }
+            porPalabra.add(coincidencias);
+        }
+        if (porPalabra.isEmpty()) {
+            return List.of();
+        }
+        porPalabra.sort(Comparator.comparingInt(IndiceTextoCursos::cantidadCursos));
+
+        // La palabra más selectiva define los candidatos; las demás solo los descartan o suman puntaje
+        Map<Long, Double> puntajes = new HashMap<>();
+        for (Coincidencia coincidencia : porPalabra.get(0)) {
+            for (Map.Entry<Long, Integer> curso : coincidencia.cursos().entrySet()) {
+                double puntaje = puntaje(curso.getValue() & campos, coincidencia);
+                if (puntaje > 0) {
+                    puntajes.merge(curso.getKey(), puntaje, Math::max);
+                }
+            }
+        }
+        for (int i = 1; i < porPalabra.size() && !puntajes.isEmpty(); i++) {
+            Iterator<Map.Entry<Long, Double>> candidatos = puntajes.entrySet().iterator();
+            while (candidatos.hasNext()) {
+                Map.Entry<Long, Double> candidato = candidatos.next();
+                double mejor = 0;
+                for (Coincidencia coincidencia : porPalabra.get(i)) {
+                    Integer enCampos = coincidencia.cursos().get(candidato.getKey());
+                    if (enCampos != null) {
+                        mejor = Math.max(mejor, puntaje(enCampos & campos, coincidencia));
+                    }
+                }
+                if (mejor == 0) {
+                    candidatos.remove();
+                } else {
+                    candidato.setValue(candidato.getValue() + mejor);
+                }
+            }
+        }
+
+        List<Map.Entry<Long, Double>> ordenados = new ArrayList<>(puntajes.entrySet());
+        ordenados.sort(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        List<Long> ids = new ArrayList<>(Math.min(limite, ordenados.size()));
+        for (int i = 0; i < ordenados.size() && i < limite; i++) {
+            ids.add(ordenados.get(i).getKey());
+        }
+        return ids;
+    }
+
+    public synchronized int tamano() {
+        return terminosPorCurso.size();
+    }
+
+    // Métodos privados
+
+    // Raíz exacta y, desde tres letras, raíces que comienzan con la palabra (búsqueda mientras se escribe)
+    private List<Coincidencia> coincidencias(String palabra) {
+        List<Coincidencia> coincidencias = new ArrayList<>();
+        String raiz = TextoBusqueda.raiz(palabra);
+        Map<Long, Integer> exacta = terminos.get(raiz);
+        if (exacta != null) {
+            coincidencias.add(new Coincidencia(exacta, idf(exacta.size())));
+        }
+        if (palabra.length() >= LARGO_MINIMO_PREFIJO) {
+            for (Map.Entry<String, Map<Long, Integer>> termino
+                    : terminos.subMap(palabra, true, palabra + Character.MAX_VALUE, false).entrySet()) {
+                if (!termino.getKey().equals(raiz)) {
+                    coincidencias.add(new Coincidencia(termino.getValue(), FACTOR_PREFIJO * idf(termino.getValue().size())));
+                }
+            }
+        }
+        return coincidencias;
+    }
+
+    private double idf(int cursosConTermino) {
+        return Math.log(1.0 + (double) terminosPorCurso.size() / cursosConTermino);
+    }
+
+    private static double puntaje(int campos, Coincidencia coincidencia) {
+        int peso = ((campos & CODIGO) != 0 ? PESO_CODIGO : 0)
+                + ((campos & NOMBRE) != 0 ? PESO_NOMBRE : 0)
+                + ((campos & DESCRIPCION) != 0 ? PESO_DESCRIPCION : 0);
+        return peso * coincidencia.idf();
+    }
+
+    private static int cantidadCursos(List<Coincidencia> coincidencias) {
+        int total = 0;
+        for (Coincidencia coincidencia : coincidencias) {
+            total += coincidencia.cursos().size();
+        }
+        return total;
+    }
+
+    private record Coincidencia(Map<Long, Integer> cursos, double idf) {
+    }
+}
@@ -0,0 +1,605 @@
+package com.edutech.util;
+
+//Importaciones Java
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de trigramas para buscar personas por nombres, apellidos, correo y RUT.
+ *
+ * Cada palabra, plegada (sin tildes y en minúsculas), se indexa con marcas de inicio y fin:
+ * "juan" aporta "^ju", "jua", "uan" y "an$", y además la llave de su primera letra para las
+ * consultas de un carácter. Del RUT solo se indexan los dígitos y la k. Cada trigrama es un
+ * entero que indica directamente su lista de personas; las listas son arreglos primitivos
+ * en orden creciente, sin mapas ni objetos por persona.
+ *
+ * Cada palabra de la consulta debe tener al menos la mitad de sus trigramas en la persona.
+ * Así también se encuentra un texto del medio de una palabra o uno con un error de tipeo;
+ * una palabra de una o dos letras se busca como inicio de palabra. El puntaje es la fracción
+ * de trigramas compartidos, así una palabra completa pesa más que un prefijo ("jose" sobre
+ * "josefina"). A igual puntaje van primero las personas con menos trigramas, que son las
+ * más parecidas a la consulta.
+ *
+ * buscarExacta() es la búsqueda por texto contenido: cada palabra de tres o más letras debe
+ * tener todos sus trigramas en la persona, sin las marcas de inicio y fin para que también
+ * coincida dentro de una palabra ("uan" encuentra "Juan", "juan" no encuentra "Julián").
+ *
+ * Quien comparte la mitad de los trigramas aparece por fuerza en alguna de las listas más
+ * cortas, así que solo esas se recorren; en las más largas (trigramas frecuentes como "ez$")
+ * solo se verifican los candidatos, con un mapa de bits si la lista es densa. Las demás
+ * palabras de la consulta filtran los candidatos de la más selectiva.
+ *
+ * Una modificación marca como borrada la entrada anterior y agrega otra al final. Las listas
+ * se compactan cuando las borradas superan a las vigentes. Las operaciones están sincronizadas.
+ */
+public final class IndiceTrigramasPersonas {
+
+    // Fracción mínima de los trigramas de cada palabra de la consulta que debe tener la persona
+    private static final double UMBRAL = 0.5;
+    private static final int MAXIMO_PALABRAS_CONSULTA = 8;
+    private static final int COMPACTAR_DESDE = 1024;
+    private static final int CAPACIDAD_INICIAL = 1024;
+    // Una lista con más de 1/32 de los documentos ocupa más que su mapa de bits
+    private static final int DENSIDAD_MAPA = 5;
+    // Recorrer una lista cuesta menos que una búsqueda binaria por documento hasta este largo por documento
+    private static final int RECORRER_HASTA = 8;
+
+    // Alfabeto de los trigramas: inicio de palabra, 26 letras, 10 dígitos, otro carácter y fin de palabra
+    private static final int INICIO = 0;
+    private static final int OTRO = 37;
+    private static final int FIN = 38;
+    private static final int ALFABETO = 39;
+    private static final int TRIGRAMAS = ALFABETO * ALFABETO * ALFABETO;
+
+    // Solo dígitos, puntos, guion y k: la consulta es un RUT y se compara sin separadores
+    private static final Pattern CONSULTA_RUT = Pattern.compile("[0-9.\\-kK\\s]*[0-9][0-9.\\-kK\\s]*");
+    // Letras de U+00C0 a U+00FF ya plegadas (0 si no quedan en una sola letra)
+    private static final char[] LATINAS = new char[0x40];
+
+    static {
+        for (char c = 0xC0; c <= 0xFF; c++) {
+            String plegada = TextoBusqueda.plegar(String.valueOf(c));
+            LATINAS[c - 0xC0] = plegada.length() == 1 ? plegada.charAt(0) : 0;
+        }
+    }
+
+    // Documentos de cada trigrama en orden creciente y, si la lista es densa, su mapa de bits
+    private final int[][] listas = new int[TRIGRAMAS][];
+    private final int[] largos = new int[TRIGRAMAS];
+    private final long[][] mapas = new long[TRIGRAMAS][];
+
+    // Un documento por versión indexada de una persona; los borrados quedan con ID -1 hasta compactar
+    private final Map<Long, Integer> documentoPorId = new HashMap<>();
+    private long[] ids = new long[CAPACIDAD_INICIAL];
+    private int[] trigramasPorDocumento = new int[CAPACIDAD_INICIAL];
+    private int documentos;
+    private int borrados;
+
+    // Arreglos de trabajo: los de la búsqueda tienen el tamaño de los documentos
+    private int[] conteo = new int[CAPACIDAD_INICIAL];
+    private float[] puntaje = new float[CAPACIDAD_INICIAL];
+    private int[] tocados = new int[CAPACIDAD_INICIAL];
+    private int[] candidatos = new int[CAPACIDAD_INICIAL];
+    private int[] trigramasNuevos = new int[64];
+
+    /**
+     * Indexar (o volver a indexar) una persona
+     */
+    public synchronized void poner(long personaId, String nombres, String apellidoPaterno,
+                                   String apellidoMaterno, String correo, String rut) {
+        quitar(personaId);
+        int n = agregarPalabras(plegar(nombres), 0);
+        n = agregarPalabras(plegar(apellidoPaterno), n);
+        n = agregarPalabras(plegar(apellidoMaterno), n);
+        n = agregarPalabras(plegar(correo), n);
+        String digitos = digitosRut(rut);
+        if (!digitos.isEmpty()) {
+            n = agregarPalabra(digitos, 0, digitos.length(), n);
+        }
+        int cantidad = distintos(trigramasNuevos, n);
+
+        if (documentos == ids.length) {
+            crecer(documentos * 2);
+        }
+        int documento = documentos++;
+        ids[documento] = personaId;
+        trigramasPorDocumento[documento] = cantidad;
+        documentoPorId.put(personaId, documento);
+        for (int i = 0; i < cantidad; i++) {
+            agregar(trigramasNuevos[i], documento);
+        }
+    }
+
+    /**
+     * Quitar una persona del índice (si existe)
+     */
+    public synchronized void quitar(long personaId) {
+        Integer documento = documentoPorId.remove(personaId);
+        if (documento == null) {
+            return;
+        }
+        ids[documento] = -1;
+        borrados++;
+        if (borrados >= COMPACTAR_DESDE && borrados > documentos - borrados) {
+            compactar();
+        }
+    }
+
+    /**
+     * IDs de las personas que coinciden con la consulta, del mejor puntaje al peor, a partir
+     * de la posición "desde"; el total es la cantidad de coincidencias
+     */
+    public synchronized Resultado buscar(String consulta, int desde, int limite) {
+        return buscar(consulta, desde, limite, false);
+    }
+
+    /**
+     * Como buscar(), pero solo con las personas que contienen cada palabra de la consulta,
+     * sin errores de tipeo
+     */
+    public synchronized Resultado buscarExacta(String consulta, int desde, int limite) {
+        return buscar(consulta, desde, limite, true);
+    }
+
+    public synchronized int tamano() {
+        return documentos - borrados;
+    }
+
+    // Métodos privados
+
+    private Resultado buscar(String consulta, int desde, int limite, boolean exacta) {
+        List<int[]> palabras = trigramasConsulta(consulta, exacta);
+        for (int[] trigramas : palabras) {
+            ordenarPorLargo(trigramas);
+        }
+        // Primero la palabra más barata de recorrer, que suele ser también la más selectiva
+        palabras.sort(Comparator.comparingLong(trigramas -> costoRecorrido(trigramas, minimo(trigramas.length, exacta))));
+
+        int cantidad = 0;
+        for (int p = 0; p < palabras.size(); p++) {
+            int[] trigramas = palabras.get(p);
+            int minimo = minimo(trigramas.length, exacta);
+            float peso = 1f / (trigramas.length * palabras.size());
+            cantidad = p == 0
+                    ? candidatosIniciales(trigramas, minimo, peso)
+                    : filtrarCandidatos(cantidad, trigramas, minimo, peso);
+            if (cantidad == 0) {
+                break;
+            }
+        }
+        return new Resultado(pagina(cantidad, desde, limite), cantidad);
+    }
+
+    private static int minimo(int trigramas, boolean exacta) {
+        return exacta ? trigramas : Math.max(1, (int) Math.ceil(trigramas * UMBRAL));
+    }
+
+    // Largo sumado de las listas que se recorren para generar candidatos
+    private long costoRecorrido(int[] trigramas, int minimo) {
+        long costo = 0;
+        for (int i = 0; i <= trigramas.length - minimo; i++) {
+            costo += largos[trigramas[i]];
+        }
+        return costo;
+    }
+
+    // Recorre las listas más cortas y cuenta los trigramas restantes solo en los documentos tocados
+    private int candidatosIniciales(int[] trigramas, int minimo, float peso) {
+        int recorridas = trigramas.length - minimo + 1;
+        int cantidadTocados = 0;
+        for (int j = 0; j < recorridas; j++) {
+            int[] lista = listas[trigramas[j]];
+            for (int i = 0; i < largos[trigramas[j]]; i++) {
+                int documento = lista[i];
+                if (conteo[documento]++ == 0) {
+                    tocados[cantidadTocados++] = documento;
+                }
+            }
+        }
+
+        // Una lista restante corta se recorre sumando solo en los tocados; las largas se verifican por documento
+        int verificadas = 0;
+        for (int j = recorridas; j < trigramas.length; j++) {
+            int trigrama = trigramas[j];
+            if (!densa(trigrama) && largos[trigrama] <= (long) cantidadTocados * RECORRER_HASTA) {
+                int[] lista = listas[trigrama];
+                for (int i = 0; i < largos[trigrama]; i++) {
+                    if (conteo[lista[i]] > 0) {
+                        conteo[lista[i]]++;
+                    }
+                }
+            } else {
+                trigramas[recorridas + verificadas++] = trigrama;
+            }
+        }
+
+        long[][] mapasVerificados = mapas(trigramas, recorridas, verificadas);
+        int cantidad = 0;
+        for (int i = 0; i < cantidadTocados; i++) {
+            int documento = tocados[i];
+            int coincidencias = conteo[documento];
+            conteo[documento] = 0;
+            for (int j = 0; j < verificadas; j++) {
+                if (contiene(mapasVerificados[j], trigramas[recorridas + j], documento)) {
+                    coincidencias++;
+                }
+            }
+            // Los borrados se descartan al final: leer su ID para cada tocado cuesta más que verificarlo
+            if (coincidencias >= minimo && ids[documento] >= 0) {
+                candidatos[cantidad++] = documento;
+                puntaje[documento] = coincidencias * peso;
+            }
+        }
+        return cantidad;
+    }
+
+    // Verifica cada candidato o, si sus listas suman menos que eso, las recorre contando
+    private int filtrarCandidatos(int cantidad, int[] trigramas, int minimo, float peso) {
+        long largoListas = 0;
+        for (int trigrama : trigramas) {
+            largoListas += largos[trigrama];
+        }
+        boolean recorrer = largoListas < (long) cantidad * trigramas.length;
+        int cantidadTocados = 0;
+        if (recorrer) {
+            for (int trigrama : trigramas) {
+                int[] lista = listas[trigrama];
+                for (int i = 0; i < largos[trigrama]; i++) {
+                    int documento = lista[i];
+                    if (conteo[documento]++ == 0) {
+                        tocados[cantidadTocados++] = documento;
+                    }
+                }
+            }
+        }
+
+        long[][] mapasVerificados = recorrer ? null : mapas(trigramas, 0, trigramas.length);
+        int quedan = 0;
+        for (int i = 0; i < cantidad; i++) {
+            int documento = candidatos[i];
+            int coincidencias = 0;
+            if (recorrer) {
+                coincidencias = conteo[documento];
+            } else {
+                for (int j = 0; j < trigramas.length; j++) {
+                    if (contiene(mapasVerificados[j], trigramas[j], documento)) {
+                        coincidencias++;
+                    }
+                }
+            }
+            if (coincidencias >= minimo) {
+                candidatos[quedan++] = documento;
+                puntaje[documento] += coincidencias * peso;
+            }
+        }
+        for (int i = 0; i < cantidadTocados; i++) {
+            conteo[tocados[i]] = 0;
+        }
+        return quedan;
+    }
+
+    private boolean densa(int trigrama) {
+        return largos[trigrama] > documentos >> DENSIDAD_MAPA;
+    }
+
+    // Los mapas de bits de las listas densas (null para las demás), armados una vez por consulta
+    private long[][] mapas(int[] trigramas, int desde, int cantidad) {
+        long[][] resultado = new long[cantidad][];
+        for (int j = 0; j < cantidad; j++) {
+            int trigrama = trigramas[desde + j];
+            if (mapas[trigrama] == null && densa(trigrama)) {
+                long[] mapa = new long[(documentos >> 6) + 1];
+                int[] lista = listas[trigrama];
+                for (int i = 0; i < largos[trigrama]; i++) {
+                    mapa[lista[i] >> 6] |= 1L << lista[i];
+                }
+                mapas[trigrama] = mapa;
+            }
+            resultado[j] = mapas[trigrama];
+        }
+        return resultado;
+    }
+
+    private boolean contiene(long[] mapa, int trigrama, int documento) {
+        if (mapa != null) {
+            return (documento >> 6) < mapa.length && (mapa[documento >> 6] & 1L << documento) != 0;
+        }
+        return largos[trigrama] > 0 && Arrays.binarySearch(listas[trigrama], 0, largos[trigrama], documento) >= 0;
+    }
+
+    // Las palabras de una o dos letras se buscan como inicio de palabra: "^j$" o "^ju"; en la
+    // búsqueda exacta las más largas usan solo sus trigramas interiores ("jua" y "uan")
+    private static List<int[]> trigramasConsulta(String consulta, boolean exacta) {
+        List<String> palabras = new ArrayList<>();
+        if (consulta != null && CONSULTA_RUT.matcher(consulta).matches()) {
+            palabras.add(digitosRut(consulta));
+        } else {
+            String plegada = plegar(consulta);
+            int inicio = -1;
+            for (int i = 0; i <= plegada.length(); i++) {
+                boolean enPalabra = i < plegada.length() && Character.isLetterOrDigit(plegada.charAt(i));
+                if (enPalabra && inicio < 0) {
+                    inicio = i;
+                } else if (!enPalabra && inicio >= 0) {
+                    palabras.add(plegada.substring(inicio, i));
+                    inicio = -1;
+                }
+            }
+        }
+
+        List<int[]> resultado = new ArrayList<>();
+        for (String palabra : palabras) {
+            if (resultado.size() == MAXIMO_PALABRAS_CONSULTA) {
+                break;
+            }
+            if (palabra.length() == 1) {
+                resultado.add(new int[] {codigo(INICIO, letra(palabra.charAt(0)), FIN)});
+            } else if (palabra.length() == 2) {
+                resultado.add(new int[] {codigo(INICIO, letra(palabra.charAt(0)), letra(palabra.charAt(1)))});
+            } else {
+                int[] trigramas = new int[palabra.length()];
+                agregarTrigramas(palabra, 0, palabra.length(), trigramas, 0);
+                if (exacta) {
+                    trigramas = Arrays.copyOfRange(trigramas, 1, palabra.length() - 1);
+                }
+                int cantidad = distintos(trigramas, trigramas.length);
+                resultado.add(Arrays.copyOf(trigramas, cantidad));
+            }
+        }
+        return resultado;
+    }
+
+    // Sin expresiones regulares: se llama para cada campo de cada persona al cargar el índice
+    private int agregarPalabras(String texto, int n) {
+        int inicio = -1;
+        for (int i = 0; i <= texto.length(); i++) {
+            boolean enPalabra = i < texto.length() && Character.isLetterOrDigit(texto.charAt(i));
+            if (enPalabra && inicio < 0) {
+                inicio = i;
+            } else if (!enPalabra && inicio >= 0) {
+                n = agregarPalabra(texto, inicio, i, n);
+                inicio = -1;
+            }
+        }
+        return n;
+    }
+
+    // La llave de la primera letra ("^j$") y los trigramas de la palabra con sus marcas
+    private int agregarPalabra(String texto, int inicio, int fin, int n) {
+        int necesarios = n + fin - inicio + 1;
+        if (necesarios > trigramasNuevos.length) {
+            trigramasNuevos = Arrays.copyOf(trigramasNuevos, Math.max(trigramasNuevos.length * 2, necesarios));
+        }
+        trigramasNuevos[n++] = codigo(INICIO, letra(texto.charAt(inicio)), FIN);
+        return agregarTrigramas(texto, inicio, fin, trigramasNuevos, n);
+    }
+
+    private static int agregarTrigramas(String texto, int inicio, int fin, int[] destino, int n) {
+        int anterior = INICIO;
+        int actual = letra(texto.charAt(inicio));
+        for (int i = inicio + 1; i < fin; i++) {
+            int siguiente = letra(texto.charAt(i));
+            destino[n++] = codigo(anterior, actual, siguiente);
+            anterior = actual;
+            actual = siguiente;
+        }
+        destino[n++] = codigo(anterior, actual, FIN);
+        return n;
+    }
+
+    // Con una tabla para ASCII y las letras latinas con tilde; lo demás pasa por la normalización Unicode
+    private static String plegar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        char[] plegado = new char[texto.length()];
+        for (int i = 0; i < plegado.length; i++) {
+            char c = texto.charAt(i);
+            if (c < 0x80) {
+                plegado[i] = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+            } else if (c >= 0xC0 && c <= 0xFF && LATINAS[c - 0xC0] != 0) {
+                plegado[i] = LATINAS[c - 0xC0];
+            } else {
+                return TextoBusqueda.plegar(texto);
+            }
+        }
+        return new String(plegado);
+    }
+
+    private static String digitosRut(String rut) {
+        String plegado = plegar(rut);
+        StringBuilder digitos = new StringBuilder(plegado.length());
+        for (int i = 0; i < plegado.length(); i++) {
+            char c = plegado.charAt(i);
+            if ((c >= '0' && c <= '9') || c == 'k') {
+                digitos.append(c);
+            }
+        }
+        return digitos.toString();
+    }
+
+    private static int letra(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return 1 + c - 'a';
+        }
+        if (c >= '0' && c <= '9') {
+            return 27 + c - '0';
+        }
+        return OTRO;
+    }
+
+    private static int codigo(int a, int b, int c) {
+        return (a * ALFABETO + b) * ALFABETO + c;
+    }
+
+    // Ordena y deja sin repetir los primeros "cantidad" valores; devuelve cuántos quedan
+    private static int distintos(int[] valores, int cantidad) {
+        Arrays.sort(valores, 0, cantidad);
+        int m = 0;
+        for (int i = 0; i < cantidad; i++) {
+            if (m == 0 || valores[i] != valores[m - 1]) {
+                valores[m++] = valores[i];
+            }
+        }
+        return m;
+    }
+
+    // Por inserción: una palabra de la consulta tiene pocos trigramas
+    private void ordenarPorLargo(int[] trigramas) {
+        for (int i = 1; i < trigramas.length; i++) {
+            int trigrama = trigramas[i];
+            int j = i - 1;
+            while (j >= 0 && largos[trigramas[j]] > largos[trigrama]) {
+                trigramas[j + 1] = trigramas[j];
+                j--;
+            }
+            trigramas[j + 1] = trigrama;
+        }
+    }
+
+    private void agregar(int trigrama, int documento) {
+        int[] lista = listas[trigrama];
+        if (lista == null) {
+            lista = new int[4];
+            listas[trigrama] = lista;
+        } else if (largos[trigrama] == lista.length) {
+            lista = Arrays.copyOf(lista, lista.length * 2);
+            listas[trigrama] = lista;
+        }
+        lista[largos[trigrama]++] = documento;
+
+        long[] mapa = mapas[trigrama];
+        if (mapa != null) {
+            if ((documento >> 6) >= mapa.length) {
+                mapa = Arrays.copyOf(mapa, Math.max(mapa.length * 2, (documento >> 6) + 1));
+                mapas[trigrama] = mapa;
+            }
+            mapa[documento >> 6] |= 1L << documento;
+        }
+    }
+
+    private void crecer(int capacidad) {
+        ids = Arrays.copyOf(ids, capacidad);
+        trigramasPorDocumento = Arrays.copyOf(trigramasPorDocumento, capacidad);
+        conteo = Arrays.copyOf(conteo, capacidad);
+        puntaje = Arrays.copyOf(puntaje, capacidad);
+        tocados = Arrays.copyOf(tocados, capacidad);
+        candidatos = Arrays.copyOf(candidatos, capacidad);
+    }
+
+    // Renumera los documentos vigentes conservando su orden, así las listas siguen ordenadas
+    private void compactar() {
+        int[] nuevo = new int[documentos];
+        int vigentes = 0;
+        for (int documento = 0; documento < documentos; documento++) {
+            if (ids[documento] < 0) {
+                nuevo[documento] = -1;
+                continue;
+            }
+            nuevo[documento] = vigentes;
+            ids[vigentes] = ids[documento];
+            trigramasPorDocumento[vigentes] = trigramasPorDocumento[documento];
+            documentoPorId.put(ids[vigentes], vigentes);
+            vigentes++;
+        }
+        for (int trigrama = 0; trigrama < TRIGRAMAS; trigrama++) {
+            int[] lista = listas[trigrama];
+            if (lista == null) {
+                continue;
+            }
+            int m = 0;
+            for (int i = 0; i < largos[trigrama]; i++) {
+                int documento = nuevo[lista[i]];
+                if (documento >= 0) {
+                    lista[m++] = documento;
+                }
+            }
+            largos[trigrama] = m;
+            if (m == 0) {
+                listas[trigrama] = null;
+            }
+        }
+        // Los mapas de bits se vuelven a armar en la primera consulta que los use
+        Arrays.fill(mapas, null);
+        documentos = vigentes;
+        borrados = 0;
+    }
+
+    // Mejor clave = menor: puntaje descendente, luego menos trigramas y luego documento más antiguo
+    private long clave(int documento) {
+        long puntos = Math.min(Math.round(puntaje[documento] * 0xFFFF), 0xFFFF);
+        long trigramas = Math.min(trigramasPorDocumento[documento], 0xFFFF);
+        return (0xFFFF - puntos) << 48 | trigramas << 32 | documento;
+    }
+
+    // Los mejores "desde + limite" con un montículo de máximos acotado, sin ordenar todos los candidatos
+    private List<Long> pagina(int cantidad, int desde, int limite) {
+        int k = (int) Math.min(cantidad, (long) desde + limite);
+        if (desde >= k) {
+            return List.of();
+        }
+        long[] monticulo = new long[k];
+        int tamano = 0;
+        for (int i = 0; i < cantidad; i++) {
+            long clave = clave(candidatos[i]);
+            if (tamano < k) {
+                monticulo[tamano] = clave;
+                subir(monticulo, tamano++);
+            } else if (clave < monticulo[0]) {
+                monticulo[0] = clave;
+                bajar(monticulo, k);
+            }
+        }
+        Arrays.sort(monticulo);
+        List<Long> pagina = new ArrayList<>(k - desde);
+        for (int i = desde; i < k; i++) {
+            pagina.add(ids[(int) monticulo[i]]);
+        }
+        return pagina;
+    }
+
+    private static void subir(long[] monticulo, int i) {
+        while (i > 0) {
+            int padre = (i - 1) / 2;
+            if (monticulo[padre] >= monticulo[i]) {
+                return;
+            }
+            intercambiar(monticulo, i, padre);
+            i = padre;
+        }
+    }
+
+    private static void bajar(long[] monticulo, int tamano) {
+        int i = 0;
+        while (true) {
+            int mayor = i;
+            for (int hijo = 2 * i + 1; hijo <= 2 * i + 2 && hijo < tamano; hijo++) {
+                if (monticulo[hijo] > monticulo[mayor]) {
+                    mayor = hijo;
+                }
+            }
+            if (mayor == i) {
+                return;
+            }
+            intercambiar(monticulo, i, mayor);
+            i = mayor;
+        }
+    }
+
+    private static void intercambiar(long[] monticulo, int i, int j) {
+        long valor = monticulo[i];
+        monticulo[i] = monticulo[j];
+        monticulo[j] = valor;
+    }
+
+    /**
+     * IDs de la página pedida y total de personas que coinciden
+     */
+    public record Resultado(List<Long> ids, int total) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.edutech.util;
+
+//Importaciones Java
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Horarios semanales de varias ejecuciones que comparten un recurso (una sala, un profesor),
+ * con la cantidad de ejecuciones por franja de 15 minutos.
+ *
+ * Con el contador por franja, saber si un horario choca solo recorre las franjas de ese
+ * horario. No está sincronizada: la protege el índice que la contiene.
+ */
+public final class OcupacionSemanal {
+
+    private static final int TOTAL_FRANJAS = HorarioSemanal.DIAS * HorarioSemanal.FRANJAS_POR_DIA;
+
+    private final TreeMap<Long, HorarioSemanal> horarios = new TreeMap<>();
+    private final short[] conteo = new short[TOTAL_FRANJAS];
+
+    /**
+     * Agregar o reemplazar el horario de una ejecución
+     */
+    public void agregar(long ejecucionId, HorarioSemanal horario) {
+        quitar(ejecucionId);
+        horarios.put(ejecucionId, horario);
+        for (int franja : horario.franjas()) {
+            conteo[franja]++;
+        }
+    }
+
+    /**
+     * Quitar el horario de una ejecución (si existe)
+     */
+    public void quitar(long ejecucionId) {
+        HorarioSemanal horario = horarios.remove(ejecucionId);
+        if (horario != null) {
+            for (int franja : horario.franjas()) {
+                conteo[franja]--;
+            }
+        }
+    }
+
+    public boolean estaVacia() {
+        return horarios.isEmpty();
+    }
+
+    /**
+     * Ejecuciones cuyo horario se traslapa con el indicado, en orden de ID.
+     * La ejecución excluida (si no es null) no cuenta contra sí misma.
+     */
+    public List<Long> choquesCon(Long excluida, HorarioSemanal horario) {
+        HorarioSemanal propio = excluida != null ? horarios.get(excluida) : null;
+        boolean ocupada = false;
+        for (int franja : horario.franjas()) {
+            int ocupantes = conteo[franja];
+            if (propio != null && propio.ocupaFranja(franja)) {
+                ocupantes--;
+            }
+            if (ocupantes > 0) {
+                ocupada = true;
+                break;
+            }
+        }
+        if (!ocupada) {
+            return List.of();
+        }
+
+        List<Long> conflictos = new ArrayList<>();
+        horarios.forEach((id, otro) -> {
+            if (!id.equals(excluida) && otro.seTraslapaCon(horario)) {
+                conflictos.add(id);
+            }
+        });
+        return conflictos;
+    }
+
+    /**
+     * Todos los pares de ejecuciones que se traslapan. Solo se comparan las ejecuciones que
+     * tocan alguna franja ocupada más de una vez.
+     */
+    public List<Traslape> traslapes() {
+        HorarioSemanal repetidas = franjasRepetidas();
+        if (repetidas.estaVacio()) {
+            return List.of();
+        }
+
+        List<Map.Entry<Long, HorarioSemanal>> candidatas = new ArrayList<>();
+        for (Map.Entry<Long, HorarioSemanal> horario : horarios.entrySet()) {
+            if (horario.getValue().seTraslapaCon(repetidas)) {
+                candidatas.add(horario);
+            }
+        }
+        List<Traslape> traslapes = new ArrayList<>();
+        for (int i = 0; i < candidatas.size(); i++) {
+            for (int j = i + 1; j < candidatas.size(); j++) {
+                HorarioSemanal comunes = candidatas.get(i).getValue().interseccion(candidatas.get(j).getValue());
+                if (!comunes.estaVacio()) {
+                    traslapes.add(new Traslape(candidatas.get(i).getKey(), candidatas.get(j).getKey(), comunes));
+                }
+            }
+        }
+        return traslapes;
+    }
+
+    /**
+     * Unión de los horarios de todas las ejecuciones
+     */
+    public HorarioSemanal ocupado() {
+        return HorarioSemanal.unir(horarios.values());
+    }
+
+    /**
+     * Par de ejecuciones que comparten las franjas indicadas
+     */
+    public record Traslape(long ejecucionId, long otraEjecucionId, HorarioSemanal franjas) {
+    }
+
+    // Métodos privados
+
+    private HorarioSemanal franjasRepetidas() {
+        int[] repetidas = new int[TOTAL_FRANJAS];
+        int cantidad = 0;
+        for (int franja = 0; franja < TOTAL_FRANJAS; franja++) {
+            if (conteo[franja] > 1) {
+                repetidas[cantidad++] = franja;
+            }
+        }
+        return HorarioSemanal.deFranjas(Arrays.copyOf(repetidas, cantidad));
+    }
+}
@@ -0,0 +1,486 @@
+package com.edutech.util;
+
+//Importaciones Java
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Asignación de horario, sala y profesor a las secciones de un período, sin choques.
+ *
+ * Cada sección recibe uno de los bloques horarios candidatos, una sala con capacidad
+ * suficiente y un profesor: el que ya tiene asignado o uno de los disponibles. Dos
+ * secciones no comparten sala ni profesor en bloques que se traslapan, y un profesor solo
+ * recibe bloques dentro de su disponibilidad.
+ *
+ * La búsqueda se divide en subproblemas independientes: las salas se reparten entre las
+ * partes (intercaladas por capacidad) y las secciones de un mismo profesor quedan en la
+ * misma parte, así ninguna parte comparte sala ni profesor con otra y se resuelven en
+ * paralelo con fork/join. Cada parte asigna de forma voraz, primero las secciones más
+ * grandes. Las que no caben en su parte pasan a una etapa final secuencial sobre todas
+ * las salas, que además puede mover una sección ya ubicada para hacer espacio. Todo
+ * termina al agotarse el tiempo indicado; lo no asignado se informa.
+ */
+public final class PlanificadorHorarios {
+
+    // Con menos secciones por parte no compensa dividir
+    private static final int SECCIONES_MINIMAS_POR_PARTE = 100;
+
+    private final List<HorarioSemanal> bloques;
+    private final BitSet[] solapaCon;
+    private final int paralelismo;
+    private final Duration tiempoMaximo;
+
+    public PlanificadorHorarios(List<HorarioSemanal> bloques, int paralelismo, Duration tiempoMaximo) {
+        if (bloques.isEmpty()) {
+            throw new IllegalArgumentException("Se necesita al menos un bloque horario candidato");
+        }
+        this.bloques = List.copyOf(bloques);
+        this.paralelismo = Math.max(1, paralelismo);
+        this.tiempoMaximo = tiempoMaximo;
+
+        // solapaCon[b]: bloques que comparten alguna franja con b (incluido b)
+        this.solapaCon = new BitSet[bloques.size()];
+        for (int b = 0; b < bloques.size(); b++) {
+            solapaCon[b] = new BitSet(bloques.size());
+            for (int otro = 0; otro < bloques.size(); otro++) {
+                if (bloques.get(b).seTraslapaCon(bloques.get(otro))) {
+                    solapaCon[b].set(otro);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sección a ubicar; profesorId es null si el planificador debe elegir uno
+     */
+    public record Seccion(long ejecucionId, int capacidad, Long profesorId) {
+    }
+
+    public record Sala(String nombre, int capacidad) {
+    }
+
+    /**
+     * Profesor disponible para las secciones sin profesor, con el horario en que puede dictar
+     */
+    public record Profesor(long profesorId, HorarioSemanal disponibilidad) {
+    }
+
+    /**
+     * Bloque (índice en la lista de bloques), sala y profesor asignados a una ejecución
+     */
+    public record Asignacion(long ejecucionId, String sala, int bloque, Long profesorId) {
+    }
+
+    public record Resultado(List<Asignacion> asignaciones, List<Long> sinAsignar, boolean tiempoAgotado) {
+    }
+
+    /**
+     * Resolver la asignación. Los profesores ya asignados que no están en la lista de
+     * disponibles se consideran disponibles en cualquier bloque.
+     */
+    public Resultado resolver(List<Seccion> secciones, List<Sala> salas, List<Profesor> profesores) {
+        Busqueda busqueda = new Busqueda(secciones, salas, profesores, System.nanoTime() + tiempoMaximo.toNanos());
+        return busqueda.ejecutar();
+    }
+
+    // Métodos privados
+
+    /**
+     * Estado de una resolución. Las partes trabajan sobre salas, profesores y secciones
+     * disjuntos, por eso comparten los arreglos sin sincronización.
+     */
+    private final class Busqueda {
+
+        private final List<Seccion> secciones;
+        private final Sala[] salas;
+        private final long limite;
+
+        private final BitSet[] usoSala;
+        private final int[][] ocupanteSala;
+        private final long[] idProfesor;
+        private final BitSet[] usoProfesor;
+        private final BitSet[] disponible;
+        private final int[] cargaProfesor;
+        private final int[] profesorFijo;
+        private final int[] seccionesPorProfesor;
+        private final List<Integer> candidatos = new ArrayList<>();
+
+        private final int[] bloqueDe;
+        private final int[] salaDe;
+        private final int[] profesorDe;
+        private volatile boolean tiempoAgotado;
+
+        Busqueda(List<Seccion> secciones, List<Sala> salas, List<Profesor> profesores, long limite) {
+            this.secciones = secciones;
+            this.limite = limite;
+            this.salas = salas.stream().sorted(Comparator.comparingInt(Sala::capacidad)).toArray(Sala[]::new);
+            this.usoSala = new BitSet[this.salas.length];
+            this.ocupanteSala = new int[this.salas.length][bloques.size()];
+            for (int s = 0; s < this.salas.length; s++) {
+                usoSala[s] = new BitSet(bloques.size());
+                Arrays.fill(ocupanteSala[s], -1);
+            }
+
+            // Profesores disponibles primero, luego los ya asignados que no están en la lista
+            Map<Long, Integer> indices = new LinkedHashMap<>();
+            Map<Long, HorarioSemanal> disponibilidades = new HashMap<>();
+            for (Profesor profesor : profesores) {
+                if (indices.putIfAbsent(profesor.profesorId(), indices.size()) == null) {
+                    disponibilidades.put(profesor.profesorId(), profesor.disponibilidad());
+                    candidatos.add(indices.get(profesor.profesorId()));
+                }
+            }
+            for (Seccion seccion : secciones) {
+                if (seccion.profesorId() != null) {
+                    indices.putIfAbsent(seccion.profesorId(), indices.size());
+                }
+            }
+            int totalProfesores = indices.size();
+            this.idProfesor = new long[totalProfesores];
+            this.usoProfesor = new BitSet[totalProfesores];
+            this.disponible = new BitSet[totalProfesores];
+            this.cargaProfesor = new int[totalProfesores];
+            this.seccionesPorProfesor = new int[totalProfesores];
+            for (Map.Entry<Long, Integer> entrada : indices.entrySet()) {
+                int p = entrada.getValue();
+                idProfesor[p] = entrada.getKey();
+                usoProfesor[p] = new BitSet(bloques.size());
+                disponible[p] = bloquesDentroDe(disponibilidades.get(entrada.getKey()));
+            }
+
+            this.profesorFijo = new int[secciones.size()];
+            this.bloqueDe = new int[secciones.size()];
+            this.salaDe = new int[secciones.size()];
+            this.profesorDe = new int[secciones.size()];
+            for (int i = 0; i < secciones.size(); i++) {
+                Long profesorId = secciones.get(i).profesorId();
+                profesorFijo[i] = profesorId != null ? indices.get(profesorId) : -1;
+                if (profesorFijo[i] >= 0) {
+                    seccionesPorProfesor[profesorFijo[i]]++;
+                }
+            }
+            Arrays.fill(bloqueDe, -1);
+            Arrays.fill(salaDe, -1);
+            Arrays.fill(profesorDe, -1);
+        }
+
+        Resultado ejecutar() {
+            List<Parte> partes = dividir();
+            if (partes.size() == 1) {
+                partes.get(0).resolver();
+            } else {
+                ForkJoinPool pool = new ForkJoinPool(partes.size());
+                try {
+                    pool.invoke(new ResolverPartes(partes, 0, partes.size()));
+                } finally {
+                    pool.shutdown();
+                }
+            }
+
+            // Etapa final: las secciones que no cupieron en su parte, contra todas las salas
+            Parte global = new Parte();
+            for (int s = 0; s < salas.length; s++) {
+                global.salas.add(s);
+            }
+            global.profesores.addAll(candidatos);
+            for (int i = 0; i < secciones.size(); i++) {
+                if (bloqueDe[i] < 0) {
+                    global.secciones.add(i);
+                }
+            }
+            global.resolverConReubicacion();
+
+            List<Asignacion> asignaciones = new ArrayList<>();
+            List<Long> sinAsignar = new ArrayList<>();
+            for (int i = 0; i < secciones.size(); i++) {
+                if (bloqueDe[i] >= 0) {
+                    asignaciones.add(new Asignacion(secciones.get(i).ejecucionId(), salas[salaDe[i]].nombre(),
+                            bloqueDe[i], idProfesor[profesorDe[i]]));
+                } else {
+                    sinAsignar.add(secciones.get(i).ejecucionId());
+                }
+            }
+            return new Resultado(asignaciones, sinAsignar, tiempoAgotado);
+        }
+
+        /**
+         * Repartir salas, profesores y secciones en partes que no comparten sala ni profesor
+         */
+        private List<Parte> dividir() {
+            int cantidad = Math.min(paralelismo,
+                    Math.max(1, Math.min(salas.length, secciones.size() / SECCIONES_MINIMAS_POR_PARTE)));
+            List<Parte> partes = new ArrayList<>();
+            for (int p = 0; p < cantidad; p++) {
+                partes.add(new Parte());
+            }
+
+            // Salas de mayor a menor capacidad en zigzag, para que cada parte tenga una mezcla parecida
+            for (int orden = 0; orden < salas.length; orden++) {
+                int vuelta = orden / cantidad;
+                int posicion = orden % cantidad;
+                int parte = vuelta % 2 == 0 ? posicion : cantidad - 1 - posicion;
+                partes.get(parte).salas.add(salas.length - 1 - orden);
+            }
+            partes.forEach(parte -> parte.salas.sort(Comparator.naturalOrder()));
+
+            // Las secciones de un profesor van juntas; los grupos más grandes primero a la parte más liviana
+            Map<Integer, List<Integer>> porProfesor = new HashMap<>();
+            List<Integer> sinProfesor = new ArrayList<>();
+            for (int i = 0; i < secciones.size(); i++) {
+                if (profesorFijo[i] >= 0) {
+                    porProfesor.computeIfAbsent(profesorFijo[i], p -> new ArrayList<>()).add(i);
+                } else {
+                    sinProfesor.add(i);
+                }
+            }
+            int[] parteDeProfesor = new int[idProfesor.length];
+            Arrays.fill(parteDeProfesor, -1);
+            List<Map.Entry<Integer, List<Integer>>> grupos = new ArrayList<>(porProfesor.entrySet());
+            grupos.sort(Comparator.comparingInt((Map.Entry<Integer, List<Integer>> g) -> -g.getValue().size())
+                    .thenComparing(Map.Entry::getKey));
+            for (Map.Entry<Integer, List<Integer>> grupo : grupos) {
+                Parte destino = masLiviana(partes);
+                destino.secciones.addAll(grupo.getValue());
+                parteDeProfesor[grupo.getKey()] = partes.indexOf(destino);
+            }
+            for (int i : sinProfesor) {
+                masLiviana(partes).secciones.add(i);
+            }
+
+            // Los profesores disponibles sin secciones propias se reparten en orden
+            int siguiente = 0;
+            for (int p : candidatos) {
+                if (parteDeProfesor[p] < 0) {
+                    parteDeProfesor[p] = siguiente++ % cantidad;
+                }
+                partes.get(parteDeProfesor[p]).profesores.add(p);
+            }
+            return partes;
+        }
+
+        private Parte masLiviana(List<Parte> partes) {
+            Parte liviana = partes.get(0);
+            for (Parte parte : partes) {
+                if (parte.secciones.size() < liviana.secciones.size()) {
+                    liviana = parte;
+                }
+            }
+            return liviana;
+        }
+
+        private BitSet bloquesDentroDe(HorarioSemanal disponibilidad) {
+            BitSet dentro = new BitSet(bloques.size());
+            for (int b = 0; b < bloques.size(); b++) {
+                if (disponibilidad == null || bloques.get(b).interseccion(disponibilidad).equals(bloques.get(b))) {
+                    dentro.set(b);
+                }
+            }
+            return dentro;
+        }
+
+        private boolean sinTiempo() {
+            if (!tiempoAgotado && System.nanoTime() > limite) {
+                tiempoAgotado = true;
+            }
+            return tiempoAgotado;
+        }
+
+        /**
+         * Subproblema: secciones, salas (por capacidad ascendente) y profesores disponibles propios
+         */
+        private final class Parte {
+
+            private final List<Integer> secciones = new ArrayList<>();
+            private final List<Integer> salas = new ArrayList<>();
+            private final List<Integer> profesores = new ArrayList<>();
+            private final int[] usoBloque = new int[bloques.size()];
+
+            void resolver() {
+                for (int i : ordenadas()) {
+                    if (sinTiempo()) {
+                        return;
+                    }
+                    ubicar(i);
+                }
+            }
+
+            void resolverConReubicacion() {
+                for (int i : ordenadas()) {
+                    if (sinTiempo()) {
+                        return;
+                    }
+                    if (!ubicar(i)) {
+                        reubicarParaUbicar(i);
+                    }
+                }
+            }
+
+            // Más grandes primero; a igual capacidad, las de profesores con más secciones
+            private List<Integer> ordenadas() {
+                List<Integer> orden = new ArrayList<>(secciones);
+                orden.sort(Comparator.comparingInt((Integer i) -> -Busqueda.this.secciones.get(i).capacidad())
+                        .thenComparingInt(i -> profesorFijo[i] >= 0 ? -seccionesPorProfesor[profesorFijo[i]] : 0)
+                        .thenComparingInt(i -> i));
+                return orden;
+            }
+
+            /**
+             * Ubicar la sección en el bloque menos usado donde haya profesor y sala libres
+             */
+            private boolean ubicar(int seccion) {
+                Integer[] orden = new Integer[bloques.size()];
+                for (int b = 0; b < orden.length; b++) {
+                    orden[b] = b;
+                }
+                Arrays.sort(orden, Comparator.comparingInt((Integer b) -> usoBloque[b]).thenComparingInt(b -> b));
+                for (int b : orden) {
+                    int profesor = profesorLibre(seccion, b);
+                    if (profesor < 0) {
+                        continue;
+                    }
+                    int sala = salaLibre(Busqueda.this.secciones.get(seccion).capacidad(), b);
+                    if (sala >= 0) {
+                        asignar(seccion, b, sala, profesor);
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            /**
+             * Hacer espacio moviendo a otro bloque o sala la única sección que ocupa una sala en un bloque
+             */
+            private boolean reubicarParaUbicar(int seccion) {
+                int capacidad = Busqueda.this.secciones.get(seccion).capacidad();
+                for (int b = 0; b < bloques.size(); b++) {
+                    if (profesorLibre(seccion, b) < 0) {
+                        continue;
+                    }
+                    for (int sala : salas) {
+                        if (sinTiempo()) {
+                            return false;
+                        }
+                        if (Busqueda.this.salas[sala].capacidad() < capacidad) {
+                            continue;
+                        }
+                        int ocupante = unicoOcupante(sala, b);
+                        if (ocupante < 0) {
+                            continue;
+                        }
+                        int[] anterior = {bloqueDe[ocupante], salaDe[ocupante], profesorDe[ocupante]};
+                        liberar(ocupante);
+                        int profesor = profesorLibre(seccion, b);
+                        if (profesor >= 0) {
+                            asignar(seccion, b, sala, profesor);
+                            if (ubicar(ocupante)) {
+                                return true;
+                            }
+                            liberar(seccion);
+                        }
+                        asignar(ocupante, anterior[0], anterior[1], anterior[2]);
+                    }
+                }
+                return false;
+            }
+
+            private int profesorLibre(int seccion, int bloque) {
+                int fijo = profesorFijo[seccion];
+                if (fijo >= 0) {
+                    return estaLibre(fijo, bloque) ? fijo : -1;
+                }
+                int elegido = -1;
+                for (int p : profesores) {
+                    if (estaLibre(p, bloque) && (elegido < 0 || cargaProfesor[p] < cargaProfesor[elegido])) {
+                        elegido = p;
+                    }
+                }
+                return elegido;
+            }
+
+            private boolean estaLibre(int profesor, int bloque) {
+                return disponible[profesor].get(bloque) && !usoProfesor[profesor].intersects(solapaCon[bloque]);
+            }
+
+            // La sala más chica que alcanza y está libre en el bloque
+            private int salaLibre(int capacidad, int bloque) {
+                for (int sala : salas) {
+                    if (Busqueda.this.salas[sala].capacidad() >= capacidad && !usoSala[sala].intersects(solapaCon[bloque])) {
+                        return sala;
+                    }
+                }
+                return -1;
+            }
+
+            private int unicoOcupante(int sala, int bloque) {
+                int ocupante = -1;
+                BitSet usados = (BitSet) usoSala[sala].clone();
+                usados.and(solapaCon[bloque]);
+                for (int b = usados.nextSetBit(0); b >= 0; b = usados.nextSetBit(b + 1)) {
+                    if (ocupante >= 0) {
+                        return -1;
+                    }
+                    ocupante = ocupanteSala[sala][b];
+                }
+                return ocupante;
+            }
+
+            private void asignar(int seccion, int bloque, int sala, int profesor) {
+                bloqueDe[seccion] = bloque;
+                salaDe[seccion] = sala;
+                profesorDe[seccion] = profesor;
+                usoSala[sala].set(bloque);
+                ocupanteSala[sala][bloque] = seccion;
+                usoProfesor[profesor].set(bloque);
+                cargaProfesor[profesor]++;
+                usoBloque[bloque]++;
+            }
+
+            private void liberar(int seccion) {
+                int bloque = bloqueDe[seccion];
+                usoSala[salaDe[seccion]].clear(bloque);
+                ocupanteSala[salaDe[seccion]][bloque] = -1;
+                usoProfesor[profesorDe[seccion]].clear(bloque);
+                cargaProfesor[profesorDe[seccion]]--;
+                usoBloque[bloque]--;
+                bloqueDe[seccion] = -1;
+                salaDe[seccion] = -1;
+                profesorDe[seccion] = -1;
+            }
+        }
+
+        /**
+         * Resolver un rango de partes dividiéndolo en mitades (fork/join)
+         */
+        private final class ResolverPartes extends RecursiveAction {
+
+            private final List<Parte> partes;
+            private final int desde;
+            private final int hasta;
+
+            ResolverPartes(List<Parte> partes, int desde, int hasta) {
+                this.partes = partes;
+                this.desde = desde;
+                this.hasta = hasta;
+            }
+
+            @Override
+            protected void compute() {
+                if (hasta - desde == 1) {
+                    partes.get(desde).resolver();
+                    return;
+                }
+                int mitad = (desde + hasta) >>> 1;
+                invokeAll(new ResolverPartes(partes, desde, mitad), new ResolverPartes(partes, mitad, hasta));
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.edutech.util;
+
+//Importaciones Lombok
+import lombok.extern.slf4j.Slf4j;
+
+//Importaciones Java
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Rueda temporizadora (hashed timing wheel) para vencimientos en memoria.
+ *
+ * Programar y cancelar son O(1): las altas entran a una cola concurrente y un único
+ * hilo las reparte en las ranuras en cada tic, por lo que las ranuras no necesitan
+ * sincronización. Cada tic solo recorre la ranura actual; las entradas con más de
+ * una vuelta pendiente descuentan una vuelta y siguen esperando.
+ */
+@Slf4j
+public class RuedaTemporizadora<K> {
+
+    private final long ticNanos;
+    private final ArrayDeque<Entrada<K>>[] ranuras;
+    private final int mascara;
+    private final Consumer<K> alVencer;
+    private final long inicioNanos;
+    private final ScheduledExecutorService reloj;
+
+    private final ConcurrentLinkedQueue<Entrada<K>> pendientes = new ConcurrentLinkedQueue<>();
+    private final Map<K, Entrada<K>> programadas = new ConcurrentHashMap<>();
+    private long tic;
+
+    @SuppressWarnings("unchecked")
+    public RuedaTemporizadora(String nombre, Duration duracionTic, int numeroRanuras, Consumer<K> alVencer) {
+        if (Integer.bitCount(numeroRanuras) != 1) {
+            throw new IllegalArgumentException("El número de ranuras debe ser potencia de 2");
+        }
+        this.ticNanos = duracionTic.toNanos();
+        this.ranuras = new ArrayDeque[numeroRanuras];
+        for (int i = 0; i < numeroRanuras; i++) {
+            ranuras[i] = new ArrayDeque<>();
+        }
+        this.mascara = numeroRanuras - 1;
+        this.alVencer = alVencer;
+        this.inicioNanos = System.nanoTime();
+        this.reloj = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread hilo = new Thread(runnable, nombre);
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        reloj.scheduleAtFixedRate(this::avanzar, ticNanos, ticNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Programar el vencimiento de una clave (reemplaza una programación previa de la misma clave)
+     */
+    public void programar(K clave, Duration espera) {
+        Entrada<K> entrada = new Entrada<>(clave, System.nanoTime() + Math.max(0, espera.toNanos()));
+        Entrada<K> anterior = programadas.put(clave, entrada);
+        if (anterior != null) {
+            anterior.cancelada = true;
+        }
+        pendientes.add(entrada);
+    }
+
+    /**
+     * Cancelar el vencimiento de una clave
+     */
+    public void cancelar(K clave) {
+        Entrada<K> entrada = programadas.remove(clave);
+        if (entrada != null) {
+            entrada.cancelada = true;
+        }
+    }
+
+    /**
+     * Cantidad de vencimientos programados
+     */
+    public int obtenerProgramadas() {
+        return programadas.size();
+    }
+
+    public void detener() {
+        reloj.shutdownNow();
+    }
+
+    // Métodos privados
+
+    private void avanzar() {
+        try {
+            repartirPendientes();
+
+            ArrayDeque<Entrada<K>> ranura = ranuras[(int) (tic & mascara)];
+            Iterator<Entrada<K>> iterador = ranura.iterator();
+            while (iterador.hasNext()) {
+                Entrada<K> entrada = iterador.next();
+                if (entrada.cancelada) {
+                    iterador.remove();
+                } else if (entrada.vueltas > 0) {
+                    entrada.vueltas--;
+                } else {
+                    iterador.remove();
+                    vencer(entrada);
+                }
+            }
+            tic++;
+        } catch (RuntimeException e) {
+            // Un error no debe detener el reloj (scheduleAtFixedRate se cancela ante excepciones)
+            log.error("Error al avanzar la rueda temporizadora", e);
+        }
+    }
+
+    private void repartirPendientes() {
+        Entrada<K> entrada;
+        while ((entrada = pendientes.poll()) != null) {
+            if (entrada.cancelada) {
+                continue;
+            }
+            long ticVencimiento = Math.max(tic, (entrada.vencimientoNanos - inicioNanos + ticNanos - 1) / ticNanos - 1);
+            long distancia = ticVencimiento - tic;
+            entrada.vueltas = distancia / ranuras.length;
+            ranuras[(int) (ticVencimiento & mascara)].add(entrada);
+        }
+    }
+
+    private void vencer(Entrada<K> entrada) {
+        if (!programadas.remove(entrada.clave, entrada)) {
+            return;
+        }
+        try {
+            alVencer.accept(entrada.clave);
+        } catch (RuntimeException e) {
+            log.error("Error al procesar el vencimiento de {}", entrada.clave, e);
+        }
+    }
+
+    private static final class Entrada<K> {
+        private final K clave;
+        private final long vencimientoNanos;
+        private volatile boolean cancelada;
+        private long vueltas;
+
+        private Entrada(K clave, long vencimientoNanos) {
+            this.clave = clave;
+            this.vencimientoNanos = vencimientoNanos;
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.edutech.util;
+
+//Importaciones Java
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Similitud entre cursos por co-inscripción, con los K cursos más parecidos a cada uno
+ * precalculados.
+ *
+ * Se arma una vez desde los pares (persona, curso). Los IDs pasan a índices densos
+ * ordenando arreglos primitivos y los pares quedan en dos listas de adyacencia compactas
+ * (persona → cursos y curso → personas), sin mapas ni objetos por inscripción. Para cada
+ * curso se cuentan los co-inscritos recorriendo sus personas y los cursos de cada una,
+ * sobre un arreglo de conteo propio de cada hilo; los cursos se reparten entre los hilos
+ * de un ForkJoinPool. La similitud es el coseno co / √(nA · nB); un par con menos de
+ * MINIMO_COINSCRITOS personas en común se descarta como ruido. La instancia es inmutable.
+ */
+public final class SimilitudCursos {
+
+    public static final int MINIMO_COINSCRITOS = 2;
+
+    private final int k;
+    private final long[] idsCurso;
+    private final long[] idsPersona;
+    private final int[] inicioCursos;
+    private final int[] cursosDe;
+    private final int[] inicioPersonas;
+    private final int[] personasDe;
+
+    // Vecinos del curso "a" en las posiciones [a·k, a·k + cantidadVecinos[a]), del más al menos similar
+    private final int[] cantidadVecinos;
+    private final int[] vecinos;
+    private final float[] puntajes;
+    private final int[] coinscritos;
+
+    /**
+     * Los primeros "cantidad" elementos de ambos arreglos son los pares; un par repetido cuenta una vez
+     */
+    public SimilitudCursos(long[] personas, long[] cursos, int cantidad, int k, int paralelismo) {
+        if (k < 1 || paralelismo < 1) {
+            throw new IllegalArgumentException("La cantidad de vecinos y el paralelismo deben ser positivos");
+        }
+        this.k = k;
+        this.idsPersona = distintos(personas, cantidad);
+        this.idsCurso = distintos(cursos, cantidad);
+
+        // (persona, curso) en un long, ordenado: agrupa por persona y deja sus cursos en orden
+        long[] pares = new long[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            pares[i] = (long) Arrays.binarySearch(idsPersona, personas[i]) << 32
+                    | Arrays.binarySearch(idsCurso, cursos[i]);
+        }
+        Arrays.parallelSort(pares);
+        int m = 0;
+        for (int i = 0; i < cantidad; i++) {
+            if (m == 0 || pares[i] != pares[m - 1]) {
+                pares[m++] = pares[i];
+            }
+        }
+
+        inicioCursos = new int[idsPersona.length + 1];
+        cursosDe = new int[m];
+        inicioPersonas = new int[idsCurso.length + 1];
+        personasDe = new int[m];
+        for (int i = 0; i < m; i++) {
+            inicioCursos[(int) (pares[i] >>> 32) + 1]++;
+            inicioPersonas[(int) pares[i] + 1]++;
+        }
+        for (int i = 0; i < idsPersona.length; i++) {
+            inicioCursos[i + 1] += inicioCursos[i];
+        }
+        for (int i = 0; i < idsCurso.length; i++) {
+            inicioPersonas[i + 1] += inicioPersonas[i];
+        }
+        int[] siguiente = Arrays.copyOf(inicioPersonas, idsCurso.length);
+        for (int i = 0; i < m; i++) {
+            int c = (int) pares[i];
+            cursosDe[i] = c;
+            personasDe[siguiente[c]++] = (int) (pares[i] >>> 32);
+        }
+
+        int n = idsCurso.length;
+        cantidadVecinos = new int[n];
+        vecinos = new int[n * k];
+        puntajes = new float[n * k];
+        coinscritos = new int[n * k];
+        if (n > 0) {
+            int tramo = Math.max(1, n / (paralelismo * 8));
+            ForkJoinPool pool = new ForkJoinPool(paralelismo);
+            try {
+                pool.invoke(new CalcularVecinos(0, n, tramo));
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Cursos más similares al indicado (vacío si el curso no tiene inscripciones)
+     */
+    public List<Recomendacion> similares(long cursoId, int limite) {
+        int a = Arrays.binarySearch(idsCurso, cursoId);
+        if (a < 0) {
+            return List.of();
+        }
+        int cantidad = Math.min(limite, cantidadVecinos[a]);
+        List<Recomendacion> resultado = new ArrayList<>(cantidad);
+        for (int j = a * k; j < a * k + cantidad; j++) {
+            resultado.add(new Recomendacion(idsCurso[vecinos[j]], puntajes[j], coinscritos[j]));
+        }
+        return resultado;
+    }
+
+    /**
+     * Cursos que la persona no ha tomado, por la suma de su similitud con los cursos que sí tomó
+     * (los co-inscritos también se suman). Vacío si la persona no tiene inscripciones.
+     */
+    public List<Recomendacion> recomendar(long personaId, int limite) {
+        int p = Arrays.binarySearch(idsPersona, personaId);
+        if (p < 0) {
+            return List.of();
+        }
+        int desde = inicioCursos[p];
+        int hasta = inicioCursos[p + 1];
+        Map<Integer, Acumulado> candidatos = new HashMap<>();
+        for (int i = desde; i < hasta; i++) {
+            int a = cursosDe[i];
+            for (int j = a * k; j < a * k + cantidadVecinos[a]; j++) {
+                if (Arrays.binarySearch(cursosDe, desde, hasta, vecinos[j]) < 0) {
+                    Acumulado acumulado = candidatos.computeIfAbsent(vecinos[j], b -> new Acumulado());
+                    acumulado.puntaje += puntajes[j];
+                    acumulado.coinscritos += coinscritos[j];
+                }
+            }
+        }
+
+        List<Map.Entry<Integer, Acumulado>> ordenados = new ArrayList<>(candidatos.entrySet());
+        ordenados.sort((x, y) -> x.getValue().puntaje != y.getValue().puntaje
+                ? Double.compare(y.getValue().puntaje, x.getValue().puntaje)
+                : Integer.compare(x.getKey(), y.getKey()));
+        List<Recomendacion> resultado = new ArrayList<>(Math.min(limite, ordenados.size()));
+        for (int i = 0; i < ordenados.size() && i < limite; i++) {
+            Map.Entry<Integer, Acumulado> candidato = ordenados.get(i);
+            resultado.add(new Recomendacion(idsCurso[candidato.getKey()], candidato.getValue().puntaje,
+                    candidato.getValue().coinscritos));
+        }
+        return resultado;
+    }
+
+    public int cantidadCursos() {
+        return idsCurso.length;
+    }
+
+    public int cantidadPersonas() {
+        return idsPersona.length;
+    }
+
+    // Pares (persona, curso) distintos
+    public int cantidadPares() {
+        return cursosDe.length;
+    }
+
+    public int vecinosPorCurso() {
+        return k;
+    }
+
+    // Métodos privados
+
+    private static long[] distintos(long[] valores, int cantidad) {
+        long[] ordenados = Arrays.copyOf(valores, cantidad);
+        Arrays.parallelSort(ordenados);
+        int m = 0;
+        for (int i = 0; i < cantidad; i++) {
+            if (m == 0 || ordenados[i] != ordenados[m - 1]) {
+                ordenados[m++] = ordenados[i];
+            }
+        }
+        return Arrays.copyOf(ordenados, m);
+    }
+
+    // Un curso es mejor que otro por puntaje y, a igual puntaje, por menor índice (menor ID)
+    private static boolean mejor(float puntaje, int curso, float otroPuntaje, int otroCurso) {
+        return puntaje > otroPuntaje || (puntaje == otroPuntaje && curso < otroCurso);
+    }
+
+    /**
+     * Puntaje y co-inscritos de un curso recomendado
+     */
+    public record Recomendacion(long cursoId, double puntaje, int coinscritos) {
+    }
+
+    private static final class Acumulado {
+        private double puntaje;
+        private int coinscritos;
+    }
+
+    /**
+     * Vecinos de un rango de cursos; divide el rango hasta el tramo y cada hoja usa sus propios arreglos
+     */
+    private final class CalcularVecinos extends RecursiveAction {
+
+        private final int desde;
+        private final int hasta;
+        private final int tramo;
+
+        CalcularVecinos(int desde, int hasta, int tramo) {
+            this.desde = desde;
+            this.hasta = hasta;
+            this.tramo = tramo;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde > tramo) {
+                int mitad = (desde + hasta) >>> 1;
+                invokeAll(new CalcularVecinos(desde, mitad, tramo), new CalcularVecinos(mitad, hasta, tramo));
+                return;
+            }
+            int[] conteo = new int[idsCurso.length];
+            int[] tocados = new int[idsCurso.length];
+            // Montículo de mínimos con los K mejores: en la raíz el peor de ellos
+            int[] monticulo = new int[k];
+            float[] puntajeMonticulo = new float[k];
+            int[] coMonticulo = new int[k];
+            for (int a = desde; a < hasta; a++) {
+                int cantidadTocados = 0;
+                for (int i = inicioPersonas[a]; i < inicioPersonas[a + 1]; i++) {
+                    int p = personasDe[i];
+                    for (int j = inicioCursos[p]; j < inicioCursos[p + 1]; j++) {
+                        int b = cursosDe[j];
+                        if (b != a && conteo[b]++ == 0) {
+                            tocados[cantidadTocados++] = b;
+                        }
+                    }
+                }
+
+                double personasA = inicioPersonas[a + 1] - inicioPersonas[a];
+                int enMonticulo = 0;
+                for (int t = 0; t < cantidadTocados; t++) {
+                    int b = tocados[t];
+                    int co = conteo[b];
+                    conteo[b] = 0;
+                    if (co < MINIMO_COINSCRITOS) {
+                        continue;
+                    }
+                    float puntaje = (float) (co / Math.sqrt(personasA * (inicioPersonas[b + 1] - inicioPersonas[b])));
+                    if (enMonticulo < k) {
+                        monticulo[enMonticulo] = b;
+                        puntajeMonticulo[enMonticulo] = puntaje;
+                        coMonticulo[enMonticulo] = co;
+                        subir(monticulo, puntajeMonticulo, coMonticulo, enMonticulo++);
+                    } else if (mejor(puntaje, b, puntajeMonticulo[0], monticulo[0])) {
+                        monticulo[0] = b;
+                        puntajeMonticulo[0] = puntaje;
+                        coMonticulo[0] = co;
+                        bajar(monticulo, puntajeMonticulo, coMonticulo, enMonticulo);
+                    }
+                }
+
+                // Sacar del montículo deja los vecinos del peor al mejor: se escriben desde el final
+                cantidadVecinos[a] = enMonticulo;
+                for (int j = a * k + enMonticulo - 1; enMonticulo > 0; j--) {
+                    vecinos[j] = monticulo[0];
+                    puntajes[j] = puntajeMonticulo[0];
+                    coinscritos[j] = coMonticulo[0];
+                    enMonticulo--;
+                    intercambiar(monticulo, puntajeMonticulo, coMonticulo, 0, enMonticulo);
+                    bajar(monticulo, puntajeMonticulo, coMonticulo, enMonticulo);
+                }
+            }
+        }
+
+        private void subir(int[] cursos, float[] puntaje, int[] co, int i) {
+            while (i > 0) {
+                int padre = (i - 1) / 2;
+                if (!mejor(puntaje[padre], cursos[padre], puntaje[i], cursos[i])) {
+                    return;
+                }
+                intercambiar(cursos, puntaje, co, i, padre);
+                i = padre;
+            }
+        }
+
+        private void bajar(int[] cursos, float[] puntaje, int[] co, int tamano) {
+            int i = 0;
+            while (true) {
+                int peor = i;
+                for (int hijo = 2 * i + 1; hijo <= 2 * i + 2 && hijo < tamano; hijo++) {
+                    if (mejor(puntaje[peor], cursos[peor], puntaje[hijo], cursos[hijo])) {
+                        peor = hijo;
+                    }
+                }
+                if (peor == i) {
+                    return;
+                }
+                intercambiar(cursos, puntaje, co, i, peor);
+                i = peor;
+            }
+        }
+
+        private void intercambiar(int[] cursos, float[] puntaje, int[] co, int i, int j) {
+            int curso = cursos[i];
+            cursos[i] = cursos[j];
+            cursos[j] = curso;
+            float p = puntaje[i];
+            puntaje[i] = puntaje[j];
+            puntaje[j] = p;
+            int c = co[i];
+            co[i] = co[j];
+            co[j] = c;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.edutech.util;
+
+//Importaciones Java
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalización de texto en español para los índices de búsqueda en memoria.
+ *
+ * plegar() quita tildes y pasa a minúsculas ("Programación" → "programacion"), palabras()
+ * separa en palabras sin las vacías ("de", "la", ...) y raiz() aplica un recorte liviano
+ * de sufijos (plurales, género y algunos derivativos) para que "programación", "programas"
+ * y "programar" caigan en la misma raíz. Es deliberadamente conservador: prefiere no unir
+ * dos palabras a unir palabras distintas.
+ */
+public final class TextoBusqueda {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> VACIAS = Set.of(
+            "a", "al", "con", "de", "del", "e", "el", "en", "la", "las", "lo", "los",
+            "o", "para", "por", "se", "su", "sus", "u", "un", "una", "y");
+    // De más largo a más corto, para recortar el sufijo más específico
+    private static final String[] SUFIJOS = {
+            "amientos", "imientos", "aciones", "uciones", "amiento", "imiento", "idades",
+            "acion", "ucion", "mente", "ismos", "istas", "ables", "ibles", "idad", "ismo",
+            "ista", "able", "ible"};
+    private static final int LARGO_MINIMO_RAIZ = 3;
+
+    private TextoBusqueda() {
+    }
+
+    /**
+     * Quitar tildes y pasar a minúsculas (null se trata como texto vacío)
+     */
+    public static String plegar(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            return "";
+        }
+        return MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("").toLowerCase();
+    }
+
+    /**
+     * Palabras plegadas del texto, en orden y sin palabras vacías
+     */
+    public static List<String> palabras(String texto) {
+        List<String> palabras = new ArrayList<>();
+        for (String palabra : SEPARADOR.split(plegar(texto))) {
+            if (!palabra.isEmpty() && !VACIAS.contains(palabra)) {
+                palabras.add(palabra);
+            }
+        }
+        return palabras;
+    }
+
+    /**
+     * Raíz de una palabra ya plegada. Las palabras con dígitos no se recortan (códigos).
+     */
+    public static String raiz(String palabra) {
+        if (palabra.length() <= LARGO_MINIMO_RAIZ || contieneDigito(palabra)) {
+            return palabra;
+        }
+        String raiz = palabra;
+        for (String sufijo : SUFIJOS) {
+            if (raiz.endsWith(sufijo) && raiz.length() - sufijo.length() >= LARGO_MINIMO_RAIZ + 1) {
+                raiz = raiz.substring(0, raiz.length() - sufijo.length());
+                break;
+            }
+        }
+        // Plural ("luces" → "luz", "clases" → "clase") y después vocal final de género o número
+        if (raiz.endsWith("ces") && raiz.length() > LARGO_MINIMO_RAIZ + 2) {
+            raiz = raiz.substring(0, raiz.length() - 3) + "z";
+        } else if (raiz.endsWith("s") && raiz.length() > LARGO_MINIMO_RAIZ + 1) {
+            raiz = raiz.substring(0, raiz.length() - 1);
+        }
+        // Infinitivos: "programar" → "program"
+        if ((raiz.endsWith("ar") || raiz.endsWith("er") || raiz.endsWith("ir")) && raiz.length() > LARGO_MINIMO_RAIZ + 2) {
+            raiz = raiz.substring(0, raiz.length() - 2);
+        }
+        if ((raiz.endsWith("a") || raiz.endsWith("e") || raiz.endsWith("o")) && raiz.length() > LARGO_MINIMO_RAIZ) {
+            raiz = raiz.substring(0, raiz.length() - 1);
+        }
+        return raiz;
+    }
+
+    // Métodos privados
+
+    private static boolean contieneDigito(String palabra) {
+        for (int i = 0; i < palabra.length(); i++) {
+            if (Character.isDigit(palabra.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
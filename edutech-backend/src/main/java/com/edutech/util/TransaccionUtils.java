@@ -0,0 +1,79 @@
+package com.edutech.util;
+
+//Importaciones Spring
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utilidades para sincronizar estructuras en memoria con la transacción en curso.
+ * Si no hay transacción activa, la acción se ejecuta de inmediato.
+ */
+public final class TransaccionUtils {
+    
+    private TransaccionUtils() {
+    }
+    
+    /**
+     * Ejecutar una acción justo antes del commit (no se ejecuta si hay rollback)
+     */
+    public static void antesDelCommit(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+    
+    /**
+     * Ejecutar una acción después de un commit exitoso
+     */
+    public static void despuesDelCommit(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+    
+    /**
+     * Ejecutar una acción cuando la transacción en curso termine, confirmada o revertida
+     */
+    public static void alTerminar(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int estado) {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+    
+    /**
+     * Ejecutar una acción si la transacción en curso termina revertida
+     */
+    public static void siSeRevierte(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int estado) {
+                    if (estado != STATUS_COMMITTED) {
+                        accion.run();
+                    }
+                }
+            });
+        }
+    }
+}
@@ -4,21 +4,32 @@
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
+import com.edutech.dto.CursoRecomendado;
+import com.edutech.dto.FacetasCatalogo;
+import com.edutech.dto.FiltroCursos;
+import com.edutech.dto.MetricasCache;
+import com.edutech.dto.PrerrequisitosCurso;
 import com.edutech.model.Curso;
+import com.edutech.service.IdempotenciaService;
 import com.edutech.service.CursoService;
+import com.edutech.service.PrerrequisitoService;
+import com.edutech.service.RecomendacionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @WebMvcTest(CursoController.class)
+@Import(IdempotenciaService.class)
 public class CursoControllerTest {
 
     @Autowired
@@ -27,6 +38,12 @@ public class CursoControllerTest {
     @MockBean
     private CursoService cursoService;
 
+    @MockBean
+    private PrerrequisitoService prerrequisitoService;
+
+    @MockBean
+    private RecomendacionService recomendacionService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -151,6 +168,76 @@ public void testBuscarPorNombre() throws Exception {
                 .andExpect(jsonPath("$[0].nombre").value("Matemáticas Básica"));
     }
 
+    @Test
+    public void testObtenerFacetas() throws Exception {
+        FacetasCatalogo facetas = new FacetasCatalogo(List.of(curso), null, 1,
+                Map.of("PRESENCIAL", 1, "ONLINE", 3), Map.of("I", 1), Map.of(4, 1));
+        when(cursoService.obtenerFacetas(any(FiltroCursos.class))).thenReturn(facetas);
+
+        mockMvc.perform(get("/api/cursos/facetas").param("modalidad", "PRESENCIAL").param("creditosMin", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.modalidades.ONLINE").value(3))
+                .andExpect(jsonPath("$.cursos[0].codigo").value("EDU001"));
+        verify(cursoService).obtenerFacetas(argThat(filtro ->
+                filtro.getModalidad().equals(List.of("PRESENCIAL")) && filtro.getCreditosMin() == 3));
+    }
+
+    @Test
+    public void testObtenerRecomendados() throws Exception {
+        when(recomendacionService.recomendadosParaCurso(1L, 5)).thenReturn(List.of(new CursoRecomendado(curso, 0.75, 12)));
+        when(recomendacionService.recomendadosParaCurso(1L, 500)).thenThrow(new IllegalArgumentException("límite"));
+
+        mockMvc.perform(get("/api/cursos/1/recomendados").param("limite", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].curso.codigo").value("EDU001"))
+                .andExpect(jsonPath("$[0].puntaje").value(0.75))
+                .andExpect(jsonPath("$[0].coinscritos").value(12));
+        mockMvc.perform(get("/api/cursos/1/recomendados").param("limite", "500"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testPrerrequisitos() throws Exception {
+        when(prerrequisitoService.agregar(3L, 2L)).thenReturn(new PrerrequisitosCurso(3L, List.of(2L), List.of(2L, 1L)));
+        when(prerrequisitoService.agregar(1L, 3L)).thenThrow(new IllegalStateException("El prerrequisito formaría un ciclo"));
+        when(prerrequisitoService.faltantesDelEstudiante(7L, 3L)).thenReturn(List.of(1L));
+
+        mockMvc.perform(post("/api/cursos/3/prerrequisitos/2"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.todos.length()").value(2));
+        mockMvc.perform(post("/api/cursos/1/prerrequisitos/3"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/cursos/3/prerrequisitos/faltantes").param("estudianteId", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value(1));
+        mockMvc.perform(delete("/api/cursos/3/prerrequisitos/9"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testObtenerMetricasCache() throws Exception {
+        when(cursoService.obtenerMetricasCache()).thenReturn(new MetricasCache(3, 256, 300, 90, 10, 0, 2, 0.9));
+
+        mockMvc.perform(get("/api/cursos/cache/metricas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.aciertos").value(90))
+                .andExpect(jsonPath("$.tasaAciertos").value(0.9));
+    }
+
+    @Test
+    public void testBuscar() throws Exception {
+        when(cursoService.buscar("matematica", 5)).thenReturn(List.of(curso));
+        when(cursoService.buscar("matematica", 0)).thenThrow(new IllegalArgumentException("El límite debe estar entre 1 y 200"));
+
+        mockMvc.perform(get("/api/cursos/buscar").param("q", "matematica").param("limite", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nombre").value("Matemáticas Básica"));
+
+        mockMvc.perform(get("/api/cursos/buscar").param("q", "matematica").param("limite", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void testObtenerPorRangoDuracion() throws Exception {
         when(cursoService.obtenerPorRangoDuracion(30, 60)).thenReturn(List.of(curso));
@@ -4,9 +4,24 @@
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
+import com.edutech.dto.AsignacionEjecucion;
+import com.edutech.dto.ChoqueSala;
+import com.edutech.dto.DisponibilidadCupos;
+import com.edutech.dto.EjecucionOmitida;
+import com.edutech.dto.EjecucionResumen;
+import com.edutech.dto.PaginaEjecuciones;
+import com.edutech.dto.PlanificacionPeriodo;
+import com.edutech.dto.ReporteClonacion;
+import com.edutech.dto.SalaPlanificacion;
+import com.edutech.dto.SolicitudPlanificacion;
 import com.edutech.model.Ejecucion;
 import com.edutech.model.Curso;
+import com.edutech.model.RetencionCupo;
+import com.edutech.service.BusquedaEjecucionesService;
+import com.edutech.service.ClonacionPeriodoService;
 import com.edutech.service.EjecucionService;
+import com.edutech.service.PlanificacionPeriodoService;
+import com.edutech.service.RetencionCupoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,6 +44,18 @@ public class EjecucionControllerTest {
     @MockBean
     private EjecucionService ejecucionService;
 
+    @MockBean
+    private RetencionCupoService retencionCupoService;
+
+    @MockBean
+    private PlanificacionPeriodoService planificacionPeriodoService;
+
+    @MockBean
+    private ClonacionPeriodoService clonacionPeriodoService;
+
+    @MockBean
+    private BusquedaEjecucionesService busquedaEjecucionesService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -147,4 +174,120 @@ public void testEliminar_Error() throws Exception {
         mockMvc.perform(delete("/api/ejecuciones/999"))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testRetenerCupo() throws Exception {
+        RetencionCupo retencion = new RetencionCupo();
+        retencion.setId(7L);
+        when(retencionCupoService.retener(1L, 1L, 5)).thenReturn(retencion);
+
+        mockMvc.perform(post("/api/ejecuciones/1/retenciones")
+                        .param("estudianteId", "1")
+                        .param("minutos", "5"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.estado").value(RetencionCupo.ACTIVA));
+    }
+
+    @Test
+    public void testConfirmarRetencion_Expirada() throws Exception {
+        when(retencionCupoService.confirmar(7L)).thenThrow(new IllegalStateException("La retención expiró"));
+
+        mockMvc.perform(post("/api/ejecuciones/retenciones/7/confirmar"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testObtenerDisponibilidad() throws Exception {
+        when(ejecucionService.obtenerDisponibilidad(List.of(1L, 2L))).thenReturn(List.of(
+                new DisponibilidadCupos(1L, 30, 30, 0, false),
+                new DisponibilidadCupos(2L, 30, 12, 18, true)));
+
+        mockMvc.perform(get("/api/ejecuciones/cupos").param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].disponible").value(false))
+                .andExpect(jsonPath("$[1].cuposDisponibles").value(18));
+    }
+
+    @Test
+    public void testObtenerChoquesSala() throws Exception {
+        when(ejecucionService.obtenerChoquesSala("2024-1")).thenReturn(List.of(
+                new ChoqueSala("2024-1", "A-101", 1L, 2L, List.of("Lunes 09:00-10:00"))));
+
+        mockMvc.perform(get("/api/ejecuciones/periodos/2024-1/choques-sala"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].sala").value("A-101"))
+                .andExpect(jsonPath("$[0].otraEjecucionId").value(2))
+                .andExpect(jsonPath("$[0].franjas[0]").value("Lunes 09:00-10:00"));
+    }
+
+    @Test
+    public void testPlanificacion_PrevisualizarYAplicar() throws Exception {
+        SolicitudPlanificacion solicitud = new SolicitudPlanificacion(
+                List.of(new SalaPlanificacion("A-101", 40)), List.of(), List.of("Lunes 08:00-09:30"), null);
+        AsignacionEjecucion asignacion = new AsignacionEjecucion(1L, "A-101", 40, "Lunes 08:00-09:30", 5L);
+        when(planificacionPeriodoService.previsualizar(eq("2024-1"), any(SolicitudPlanificacion.class)))
+                .thenReturn(new PlanificacionPeriodo("2024-1", 1, 1, List.of(), false, 3, List.of(asignacion)));
+        when(planificacionPeriodoService.aplicar(eq("2024-1"), anyList())).thenReturn(1);
+
+        mockMvc.perform(post("/api/ejecuciones/periodos/2024-1/planificacion")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(solicitud)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.asignadas").value(1))
+                .andExpect(jsonPath("$.asignaciones[0].sala").value("A-101"));
+
+        mockMvc.perform(post("/api/ejecuciones/periodos/2024-1/planificacion/aplicar")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(asignacion))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(1));
+    }
+
+    @Test
+    public void testClonarPeriodo() throws Exception {
+        when(clonacionPeriodoService.clonar("2024-1", "2025-1", LocalDate.of(2025, 3, 3), true, false))
+                .thenReturn(new ReporteClonacion("2024-1", "2025-1", 2, 1,
+                        List.of(new EjecucionOmitida(7L, "Ya existe la sección A del curso en 2025-1"))));
+        when(clonacionPeriodoService.clonar(eq("2024-1"), eq("2024-1"), any(), anyBoolean(), anyBoolean()))
+                .thenThrow(new IllegalArgumentException("El período de destino debe ser distinto del de origen"));
+
+        mockMvc.perform(post("/api/ejecuciones/periodos/2024-1/clonar")
+                        .param("destino", "2025-1")
+                        .param("fechaInicio", "2025-03-03")
+                        .param("conservarSalas", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clonadas").value(1))
+                .andExpect(jsonPath("$.omitidas[0].ejecucionId").value(7));
+
+        mockMvc.perform(post("/api/ejecuciones/periodos/2024-1/clonar")
+                        .param("destino", "2024-1")
+                        .param("fechaInicio", "2025-03-03"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testBuscar() throws Exception {
+        EjecucionResumen resumen = new EjecucionResumen(3L, 1L, "INF101", "Programación", "PRESENCIAL", "2024-1", "A",
+                LocalDate.of(2024, 3, 1), LocalDate.of(2024, 7, 1), "Lunes 08:00-09:30", "A-101", 30, 10,
+                "EN_CURSO", null, null);
+        when(busquedaEjecucionesService.buscar(argThat(filtro -> filtro != null && "2024-1".equals(filtro.getPeriodo())
+                && "lunes".equals(filtro.getDia()) && Long.valueOf(2L).equals(filtro.getDespuesDe())
+                && LocalDate.of(2024, 4, 1).equals(filtro.getDesde()))))
+                .thenReturn(new PaginaEjecuciones(List.of(resumen), 3L));
+        when(busquedaEjecucionesService.buscar(argThat(filtro -> filtro != null && Integer.valueOf(0).equals(filtro.getLimite()))))
+                .thenThrow(new IllegalArgumentException("El límite debe estar entre 1 y 200"));
+
+        mockMvc.perform(get("/api/ejecuciones/buscar")
+                        .param("periodo", "2024-1")
+                        .param("dia", "lunes")
+                        .param("desde", "2024-04-01")
+                        .param("despuesDe", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ejecuciones[0].cursoCodigo").value("INF101"))
+                .andExpect(jsonPath("$.siguiente").value(3));
+
+        mockMvc.perform(get("/api/ejecuciones/buscar").param("limite", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -4,17 +4,31 @@
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
+import com.edutech.dto.ChoqueHorario;
+import com.edutech.dto.ReporteCarrito;
+import com.edutech.dto.ReporteInscripcionLote;
+import com.edutech.dto.ResultadoInscripcionLote;
+import com.edutech.dto.ResultadoItemCarrito;
+import com.edutech.dto.TicketInscripcion;
 import com.edutech.model.Inscripcion;
+import com.edutech.model.ListaEspera;
 import com.edutech.model.Persona;
 import com.edutech.model.Ejecucion;
 import com.edutech.model.Curso;
 import com.edutech.model.TipoPersona;
+import com.edutech.service.CarritoInscripcionService;
+import com.edutech.service.ChoqueHorarioService;
+import com.edutech.service.ColaAdmisionService;
+import com.edutech.service.InscripcionLoteService;
+import com.edutech.service.IdempotenciaService;
 import com.edutech.service.InscripcionService;
+import com.edutech.service.ListaEsperaService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
@@ -22,6 +36,7 @@
 import java.util.Optional;
 
 @WebMvcTest(InscripcionController.class)
+@Import(IdempotenciaService.class)
 public class InscripcionControllerTest {
 
     @Autowired
@@ -30,6 +45,21 @@ public class InscripcionControllerTest {
     @MockBean
     private InscripcionService inscripcionService;
 
+    @MockBean
+    private ColaAdmisionService colaAdmisionService;
+
+    @MockBean
+    private InscripcionLoteService inscripcionLoteService;
+
+    @MockBean
+    private ListaEsperaService listaEsperaService;
+
+    @MockBean
+    private CarritoInscripcionService carritoInscripcionService;
+
+    @MockBean
+    private ChoqueHorarioService choqueHorarioService;
+
     private Inscripcion inscripcion;
 
     @BeforeEach
@@ -57,6 +87,9 @@ void setUp() {
         ejecucion.setCurso(curso);
         ejecucion.setSeccion("A");
         ejecucion.setPeriodo("2024-1");
+        // Con capacidad, así getCuposDisponibles() se puede serializar
+        ejecucion.setCapacidadMaxima(30);
+        ejecucion.setInscritosActuales(1);
         
         // Crear inscripción de ejemplo
         inscripcion = new Inscripcion();
@@ -117,6 +150,161 @@ public void testInscribir_Error() throws Exception {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    public void testInscribir_ReintentoConMismaClave() throws Exception {
+        when(inscripcionService.inscribir(1L, 1L))
+                .thenThrow(new IllegalStateException("No hay cupos disponibles en esta ejecución"));
+
+        mockMvc.perform(post("/api/inscripciones/inscribir")
+                        .header(IdempotenciaService.ENCABEZADO, "clave-1")
+                        .param("estudianteId", "1")
+                        .param("ejecucionId", "1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/inscripciones/inscribir")
+                        .header(IdempotenciaService.ENCABEZADO, "clave-1")
+                        .param("estudianteId", "1")
+                        .param("ejecucionId", "1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().string(IdempotenciaService.ENCABEZADO_REPETIDA, "true"));
+
+        verify(inscripcionService, times(1)).inscribir(1L, 1L);
+    }
+
+    @Test
+    public void testInscribir_MismaClaveOtroEstudiante() throws Exception {
+        when(inscripcionService.inscribir(1L, 1L)).thenReturn(inscripcion);
+
+        mockMvc.perform(post("/api/inscripciones/inscribir")
+                        .header(IdempotenciaService.ENCABEZADO, "clave-2")
+                        .param("estudianteId", "1")
+                        .param("ejecucionId", "1"))
+                .andExpect(status().isCreated());
+
+        // Otro estudiante con la misma clave no inscribe de nuevo ni recibe la respuesta guardada
+        mockMvc.perform(post("/api/inscripciones/inscribir")
+                        .header(IdempotenciaService.ENCABEZADO, "clave-2")
+                        .param("estudianteId", "2")
+                        .param("ejecucionId", "1"))
+                .andExpect(status().isUnprocessableEntity());
+
+        verify(inscripcionService, times(1)).inscribir(anyLong(), anyLong());
+    }
+
+    @Test
+    public void testInscribir_ModoAdmision() throws Exception {
+        TicketInscripcion ticket = new TicketInscripcion("abc-123", 1L, 1L);
+        when(colaAdmisionService.estaHabilitada()).thenReturn(true);
+        when(colaAdmisionService.encolar(1L, 1L)).thenReturn(Optional.of(ticket));
+
+        mockMvc.perform(post("/api/inscripciones/inscribir")
+                        .param("estudianteId", "1")
+                        .param("ejecucionId", "1"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/inscripciones/tickets/abc-123"))
+                .andExpect(jsonPath("$.id").value("abc-123"))
+                .andExpect(jsonPath("$.estado").value("EN_COLA"));
+
+        verify(inscripcionService, never()).inscribir(any(), any());
+    }
+
+    @Test
+    public void testInscribir_ModoAdmisionColaLlena() throws Exception {
+        when(colaAdmisionService.estaHabilitada()).thenReturn(true);
+        when(colaAdmisionService.encolar(1L, 1L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/api/inscripciones/inscribir")
+                        .param("estudianteId", "1")
+                        .param("ejecucionId", "1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"));
+    }
+
+    @Test
+    public void testInscribirLote() throws Exception {
+        ReporteInscripcionLote reporte = new ReporteInscripcionLote(2, 1, 1, List.of(
+                new ResultadoInscripcionLote(0, 1L, 1L, ResultadoInscripcionLote.INSCRITO, null),
+                new ResultadoInscripcionLote(1, 2L, 1L, ResultadoInscripcionLote.RECHAZADO, "Estudiante no encontrado")));
+        when(inscripcionLoteService.inscribirLote(anyList())).thenReturn(reporte);
+
+        mockMvc.perform(post("/api/inscripciones/lote")
+                        .contentType("application/json")
+                        .content("[{\"estudianteId\":1,\"ejecucionId\":1},{\"estudianteId\":2,\"ejecucionId\":1}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inscritos").value(1))
+                .andExpect(jsonPath("$.resultados[1].motivo").value("Estudiante no encontrado"));
+    }
+
+    @Test
+    public void testInscribirCarrito_Rechazado() throws Exception {
+        ReporteCarrito reporte = new ReporteCarrito(1L, false, List.of(
+                new ResultadoItemCarrito(2L, ResultadoItemCarrito.SIN_APLICAR, "No se aplicó", null),
+                new ResultadoItemCarrito(1L, ResultadoItemCarrito.RECHAZADO, "No hay cupos disponibles en esta ejecución", null)));
+        when(carritoInscripcionService.inscribirCarrito(1L, List.of(2L, 1L))).thenReturn(reporte);
+
+        mockMvc.perform(post("/api/inscripciones/carrito")
+                        .contentType("application/json")
+                        .content("{\"estudianteId\":1,\"ejecucionIds\":[2,1]}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.completado").value(false))
+                .andExpect(jsonPath("$.resultados[1].estado").value(ResultadoItemCarrito.RECHAZADO));
+    }
+
+    @Test
+    public void testVerificarChoquesHorario() throws Exception {
+        when(choqueHorarioService.verificarChoques(1L, List.of(2L, 3L))).thenReturn(List.of(
+                new ChoqueHorario(2L, true, List.of(5L), List.of("Lunes 08:00-10:00")),
+                new ChoqueHorario(3L, false, List.of(), List.of("Martes 08:00-10:00"))));
+
+        mockMvc.perform(get("/api/inscripciones/estudiante/1/choques-horario")
+                        .param("ejecucionIds", "2", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].choca").value(true))
+                .andExpect(jsonPath("$[0].ejecucionesEnConflicto[0]").value(5))
+                .andExpect(jsonPath("$[1].choca").value(false));
+    }
+
+    @Test
+    public void testInscribirEnListaEspera() throws Exception {
+        ListaEspera entrada = new ListaEspera();
+        entrada.setId(1L);
+        entrada.setEstado(ListaEspera.EN_ESPERA);
+        when(listaEsperaService.inscribirEnLista(1L, 1L)).thenReturn(entrada);
+
+        mockMvc.perform(post("/api/inscripciones/lista-espera")
+                        .param("estudianteId", "1")
+                        .param("ejecucionId", "1"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.estado").value(ListaEspera.EN_ESPERA));
+    }
+
+    @Test
+    public void testInscribirEnListaEspera_ConCupos() throws Exception {
+        when(listaEsperaService.inscribirEnLista(1L, 1L))
+                .thenThrow(new IllegalStateException("La ejecución tiene cupos disponibles"));
+
+        mockMvc.perform(post("/api/inscripciones/lista-espera")
+                        .param("estudianteId", "1")
+                        .param("ejecucionId", "1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testObtenerPosicionListaEspera() throws Exception {
+        when(listaEsperaService.obtenerPosicion(1L, 1L)).thenReturn(Optional.of(3L));
+
+        mockMvc.perform(get("/api/inscripciones/lista-espera/estudiante/1/ejecucion/1/posicion"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("3"));
+    }
+
+    @Test
+    public void testObtenerTicket_NoExiste() throws Exception {
+        when(colaAdmisionService.obtenerTicket("zzz")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/inscripciones/tickets/zzz"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     public void testEliminar_Exitoso() throws Exception {
         when(inscripcionService.eliminar(1L)).thenReturn(true);
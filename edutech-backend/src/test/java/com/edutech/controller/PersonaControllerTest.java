@@ -4,15 +4,24 @@
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
+import com.edutech.dto.CargaPeriodo;
+import com.edutech.dto.CargaProfesor;
+import com.edutech.dto.CursoRecomendado;
+import com.edutech.dto.PaginaPersonas;
+import com.edutech.model.Curso;
 import com.edutech.model.Persona;
 import com.edutech.model.TipoPersona;
+import com.edutech.service.CargaProfesoresService;
+import com.edutech.service.IdempotenciaService;
 import com.edutech.service.PersonaService;
+import com.edutech.service.RecomendacionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -21,6 +30,7 @@
 import java.util.Optional;
 
 @WebMvcTest(PersonaController.class)
+@Import(IdempotenciaService.class)
 public class PersonaControllerTest {
 
     @Autowired
@@ -29,6 +39,12 @@ public class PersonaControllerTest {
     @MockBean
     private PersonaService personaService;
 
+    @MockBean
+    private CargaProfesoresService cargaProfesoresService;
+
+    @MockBean
+    private RecomendacionService recomendacionService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -119,6 +135,43 @@ public void testCrearPersona_Error() throws Exception {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    public void testCrearPersona_ReintentoConMismaClave() throws Exception {
+        when(personaService.crear(any(Persona.class))).thenReturn(persona);
+
+        for (int intento = 0; intento < 2; intento++) {
+            mockMvc.perform(post("/api/personas")
+                            .header(IdempotenciaService.ENCABEZADO, "clave-persona-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(persona)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.id").value(1));
+        }
+
+        // El reintento recibe la respuesta guardada sin volver a crear la persona
+        verify(personaService, times(1)).crear(any(Persona.class));
+    }
+
+    @Test
+    public void testCrearPersona_MismaClaveOtroCuerpo() throws Exception {
+        when(personaService.crear(any(Persona.class))).thenReturn(persona);
+
+        mockMvc.perform(post("/api/personas")
+                        .header(IdempotenciaService.ENCABEZADO, "clave-persona-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(persona)))
+                .andExpect(status().isCreated());
+
+        // Otra persona con la misma clave no recibe la respuesta guardada
+        persona.setRut("11.111.111-1");
+        mockMvc.perform(post("/api/personas")
+                        .header(IdempotenciaService.ENCABEZADO, "clave-persona-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(persona)))
+                .andExpect(status().isUnprocessableEntity());
+        verify(personaService, times(1)).crear(any(Persona.class));
+    }
+
     @Test
     public void testActualizarPersona_Exitoso() throws Exception {
         when(personaService.actualizar(eq(1L), any(Persona.class))).thenReturn(Optional.of(persona));
@@ -169,6 +222,19 @@ public void testBuscarPorNombreOApellido() throws Exception {
                 .andExpect(jsonPath("$[0].nombres").value("Juan Carlos"));
     }
 
+    @Test
+    public void testBuscarPaginado() throws Exception {
+        when(personaService.buscar("gonzalez", 1, 10)).thenReturn(new PaginaPersonas(List.of(persona), 11, 1, 10));
+        when(personaService.buscar("gonzalez", 0, 500)).thenThrow(new IllegalArgumentException("tamaño"));
+
+        mockMvc.perform(get("/api/personas/buscar").param("q", "gonzalez").param("pagina", "1").param("tamano", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.personas[0].nombres").value("Juan Carlos"))
+                .andExpect(jsonPath("$.total").value(11));
+        mockMvc.perform(get("/api/personas/buscar").param("q", "gonzalez").param("tamano", "500"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void testObtenerEstudiantes() throws Exception {
         when(personaService.obtenerEstudiantes()).thenReturn(List.of(persona));
@@ -178,6 +244,31 @@ public void testObtenerEstudiantes() throws Exception {
                 .andExpect(jsonPath("$[0].tipoPersona.nombre").value("ESTUDIANTE"));
     }
 
+    @Test
+    public void testObtenerCarga() throws Exception {
+        when(cargaProfesoresService.obtenerCarga(1L)).thenReturn(new CargaProfesor(1L, 2, 136, List.of(
+                new CargaPeriodo("2024-1", 2, 136, 480, List.of("Lunes 08:00-12:00", "Miércoles 08:00-12:00")))));
+
+        mockMvc.perform(get("/api/personas/1/carga"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.horas").value(136))
+                .andExpect(jsonPath("$.periodos[0].periodo").value("2024-1"))
+                .andExpect(jsonPath("$.periodos[0].minutosSemanales").value(480));
+    }
+
+    @Test
+    public void testObtenerRecomendaciones() throws Exception {
+        Curso curso = new Curso();
+        curso.setId(7L);
+        curso.setCodigo("INF-201");
+        when(recomendacionService.recomendadosParaPersona(1L, 10)).thenReturn(List.of(new CursoRecomendado(curso, 1.5, 30)));
+
+        mockMvc.perform(get("/api/personas/1/recomendaciones"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].curso.codigo").value("INF-201"))
+                .andExpect(jsonPath("$[0].puntaje").value(1.5));
+    }
+
     @Test
     public void testExistePorRut_Existe() throws Exception {
         when(personaService.existePorRut("12.345.678-9")).thenReturn(true);
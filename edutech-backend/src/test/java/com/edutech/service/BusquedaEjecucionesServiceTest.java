@@ -0,0 +1,149 @@
+package com.edutech.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.edutech.dto.EjecucionResumen;
+import com.edutech.dto.FiltroEjecuciones;
+import com.edutech.dto.PaginaEjecuciones;
+import com.edutech.model.Curso;
+import com.edutech.model.Ejecucion;
+import com.edutech.repository.CursoRepository;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.MigracionDatosRepository;
+import com.edutech.util.HorarioSemanal;
+
+/**
+ * Pruebas de la búsqueda de ejecuciones contra la base H2 real.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class BusquedaEjecucionesServiceTest {
+
+    @Autowired
+    private BusquedaEjecucionesService busquedaEjecucionesService;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private EjecucionRepository ejecucionRepository;
+
+    @Autowired
+    private MigracionDatosRepository migracionDatosRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testBuscar_CombinaFiltros() {
+        LocalDate hoy = LocalDate.now();
+        Ejecucion lunesPresencial = crearEjecucion("BU001", "PRESENCIAL", "BUSQ-1", "Lunes 08:00-09:30", hoy, 30, 10);
+        crearEjecucion("BU002", "ONLINE", "BUSQ-1", "Lunes 10:00-11:30", hoy, 30, 10);
+        crearEjecucion("BU003", "PRESENCIAL", "BUSQ-1", "Martes 08:00-09:30", hoy, 30, 10);
+        crearEjecucion("BU004", "PRESENCIAL", "BUSQ-1", "Lu, Ju 14:00-15:30", hoy, 30, 30);
+        crearEjecucion("BU005", "PRESENCIAL", "BUSQ-1", "Lunes 08:00-09:30", hoy.plusDays(200), 30, 0);
+
+        FiltroEjecuciones filtro = new FiltroEjecuciones();
+        filtro.setPeriodo("BUSQ-1");
+        filtro.setModalidad("presencial");
+        filtro.setDia("lunes");
+        filtro.setCuposMinimos(1);
+        filtro.setHasta(hoy.plusDays(100));
+
+        PaginaEjecuciones pagina = busquedaEjecucionesService.buscar(filtro);
+
+        assertEquals(1, pagina.getEjecuciones().size());
+        EjecucionResumen resumen = pagina.getEjecuciones().get(0);
+        assertEquals(lunesPresencial.getId(), resumen.getId());
+        assertEquals("BU001", resumen.getCursoCodigo());
+        assertEquals(20, resumen.getCuposDisponibles());
+        assertNull(pagina.getSiguiente());
+    }
+
+    @Test
+    void testBuscar_PaginacionPorClave() {
+        LocalDate hoy = LocalDate.now();
+        List<Long> creadas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            creadas.add(crearEjecucion("BU01" + i, "ONLINE", "BUSQ-2", null, hoy, 20, 0).getId());
+        }
+
+        FiltroEjecuciones filtro = new FiltroEjecuciones();
+        filtro.setPeriodo("BUSQ-2");
+        filtro.setLimite(2);
+        List<Long> recorridas = new ArrayList<>();
+        PaginaEjecuciones pagina;
+        do {
+            pagina = busquedaEjecucionesService.buscar(filtro);
+            pagina.getEjecuciones().forEach(resumen -> recorridas.add(resumen.getId()));
+            filtro.setDespuesDe(pagina.getSiguiente());
+        } while (pagina.getSiguiente() != null);
+
+        assertEquals(creadas, recorridas);
+    }
+
+    @Test
+    void testBuscar_FiltrosInvalidos() {
+        FiltroEjecuciones limite = new FiltroEjecuciones();
+        limite.setLimite(BusquedaEjecucionesService.LIMITE_MAXIMO + 1);
+        assertThrows(IllegalArgumentException.class, () -> busquedaEjecucionesService.buscar(limite));
+
+        FiltroEjecuciones dia = new FiltroEjecuciones();
+        dia.setDia("Feriado");
+        assertThrows(IllegalArgumentException.class, () -> busquedaEjecucionesService.buscar(dia));
+    }
+
+    @Test
+    void testIniciar_CompletaDiasSemanaUnaSolaVez() {
+        // Al iniciar la aplicación la corrección ya quedó registrada
+        assertTrue(migracionDatosRepository.existsById("completar_dias_semana"));
+
+        Long id = crearEjecucion("BU031", "ONLINE", "BUSQ-3", "Miércoles 10:00-11:30", LocalDate.now(), 20, 0).getId();
+        jdbcTemplate.update("UPDATE ejecuciones SET dias_semana = NULL WHERE id = ?", id);
+        busquedaEjecucionesService.iniciar();
+        assertNull(ejecucionRepository.findById(id).orElseThrow().getDiasSemana());
+
+        // Sin el registro vuelve a correr
+        migracionDatosRepository.deleteById("completar_dias_semana");
+        busquedaEjecucionesService.iniciar();
+        assertEquals(HorarioSemanal.parsearOVacio("Miércoles 10:00-11:30").dias(),
+                ejecucionRepository.findById(id).orElseThrow().getDiasSemana());
+        assertTrue(migracionDatosRepository.existsById("completar_dias_semana"));
+    }
+
+    // ===== MÉTODOS AUXILIARES PARA CREAR OBJETOS DE PRUEBA =====
+
+    private Ejecucion crearEjecucion(String codigo, String modalidad, String periodo, String horario,
+                                     LocalDate inicio, int capacidad, int inscritos) {
+        Curso curso = new Curso();
+        curso.setCodigo(codigo);
+        curso.setNombre("Curso " + codigo);
+        curso.setCreditos(4);
+        curso.setHorasTeoricas(2);
+        curso.setHorasPracticas(2);
+        curso.setTotalHoras(4);
+        curso.setCiclo("I");
+        curso.setModalidad(modalidad);
+        curso = cursoRepository.save(curso);
+
+        Ejecucion ejecucion = new Ejecucion();
+        ejecucion.setCurso(curso);
+        ejecucion.setPeriodo(periodo);
+        ejecucion.setSeccion("A");
+        ejecucion.setFechaInicio(inicio);
+        ejecucion.setFechaFin(inicio.plusDays(90));
+        ejecucion.setCapacidadMaxima(capacidad);
+        ejecucion.setInscritosActuales(inscritos);
+        ejecucion.setHorario(horario);
+        ejecucion.setEstado(Ejecucion.PROGRAMADA);
+        return ejecucionRepository.save(ejecucion);
+    }
+}
@@ -0,0 +1,78 @@
+package com.edutech.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import com.edutech.model.Curso;
+import com.edutech.model.Ejecucion;
+import com.edutech.model.Persona;
+import com.edutech.repository.EjecucionRepository;
+
+/**
+ * Pruebas del calendario de ejecuciones en memoria contra la base H2 real.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@Import(DatosPrueba.class)
+class CalendarioEjecucionesServiceTest {
+
+    @Autowired
+    private CalendarioEjecucionesService calendarioEjecucionesService;
+
+    @Autowired
+    private CursoService cursoService;
+
+    @Autowired
+    private PersonaService personaService;
+
+    @Autowired
+    private EjecucionRepository ejecucionRepository;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @AfterEach
+    void limpiar() {
+        datos.limpiar();
+    }
+
+    @Test
+    void testCalendario_SigueLosCambiosDelCursoYDelProfesor() {
+        Ejecucion ejecucion = datos.crearEjecucion("CA001", 10);
+        Persona profesor = datos.crearEstudiantes("CA", 1).get(0);
+        ejecucion.setProfesor(profesor);
+        ejecucionRepository.save(ejecucion);
+        calendarioEjecucionesService.recargar();
+        assertEquals("Curso CA001", activa(ejecucion).getCurso().getNombre());
+
+        Curso cambiosCurso = new Curso();
+        cambiosCurso.setNombre("Curso CA001 renombrado");
+        cambiosCurso.setHorasTeoricas(2);
+        cambiosCurso.setHorasPracticas(2);
+        cursoService.actualizar(ejecucion.getCurso().getId(), cambiosCurso);
+        assertEquals("Curso CA001 renombrado", activa(ejecucion).getCurso().getNombre());
+
+        Persona cambiosProfesor = new Persona();
+        cambiosProfesor.setRut(profesor.getRut());
+        cambiosProfesor.setNombres("Profesora Renombrada");
+        cambiosProfesor.setApellidos("Prueba Datos");
+        cambiosProfesor.setEmail(profesor.getCorreo());
+        cambiosProfesor.setTipoPersona(profesor.getTipoPersona());
+        cambiosProfesor.setActivo(true);
+        personaService.actualizar(profesor.getId(), cambiosProfesor);
+        assertEquals("Profesora Renombrada", activa(ejecucion).getProfesor().getNombres());
+    }
+
+    // ===== MÉTODOS AUXILIARES =====
+
+    private Ejecucion activa(Ejecucion ejecucion) {
+        return calendarioEjecucionesService.obtenerActivas().stream()
+                .filter(e -> e.getId().equals(ejecucion.getId()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,212 @@
+package com.edutech.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.edutech.dto.CargaProfesor;
+import com.edutech.model.Curso;
+import com.edutech.model.Ejecucion;
+import com.edutech.model.Persona;
+import com.edutech.model.TipoPersona;
+import com.edutech.repository.CursoRepository;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.PersonaRepository;
+import com.edutech.repository.TipoPersonaRepository;
+
+/**
+ * Pruebas de carga docente contra la base H2 real.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class CargaProfesoresServiceTest {
+
+    @Autowired
+    private CargaProfesoresService cargaProfesoresService;
+
+    @Autowired
+    private EjecucionService ejecucionService;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private PersonaRepository personaRepository;
+
+    @Autowired
+    private TipoPersonaRepository tipoPersonaRepository;
+
+    @Autowired
+    private EjecucionRepository ejecucionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testAsignar_RechazaChoqueYMantieneCarga() {
+        Persona profesor = crearProfesor("A");
+        Persona otroProfesor = crearProfesor("B");
+
+        Ejecucion primera = ejecucionService.crear(nuevaEjecucion("CP001", 64, profesor, "Lunes 08:00-10:00"));
+        ejecucionService.crear(nuevaEjecucion("CP002", 48, profesor, "Martes 08:00-10:00"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> ejecucionService.crear(nuevaEjecucion("CP003", 32, profesor, "Lun 09:00-11:00")));
+        Ejecucion tercera = ejecucionService.crear(nuevaEjecucion("CP003", 32, otroProfesor, "Lun 09:00-11:00"));
+
+        CargaProfesor carga = cargaProfesoresService.obtenerCarga(profesor.getId());
+        assertEquals(2, carga.getEjecuciones());
+        assertEquals(112, carga.getHoras());
+        assertEquals(240, carga.getPeriodos().get(0).getMinutosSemanales());
+
+        // Reasignar la primera al otro profesor choca con la tercera
+        Ejecucion reasignada = nuevaEjecucion("CP001", 64, otroProfesor, "Lunes 08:00-10:00");
+        reasignada.setCurso(primera.getCurso());
+        assertThrows(IllegalArgumentException.class, () -> ejecucionService.actualizar(primera.getId(), reasignada));
+
+        // Quitar el profesor libera sus horas
+        Ejecucion sinProfesor = nuevaEjecucion("CP003", 32, null, "Lun 09:00-11:00");
+        sinProfesor.setCurso(tercera.getCurso());
+        ejecucionService.actualizar(tercera.getId(), sinProfesor);
+        assertEquals(0, cargaProfesoresService.obtenerCarga(otroProfesor.getId()).getHoras());
+        assertTrue(cargaProfesoresService.obtenerCarga(otroProfesor.getId()).getPeriodos().isEmpty());
+    }
+
+    @Test
+    void testAsignarConcurrente_UnaSolaEjecucionPorFranja() throws Exception {
+        Persona profesor = crearProfesor("C");
+        int intentos = 8;
+        List<Ejecucion> nuevas = new ArrayList<>();
+        for (int i = 0; i < intentos; i++) {
+            nuevas.add(nuevaEjecucion("CP01" + i, 32, profesor, "Viernes 14:00-16:00"));
+        }
+
+        ExecutorService hilos = Executors.newFixedThreadPool(intentos);
+        CountDownLatch inicio = new CountDownLatch(1);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        for (Ejecucion nueva : nuevas) {
+            resultados.add(hilos.submit(() -> {
+                inicio.await();
+                try {
+                    ejecucionService.crear(nueva);
+                    return true;
+                } catch (IllegalArgumentException e) {
+                    return false;
+                }
+            }));
+        }
+        inicio.countDown();
+        int creadas = 0;
+        for (Future<Boolean> resultado : resultados) {
+            creadas += resultado.get(30, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        hilos.shutdown();
+        assertTrue(hilos.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Una sola asignación confirmada; las rechazadas no dejan horas en la carga del profesor
+        assertEquals(1, creadas);
+        CargaProfesor carga = cargaProfesoresService.obtenerCarga(profesor.getId());
+        assertEquals(1, carga.getEjecuciones());
+        assertEquals(32, carga.getHoras());
+    }
+
+    @Test
+    void testRecargar_ConservaLaAsignacionSinConfirmar() {
+        Persona profesor = crearProfesor("D");
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            ejecucionService.crear(nuevaEjecucion("CP021", 32, profesor, "Sábado 08:00-10:00"));
+            // Una recarga por un commit ajeno lee la base sin la asignación de esta transacción
+            cargaProfesoresService.recargar();
+
+            CompletableFuture<Ejecucion> otra = CompletableFuture.supplyAsync(() ->
+                    ejecucionService.crear(nuevaEjecucion("CP022", 32, profesor, "Sábado 09:00-11:00")));
+            ExecutionException error = assertThrows(ExecutionException.class, () -> otra.get(30, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, error.getCause());
+        });
+
+        assertEquals(1, cargaProfesoresService.obtenerCarga(profesor.getId()).getEjecuciones());
+    }
+
+    @Test
+    void testActualizarCancelada_NoSumaCarga() {
+        Persona profesor = crearProfesor("E");
+        Ejecucion cancelada = ejecucionService.crear(nuevaEjecucion("CP031", 32, profesor, "Domingo 08:00-10:00"));
+        cancelada.setEstado(Ejecucion.CANCELADA);
+        ejecucionRepository.save(cancelada);
+        cargaProfesoresService.recargar();
+        assertNotNull(ejecucionService.crear(nuevaEjecucion("CP032", 48, profesor, "Domingo 08:00-10:00")));
+
+        // Editar la cancelada no choca con la ejecución que ahora dicta el profesor ni le suma horas
+        Ejecucion cambio = nuevaEjecucion("CP031", 32, profesor, "Domingo 08:00-10:00");
+        cambio.setEstado(Ejecucion.CANCELADA);
+        assertNotNull(ejecucionService.actualizar(cancelada.getId(), cambio));
+        assertEquals(48, cargaProfesoresService.obtenerCarga(profesor.getId()).getHoras());
+    }
+
+    // ===== MÉTODOS AUXILIARES PARA CREAR OBJETOS DE PRUEBA =====
+
+    private Ejecucion nuevaEjecucion(String codigo, int totalHoras, Persona profesor, String horario) {
+        Curso curso = cursoRepository.findAll().stream()
+                .filter(c -> codigo.equals(c.getCodigo()))
+                .findFirst()
+                .orElseGet(() -> {
+                    Curso nuevo = new Curso();
+                    nuevo.setCodigo(codigo);
+                    nuevo.setNombre("Curso " + codigo);
+                    nuevo.setCreditos(4);
+                    nuevo.setHorasTeoricas(totalHoras / 2);
+                    nuevo.setHorasPracticas(totalHoras - totalHoras / 2);
+                    nuevo.setTotalHoras(totalHoras);
+                    nuevo.setCiclo("I");
+                    nuevo.setModalidad("PRESENCIAL");
+                    return cursoRepository.save(nuevo);
+                });
+
+        Ejecucion ejecucion = new Ejecucion();
+        ejecucion.setCurso(curso);
+        ejecucion.setPeriodo("CARGA-1");
+        ejecucion.setSeccion("A");
+        ejecucion.setFechaInicio(LocalDate.now().plusDays(1));
+        ejecucion.setFechaFin(LocalDate.now().plusDays(90));
+        ejecucion.setCapacidadMaxima(30);
+        ejecucion.setInscritosActuales(0);
+        ejecucion.setProfesor(profesor);
+        ejecucion.setHorario(horario);
+        ejecucion.setEstado("PROGRAMADA");
+        return ejecucion;
+    }
+
+    private Persona crearProfesor(String sufijo) {
+        TipoPersona tipo = tipoPersonaRepository.findAll().stream()
+                .filter(t -> "PROFESOR".equals(t.getNombre()))
+                .findFirst()
+                .orElseGet(() -> {
+                    TipoPersona nuevo = new TipoPersona();
+                    nuevo.setNombre("PROFESOR");
+                    return tipoPersonaRepository.save(nuevo);
+                });
+
+        Persona persona = new Persona();
+        persona.setRut("CP-" + sufijo);
+        persona.setNombres("Profesor " + sufijo);
+        persona.setApellidoPaterno("Prueba");
+        persona.setApellidoMaterno("Carga");
+        persona.setCorreo("carga" + sufijo + "@edutech.cl");
+        persona.setTipoPersona(tipo);
+        return personaRepository.save(persona);
+    }
+}
@@ -0,0 +1,82 @@
+package com.edutech.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import com.edutech.dto.ReporteCarrito;
+import com.edutech.dto.ResultadoItemCarrito;
+import com.edutech.model.Ejecucion;
+import com.edutech.model.Persona;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.InscripcionRepository;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@Import(DatosPrueba.class)
+class CarritoInscripcionServiceTest {
+
+    @Autowired
+    private CarritoInscripcionService carritoInscripcionService;
+
+    @Autowired
+    private EjecucionRepository ejecucionRepository;
+
+    @Autowired
+    private InscripcionRepository inscripcionRepository;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @AfterEach
+    void limpiar() {
+        datos.limpiar();
+    }
+
+    @Test
+    void testCarrito_InscribeTodas() {
+        Ejecucion a = datos.crearEjecucion("CA001", 5);
+        Ejecucion b = datos.crearEjecucion("CA002", 5);
+        Persona estudiante = datos.crearEstudiantes("A", 1).get(0);
+
+        ReporteCarrito reporte = carritoInscripcionService.inscribirCarrito(estudiante.getId(), List.of(b.getId(), a.getId()));
+
+        assertTrue(reporte.isCompletado());
+        // Los resultados respetan el orden de la solicitud
+        assertEquals(b.getId(), reporte.getResultados().get(0).getEjecucionId());
+        assertNotNull(reporte.getResultados().get(0).getInscripcionId());
+        assertEquals(1, ejecucionRepository.findById(a.getId()).orElseThrow().getInscritosActuales());
+        assertEquals(1, ejecucionRepository.findById(b.getId()).orElseThrow().getInscritosActuales());
+    }
+
+    @Test
+    void testCarrito_UnRechazoRevierteTodo() {
+        Ejecucion conCupos = datos.crearEjecucion("CA003", 5);
+        Ejecucion llena = datos.crearEjecucion("CA004", 0);
+        Persona estudiante = datos.crearEstudiantes("B", 1).get(0);
+
+        ReporteCarrito reporte = carritoInscripcionService.inscribirCarrito(
+                estudiante.getId(), List.of(conCupos.getId(), llena.getId(), 999_999L));
+
+        assertFalse(reporte.isCompletado());
+        assertEquals(ResultadoItemCarrito.SIN_APLICAR, reporte.getResultados().get(0).getEstado());
+        assertEquals("No hay cupos disponibles en esta ejecución", reporte.getResultados().get(1).getMotivo());
+        assertEquals("Ejecución no encontrada", reporte.getResultados().get(2).getMotivo());
+        assertEquals(0, ejecucionRepository.findById(conCupos.getId()).orElseThrow().getInscritosActuales());
+        assertFalse(inscripcionRepository.existsByPersonaIdAndEjecucionId(estudiante.getId(), conCupos.getId()));
+    }
+
+    @Test
+    void testCarrito_EjecucionRepetida() {
+        Ejecucion ejecucion = datos.crearEjecucion("CA005", 5);
+        Persona estudiante = datos.crearEstudiantes("C", 1).get(0);
+
+        assertThrows(IllegalArgumentException.class, () -> carritoInscripcionService.inscribirCarrito(
+                estudiante.getId(), List.of(ejecucion.getId(), ejecucion.getId())));
+    }
+}
@@ -0,0 +1,121 @@
+package com.edutech.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.edutech.dto.ReporteCarrito;
+import com.edutech.model.Ejecucion;
+import com.edutech.model.Persona;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.InscripcionRepository;
+
+/**
+ * Prueba de estrés: carritos concurrentes que se traslapan, enviados con las ejecuciones
+ * en orden aleatorio. No debe haber bloqueos mutuos ni carritos a medias, y los contadores
+ * deben coincidir con las filas insertadas (usa la base H2 real, sin mocks).
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@Tag("estres")
+@Import(DatosPrueba.class)
+class CarritoInscripcionStressTest {
+
+    private static final int EJECUCIONES = 8;
+    private static final int CAPACIDAD = 60;
+    private static final int ESTUDIANTES = 400;
+    private static final int HILOS = 32;
+
+    @Autowired
+    private CarritoInscripcionService carritoInscripcionService;
+
+    @Autowired
+    private EjecucionRepository ejecucionRepository;
+
+    @Autowired
+    private InscripcionRepository inscripcionRepository;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @AfterEach
+    void limpiar() {
+        datos.limpiar();
+    }
+
+    @Test
+    void testCarritosConcurrentes_SinBloqueosNiInscripcionesParciales() throws Exception {
+        List<Ejecucion> ejecuciones = new ArrayList<>();
+        for (int i = 0; i < EJECUCIONES; i++) {
+            ejecuciones.add(datos.crearEjecucion("CAR" + i, CAPACIDAD));
+        }
+        List<Persona> estudiantes = datos.crearEstudiantes("CAR", ESTUDIANTES);
+
+        // Cada estudiante pide entre 3 y 6 ejecuciones en orden aleatorio
+        Random random = new Random(42);
+        Map<Long, List<Long>> carritos = new ConcurrentHashMap<>();
+        for (Persona estudiante : estudiantes) {
+            List<Long> ids = new ArrayList<>();
+            for (Ejecucion ejecucion : ejecuciones) {
+                ids.add(ejecucion.getId());
+            }
+            Collections.shuffle(ids, random);
+            carritos.put(estudiante.getId(), new ArrayList<>(ids.subList(0, 3 + random.nextInt(4))));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch inicio = new CountDownLatch(1);
+        Map<Long, Boolean> completados = new ConcurrentHashMap<>();
+        AtomicInteger errores = new AtomicInteger();
+
+        for (Map.Entry<Long, List<Long>> carrito : carritos.entrySet()) {
+            executor.submit(() -> {
+                try {
+                    inicio.await();
+                    ReporteCarrito reporte = carritoInscripcionService.inscribirCarrito(carrito.getKey(), carrito.getValue());
+                    completados.put(carrito.getKey(), reporte.isCompletado());
+                } catch (Exception e) {
+                    errores.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        inicio.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES), "Posible bloqueo mutuo entre carritos");
+
+        assertEquals(0, errores.get());
+        assertEquals(ESTUDIANTES, completados.size());
+
+        // Todo o nada: cada carrito quedó inscrito completo o no dejó ninguna inscripción
+        for (Map.Entry<Long, List<Long>> carrito : carritos.entrySet()) {
+            boolean completado = completados.get(carrito.getKey());
+            for (Long ejecucionId : carrito.getValue()) {
+                assertEquals(completado, inscripcionRepository.existsByPersonaIdAndEjecucionId(carrito.getKey(), ejecucionId));
+            }
+        }
+
+        // Sin sobrecupo y con contadores coherentes con las filas
+        for (Ejecucion ejecucion : ejecuciones) {
+            int inscritos = ejecucionRepository.findById(ejecucion.getId()).orElseThrow().getInscritosActuales();
+            assertTrue(inscritos <= CAPACIDAD);
+            assertEquals(inscritos, inscripcionRepository.countByEjecucionId(ejecucion.getId()));
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.edutech.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.edutech.dto.ChoqueHorario;
+import com.edutech.dto.ReporteCarrito;
+import com.edutech.dto.ReporteInscripcionLote;
+import com.edutech.dto.ResultadoInscripcionLote;
+import com.edutech.dto.SolicitudInscripcion;
+import com.edutech.model.Ejecucion;
+import com.edutech.model.Inscripcion;
+import com.edutech.model.Persona;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.InscripcionRepository;
+
+/**
+ * Pruebas de choques de horario contra la base H2 real.
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "edutech.inscripciones.horarios.maximo-estudiantes=2"})
+@Import(DatosPrueba.class)
+class ChoqueHorarioServiceTest {
+
+    @Autowired
+    private ChoqueHorarioService choqueHorarioService;
+
+    @Autowired
+    private InscripcionService inscripcionService;
+
+    @Autowired
+    private CarritoInscripcionService carritoInscripcionService;
+
+    @Autowired
+    private InscripcionLoteService inscripcionLoteService;
+
+    @Autowired
+    private ListaEsperaService listaEsperaService;
+
+    @Autowired
+    private EjecucionRepository ejecucionRepository;
+
+    @Autowired
+    private InscripcionRepository inscripcionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @AfterEach
+    void limpiar() {
+        datos.limpiar();
+    }
+
+    @Test
+    void testInscribir_RechazaChoqueYLiberaAlCancelar() {
+        Ejecucion lunes = datos.crearEjecucion("CH001", 10, "Lunes 08:00-10:00");
+        Ejecucion lunesTraslapada = datos.crearEjecucion("CH002", 10, "Lunes 09:00-11:00");
+        Ejecucion martes = datos.crearEjecucion("CH003", 10, "Martes 09:00-11:00");
+        Persona estudiante = datos.crearEstudiantes("A", 1).get(0);
+
+        Inscripcion inscripcion = inscripcionService.inscribir(estudiante.getId(), lunes.getId());
+
+        assertThrows(IllegalStateException.class,
+                () -> inscripcionService.inscribir(estudiante.getId(), lunesTraslapada.getId()));
+        assertEquals(0, ejecucionRepository.findById(lunesTraslapada.getId()).orElseThrow().getInscritosActuales());
+        assertNotNull(inscripcionService.inscribir(estudiante.getId(), martes.getId()));
+
+        // Al cancelar se liberan las franjas
+        inscripcionService.cancelarInscripcion(inscripcion.getId());
+        assertNotNull(inscripcionService.inscribir(estudiante.getId(), lunesTraslapada.getId()));
+    }
+
+    @Test
+    void testInvalidar_ConservaLaReservaSinConfirmar() {
+        Ejecucion lunes = datos.crearEjecucion("CH041", 10, "Lunes 08:00-10:00");
+        Ejecucion lunesTraslapada = datos.crearEjecucion("CH042", 10, "Lunes 09:00-11:00");
+        Persona estudiante = datos.crearEstudiantes("G", 1).get(0);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            assertTrue(choqueHorarioService.intentarReservarFranjas(estudiante.getId(), lunes));
+            try {
+                // Un commit ajeno invalida todos los horarios mientras esta reserva no confirma
+                CompletableFuture.runAsync(choqueHorarioService::invalidarTodoAlConfirmar).get(30, TimeUnit.SECONDS);
+                CompletableFuture<Boolean> otra = CompletableFuture.supplyAsync(
+                        () -> choqueHorarioService.intentarReservarFranjas(estudiante.getId(), lunesTraslapada));
+                assertFalse(otra.get(30, TimeUnit.SECONDS));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // Ya sin transacciones que lo usen, el horario obsoleto se reemplaza con la base de datos
+        assertTrue(choqueHorarioService.intentarReservarFranjas(estudiante.getId(), lunesTraslapada));
+    }
+
+    @Test
+    void testHorarios_AcotadosPorTamano() {
+        Ejecucion lunes = datos.crearEjecucion("CH101", 10, "Lunes 08:00-10:00");
+        Ejecucion lunesTraslapada = datos.crearEjecucion("CH102", 10, "Lunes 09:00-11:00");
+        List<Persona> estudiantes = datos.crearEstudiantes("TM", 5);
+        for (Persona estudiante : estudiantes) {
+            inscripcionService.inscribir(estudiante.getId(), lunes.getId());
+        }
+        assertTrue(choqueHorarioService.obtenerTamano() <= 2);
+
+        // Un horario expulsado se vuelve a cargar desde la base: el choque se sigue detectando
+        for (Persona estudiante : estudiantes) {
+            assertThrows(IllegalStateException.class,
+                    () -> inscripcionService.inscribir(estudiante.getId(), lunesTraslapada.getId()));
+        }
+        assertTrue(choqueHorarioService.obtenerTamano() <= 2);
+    }
+
+    @Test
+    void testCarrito_RechazaChoqueDentroDelCarrito() {
+        Ejecucion primera = datos.crearEjecucion("CH011", 10, "Miércoles 14:00-16:00");
+        Ejecucion segunda = datos.crearEjecucion("CH012", 10, "Mie 15:00-17:00");
+        Persona estudiante = datos.crearEstudiantes("B", 1).get(0);
+
+        ReporteCarrito reporte = carritoInscripcionService.inscribirCarrito(
+                estudiante.getId(), List.of(primera.getId(), segunda.getId()));
+
+        assertFalse(reporte.isCompletado());
+        // Las franjas reservadas por el carrito revertido no quedan ocupadas
+        assertNotNull(inscripcionService.inscribir(estudiante.getId(), segunda.getId()));
+    }
+
+    @Test
+    void testLote_RechazaFilasQueChocan() {
+        Ejecucion primera = datos.crearEjecucion("CH021", 10, "Jueves 08:00-10:00");
+        Ejecucion segunda = datos.crearEjecucion("CH022", 10, "Jueves 09:30-10:30");
+        Persona estudiante = datos.crearEstudiantes("C", 1).get(0);
+
+        ReporteInscripcionLote reporte = inscripcionLoteService.inscribirLote(List.of(
+                new SolicitudInscripcion(estudiante.getId(), primera.getId()),
+                new SolicitudInscripcion(estudiante.getId(), segunda.getId())));
+
+        assertEquals(1, reporte.getInscritos());
+        assertEquals(ResultadoInscripcionLote.RECHAZADO, reporte.getResultados().get(1).getEstado());
+        assertThrows(IllegalStateException.class,
+                () -> inscripcionService.inscribir(estudiante.getId(), segunda.getId()));
+    }
+
+    @Test
+    void testPeriodosDistintos_NoChocan() {
+        Ejecucion primerSemestre = datos.crearEjecucion("CH051", 10, "Martes 18:00-20:00");
+        Ejecucion mismoPeriodo = datos.crearEjecucion("CH052", 10, "Martes 19:00-21:00");
+        Ejecucion segundoSemestre = datos.crearEjecucion("CH053", 10, "Martes 18:00-20:00");
+        Ejecucion otroPeriodo = datos.crearEjecucion("CH054", 10, "Martes 19:00-20:00");
+        segundoSemestre.setPeriodo("2024-2");
+        segundoSemestre = ejecucionRepository.save(segundoSemestre);
+        otroPeriodo.setPeriodo("2025-1");
+        otroPeriodo = ejecucionRepository.save(otroPeriodo);
+        Persona estudiante = datos.crearEstudiantes("F", 1).get(0);
+        inscripcionService.inscribir(estudiante.getId(), primerSemestre.getId());
+
+        // Misma franja en otro período: no hay choque
+        assertFalse(choqueHorarioService.verificarChoques(estudiante.getId(), List.of(segundoSemestre.getId()))
+                .get(0).isChoca());
+        assertNotNull(inscripcionService.inscribir(estudiante.getId(), segundoSemestre.getId()));
+        ReporteInscripcionLote reporte = inscripcionLoteService.inscribirLote(List.of(
+                new SolicitudInscripcion(estudiante.getId(), otroPeriodo.getId())));
+        assertEquals(1, reporte.getInscritos());
+
+        // En el mismo período el choque se sigue detectando
+        assertThrows(IllegalStateException.class,
+                () -> inscripcionService.inscribir(estudiante.getId(), mismoPeriodo.getId()));
+    }
+
+    @Test
+    void testListaEspera_RetiraCandidatoConChoque() {
+        Ejecucion llena = datos.crearEjecucion("CH031", 1, "Viernes 08:00-10:00");
+        Ejecucion otra = datos.crearEjecucion("CH032", 10, "Viernes 09:00-10:00");
+        List<Persona> estudiantes = datos.crearEstudiantes("D", 3);
+
+        Inscripcion ocupante = inscripcionService.inscribir(estudiantes.get(0).getId(), llena.getId());
+        inscripcionService.inscribir(estudiantes.get(1).getId(), otra.getId());
+        listaEsperaService.inscribirEnLista(estudiantes.get(1).getId(), llena.getId());
+        listaEsperaService.inscribirEnLista(estudiantes.get(2).getId(), llena.getId());
+
+        inscripcionService.cancelarInscripcion(ocupante.getId());
+
+        // El primero de la lista tiene un choque: se retira de la lista y el cupo pasa al segundo
+        assertFalse(inscripcionRepository.existsByPersonaIdAndEjecucionId(estudiantes.get(1).getId(), llena.getId()));
+        assertTrue(inscripcionRepository.existsByPersonaIdAndEjecucionId(estudiantes.get(2).getId(), llena.getId()));
+        assertTrue(listaEsperaService.obtenerPosicion(estudiantes.get(1).getId(), llena.getId()).isEmpty());
+    }
+
+    @Test
+    void testVerificarChoques() {
+        Ejecucion inscrita = datos.crearEjecucion("CH041", 10, "Lunes y Miércoles 18:00-19:30");
+        Ejecucion traslapada = datos.crearEjecucion("CH042", 10, "Mie 19:00-20:00");
+        Ejecucion libre = datos.crearEjecucion("CH043", 10, "Sábado 09:00-12:00");
+        Persona estudiante = datos.crearEstudiantes("E", 1).get(0);
+        inscripcionService.inscribir(estudiante.getId(), inscrita.getId());
+
+        List<ChoqueHorario> choques = choqueHorarioService.verificarChoques(
+                estudiante.getId(), List.of(traslapada.getId(), libre.getId()));
+
+        ChoqueHorario choque = choques.stream().filter(c -> c.getEjecucionId().equals(traslapada.getId())).findFirst().orElseThrow();
+        ChoqueHorario sinChoque = choques.stream().filter(c -> c.getEjecucionId().equals(libre.getId())).findFirst().orElseThrow();
+        assertTrue(choque.isChoca());
+        assertEquals(List.of(inscrita.getId()), choque.getEjecucionesEnConflicto());
+        assertFalse(sinChoque.isChoca());
+        assertEquals(List.of("Sábado 09:00-12:00"), sinChoque.getHorario());
+    }
+}
@@ -0,0 +1,232 @@
+package com.edutech.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.edutech.dto.ReporteClonacion;
+import com.edutech.model.Curso;
+import com.edutech.model.Ejecucion;
+import com.edutech.model.Persona;
+import com.edutech.model.TipoPersona;
+import com.edutech.repository.CursoRepository;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.PersonaRepository;
+import com.edutech.repository.TipoPersonaRepository;
+
+/**
+ * Pruebas de la clonación de períodos contra la base H2 real.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ClonacionPeriodoServiceTest {
+
+    @Autowired
+    private ClonacionPeriodoService clonacionPeriodoService;
+
+    @Autowired
+    private CargaProfesoresService cargaProfesoresService;
+
+    @Autowired
+    private OcupacionSalasService ocupacionSalasService;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private EjecucionRepository ejecucionRepository;
+
+    @Autowired
+    private PersonaRepository personaRepository;
+
+    @Autowired
+    private TipoPersonaRepository tipoPersonaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testClonar_DesplazaFechasYOmiteDuplicados() {
+        Persona profesor = crearProfesor("A");
+        LocalDate inicioOrigen = LocalDate.now().minusDays(100);
+        crearEjecucion(crearCurso("CL001"), "CLON-O1", inicioOrigen, "C-1", "Lunes 08:00-09:30", profesor);
+        crearEjecucion(crearCurso("CL002"), "CLON-O1", inicioOrigen.plusDays(7), "C-2", "Lunes 10:00-11:30", profesor);
+        LocalDate inicioDestino = LocalDate.now().plusDays(30);
+
+        ReporteClonacion reporte = clonacionPeriodoService.clonar("CLON-O1", "CLON-D1", inicioDestino, true, true);
+
+        assertEquals(2, reporte.getTotal());
+        assertEquals(2, reporte.getClonadas());
+        assertTrue(reporte.getOmitidas().isEmpty());
+        List<Ejecucion> clonadas = ejecucionesDe("CLON-D1");
+        assertEquals(inicioDestino, clonadas.get(0).getFechaInicio());
+        assertEquals(inicioDestino.plusDays(7), clonadas.get(1).getFechaInicio());
+        assertEquals("PROGRAMADA", clonadas.get(0).getEstado());
+        assertEquals(0, clonadas.get(0).getInscritosActuales());
+        assertEquals("C-2", clonadas.get(1).getSala());
+        assertEquals(profesor.getId(), clonadas.get(1).getProfesor().getId());
+        // La carga docente se recargó después del commit
+        assertEquals(4, cargaProfesoresService.obtenerCarga(profesor.getId()).getEjecuciones());
+
+        // Repetir la clonación no duplica secciones
+        ReporteClonacion repetida = clonacionPeriodoService.clonar("CLON-O1", "CLON-D1", inicioDestino, true, true);
+        assertEquals(0, repetida.getClonadas());
+        assertEquals(2, repetida.getOmitidas().size());
+        assertEquals(2, ejecucionesDe("CLON-D1").size());
+    }
+
+    @Test
+    void testClonar_OmiteChoquesYPuedeSoltarProfesoresYSalas() {
+        Persona profesor = crearProfesor("B");
+        LocalDate inicioOrigen = LocalDate.now().minusDays(100);
+        Ejecucion conChoque = crearEjecucion(crearCurso("CL011"), "CLON-O2", inicioOrigen, "C-11", "Martes 08:00-09:30", profesor);
+        crearEjecucion(crearCurso("CL012"), "CLON-O2", inicioOrigen, "C-12", "Martes 10:00-11:30", null);
+        // En el destino la sala C-11 ya está ocupada el martes a las 09:00
+        crearEjecucion(crearCurso("CL013"), "CLON-D2", LocalDate.now().plusDays(30), "c-11", "Martes 09:00-10:00", null);
+
+        ReporteClonacion reporte = clonacionPeriodoService.clonar("CLON-O2", "CLON-D2", LocalDate.now().plusDays(30), true, true);
+        assertEquals(1, reporte.getClonadas());
+        assertEquals(conChoque.getId(), reporte.getOmitidas().get(0).getEjecucionId());
+
+        // Sin conservar salas ni profesores no hay choques posibles
+        ReporteClonacion libre = clonacionPeriodoService.clonar("CLON-O2", "CLON-D3", LocalDate.now().plusDays(30), false, false);
+        assertEquals(2, libre.getClonadas());
+        for (Ejecucion ejecucion : ejecucionesDe("CLON-D3")) {
+            assertNull(ejecucion.getProfesor());
+            assertNull(ejecucion.getSala());
+            assertNotNull(ejecucion.getHorario());
+        }
+    }
+
+    @Test
+    void testClonar_OmiteSalaReservadaSinConfirmar() {
+        Ejecucion original = crearEjecucion(crearCurso("CL041"), "CLON-O6", LocalDate.now().minusDays(100),
+                "C-41", "Viernes 08:00-09:30", null);
+        Curso otroCurso = crearCurso("CL042");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            // Otra transacción ocupa la sala en el destino y aún no confirma: la base no la muestra
+            Ejecucion ocupada = crearEjecucion(otroCurso, "CLON-D6", LocalDate.now().plusDays(30),
+                    "C-41", "Viernes 09:00-10:00", null);
+            ocupacionSalasService.reservar(ocupada.getId(), ocupada);
+
+            CompletableFuture<ReporteClonacion> clonacion = CompletableFuture.supplyAsync(() ->
+                    clonacionPeriodoService.clonar("CLON-O6", "CLON-D6", LocalDate.now().plusDays(30), true, true));
+            ReporteClonacion reporte = assertDoesNotThrow(() -> clonacion.get(30, TimeUnit.SECONDS));
+            assertEquals(0, reporte.getClonadas());
+            assertEquals(original.getId(), reporte.getOmitidas().get(0).getEjecucionId());
+        });
+
+        // La copia descartada no quedó en el destino
+        List<Ejecucion> destino = ejecucionesDe("CLON-D6");
+        assertEquals(1, destino.size());
+        assertEquals(otroCurso.getId(), destino.get(0).getCurso().getId());
+        assertTrue(ocupacionSalasService.obtenerChoques("CLON-D6").isEmpty());
+    }
+
+    @Test
+    void testClonar_OmiteCanceladasYCursosRetirados() {
+        LocalDate inicioOrigen = LocalDate.now().minusDays(100);
+        Ejecucion vigente = crearEjecucion(crearCurso("CL031"), "CLON-O5", inicioOrigen, "C-31", "Jueves 08:00-09:30", null);
+        Ejecucion cancelada = crearEjecucion(crearCurso("CL032"), "CLON-O5", inicioOrigen, "C-32", "Jueves 10:00-11:30", null);
+        cancelada.setEstado(Ejecucion.CANCELADA);
+        ejecucionRepository.save(cancelada);
+        Curso retirado = crearCurso("CL033");
+        retirado.setActivo(false);
+        cursoRepository.save(retirado);
+        crearEjecucion(retirado, "CLON-O5", inicioOrigen, "C-33", "Jueves 12:00-13:30", null);
+        // Una ejecución cancelada en el destino no ocupa su sala
+        Ejecucion canceladaDestino = crearEjecucion(crearCurso("CL034"), "CLON-D5", LocalDate.now().plusDays(30),
+                "C-31", "Jueves 08:00-09:30", null);
+        canceladaDestino.setEstado(Ejecucion.CANCELADA);
+        ejecucionRepository.save(canceladaDestino);
+
+        ReporteClonacion reporte = clonacionPeriodoService.clonar("CLON-O5", "CLON-D5", LocalDate.now().plusDays(30), true, true);
+
+        assertEquals(1, reporte.getTotal());
+        assertEquals(1, reporte.getClonadas());
+        List<Ejecucion> clonadas = ejecucionesDe("CLON-D5").stream()
+                .filter(e -> !Ejecucion.CANCELADA.equals(e.getEstado())).toList();
+        assertEquals(1, clonadas.size());
+        assertEquals(vigente.getCurso().getId(), clonadas.get(0).getCurso().getId());
+    }
+
+    @Test
+    void testClonar_Validaciones() {
+        crearEjecucion(crearCurso("CL021"), "CLON-O4", LocalDate.now(), null, null, null);
+        LocalDate futuro = LocalDate.now().plusDays(30);
+
+        assertThrows(IllegalArgumentException.class, () -> clonacionPeriodoService.clonar("CLON-O4", "CLON-O4", futuro, true, true));
+        assertThrows(IllegalArgumentException.class, () -> clonacionPeriodoService.clonar("CLON-VACIO", "CLON-D4", futuro, true, true));
+        assertThrows(IllegalArgumentException.class,
+                () -> clonacionPeriodoService.clonar("CLON-O4", "CLON-D4", LocalDate.now().minusDays(1), true, true));
+        assertTrue(ejecucionesDe("CLON-D4").isEmpty());
+    }
+
+    // ===== MÉTODOS AUXILIARES PARA CREAR OBJETOS DE PRUEBA =====
+
+    private List<Ejecucion> ejecucionesDe(String periodo) {
+        return ejecucionRepository.findAll().stream()
+                .filter(e -> periodo.equals(e.getPeriodo()))
+                .sorted(Comparator.comparing(Ejecucion::getFechaInicio).thenComparing(Ejecucion::getId))
+                .toList();
+    }
+
+    private Curso crearCurso(String codigo) {
+        Curso curso = new Curso();
+        curso.setCodigo(codigo);
+        curso.setNombre("Curso " + codigo);
+        curso.setCreditos(4);
+        curso.setHorasTeoricas(2);
+        curso.setHorasPracticas(2);
+        curso.setTotalHoras(4);
+        curso.setCiclo("I");
+        curso.setModalidad("PRESENCIAL");
+        return cursoRepository.save(curso);
+    }
+
+    private Ejecucion crearEjecucion(Curso curso, String periodo, LocalDate inicio, String sala, String horario, Persona profesor) {
+        Ejecucion ejecucion = new Ejecucion();
+        ejecucion.setCurso(curso);
+        ejecucion.setPeriodo(periodo);
+        ejecucion.setSeccion("A");
+        ejecucion.setFechaInicio(inicio);
+        ejecucion.setFechaFin(inicio.plusDays(90));
+        ejecucion.setCapacidadMaxima(30);
+        ejecucion.setInscritosActuales(0);
+        ejecucion.setSala(sala);
+        ejecucion.setHorario(horario);
+        ejecucion.setProfesor(profesor);
+        ejecucion.setEstado("FINALIZADA");
+        return ejecucionRepository.save(ejecucion);
+    }
+
+    private Persona crearProfesor(String sufijo) {
+        TipoPersona tipo = tipoPersonaRepository.findAll().stream()
+                .filter(t -> "PROFESOR".equals(t.getNombre()))
+                .findFirst()
+                .orElseGet(() -> {
+                    TipoPersona nuevo = new TipoPersona();
+                    nuevo.setNombre("PROFESOR");
+                    return tipoPersonaRepository.save(nuevo);
+                });
+
+        Persona persona = new Persona();
+        persona.setRut("CL-" + sufijo);
+        persona.setNombres("Profesor " + sufijo);
+        persona.setApellidoPaterno("Prueba");
+        persona.setApellidoMaterno("Clonacion");
+        persona.setCorreo("clonacion" + sufijo + "@edutech.cl");
+        persona.setTipoPersona(tipo);
+        return personaRepository.save(persona);
+    }
+}
@@ -0,0 +1,122 @@
+package com.edutech.service;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.edutech.dto.MetricasAdmision;
+import com.edutech.dto.TicketInscripcion;
+import com.edutech.model.Inscripcion;
+
+@SpringBootTest(properties = {
+    "edutech.inscripciones.admision.habilitada=true",
+    "edutech.inscripciones.admision.capacidad-cola=2",
+    "edutech.inscripciones.admision.trabajadores=2"
+})
+class ColaAdmisionServiceTest {
+
+    // Inyecta el servicio de cola de admisión para ser probado
+    @Autowired
+    private ColaAdmisionService colaAdmisionService;
+
+    // Crea un mock del servicio de inscripción que procesa los tickets
+    @MockBean
+    private InscripcionService inscripcionService;
+
+    @Test
+    void testEncolar_ProcesaEnOrdenDeLlegada() throws Exception {
+        // Registra el orden en que el trabajador procesa las solicitudes de la ejecución 10
+        List<Long> orden = new CopyOnWriteArrayList<>();
+        CountDownLatch terminados = new CountDownLatch(2);
+        when(inscripcionService.inscribir(anyLong(), eq(10L))).thenAnswer(invocacion -> {
+            orden.add(invocacion.getArgument(0));
+            terminados.countDown();
+            Inscripcion inscripcion = new Inscripcion();
+            inscripcion.setId(invocacion.getArgument(0));
+            return inscripcion;
+        });
+
+        // Encola dos solicitudes para la misma ejecución
+        TicketInscripcion primero = colaAdmisionService.encolar(1L, 10L).orElseThrow();
+        TicketInscripcion segundo = colaAdmisionService.encolar(2L, 10L).orElseThrow();
+
+        // Verifica que se procesaron en orden y que los tickets reflejan el resultado
+        assertTrue(terminados.await(5, TimeUnit.SECONDS));
+        esperarEstado(segundo, TicketInscripcion.ACEPTADO);
+        assertEquals(List.of(1L, 2L), orden);
+        assertEquals(TicketInscripcion.ACEPTADO, primero.getEstado());
+        assertEquals(1L, primero.getInscripcionId());
+        assertEquals(Optional.of(segundo), colaAdmisionService.obtenerTicket(segundo.getId()));
+    }
+
+    @Test
+    void testEncolar_ColaLlenaRechaza() throws Exception {
+        // El primer ticket bloquea al trabajador para que la cola se llene
+        CountDownLatch enProceso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(inscripcionService.inscribir(anyLong(), eq(20L))).thenAnswer(invocacion -> {
+            enProceso.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            throw new IllegalStateException("No hay cupos disponibles en esta ejecución");
+        });
+
+        TicketInscripcion bloqueante = colaAdmisionService.encolar(1L, 20L).orElseThrow();
+        assertTrue(enProceso.await(5, TimeUnit.SECONDS));
+
+        // Dos solicitudes caben en la cola, la tercera se rechaza
+        assertTrue(colaAdmisionService.encolar(2L, 20L).isPresent());
+        assertTrue(colaAdmisionService.encolar(3L, 20L).isPresent());
+        assertTrue(colaAdmisionService.encolar(4L, 20L).isEmpty());
+
+        MetricasAdmision metricas = colaAdmisionService.obtenerMetricas();
+        assertEquals(2, metricas.getPendientesPorEjecucion().get(20L));
+        assertTrue(metricas.getRechazadosPorColaLlena() >= 1);
+
+        // Al liberar, los tickets quedan rechazados con el motivo del servicio
+        liberar.countDown();
+        esperarEstado(bloqueante, TicketInscripcion.RECHAZADO);
+        assertEquals("No hay cupos disponibles en esta ejecución", bloqueante.getMensaje());
+    }
+
+    @Test
+    void testLimpiar_PurgaTicketsYDescartaColasSinUso() throws Exception {
+        // Sin retención: al terminar, el ticket y la cola de la ejecución quedan vencidos
+        ColaAdmisionService cola = new ColaAdmisionService(inscripcionService, true, 2, 1, 0);
+        when(inscripcionService.inscribir(anyLong(), eq(30L))).thenReturn(new Inscripcion());
+        try {
+            TicketInscripcion ticket = cola.encolar(1L, 30L).orElseThrow();
+            esperarEstado(ticket, TicketInscripcion.ACEPTADO);
+            assertEquals(1, cola.cantidadColas());
+
+            // La limpieza no depende de que lleguen nuevas solicitudes
+            cola.limpiar();
+            assertTrue(cola.obtenerTicket(ticket.getId()).isEmpty());
+            assertEquals(0, cola.cantidadColas());
+
+            // Una nueva solicitud vuelve a crear la cola
+            esperarEstado(cola.encolar(2L, 30L).orElseThrow(), TicketInscripcion.ACEPTADO);
+        } finally {
+            cola.detener();
+        }
+    }
+
+    // ===== MÉTODOS AUXILIARES =====
+
+    private void esperarEstado(TicketInscripcion ticket, String estado) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5000;
+        while (!estado.equals(ticket.getEstado()) && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+        assertEquals(estado, ticket.getEstado());
+    }
+}
@@ -0,0 +1,131 @@
+package com.edutech.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.edutech.dto.MetricasCache;
+import com.edutech.model.Curso;
+
+/**
+ * Prueba de estrés: lectores concurrentes de los listados en caché mientras otro hilo
+ * crea y modifica cursos. Toda lectura que empieza después de que una escritura
+ * confirmó debe verla (usa la base H2 real, sin mocks).
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@Tag("estres")
+class CursoCacheStressTest {
+
+    private static final int CURSOS = 60;
+    private static final int LECTORES = 8;
+
+    @Autowired
+    private CursoService cursoService;
+
+    @Test
+    void testLecturasConcurrentes_NuncaDevuelvenDatosAnterioresAlCommit() throws Exception {
+        AtomicInteger creados = new AtomicInteger();
+        AtomicInteger actualizados = new AtomicInteger();
+        Long[] ids = new Long[CURSOS];
+        AtomicBoolean terminado = new AtomicBoolean();
+        AtomicInteger lecturas = new AtomicInteger();
+        MetricasCache antes = cursoService.obtenerMetricasCache();
+
+        ExecutorService hilos = Executors.newFixedThreadPool(LECTORES + 1);
+        List<Future<Integer>> lectores = new ArrayList<>();
+        for (int l = 0; l < LECTORES; l++) {
+            int lector = l;
+            lectores.add(hilos.submit(() -> {
+                int desactualizadas = 0;
+                int vuelta = 0;
+                while (!terminado.get()) {
+                    // Lo confirmado antes de empezar la lectura
+                    int actualizadosAntes = actualizados.get();
+                    int creadosAntes = creados.get();
+                    List<Curso> cursos = switch ((lector + vuelta++) % 4) {
+                        case 0 -> cursoService.obtenerTodos();
+                        case 1 -> cursoService.obtenerOrdenadosPorNombre();
+                        case 2 -> cursoService.obtenerOrdenadosPorDuracion(false);
+                        default -> cursoService.obtenerPorRangoDuracion(20, 40);
+                    };
+                    Map<String, String> nombres = new HashMap<>();
+                    for (Curso curso : cursos) {
+                        nombres.put(curso.getCodigo(), curso.getNombre());
+                    }
+                    for (int i = 0; i < creadosAntes; i++) {
+                        String nombre = nombres.get(codigo(i));
+                        if (nombre == null || (i < actualizadosAntes && !nombre.endsWith("v1"))) {
+                            desactualizadas++;
+                            break;
+                        }
+                    }
+                    lecturas.incrementAndGet();
+                }
+                return desactualizadas;
+            }));
+        }
+
+        Future<?> escritor = hilos.submit(() -> {
+            for (int i = 0; i < CURSOS; i++) {
+                ids[i] = cursoService.crear(crearCurso(codigo(i), "Caché " + i + " v0")).getId();
+                creados.incrementAndGet();
+                cursoService.actualizar(ids[i], crearCurso(codigo(i), "Caché " + i + " v1"));
+                actualizados.incrementAndGet();
+            }
+            terminado.set(true);
+        });
+        escritor.get(60, TimeUnit.SECONDS);
+
+        int desactualizadas = 0;
+        for (Future<Integer> lector : lectores) {
+            desactualizadas += lector.get(30, TimeUnit.SECONDS);
+        }
+        hilos.shutdown();
+
+        MetricasCache despues = cursoService.obtenerMetricasCache();
+        long aciertos = despues.getAciertos() - antes.getAciertos();
+
+        assertEquals(0, desactualizadas);
+        assertTrue(lecturas.get() > 0);
+        assertTrue(aciertos > 0);
+        for (Long id : ids) {
+            cursoService.eliminar(id);
+        }
+        assertTrue(cursoService.obtenerTodos().stream().noneMatch(curso -> curso.getCodigo().startsWith("CCH-")));
+    }
+
+    // Métodos auxiliares
+
+    private static String codigo(int i) {
+        return String.format("CCH-%03d", i);
+    }
+
+    private static Curso crearCurso(String codigo, String nombre) {
+        Curso curso = new Curso();
+        curso.setCodigo(codigo);
+        curso.setNombre(nombre);
+        curso.setDescripcion("Curso de prueba de caché");
+        curso.setCreditos(3);
+        curso.setHorasTeoricas(20);
+        curso.setHorasPracticas(10);
+        curso.setTotalHoras(30);
+        curso.setCiclo("I");
+        curso.setModalidad("PRESENCIAL");
+        curso.setActivo(true);
+        return curso;
+    }
+}
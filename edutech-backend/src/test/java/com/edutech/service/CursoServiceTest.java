@@ -3,6 +3,7 @@
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -11,6 +12,8 @@
 import java.util.List;
 import java.util.Optional;
 
+import com.edutech.dto.FacetasCatalogo;
+import com.edutech.dto.FiltroCursos;
 import com.edutech.model.Curso;
 import com.edutech.repository.CursoRepository;
 
@@ -25,11 +28,20 @@ class CursoServiceTest {
     @MockBean
     private CursoRepository cursoRepository;
 
+    @Autowired
+    private CatalogoCursosService catalogoCursosService;
+
+    // La caché de listados vive en el servicio y sobrevive entre pruebas del mismo contexto
+    @BeforeEach
+    void limpiarCache() {
+        cursoService.invalidarCache();
+    }
+
     @Test
     void testObtenerTodos() {
-        // Define el comportamiento del mock: cuando se llame a findAll(), devuelve una lista con un Curso
+        // Define el comportamiento del mock: cuando se llame a findByFechaRetiroIsNull(), devuelve una lista con un Curso
         Curso curso = crearCursoEjemplo();
-        when(cursoRepository.findAll()).thenReturn(List.of(curso));
+        when(cursoRepository.findByFechaRetiroIsNull()).thenReturn(List.of(curso));
 
         // Llama al método obtenerTodos() del servicio
         List<Curso> result = cursoService.obtenerTodos();
@@ -130,22 +142,22 @@ void testActualizar_CursoNoExiste() {
 
     @Test
     void testEliminar_CursoExiste() {
-        // Define el comportamiento del mock: el Curso existe
-        when(cursoRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(cursoRepository).deleteById(1L);
+        // Define el comportamiento del mock: el Curso existe y se retira
+        when(cursoRepository.retirar(eq(1L), any())).thenReturn(1);
 
         // Llama al método eliminar() del servicio
         boolean result = cursoService.eliminar(1L);
 
-        // Verifica que la eliminación fue exitosa
+        // Verifica que el curso se retiró sin borrarlo
         assertTrue(result);
-        verify(cursoRepository, times(1)).deleteById(1L);
+        verify(cursoRepository, times(1)).retirar(eq(1L), any());
+        verify(cursoRepository, never()).deleteById(any());
     }
 
     @Test
     void testEliminar_CursoNoExiste() {
-        // Define el comportamiento del mock: el Curso no existe
-        when(cursoRepository.existsById(999L)).thenReturn(false);
+        // Define el comportamiento del mock: el Curso no existe (no se retira ninguna fila)
+        when(cursoRepository.retirar(eq(999L), any())).thenReturn(0);
 
         // Llama al método eliminar() del servicio
         boolean result = cursoService.eliminar(999L);
@@ -157,9 +169,10 @@ void testEliminar_CursoNoExiste() {
 
     @Test
     void testBuscarPorNombre() {
-        // Define el comportamiento del mock: busca cursos por nombre
+        // Define el comportamiento del mock: el índice del catálogo se carga con findAll()
         Curso curso = crearCursoEjemplo();
-        when(cursoRepository.findByNombreContainingIgnoreCase("Matemáticas")).thenReturn(List.of(curso));
+        when(cursoRepository.findAll()).thenReturn(List.of(curso));
+        catalogoCursosService.recargar();
 
         // Llama al método buscarPorNombre() del servicio
         List<Curso> result = cursoService.buscarPorNombre("Matemáticas");
@@ -172,9 +185,10 @@ void testBuscarPorNombre() {
 
     @Test
     void testBuscarPorDescripcion() {
-        // Define el comportamiento del mock: busca cursos por descripción
+        // Define el comportamiento del mock: el índice del catálogo se carga con findAll()
         Curso curso = crearCursoEjemplo();
-        when(cursoRepository.findByDescripcionContainingIgnoreCase("matemáticas")).thenReturn(List.of(curso));
+        when(cursoRepository.findAll()).thenReturn(List.of(curso));
+        catalogoCursosService.recargar();
 
         // Llama al método buscarPorDescripcion() del servicio
         List<Curso> result = cursoService.buscarPorDescripcion("matemáticas");
@@ -189,7 +203,7 @@ void testBuscarPorDescripcion() {
     void testObtenerOrdenadosPorNombre() {
         // Define el comportamiento del mock: devuelve cursos ordenados por nombre
         Curso curso = crearCursoEjemplo();
-        when(cursoRepository.findAllByOrderByNombreAsc()).thenReturn(List.of(curso));
+        when(cursoRepository.findVigentesOrderByNombreAsc()).thenReturn(List.of(curso));
 
         // Llama al método obtenerOrdenadosPorNombre() del servicio
         List<Curso> result = cursoService.obtenerOrdenadosPorNombre();
@@ -204,7 +218,7 @@ void testObtenerOrdenadosPorNombre() {
     void testObtenerPorRangoDuracion() {
         // Define el comportamiento del mock: devuelve cursos en rango de duración
         Curso curso = crearCursoEjemplo();
-        when(cursoRepository.findByDuracionHorasBetween(30, 60)).thenReturn(List.of(curso));
+        when(cursoRepository.findVigentesByDuracionHorasBetween(30, 60)).thenReturn(List.of(curso));
 
         // Llama al método obtenerPorRangoDuracion() del servicio
         List<Curso> result = cursoService.obtenerPorRangoDuracion(30, 60);
@@ -239,8 +253,79 @@ void testExistePorNombre_NoExiste() {
         assertFalse(result);
     }
 
+    @Test
+    void testObtenerTodos_UsaCacheHastaQueUnaEscrituraConfirma() {
+        Curso curso = crearCursoEjemplo();
+        when(cursoRepository.findByFechaRetiroIsNull()).thenReturn(List.of(curso));
+        when(cursoRepository.save(any(Curso.class))).thenReturn(curso);
+
+        cursoService.obtenerTodos();
+        cursoService.obtenerTodos();
+        verify(cursoRepository, times(1)).findByFechaRetiroIsNull();
+
+        // Sin transacción activa la invalidación es inmediata
+        cursoService.crear(crearCursoEjemplo());
+        cursoService.obtenerTodos();
+        verify(cursoRepository, times(2)).findByFechaRetiroIsNull();
+    }
+
+    @Test
+    void testObtenerPorRangoDuracion_InvalidaSoloLosRangosAfectados() {
+        Curso curso = crearCursoEjemplo();
+        when(cursoRepository.findVigentesByDuracionHorasBetween(30, 60)).thenReturn(List.of(curso));
+        when(cursoRepository.findVigentesByDuracionHorasBetween(100, 200)).thenReturn(List.of());
+        when(cursoRepository.findById(1L)).thenReturn(Optional.of(crearCursoEjemplo()));
+        when(cursoRepository.save(any(Curso.class))).thenReturn(curso);
+
+        cursoService.obtenerPorRangoDuracion(30, 60);
+        cursoService.obtenerPorRangoDuracion(100, 200);
+
+        // El curso pasa de 50 a 55 horas: el rango 100-200 no lo contiene antes ni después
+        Curso actualizado = crearCursoEjemplo();
+        actualizado.setHorasPracticas(25);
+        cursoService.actualizar(1L, actualizado);
+
+        cursoService.obtenerPorRangoDuracion(30, 60);
+        cursoService.obtenerPorRangoDuracion(100, 200);
+        verify(cursoRepository, times(2)).findVigentesByDuracionHorasBetween(30, 60);
+        verify(cursoRepository, times(1)).findVigentesByDuracionHorasBetween(100, 200);
+    }
+
     // ===== MÉTODOS AUXILIARES PARA CREAR OBJETOS DE PRUEBA =====
     
+    @Test
+    void testBuscar_SinTildesYPorRaiz() {
+        Curso curso = crearCursoEjemplo();
+        when(cursoRepository.findAll()).thenReturn(List.of(curso));
+        catalogoCursosService.recargar();
+
+        // "matematica" sin tilde y en singular encuentra "Matemáticas Básica"
+        assertEquals(1, cursoService.buscar("matematica basica", 10).size());
+        assertEquals(1, cursoService.buscar("edu001", 10).size());
+        assertTrue(cursoService.buscar("fisica", 10).isEmpty());
+    }
+
+    @Test
+    void testObtenerFacetas() {
+        Curso presencial = crearCursoEjemplo();
+        Curso online = crearCursoEjemplo();
+        online.setId(2L);
+        online.setCodigo("EDU002");
+        online.setModalidad("ONLINE");
+        when(cursoRepository.findAll()).thenReturn(List.of(presencial, online));
+        catalogoCursosService.recargar();
+
+        FiltroCursos filtro = new FiltroCursos(List.of("online"), null, null, null, null, null);
+        FacetasCatalogo facetas = cursoService.obtenerFacetas(filtro);
+
+        assertEquals(1, facetas.getTotal());
+        assertEquals("EDU002", facetas.getCursos().get(0).getCodigo());
+        assertEquals(1, facetas.getModalidades().get("PRESENCIAL"));
+        assertEquals(1, facetas.getCiclos().get("2024-1"));
+        assertThrows(IllegalArgumentException.class,
+                () -> cursoService.obtenerFacetas(new FiltroCursos(null, null, 5, 2, null, null)));
+    }
+
     private Curso crearCursoEjemplo() {
         Curso curso = new Curso();
         curso.setId(1L);
@@ -256,4 +341,4 @@ private Curso crearCursoEjemplo() {
         curso.setActivo(true);
         return curso;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+package com.edutech.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import com.edutech.model.Curso;
+import com.edutech.repository.CursoRepository;
+import com.edutech.repository.MigracionDatosRepository;
+
+/**
+ * total_horas mantenido en cada escritura, corregido una vez al iniciar y usado
+ * por las consultas de duración (usa la base H2 real, sin mocks).
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class CursoTotalHorasTest {
+
+    @Autowired
+    private CursoService cursoService;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private MigracionDatosRepository migracionDatosRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testCrearYActualizar_DerivanTotalHoras() {
+        Curso curso = crearCurso("TOT-001", 12, 8);
+        curso.setTotalHoras(999);
+        Long id = cursoService.crear(curso).getId();
+        assertEquals(20, cursoRepository.findById(id).orElseThrow().getTotalHoras());
+
+        cursoService.actualizar(id, crearCurso("TOT-001", 30, 10));
+        assertEquals(40, cursoRepository.findById(id).orElseThrow().getTotalHoras());
+        assertTrue(contiene(cursoService.obtenerPorRangoDuracion(40, 40), "TOT-001"));
+        assertFalse(contiene(cursoService.obtenerPorRangoDuracion(20, 20), "TOT-001"));
+    }
+
+    @Test
+    void testCompletarTotalHoras_CorrigeFilasEscritasPorSql() {
+        Long id = cursoService.crear(crearCurso("TOT-002", 50, 25)).getId();
+        // Una carga directa por SQL deja el total desalineado
+        jdbcTemplate.update("UPDATE cursos SET total_horas = 1 WHERE id = ?", id);
+
+        assertTrue(cursoService.completarTotalHoras() >= 1);
+        assertEquals(75, cursoRepository.findById(id).orElseThrow().getTotalHoras());
+        assertEquals(0, cursoService.completarTotalHoras());
+
+        // El listado en caché se descartó y se ordena por la columna corregida
+        List<Curso> porDuracion = cursoService.obtenerOrdenadosPorDuracion(true);
+        assertTrue(contiene(cursoService.obtenerPorRangoDuracion(75, 75), "TOT-002"));
+        for (int i = 1; i < porDuracion.size(); i++) {
+            assertTrue(porDuracion.get(i - 1).getTotalHoras() <= porDuracion.get(i).getTotalHoras());
+        }
+    }
+
+    @Test
+    void testIniciar_CompletaTotalHorasUnaSolaVez() {
+        // Al iniciar la aplicación la corrección ya quedó registrada
+        assertTrue(migracionDatosRepository.existsById("completar_total_horas"));
+
+        Long id = cursoService.crear(crearCurso("TOT-003", 10, 5)).getId();
+        jdbcTemplate.update("UPDATE cursos SET total_horas = 1 WHERE id = ?", id);
+        cursoService.iniciar();
+        assertEquals(1, cursoRepository.findById(id).orElseThrow().getTotalHoras());
+
+        // Sin el registro vuelve a correr
+        migracionDatosRepository.deleteById("completar_total_horas");
+        cursoService.iniciar();
+        assertEquals(15, cursoRepository.findById(id).orElseThrow().getTotalHoras());
+        assertTrue(migracionDatosRepository.existsById("completar_total_horas"));
+    }
+
+    // Métodos auxiliares
+
+    private static boolean contiene(List<Curso> cursos, String codigo) {
+        return cursos.stream().anyMatch(curso -> curso.getCodigo().equals(codigo));
+    }
+
+    private static Curso crearCurso(String codigo, int teoricas, int practicas) {
+        Curso curso = new Curso();
+        curso.setCodigo(codigo);
+        curso.setNombre("Curso " + codigo);
+        curso.setDescripcion("Curso de prueba de horas");
+        curso.setCreditos(3);
+        curso.setHorasTeoricas(teoricas);
+        curso.setHorasPracticas(practicas);
+        curso.setCiclo("I");
+        curso.setModalidad("PRESENCIAL");
+        curso.setActivo(true);
+        return curso;
+    }
+}
@@ -0,0 +1,135 @@
+package com.edutech.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.edutech.model.Curso;
+import com.edutech.model.Ejecucion;
+import com.edutech.model.Persona;
+import com.edutech.model.TipoPersona;
+import com.edutech.repository.CursoRepository;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.PersonaRepository;
+import com.edutech.repository.TipoPersonaRepository;
+
+/**
+ * Datos de prueba compartidos por las pruebas de servicio con base H2 real.
+ * Se agrega con {@code @Import(DatosPrueba.class)}; cada prueba llama a {@link #limpiar()}
+ * al terminar para que los datos de una no afecten a la siguiente.
+ */
+@TestComponent
+class DatosPrueba {
+
+    // Tablas en orden de borrado (primero las que tienen claves foráneas)
+    private static final String[] TABLAS = {
+        "retenciones_cupo", "listas_espera", "inscripciones", "inscripciones_archivadas",
+        "ejecuciones_archivadas", "cursos_archivados", "curso_prerrequisitos", "ejecuciones",
+        "cursos", "personas", "tipos_persona"
+    };
+
+    @Autowired
+    private TipoPersonaRepository tipoPersonaRepository;
+
+    @Autowired
+    private PersonaRepository personaRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private EjecucionRepository ejecucionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Ejecución en curso (comenzó ayer) de un curso nuevo con el código indicado
+     */
+    Ejecucion crearEjecucion(String codigo, int capacidad) {
+        return crearEjecucion(codigo, capacidad, LocalDate.now().minusDays(1), null);
+    }
+
+    /**
+     * Ejecución de un curso nuevo que comienza en la fecha indicada
+     */
+    Ejecucion crearEjecucion(String codigo, int capacidad, LocalDate fechaInicio) {
+        return crearEjecucion(codigo, capacidad, fechaInicio, null);
+    }
+
+    /**
+     * Ejecución en curso de un curso nuevo con el horario indicado
+     */
+    Ejecucion crearEjecucion(String codigo, int capacidad, String horario) {
+        return crearEjecucion(codigo, capacidad, LocalDate.now().minusDays(1), horario);
+    }
+
+    /**
+     * Curso nuevo con el código indicado
+     */
+    Curso crearCurso(String codigo) {
+        Curso curso = new Curso();
+        curso.setCodigo(codigo);
+        curso.setNombre("Curso " + codigo);
+        curso.setCreditos(4);
+        curso.setHorasTeoricas(2);
+        curso.setHorasPracticas(2);
+        curso.setTotalHoras(4);
+        curso.setCiclo("I");
+        curso.setModalidad("PRESENCIAL");
+        return cursoRepository.save(curso);
+    }
+
+    /**
+     * Estudiantes con RUT y correo únicos a partir del prefijo
+     */
+    List<Persona> crearEstudiantes(String prefijo, int cantidad) {
+        TipoPersona tipo = tipoPersonaRepository.findByNombre("ESTUDIANTE").orElseGet(() -> {
+            TipoPersona nuevo = new TipoPersona();
+            nuevo.setNombre("ESTUDIANTE");
+            return tipoPersonaRepository.save(nuevo);
+        });
+
+        List<Persona> estudiantes = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            Persona persona = new Persona();
+            persona.setRut(prefijo + "-" + i);
+            persona.setNombres("Estudiante " + prefijo + i);
+            persona.setApellidoPaterno("Prueba");
+            persona.setApellidoMaterno("Datos");
+            persona.setCorreo(prefijo.toLowerCase() + i + "@edutech.cl");
+            persona.setTipoPersona(tipo);
+            estudiantes.add(persona);
+        }
+        return personaRepository.saveAll(estudiantes);
+    }
+
+    /**
+     * Borrar todas las filas que crean las pruebas
+     */
+    void limpiar() {
+        for (String tabla : TABLAS) {
+            jdbcTemplate.update("DELETE FROM " + tabla);
+        }
+    }
+
+    // Métodos privados
+
+    private Ejecucion crearEjecucion(String codigo, int capacidad, LocalDate fechaInicio, String horario) {
+        Ejecucion ejecucion = new Ejecucion();
+        ejecucion.setCurso(crearCurso(codigo));
+        ejecucion.setPeriodo("2024-1");
+        ejecucion.setSeccion("A");
+        ejecucion.setFechaInicio(fechaInicio);
+        ejecucion.setFechaFin(LocalDate.now().plusDays(90));
+        ejecucion.setCapacidadMaxima(capacidad);
+        ejecucion.setInscritosActuales(0);
+        ejecucion.setHorario(horario);
+        ejecucion.setEstado("EN_CURSO");
+        return ejecucionRepository.save(ejecucion);
+    }
+}
@@ -0,0 +1,114 @@
+package com.edutech.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.edutech.dto.DisponibilidadCupos;
+import com.edutech.dto.ReporteCarrito;
+import com.edutech.model.Ejecucion;
+import com.edutech.model.Inscripcion;
+import com.edutech.model.Persona;
+import com.edutech.util.TransaccionUtils;
+
+/**
+ * Pruebas de la vista en memoria de cupos contra la base H2 real.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@Import(DatosPrueba.class)
+class DisponibilidadCuposServiceTest {
+
+    @Autowired
+    private DisponibilidadCuposService disponibilidadCuposService;
+
+    @Autowired
+    private InscripcionService inscripcionService;
+
+    @Autowired
+    private CarritoInscripcionService carritoInscripcionService;
+
+    @Autowired
+    private ReservaCuposService reservaCuposService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @AfterEach
+    void limpiar() {
+        datos.limpiar();
+    }
+
+    @Test
+    void testVista_SeAjustaConInscripcionesYCancelaciones() {
+        Ejecucion ejecucion = datos.crearEjecucion("DC001", 2, LocalDate.now().minusDays(1));
+        List<Persona> estudiantes = datos.crearEstudiantes("A", 2);
+
+        assertEquals(2, disponibilidadCuposService.obtener(ejecucion.getId()).orElseThrow().getCuposDisponibles());
+
+        Inscripcion inscripcion = inscripcionService.inscribir(estudiantes.get(0).getId(), ejecucion.getId());
+        inscripcionService.inscribir(estudiantes.get(1).getId(), ejecucion.getId());
+        DisponibilidadCupos llena = disponibilidadCuposService.obtener(ejecucion.getId()).orElseThrow();
+        assertEquals(0, llena.getCuposDisponibles());
+        assertFalse(llena.isDisponible());
+
+        inscripcionService.cancelarInscripcion(inscripcion.getId());
+        assertEquals(1, disponibilidadCuposService.obtener(ejecucion.getId()).orElseThrow().getCuposDisponibles());
+    }
+
+    @Test
+    void testVista_NoCambiaSiLaTransaccionSeRevierte() {
+        Ejecucion abierta = datos.crearEjecucion("DC011", 5, LocalDate.now().minusDays(1));
+        Ejecucion futura = datos.crearEjecucion("DC012", 5, LocalDate.now().plusDays(10));
+        Persona estudiante = datos.crearEstudiantes("B", 1).get(0);
+        disponibilidadCuposService.obtener(List.of(abierta.getId(), futura.getId()));
+
+        // El carrito se rechaza por la ejecución futura: el cupo tomado en la otra se revierte
+        ReporteCarrito reporte = carritoInscripcionService.inscribirCarrito(
+                estudiante.getId(), List.of(abierta.getId(), futura.getId()));
+
+        assertFalse(reporte.isCompletado());
+        assertEquals(5, disponibilidadCuposService.obtener(abierta.getId()).orElseThrow().getCuposDisponibles());
+    }
+
+    @Test
+    void testVista_LecturaEntreCommitYAjusteNoCuentaDosVeces() {
+        Ejecucion ejecucion = datos.crearEjecucion("DC031", 5, LocalDate.now().minusDays(1));
+        disponibilidadCuposService.invalidarTodo();
+
+        // La lectura se registra antes que la reserva: corre después del commit y antes de su invalidación
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            TransaccionUtils.despuesDelCommit(() -> disponibilidadCuposService.obtener(ejecucion.getId()));
+            assertTrue(reservaCuposService.reservar(ejecucion.getId()));
+        });
+
+        DisponibilidadCupos disponibilidad = disponibilidadCuposService.obtener(ejecucion.getId()).orElseThrow();
+        assertEquals(1, disponibilidad.getInscritos());
+        assertEquals(4, disponibilidad.getCuposDisponibles());
+    }
+
+    @Test
+    void testObtenerVarias_RespetaOrdenYOmiteInexistentes() {
+        Ejecucion primera = datos.crearEjecucion("DC021", 3, LocalDate.now().minusDays(1));
+        Ejecucion segunda = datos.crearEjecucion("DC022", 4, LocalDate.now().minusDays(1));
+
+        List<DisponibilidadCupos> resultado = disponibilidadCuposService.obtener(
+                List.of(segunda.getId(), -1L, primera.getId()));
+
+        assertEquals(2, resultado.size());
+        assertEquals(segunda.getId(), resultado.get(0).getEjecucionId());
+        assertEquals(4, resultado.get(0).getCapacidadMaxima());
+        assertEquals(primera.getId(), resultado.get(1).getEjecucionId());
+    }
+}
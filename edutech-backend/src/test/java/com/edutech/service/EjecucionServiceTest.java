@@ -24,6 +24,12 @@ class EjecucionServiceTest {
     @Autowired
     private EjecucionService ejecucionService;
 
+    @Autowired
+    private DisponibilidadCuposService disponibilidadCuposService;
+
+    @Autowired
+    private CalendarioEjecucionesService calendarioEjecucionesService;
+
     // Crea mocks de los repositorios para simular su comportamiento
     @MockBean
     private EjecucionRepository ejecucionRepository;
@@ -262,7 +268,6 @@ void testEliminar_EjecucionExiste() {
         
         // Define el comportamiento de los mocks
         when(ejecucionRepository.findById(1L)).thenReturn(Optional.of(ejecucion));
-        when(ejecucionRepository.countEstudiantesInscritos(1L)).thenReturn(0); // Sin inscripciones
         doNothing().when(ejecucionRepository).delete(ejecucion);
 
         // Llama al método eliminar() del servicio
@@ -284,7 +289,7 @@ void testEliminar_EjecucionNoExiste() {
         );
         
         assertEquals("Ejecución no encontrada con ID: 999", exception.getMessage());
-        verify(ejecucionRepository, never()).delete(any());
+        verify(ejecucionRepository, never()).delete(any(Ejecucion.class));
     }
 
     @Test
@@ -304,16 +309,23 @@ void testObtenerPorCurso() {
 
     @Test
     void testObtenerActivas() {
-        // Define el comportamiento del mock: devuelve ejecuciones activas
+        // Define el comportamiento del mock: una ejecución en curso y otra futura
         Ejecucion ejecucion = crearEjecucionEjemplo();
-        when(ejecucionRepository.findEjecucionesActivas()).thenReturn(List.of(ejecucion));
+        ejecucion.setFechaInicio(LocalDate.now().minusDays(1));
+        Ejecucion futura = crearEjecucionEjemplo();
+        futura.setId(2L);
+        when(ejecucionRepository.findAllConCursoYProfesor()).thenReturn(List.of(ejecucion, futura));
+        calendarioEjecucionesService.recargar();
 
         // Llama al método obtenerActivas() del servicio
         List<Ejecucion> result = ejecucionService.obtenerActivas();
 
-        // Verifica que se devuelvan las ejecuciones activas
+        // Verifica que se devuelvan solo las ejecuciones activas
         assertNotNull(result);
         assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).getId());
+        assertTrue(ejecucionService.estaActiva(1L));
+        assertFalse(ejecucionService.estaActiva(2L));
     }
 
     @Test
@@ -330,13 +342,9 @@ void testContarEstudiantesInscritos() {
 
     @Test
     void testTieneCuposDisponibles_ConCupos() {
-        // Prepara una ejecución con cupos disponibles
-        Ejecucion ejecucion = crearEjecucionEjemplo();
-        ejecucion.setCuposDisponibles(30); // Capacidad máxima 30
-        
         // Define el comportamiento de los mocks: 20 inscritos de 30 cupos
-        when(ejecucionRepository.findById(1L)).thenReturn(Optional.of(ejecucion));
-        when(ejecucionRepository.countEstudiantesInscritos(1L)).thenReturn(20);
+        disponibilidadCuposService.invalidarTodo();
+        when(ejecucionRepository.findCupos(anyCollection())).thenReturn(List.<Object[]>of(new Object[] {1L, 30, 20}));
 
         // Llama al método tieneCuposDisponibles() del servicio
         boolean result = ejecucionService.tieneCuposDisponibles(1L);
@@ -347,13 +355,9 @@ void testTieneCuposDisponibles_ConCupos() {
 
     @Test
     void testTieneCuposDisponibles_SinCupos() {
-        // Prepara una ejecución sin cupos disponibles
-        Ejecucion ejecucion = crearEjecucionEjemplo();
-        ejecucion.setCuposDisponibles(30); // Capacidad máxima 30
-        
         // Define el comportamiento de los mocks: 30 inscritos de 30 cupos (lleno)
-        when(ejecucionRepository.findById(1L)).thenReturn(Optional.of(ejecucion));
-        when(ejecucionRepository.countEstudiantesInscritos(1L)).thenReturn(30);
+        disponibilidadCuposService.invalidarTodo();
+        when(ejecucionRepository.findCupos(anyCollection())).thenReturn(List.<Object[]>of(new Object[] {1L, 30, 30}));
 
         // Llama al método tieneCuposDisponibles() del servicio
         boolean result = ejecucionService.tieneCuposDisponibles(1L);
@@ -362,6 +366,19 @@ void testTieneCuposDisponibles_SinCupos() {
         assertFalse(result);
     }
 
+    @Test
+    void testObtenerCuposDisponibles_RestaInscritosUnaSolaVez() {
+        // Define el comportamiento de los mocks: 20 inscritos de 30 cupos
+        disponibilidadCuposService.invalidarTodo();
+        when(ejecucionRepository.findCupos(anyCollection())).thenReturn(List.<Object[]>of(new Object[] {1L, 30, 20}));
+
+        // Llama al método obtenerCuposDisponibles() del servicio
+        Integer result = ejecucionService.obtenerCuposDisponibles(1L);
+
+        // Verifica que quedan 10 cupos (antes se restaban los inscritos dos veces)
+        assertEquals(10, result);
+    }
+
     // ===== MÉTODOS AUXILIARES PARA CREAR OBJETOS DE PRUEBA =====
     
     private Ejecucion crearEjecucionEjemplo() {
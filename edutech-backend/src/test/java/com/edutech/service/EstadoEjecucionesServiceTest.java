@@ -0,0 +1,110 @@
+package com.edutech.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import com.edutech.model.Curso;
+import com.edutech.model.Ejecucion;
+import com.edutech.repository.CursoRepository;
+import com.edutech.repository.EjecucionRepository;
+
+/**
+ * Pruebas de las transiciones de estado de las ejecuciones contra la base H2 real.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class EstadoEjecucionesServiceTest {
+
+    @Autowired
+    private EstadoEjecucionesService estadoEjecucionesService;
+
+    @Autowired
+    private EjecucionService ejecucionService;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private EjecucionRepository ejecucionRepository;
+
+    @Test
+    void testEstadoSegunFechas() {
+        LocalDate hoy = LocalDate.of(2025, 3, 10);
+        assertEquals(Ejecucion.PROGRAMADA, EstadoEjecucionesService.estadoSegunFechas(hoy.plusDays(1), hoy.plusDays(90), hoy));
+        assertEquals(Ejecucion.EN_CURSO, EstadoEjecucionesService.estadoSegunFechas(hoy, hoy.plusDays(90), hoy));
+        assertEquals(Ejecucion.EN_CURSO, EstadoEjecucionesService.estadoSegunFechas(hoy.minusDays(90), hoy, hoy));
+        assertEquals(Ejecucion.FINALIZADA, EstadoEjecucionesService.estadoSegunFechas(hoy.minusDays(90), hoy.minusDays(1), hoy));
+    }
+
+    @Test
+    void testTransicionar() {
+        LocalDate hoy = estadoEjecucionesService.hoy();
+        Ejecucion comenzada = guardarDirecto("ES001", hoy.minusDays(1), hoy.plusDays(60), Ejecucion.PROGRAMADA);
+        Ejecucion terminada = guardarDirecto("ES002", hoy.minusDays(60), hoy.minusDays(1), Ejecucion.EN_CURSO);
+        Ejecucion saltada = guardarDirecto("ES003", hoy.minusDays(60), hoy.minusDays(2), Ejecucion.PROGRAMADA);
+        Ejecucion futura = guardarDirecto("ES004", hoy.plusDays(5), hoy.plusDays(60), Ejecucion.PROGRAMADA);
+        Ejecucion cancelada = guardarDirecto("ES005", hoy.minusDays(60), hoy.minusDays(1), "CANCELADA");
+
+        // La transición de arranque corre en segundo plano: la cuenta exacta puede repartirse
+        estadoEjecucionesService.transicionar();
+
+        assertEquals(Ejecucion.EN_CURSO, estadoDe(comenzada));
+        assertEquals(Ejecucion.FINALIZADA, estadoDe(terminada));
+        assertEquals(Ejecucion.FINALIZADA, estadoDe(saltada));
+        assertEquals(Ejecucion.PROGRAMADA, estadoDe(futura));
+        assertEquals("CANCELADA", estadoDe(cancelada));
+        assertTrue(ejecucionRepository.existeEjecucionActivaParaCurso(comenzada.getCurso().getId()));
+        assertFalse(ejecucionRepository.existeEjecucionActivaParaCurso(futura.getCurso().getId()));
+
+        // Sin cambios de día no hay nada más que avanzar
+        assertEquals(0, estadoEjecucionesService.transicionar());
+    }
+
+    @Test
+    void testCrear_EstadoSegunFechas() {
+        LocalDate hoy = estadoEjecucionesService.hoy();
+        Ejecucion ejecucion = nuevaEjecucion("ES011", hoy, hoy.plusDays(60), null);
+
+        Ejecucion guardada = ejecucionService.crear(ejecucion);
+
+        assertEquals(Ejecucion.EN_CURSO, estadoDe(guardada));
+    }
+
+    // ===== MÉTODOS AUXILIARES PARA CREAR OBJETOS DE PRUEBA =====
+
+    private String estadoDe(Ejecucion ejecucion) {
+        return ejecucionRepository.findById(ejecucion.getId()).orElseThrow().getEstado();
+    }
+
+    private Ejecucion guardarDirecto(String codigo, LocalDate inicio, LocalDate fin, String estado) {
+        return ejecucionRepository.save(nuevaEjecucion(codigo, inicio, fin, estado));
+    }
+
+    private Ejecucion nuevaEjecucion(String codigo, LocalDate inicio, LocalDate fin, String estado) {
+        Curso curso = new Curso();
+        curso.setCodigo(codigo);
+        curso.setNombre("Curso " + codigo);
+        curso.setCreditos(4);
+        curso.setHorasTeoricas(2);
+        curso.setHorasPracticas(2);
+        curso.setTotalHoras(4);
+        curso.setCiclo("I");
+        curso.setModalidad("PRESENCIAL");
+        curso = cursoRepository.save(curso);
+
+        Ejecucion ejecucion = new Ejecucion();
+        ejecucion.setCurso(curso);
+        ejecucion.setPeriodo("ESTADO-1");
+        ejecucion.setSeccion("A");
+        ejecucion.setFechaInicio(inicio);
+        ejecucion.setFechaFin(fin);
+        ejecucion.setCapacidadMaxima(30);
+        ejecucion.setInscritosActuales(0);
+        ejecucion.setEstado(estado);
+        return ejecucion;
+    }
+}
@@ -0,0 +1,165 @@
+package com.edutech.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class IdempotenciaServiceTest {
+
+    private static final String ALCANCE = "POST /api/inscripciones";
+
+    @Test
+    void testSinClave_EjecutaSiempre() {
+        IdempotenciaService service = new IdempotenciaService(100, 60, 5, new ObjectMapper());
+        AtomicInteger ejecuciones = new AtomicInteger();
+
+        service.ejecutar(null, ALCANCE, () -> ResponseEntity.ok(ejecuciones.incrementAndGet()));
+        service.ejecutar(null, ALCANCE, () -> ResponseEntity.ok(ejecuciones.incrementAndGet()));
+
+        assertEquals(2, ejecuciones.get());
+        assertEquals(0, service.obtenerTamano());
+    }
+
+    @Test
+    void testMismaClave_DevuelvePrimeraRespuesta() {
+        IdempotenciaService service = new IdempotenciaService(100, 60, 5, new ObjectMapper());
+
+        ResponseEntity<String> primera = service.ejecutar("k1", ALCANCE,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body("primera"));
+        ResponseEntity<String> repetida = service.ejecutar("k1", ALCANCE,
+                () -> ResponseEntity.ok("segunda"));
+
+        assertEquals(HttpStatus.CREATED, primera.getStatusCode());
+        assertEquals(HttpStatus.CREATED, repetida.getStatusCode());
+        assertEquals("primera", repetida.getBody());
+        assertEquals("true", repetida.getHeaders().getFirst(IdempotenciaService.ENCABEZADO_REPETIDA));
+    }
+
+    @Test
+    void testMismaClaveOtroAlcance_SonIndependientes() {
+        IdempotenciaService service = new IdempotenciaService(100, 60, 5, new ObjectMapper());
+
+        service.ejecutar("k1", ALCANCE, () -> ResponseEntity.ok("inscripcion"));
+        ResponseEntity<String> otra = service.ejecutar("k1", "POST /api/personas", () -> ResponseEntity.ok("persona"));
+
+        assertEquals("persona", otra.getBody());
+    }
+
+    @Test
+    void testMismaClaveOtroCuerpo_Responde422() {
+        IdempotenciaService service = new IdempotenciaService(100, 60, 5, new ObjectMapper());
+        AtomicInteger ejecuciones = new AtomicInteger();
+
+        service.ejecutar("k1", ALCANCE, List.of(1L, 2L), () -> ResponseEntity.ok(ejecuciones.incrementAndGet()));
+        ResponseEntity<Integer> mismoCuerpo = service.ejecutar("k1", ALCANCE, List.of(1L, 2L),
+                () -> ResponseEntity.ok(ejecuciones.incrementAndGet()));
+        ResponseEntity<Integer> otroCuerpo = service.ejecutar("k1", ALCANCE, List.of(1L, 3L),
+                () -> ResponseEntity.ok(ejecuciones.incrementAndGet()));
+
+        // La acción corre una sola vez; el otro cuerpo no recibe la respuesta de la primera
+        assertEquals(1, ejecuciones.get());
+        assertEquals(1, mismoCuerpo.getBody());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, otroCuerpo.getStatusCode());
+        assertNull(otroCuerpo.getBody());
+    }
+
+    @Test
+    void testError5xx_NoSeGuarda() {
+        IdempotenciaService service = new IdempotenciaService(100, 60, 5, new ObjectMapper());
+
+        service.ejecutar("k1", ALCANCE, () -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        ResponseEntity<String> reintento = service.ejecutar("k1", ALCANCE, () -> ResponseEntity.ok("ok"));
+
+        assertEquals(HttpStatus.OK, reintento.getStatusCode());
+    }
+
+    @Test
+    void testTamanoMaximo_DescartaLasMasAntiguas() {
+        IdempotenciaService service = new IdempotenciaService(3, 60, 5, new ObjectMapper());
+
+        for (int i = 0; i < 10; i++) {
+            int valor = i;
+            service.ejecutar("k" + i, ALCANCE, () -> ResponseEntity.ok(valor));
+        }
+
+        assertEquals(3, service.obtenerTamano());
+        // La clave más antigua ya fue descartada y se vuelve a ejecutar
+        assertEquals(99, service.ejecutar("k0", ALCANCE, () -> ResponseEntity.ok(99)).getBody());
+    }
+
+    @Test
+    void testTamanoMaximo_NoDescartaLaSolicitudEnCurso() throws Exception {
+        IdempotenciaService service = new IdempotenciaService(1, 60, 5, new ObjectMapper());
+        AtomicInteger ejecuciones = new AtomicInteger();
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<ResponseEntity<Integer>> original = executor.submit(() -> service.ejecutar("k1", ALCANCE, () -> {
+            enCurso.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ResponseEntity.ok(ejecuciones.incrementAndGet());
+        }));
+        assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+
+        // Otras claves llenan el almacén: se descartan las ya respondidas, no la solicitud en curso
+        service.ejecutar("k2", ALCANCE, () -> ResponseEntity.ok(0));
+        service.ejecutar("k3", ALCANCE, () -> ResponseEntity.ok(0));
+        assertEquals(2, service.obtenerTamano());
+
+        liberar.countDown();
+        assertEquals(1, original.get(5, TimeUnit.SECONDS).getBody());
+        assertEquals(1, ejecuciones.get());
+        executor.shutdown();
+    }
+
+    @Test
+    void testRepeticionesConcurrentes_EsperanLaSolicitudEnCurso() throws Exception {
+        IdempotenciaService service = new IdempotenciaService(100, 60, 5, new ObjectMapper());
+        AtomicInteger ejecuciones = new AtomicInteger();
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        Future<ResponseEntity<Integer>> original = executor.submit(() -> service.ejecutar("k1", ALCANCE, () -> {
+            enCurso.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ResponseEntity.ok(ejecuciones.incrementAndGet());
+        }));
+        assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+
+        List<Future<ResponseEntity<Integer>>> repeticiones = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            repeticiones.add(executor.submit(() -> service.ejecutar("k1", ALCANCE,
+                    () -> ResponseEntity.ok(ejecuciones.incrementAndGet()))));
+        }
+        liberar.countDown();
+
+        assertEquals(1, original.get(5, TimeUnit.SECONDS).getBody());
+        for (Future<ResponseEntity<Integer>> repeticion : repeticiones) {
+            assertEquals(1, repeticion.get(5, TimeUnit.SECONDS).getBody());
+        }
+        assertEquals(1, ejecuciones.get());
+        executor.shutdown();
+    }
+}
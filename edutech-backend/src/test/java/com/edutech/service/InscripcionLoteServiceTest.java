@@ -0,0 +1,129 @@
+package com.edutech.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.edutech.dto.ReporteInscripcionLote;
+import com.edutech.dto.ResultadoInscripcionLote;
+import com.edutech.dto.SolicitudInscripcion;
+import com.edutech.model.Ejecucion;
+import com.edutech.model.Persona;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.InscripcionRepository;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@Import(DatosPrueba.class)
+class InscripcionLoteServiceTest {
+
+    // Inyecta el servicio de inscripción masiva para ser probado (con base H2 real)
+    @Autowired
+    private InscripcionLoteService inscripcionLoteService;
+
+    @Autowired
+    private InscripcionService inscripcionService;
+
+    @Autowired
+    private EjecucionRepository ejecucionRepository;
+
+    @Autowired
+    private InscripcionRepository inscripcionRepository;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @AfterEach
+    void limpiar() {
+        datos.limpiar();
+    }
+
+    @Test
+    void testInscribirLote_ReportePorFila() {
+        // Prepara dos ejecuciones (una con 2 cupos) y tres estudiantes, uno ya inscrito
+        List<Persona> estudiantes = datos.crearEstudiantes("L", 3);
+        Ejecucion amplia = datos.crearEjecucion("LOT001", 10, LocalDate.now().minusDays(1));
+        Ejecucion pequena = datos.crearEjecucion("LOT002", 2, LocalDate.now().minusDays(1));
+        Ejecucion futura = datos.crearEjecucion("LOT003", 10, LocalDate.now().plusDays(10));
+        inscripcionService.inscribir(estudiantes.get(0).getId(), pequena.getId());
+
+        List<SolicitudInscripcion> solicitudes = List.of(
+            new SolicitudInscripcion(estudiantes.get(0).getId(), amplia.getId()),   // 0 ok
+            new SolicitudInscripcion(estudiantes.get(0).getId(), pequena.getId()),  // 1 ya inscrito
+            new SolicitudInscripcion(estudiantes.get(1).getId(), pequena.getId()),  // 2 ok (último cupo)
+            new SolicitudInscripcion(estudiantes.get(2).getId(), pequena.getId()),  // 3 sin cupos
+            new SolicitudInscripcion(999_999L, amplia.getId()),                     // 4 estudiante no existe
+            new SolicitudInscripcion(estudiantes.get(1).getId(), 999_999L),         // 5 ejecución no existe
+            new SolicitudInscripcion(estudiantes.get(1).getId(), amplia.getId()),   // 6 ok
+            new SolicitudInscripcion(estudiantes.get(1).getId(), amplia.getId()),   // 7 duplicado en el lote
+            new SolicitudInscripcion(estudiantes.get(2).getId(), futura.getId())    // 8 aún no comienza
+        );
+
+        ReporteInscripcionLote reporte = inscripcionLoteService.inscribirLote(solicitudes);
+
+        // Verifica el resultado de cada fila
+        assertEquals(9, reporte.getTotal());
+        assertEquals(3, reporte.getInscritos());
+        assertEquals(6, reporte.getRechazados());
+        List<ResultadoInscripcionLote> r = reporte.getResultados();
+        assertEquals(ResultadoInscripcionLote.INSCRITO, r.get(0).getEstado());
+        assertEquals("El estudiante ya está inscrito en esta ejecución", r.get(1).getMotivo());
+        assertEquals(ResultadoInscripcionLote.INSCRITO, r.get(2).getEstado());
+        assertEquals("No hay cupos disponibles en esta ejecución", r.get(3).getMotivo());
+        assertEquals("Estudiante no encontrado", r.get(4).getMotivo());
+        assertEquals("Ejecución no encontrada", r.get(5).getMotivo());
+        assertEquals(ResultadoInscripcionLote.INSCRITO, r.get(6).getEstado());
+        assertEquals("El estudiante ya está inscrito en esta ejecución", r.get(7).getMotivo());
+        assertEquals("No se puede inscribir a una ejecución que aún no ha comenzado", r.get(8).getMotivo());
+
+        // Verifica filas insertadas y contadores de cupos
+        assertEquals(2, inscripcionRepository.countByEjecucionId(amplia.getId()));
+        assertEquals(2, inscripcionRepository.countByEjecucionId(pequena.getId()));
+        assertEquals(2, ejecucionRepository.findById(amplia.getId()).orElseThrow().getInscritosActuales());
+        assertEquals(2, ejecucionRepository.findById(pequena.getId()).orElseThrow().getInscritosActuales());
+    }
+
+    @Test
+    void testInscribirLote_Cohorte5000() {
+        // Prepara una cohorte de 5.000 estudiantes repartida en 5 secciones
+        List<Persona> estudiantes = datos.crearEstudiantes("C", 5000);
+        List<Ejecucion> secciones = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            secciones.add(datos.crearEjecucion("COH00" + i, 100, LocalDate.now().minusDays(1)));
+        }
+        List<SolicitudInscripcion> solicitudes = new ArrayList<>();
+        for (int i = 0; i < estudiantes.size(); i++) {
+            solicitudes.add(new SolicitudInscripcion(estudiantes.get(i).getId(), secciones.get(i % 5).getId()));
+        }
+
+        long inicio = System.nanoTime();
+        ReporteInscripcionLote reporte = inscripcionLoteService.inscribirLote(solicitudes);
+        long milisegundos = (System.nanoTime() - inicio) / 1_000_000;
+
+        // Verifica que se llenaron exactamente las capacidades y que tomó segundos, no minutos
+        assertEquals(500, reporte.getInscritos());
+        assertEquals(4500, reporte.getRechazados());
+        for (Ejecucion seccion : secciones) {
+            assertEquals(100, ejecucionRepository.findById(seccion.getId()).orElseThrow().getInscritosActuales());
+        }
+        assertTrue(milisegundos < 10_000, "El lote tardó " + milisegundos + " ms");
+    }
+
+    @Test
+    void testInscribirLote_Vacio() {
+        // Verifica que un lote vacío se rechaza
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> inscripcionLoteService.inscribirLote(List.of())
+        );
+
+        assertEquals("El lote de inscripciones está vacío", exception.getMessage());
+    }
+}
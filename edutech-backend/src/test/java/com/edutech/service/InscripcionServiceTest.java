@@ -87,14 +87,62 @@ void testCrear_Exitoso() {
         
         // Define el comportamiento del mock: cuando se llame a save(), devuelve la inscripción
         when(inscripcionRepository.save(any(Inscripcion.class))).thenReturn(inscripcion);
+        when(ejecucionRepository.reservarCupo(1L)).thenReturn(1);
 
         // Llama al método crear() del servicio
         Inscripcion result = inscripcionService.crear(inscripcion);
 
-        // Verifica que la inscripción se haya creado correctamente
+        // Verifica que la inscripción se haya creado correctamente y ocupó un cupo
         assertNotNull(result);
         assertEquals("ACTIVA", result.getEstado());
         assertNotNull(result.getFechaInscripcion());
+        verify(ejecucionRepository, times(1)).reservarCupo(1L);
+    }
+
+    @Test
+    void testCrear_SinCupos() {
+        // Define el comportamiento del mock: el UPDATE condicional no afecta filas
+        Inscripcion inscripcion = crearInscripcionEjemplo();
+        when(ejecucionRepository.reservarCupo(1L)).thenReturn(0);
+
+        // Verifica que el POST genérico tampoco sobrepasa la capacidad
+        IllegalStateException exception = assertThrows(
+            IllegalStateException.class,
+            () -> inscripcionService.crear(inscripcion)
+        );
+
+        assertEquals("No hay cupos disponibles en esta ejecución", exception.getMessage());
+        verify(inscripcionRepository, never()).save(any());
+    }
+
+    @Test
+    void testActualizar_DesactivarYMoverDeEjecucion() {
+        // Desactivar la inscripción libera su cupo
+        when(inscripcionRepository.findById(1L)).thenReturn(Optional.of(crearInscripcionEjemplo()));
+        when(inscripcionRepository.save(any(Inscripcion.class))).thenAnswer(invocacion -> invocacion.getArgument(0));
+        when(ejecucionRepository.liberarCupo(1L)).thenReturn(1);
+        Inscripcion desactivada = crearInscripcionEjemplo();
+        desactivada.setActivo(false);
+
+        assertTrue(inscripcionService.actualizar(1L, desactivada).isPresent());
+        verify(ejecucionRepository, never()).reservarCupo(anyLong());
+        verify(ejecucionRepository, times(1)).liberarCupo(1L);
+
+        // Moverla a otra ejecución reserva allí antes de liberar la anterior
+        when(inscripcionRepository.findById(1L)).thenReturn(Optional.of(crearInscripcionEjemplo()));
+        when(ejecucionRepository.reservarCupo(2L)).thenReturn(1);
+        Inscripcion movida = crearInscripcionEjemplo();
+        movida.getEjecucion().setId(2L);
+
+        assertTrue(inscripcionService.actualizar(1L, movida).isPresent());
+        verify(ejecucionRepository, times(1)).reservarCupo(2L);
+        verify(ejecucionRepository, times(2)).liberarCupo(1L);
+
+        // Sin cupos en la ejecución de destino no se modifica
+        when(inscripcionRepository.findById(1L)).thenReturn(Optional.of(crearInscripcionEjemplo()));
+        when(ejecucionRepository.reservarCupo(2L)).thenReturn(0);
+        assertThrows(IllegalStateException.class, () -> inscripcionService.actualizar(1L, movida));
+        verify(ejecucionRepository, times(2)).liberarCupo(1L);
     }
 
     @Test
@@ -141,6 +189,7 @@ void testInscribir_Exitoso() {
         when(personaRepository.findById(1L)).thenReturn(Optional.of(estudiante));
         when(ejecucionRepository.findById(1L)).thenReturn(Optional.of(ejecucion));
         when(inscripcionRepository.existsByPersonaIdAndEjecucionId(1L, 1L)).thenReturn(false);
+        when(ejecucionRepository.reservarCupo(1L)).thenReturn(1);
         when(inscripcionRepository.save(any(Inscripcion.class))).thenReturn(inscripcionGuardada);
 
         // Llama al método inscribir() del servicio
@@ -149,9 +198,48 @@ void testInscribir_Exitoso() {
         // Verifica que la inscripción se haya creado correctamente
         assertNotNull(result);
         assertEquals("ACTIVA", result.getEstado());
+        verify(ejecucionRepository, times(1)).reservarCupo(1L);
         verify(inscripcionRepository, times(1)).save(any(Inscripcion.class));
     }
 
+    @Test
+    void testInscribir_SinCupos() {
+        // Prepara los datos de prueba
+        Persona estudiante = crearPersonaEjemplo();
+        Ejecucion ejecucion = crearEjecucionEjemplo();
+
+        // Define el comportamiento de los mocks: el UPDATE condicional no afecta filas
+        when(personaRepository.findById(1L)).thenReturn(Optional.of(estudiante));
+        when(ejecucionRepository.findById(1L)).thenReturn(Optional.of(ejecucion));
+        when(inscripcionRepository.existsByPersonaIdAndEjecucionId(1L, 1L)).thenReturn(false);
+        when(ejecucionRepository.reservarCupo(1L)).thenReturn(0);
+
+        // Verifica que se lance una excepción cuando no quedan cupos
+        IllegalStateException exception = assertThrows(
+            IllegalStateException.class,
+            () -> inscripcionService.inscribir(1L, 1L)
+        );
+        
+        assertEquals("No hay cupos disponibles en esta ejecución", exception.getMessage());
+        verify(inscripcionRepository, never()).save(any());
+    }
+
+    @Test
+    void testCancelarInscripcion_LiberaCupo() {
+        // Define el comportamiento del mock: la inscripción está activa
+        Inscripcion inscripcion = crearInscripcionEjemplo();
+        when(inscripcionRepository.findById(1L)).thenReturn(Optional.of(inscripcion));
+        when(ejecucionRepository.liberarCupo(1L)).thenReturn(1);
+
+        // Llama al método cancelarInscripcion() del servicio
+        inscripcionService.cancelarInscripcion(1L);
+
+        // Verifica que se liberó el cupo y se marcó como cancelada
+        verify(ejecucionRepository, times(1)).liberarCupo(1L);
+        assertEquals("CANCELADA", inscripcion.getEstado());
+        assertFalse(inscripcion.getActivo());
+    }
+
     @Test
     void testInscribir_EstudianteNoExiste() {
         // Define el comportamiento del mock: estudiante no encontrado
@@ -229,7 +317,7 @@ void testInscribir_EjecucionConFechaFutura() {
     @Test
     void testEliminar_Exitoso() {
         // Define el comportamiento del mock: la inscripción existe
-        when(inscripcionRepository.existsById(1L)).thenReturn(true);
+        when(inscripcionRepository.findById(1L)).thenReturn(Optional.of(crearInscripcionEjemplo()));
         doNothing().when(inscripcionRepository).deleteById(1L);
 
         // Llama al método eliminar() del servicio
@@ -243,7 +331,7 @@ void testEliminar_Exitoso() {
     @Test
     void testEliminar_NoExiste() {
         // Define el comportamiento del mock: la inscripción no existe
-        when(inscripcionRepository.existsById(999L)).thenReturn(false);
+        when(inscripcionRepository.findById(999L)).thenReturn(Optional.empty());
 
         // Llama al método eliminar() del servicio
         boolean result = inscripcionService.eliminar(999L);
@@ -0,0 +1,217 @@
+package com.edutech.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.edutech.model.Ejecucion;
+import com.edutech.model.Inscripcion;
+import com.edutech.model.ListaEspera;
+import com.edutech.model.Persona;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.InscripcionRepository;
+import com.edutech.repository.ListaEsperaRepository;
+
+/**
+ * Pruebas de la lista de espera contra la base H2 real: la promoción ocurre en la
+ * misma transacción que la cancelación y nunca sobrepasa la capacidad.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@Import(DatosPrueba.class)
+class ListaEsperaServiceTest {
+
+    @Autowired
+    private ListaEsperaService listaEsperaService;
+
+    @Autowired
+    private InscripcionService inscripcionService;
+
+    @Autowired
+    private ReservaCuposService reservaCuposService;
+
+    @Autowired
+    private PrerrequisitoService prerrequisitoService;
+
+    @Autowired
+    private EjecucionRepository ejecucionRepository;
+
+    @Autowired
+    private InscripcionRepository inscripcionRepository;
+
+    @Autowired
+    private ListaEsperaRepository listaEsperaRepository;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @AfterEach
+    void limpiar() {
+        datos.limpiar();
+    }
+
+    @Test
+    void testCancelacion_PromueveAlPrimeroDeLaLista() {
+        Ejecucion ejecucion = datos.crearEjecucion("LE001", 2);
+        List<Persona> estudiantes = datos.crearEstudiantes("A", 4);
+
+        Inscripcion primera = inscripcionService.inscribir(estudiantes.get(0).getId(), ejecucion.getId());
+        inscripcionService.inscribir(estudiantes.get(1).getId(), ejecucion.getId());
+        listaEsperaService.inscribirEnLista(estudiantes.get(2).getId(), ejecucion.getId());
+        listaEsperaService.inscribirEnLista(estudiantes.get(3).getId(), ejecucion.getId());
+
+        assertEquals(2L, listaEsperaService.obtenerPosicion(estudiantes.get(3).getId(), ejecucion.getId()).orElseThrow());
+
+        inscripcionService.cancelarInscripcion(primera.getId());
+
+        // El primero de la lista ocupa el cupo liberado y el segundo avanza
+        assertTrue(inscripcionRepository.existsByPersonaIdAndEjecucionId(estudiantes.get(2).getId(), ejecucion.getId()));
+        assertTrue(listaEsperaService.obtenerPosicion(estudiantes.get(2).getId(), ejecucion.getId()).isEmpty());
+        assertEquals(1L, listaEsperaService.obtenerPosicion(estudiantes.get(3).getId(), ejecucion.getId()).orElseThrow());
+        assertEquals(2, ejecucionRepository.findById(ejecucion.getId()).orElseThrow().getInscritosActuales());
+    }
+
+    @Test
+    void testInscribirEnLista_ConCuposDisponibles() {
+        Ejecucion ejecucion = datos.crearEjecucion("LE002", 5);
+        List<Persona> estudiantes = datos.crearEstudiantes("B", 1);
+
+        assertThrows(IllegalStateException.class,
+                () -> listaEsperaService.inscribirEnLista(estudiantes.get(0).getId(), ejecucion.getId()));
+    }
+
+    @Test
+    void testRetirar_NoEsPromovido() {
+        Ejecucion ejecucion = datos.crearEjecucion("LE003", 1);
+        List<Persona> estudiantes = datos.crearEstudiantes("C", 3);
+
+        Inscripcion inscrita = inscripcionService.inscribir(estudiantes.get(0).getId(), ejecucion.getId());
+        listaEsperaService.inscribirEnLista(estudiantes.get(1).getId(), ejecucion.getId());
+        listaEsperaService.inscribirEnLista(estudiantes.get(2).getId(), ejecucion.getId());
+        listaEsperaService.retirar(estudiantes.get(1).getId(), ejecucion.getId());
+
+        inscripcionService.eliminar(inscrita.getId());
+
+        assertFalse(inscripcionRepository.existsByPersonaIdAndEjecucionId(estudiantes.get(1).getId(), ejecucion.getId()));
+        assertTrue(inscripcionRepository.existsByPersonaIdAndEjecucionId(estudiantes.get(2).getId(), ejecucion.getId()));
+    }
+
+    @Test
+    void testPrerrequisitos_NoEntraALaListaNiEsPromovido() {
+        Ejecucion ejecucion = datos.crearEjecucion("LE006", 1);
+        List<Persona> estudiantes = datos.crearEstudiantes("F", 3);
+
+        Inscripcion ocupante = inscripcionService.inscribir(estudiantes.get(0).getId(), ejecucion.getId());
+        listaEsperaService.inscribirEnLista(estudiantes.get(1).getId(), ejecucion.getId());
+
+        // El prerrequisito se agrega cuando el primero ya espera; el segundo ya no puede entrar
+        prerrequisitoService.agregar(ejecucion.getCurso().getId(), datos.crearCurso("LE007").getId());
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> listaEsperaService.inscribirEnLista(estudiantes.get(2).getId(), ejecucion.getId()));
+        assertTrue(error.getMessage().contains("prerrequisitos"));
+
+        // Al liberarse el cupo, el candidato sin el prerrequisito se retira en lugar de inscribirse
+        inscripcionService.cancelarInscripcion(ocupante.getId());
+        assertFalse(inscripcionRepository.existsByPersonaIdAndEjecucionIdAndActivoTrue(estudiantes.get(1).getId(), ejecucion.getId()));
+        assertTrue(listaEsperaService.obtenerPorEjecucion(ejecucion.getId()).isEmpty());
+        assertEquals(0, ejecucionRepository.findById(ejecucion.getId()).orElseThrow().getInscritosActuales());
+    }
+
+    @Test
+    void testInscripcionDirecta_RetiraDeLaListaYNoSeVuelveAPromover() {
+        Ejecucion ejecucion = datos.crearEjecucion("LE005", 1);
+        List<Persona> estudiantes = datos.crearEstudiantes("E", 3);
+
+        Inscripcion ocupante = inscripcionService.inscribir(estudiantes.get(0).getId(), ejecucion.getId());
+        listaEsperaService.inscribirEnLista(estudiantes.get(1).getId(), ejecucion.getId());
+        listaEsperaService.inscribirEnLista(estudiantes.get(2).getId(), ejecucion.getId());
+
+        // Se abre un cupo sin promoción (por ejemplo, al corregir el contador) y el primero lo toma directamente
+        reservaCuposService.liberar(ejecucion.getId());
+        inscripcionService.inscribir(estudiantes.get(1).getId(), ejecucion.getId());
+        assertTrue(listaEsperaService.obtenerPosicion(estudiantes.get(1).getId(), ejecucion.getId()).isEmpty());
+        assertEquals(1L, listaEsperaService.obtenerPosicion(estudiantes.get(2).getId(), ejecucion.getId()).orElseThrow());
+
+        // Una inscripción creada sin pasar por la lista (aquí, directo en la tabla) tampoco rompe la promoción
+        Inscripcion previa = new Inscripcion();
+        previa.setPersona(estudiantes.get(2));
+        previa.setEjecucion(ejecucion);
+        previa.setEstado("CANCELADA");
+        previa.setActivo(false);
+        inscripcionRepository.save(previa);
+
+        inscripcionService.cancelarInscripcion(ocupante.getId());
+
+        // La cancelación confirma: el candidato ya inscrito se retira de la lista sin tomar el cupo
+        assertFalse(inscripcionRepository.existsByPersonaIdAndEjecucionIdAndActivoTrue(estudiantes.get(0).getId(), ejecucion.getId()));
+        assertFalse(inscripcionRepository.existsByPersonaIdAndEjecucionIdAndActivoTrue(estudiantes.get(2).getId(), ejecucion.getId()));
+        assertTrue(listaEsperaService.obtenerPorEjecucion(ejecucion.getId()).isEmpty());
+    }
+
+    @Test
+    void testCancelacionesConcurrentes_PromuevenSinSobrecupo() throws Exception {
+        int capacidad = 20;
+        int enEspera = 30;
+        Ejecucion ejecucion = datos.crearEjecucion("LE004", capacidad);
+        List<Persona> estudiantes = datos.crearEstudiantes("D", capacidad + enEspera);
+
+        List<Inscripcion> inscritas = new ArrayList<>();
+        for (int i = 0; i < capacidad; i++) {
+            inscritas.add(inscripcionService.inscribir(estudiantes.get(i).getId(), ejecucion.getId()));
+        }
+        for (int i = capacidad; i < estudiantes.size(); i++) {
+            listaEsperaService.inscribirEnLista(estudiantes.get(i).getId(), ejecucion.getId());
+        }
+
+        // Todas las cancelaciones parten al mismo tiempo
+        ExecutorService executor = Executors.newFixedThreadPool(capacidad);
+        CountDownLatch inicio = new CountDownLatch(1);
+        AtomicInteger errores = new AtomicInteger();
+        for (Inscripcion inscripcion : inscritas) {
+            executor.submit(() -> {
+                try {
+                    inicio.await();
+                    inscripcionService.cancelarInscripcion(inscripcion.getId());
+                } catch (Exception e) {
+                    errores.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        inicio.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        assertEquals(0, errores.get());
+
+        // Se promueven exactamente los primeros de la lista, cada uno una sola vez
+        List<ListaEspera> promovidas = listaEsperaRepository.findAll().stream()
+                .filter(entrada -> ejecucion.getId().equals(entrada.getEjecucionId()))
+                .filter(entrada -> ListaEspera.PROMOVIDA.equals(entrada.getEstado()))
+                .toList();
+        Set<Long> esperados = new HashSet<>();
+        for (int i = capacidad; i < capacidad * 2; i++) {
+            esperados.add(estudiantes.get(i).getId());
+        }
+        Set<Long> obtenidos = new HashSet<>();
+        for (ListaEspera entrada : promovidas) {
+            obtenidos.add(entrada.getEstudianteId());
+        }
+        assertEquals(esperados, obtenidos);
+        assertEquals(capacidad, ejecucionRepository.findById(ejecucion.getId()).orElseThrow().getInscritosActuales());
+        assertEquals(enEspera - capacidad,
+                listaEsperaService.obtenerPorEjecucion(ejecucion.getId()).size());
+    }
+}
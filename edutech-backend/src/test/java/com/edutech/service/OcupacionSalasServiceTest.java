@@ -0,0 +1,188 @@
+package com.edutech.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.edutech.dto.ChoqueSala;
+import com.edutech.model.Curso;
+import com.edutech.model.Ejecucion;
+import com.edutech.repository.CursoRepository;
+import com.edutech.repository.EjecucionRepository;
+
+/**
+ * Pruebas de choques de sala contra la base H2 real.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class OcupacionSalasServiceTest {
+
+    @Autowired
+    private OcupacionSalasService ocupacionSalasService;
+
+    @Autowired
+    private EjecucionService ejecucionService;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private EjecucionRepository ejecucionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testCrearYActualizar_RechazanSalaOcupada() {
+        Ejecucion primera = ejecucionService.crear(nuevaEjecucion("SA001", "SALA-1", "Sala 7", "Lunes 08:00-10:00"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> ejecucionService.crear(nuevaEjecucion("SA002", "SALA-1", "SALA 7", "Lunes 09:00-11:00")));
+
+        // Otra sala o el mismo horario en otro período no chocan
+        Ejecucion segunda = ejecucionService.crear(nuevaEjecucion("SA003", "SALA-1", "Sala 8", "Lunes 09:00-11:00"));
+        assertNotNull(ejecucionService.crear(nuevaEjecucion("SA004", "SALA-2", "Sala 7", "Lunes 09:00-11:00")));
+
+        // Mover la segunda a la sala de la primera choca; cambiar la primera de horario no
+        Ejecucion cambio = nuevaEjecucion("SA003", "SALA-1", "Sala 7", "Lunes 09:00-11:00");
+        cambio.setCurso(segunda.getCurso());
+        assertThrows(IllegalArgumentException.class, () -> ejecucionService.actualizar(segunda.getId(), cambio));
+
+        Ejecucion otroHorario = nuevaEjecucion("SA001", "SALA-1", "Sala 7", "Lunes 07:00-09:00");
+        otroHorario.setCurso(primera.getCurso());
+        assertNotNull(ejecucionService.actualizar(primera.getId(), otroHorario));
+    }
+
+    @Test
+    void testCrearConcurrente_SoloUnaOcupaLaSala() throws Exception {
+        int intentos = 8;
+        List<Ejecucion> nuevas = new ArrayList<>();
+        for (int i = 0; i < intentos; i++) {
+            nuevas.add(nuevaEjecucion("SA02" + i, "SALA-4", "Auditorio", "Jueves 10:00-12:00"));
+        }
+
+        ExecutorService hilos = Executors.newFixedThreadPool(intentos);
+        CountDownLatch inicio = new CountDownLatch(1);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        for (Ejecucion nueva : nuevas) {
+            resultados.add(hilos.submit(() -> {
+                inicio.await();
+                try {
+                    ejecucionService.crear(nueva);
+                    return true;
+                } catch (IllegalArgumentException e) {
+                    return false;
+                }
+            }));
+        }
+        inicio.countDown();
+        int creadas = 0;
+        for (Future<Boolean> resultado : resultados) {
+            creadas += resultado.get(30, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        hilos.shutdown();
+        assertTrue(hilos.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Una sola alta confirmada; las rechazadas se revirtieron y no dejaron la sala ocupada
+        assertEquals(1, creadas);
+        assertEquals(1, ejecucionRepository.findAll().stream().filter(e -> "SALA-4".equals(e.getPeriodo())).count());
+        assertTrue(ocupacionSalasService.obtenerChoques("SALA-4").isEmpty());
+        assertNotNull(ejecucionService.crear(nuevaEjecucion("SA030", "SALA-4", "Auditorio", "Jueves 12:00-13:00")));
+    }
+
+    @Test
+    void testRecargar_ConservaLaReservaSinConfirmar() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            ejecucionService.crear(nuevaEjecucion("SA041", "SALA-5", "Sala 9", "Viernes 08:00-10:00"));
+            // Una recarga por un commit ajeno lee la base sin la reserva de esta transacción
+            ocupacionSalasService.recargar();
+
+            CompletableFuture<Ejecucion> otra = CompletableFuture.supplyAsync(() ->
+                    ejecucionService.crear(nuevaEjecucion("SA042", "SALA-5", "Sala 9", "Viernes 09:00-11:00")));
+            ExecutionException error = assertThrows(ExecutionException.class, () -> otra.get(30, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, error.getCause());
+        });
+
+        assertEquals(1, ejecucionRepository.findAll().stream().filter(e -> "SALA-5".equals(e.getPeriodo())).count());
+    }
+
+    @Test
+    void testActualizarCancelada_NoOcupaLaSala() {
+        Ejecucion cancelada = ejecucionService.crear(nuevaEjecucion("SA051", "SALA-6", "Lab 2", "Miércoles 10:00-12:00"));
+        cancelada.setEstado(Ejecucion.CANCELADA);
+        ejecucionRepository.save(cancelada);
+        ocupacionSalasService.recargar();
+        assertNotNull(ejecucionService.crear(nuevaEjecucion("SA052", "SALA-6", "Lab 2", "Miércoles 10:00-12:00")));
+
+        // Editar la cancelada no choca con la sección que ahora usa la sala ni la vuelve a ocupar
+        Ejecucion cambio = nuevaEjecucion("SA051", "SALA-6", "Lab 2", "Miércoles 10:00-12:00");
+        cambio.setEstado(Ejecucion.CANCELADA);
+        assertNotNull(ejecucionService.actualizar(cancelada.getId(), cambio));
+        assertTrue(ocupacionSalasService.obtenerChoques("SALA-6").isEmpty());
+    }
+
+    @Test
+    void testObtenerChoques_DelPeriodo() {
+        // Guardadas directamente en el repositorio, sin pasar por la verificación del servicio
+        Ejecucion primera = ejecucionRepository.save(nuevaEjecucion("SA011", "SALA-3", "Lab 1", "Martes 14:00-16:00"));
+        Ejecucion segunda = ejecucionRepository.save(nuevaEjecucion("SA012", "SALA-3", "Lab 1", "Mar 15:00-17:00"));
+        ejecucionRepository.save(nuevaEjecucion("SA013", "SALA-3", "Lab 1", "Martes 16:00-18:00"));
+        ocupacionSalasService.recargar();
+
+        List<ChoqueSala> choques = ocupacionSalasService.obtenerChoques("SALA-3");
+
+        assertEquals(2, choques.size());
+        assertEquals("LAB 1", choques.get(0).getSala());
+        assertEquals(primera.getId(), choques.get(0).getEjecucionId());
+        assertEquals(segunda.getId(), choques.get(0).getOtraEjecucionId());
+        assertEquals(List.of("Martes 15:00-16:00"), choques.get(0).getFranjas());
+        assertEquals(List.of("Martes 16:00-17:00"), choques.get(1).getFranjas());
+    }
+
+    // ===== MÉTODOS AUXILIARES PARA CREAR OBJETOS DE PRUEBA =====
+
+    private Ejecucion nuevaEjecucion(String codigo, String periodo, String sala, String horario) {
+        Curso curso = cursoRepository.findAll().stream()
+                .filter(c -> codigo.equals(c.getCodigo()))
+                .findFirst()
+                .orElseGet(() -> {
+                    Curso nuevo = new Curso();
+                    nuevo.setCodigo(codigo);
+                    nuevo.setNombre("Curso " + codigo);
+                    nuevo.setCreditos(4);
+                    nuevo.setHorasTeoricas(2);
+                    nuevo.setHorasPracticas(2);
+                    nuevo.setTotalHoras(4);
+                    nuevo.setCiclo("I");
+                    nuevo.setModalidad("PRESENCIAL");
+                    return cursoRepository.save(nuevo);
+                });
+
+        Ejecucion ejecucion = new Ejecucion();
+        ejecucion.setCurso(curso);
+        ejecucion.setPeriodo(periodo);
+        ejecucion.setSeccion("A");
+        ejecucion.setFechaInicio(LocalDate.now().plusDays(1));
+        ejecucion.setFechaFin(LocalDate.now().plusDays(90));
+        ejecucion.setCapacidadMaxima(30);
+        ejecucion.setInscritosActuales(0);
+        ejecucion.setSala(sala);
+        ejecucion.setHorario(horario);
+        ejecucion.setEstado("PROGRAMADA");
+        return ejecucion;
+    }
+}
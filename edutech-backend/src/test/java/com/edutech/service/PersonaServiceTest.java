@@ -8,9 +8,11 @@
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import com.edutech.dto.PaginaPersonas;
 import com.edutech.model.Persona;
 import com.edutech.model.TipoPersona;
 import com.edutech.repository.PersonaRepository;
@@ -23,6 +25,9 @@ class PersonaServiceTest {
     @Autowired
     private PersonaService personaService;
 
+    @Autowired
+    private BusquedaPersonasService busquedaPersonasService;
+
     // Crea mocks de los repositorios para simular su comportamiento
     @MockBean
     private PersonaRepository personaRepository;
@@ -262,6 +267,60 @@ void testBuscarPorNombreOApellido() {
         assertEquals("Juan Carlos", result.get(0).getNombres());
     }
 
+    @Test
+    void testBuscar_IndiceDeTrigramasIncremental() {
+        // El índice se carga desde los campos de búsqueda de las personas activas
+        Persona persona = crearPersonaEjemplo();
+        when(personaRepository.findCamposBusqueda()).thenReturn(List.<Object[]>of(new Object[] {
+                1L, "Juan Carlos", "González", "López", "juan.gonzalez@edutech.cl", "12.345.678-9"}));
+        when(personaRepository.findAllById(List.of(1L))).thenReturn(List.of(persona));
+        busquedaPersonasService.recargar();
+
+        // Con error de tipeo y por RUT
+        PaginaPersonas pagina = personaService.buscar("gonzales", 0, 10);
+        assertEquals(1, pagina.getTotal());
+        assertEquals("Juan Carlos", pagina.getPersonas().get(0).getNombres());
+        assertEquals(1, personaService.buscar("12345678", 0, 10).getTotal());
+
+        // El alta se indexa sin volver a cargar
+        Persona nueva = crearPersonaEjemplo();
+        nueva.setId(2L);
+        nueva.setRut("9.876.543-K");
+        nueva.setNombres("Ana María");
+        nueva.setEmail("ana.gonzalez@edutech.cl");
+        when(personaRepository.existsByRut("9.876.543-K")).thenReturn(false);
+        when(personaRepository.save(any(Persona.class))).thenReturn(nueva);
+        personaService.crear(nueva);
+        assertEquals(2, personaService.buscar("gonzalez", 0, 10).getTotal());
+        assertEquals(1, personaService.buscar("ana maria", 0, 10).getTotal());
+
+        assertThrows(IllegalArgumentException.class, () -> personaService.buscar("juan", 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> personaService.buscar("juan", 100, 20));
+    }
+
+    @Test
+    void testBuscarPorNombreOApellido_EntregaTodasLasCoincidencias() {
+        // Más coincidencias que el tamaño máximo de una página
+        int cantidad = BusquedaPersonasService.TAMANO_MAXIMO + 50;
+        List<Object[]> campos = new ArrayList<>();
+        for (long id = 1; id <= cantidad; id++) {
+            campos.add(new Object[] {id, "Juan " + id, "González", "López", "juan" + id + "@edutech.cl", null});
+        }
+        when(personaRepository.findCamposBusqueda()).thenReturn(campos);
+        when(personaRepository.findAllById(anyIterable())).thenAnswer(invocacion -> {
+            List<Persona> personas = new ArrayList<>();
+            for (Long id : invocacion.<Iterable<Long>>getArgument(0)) {
+                Persona persona = crearPersonaEjemplo();
+                persona.setId(id);
+                personas.add(persona);
+            }
+            return personas;
+        });
+        busquedaPersonasService.recargar();
+
+        assertEquals(cantidad, personaService.buscarPorNombreOApellido("gonzalez").size());
+    }
+
     @Test
     void testExistePorRut_Existe() {
         // Define el comportamiento del mock: el RUT existe
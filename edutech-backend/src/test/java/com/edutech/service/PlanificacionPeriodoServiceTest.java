@@ -0,0 +1,241 @@
+package com.edutech.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.edutech.dto.AsignacionEjecucion;
+import com.edutech.dto.DisponibilidadProfesor;
+import com.edutech.dto.PlanificacionPeriodo;
+import com.edutech.dto.SalaPlanificacion;
+import com.edutech.dto.SolicitudPlanificacion;
+import com.edutech.model.Curso;
+import com.edutech.model.Ejecucion;
+import com.edutech.model.Inscripcion;
+import com.edutech.model.Persona;
+import com.edutech.model.TipoPersona;
+import com.edutech.repository.CursoRepository;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.InscripcionRepository;
+import com.edutech.repository.PersonaRepository;
+import com.edutech.repository.TipoPersonaRepository;
+
+/**
+ * Pruebas de la planificación automática de un período contra la base H2 real.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class PlanificacionPeriodoServiceTest {
+
+    @Autowired
+    private PlanificacionPeriodoService planificacionPeriodoService;
+
+    @Autowired
+    private OcupacionSalasService ocupacionSalasService;
+
+    @Autowired
+    private CargaProfesoresService cargaProfesoresService;
+
+    @Autowired
+    private CalendarioEjecucionesService calendarioEjecucionesService;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private EjecucionRepository ejecucionRepository;
+
+    @Autowired
+    private InscripcionRepository inscripcionRepository;
+
+    @Autowired
+    private PersonaRepository personaRepository;
+
+    @Autowired
+    private TipoPersonaRepository tipoPersonaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testPrevisualizarYAplicar() {
+        Persona profesor = crearProfesor("A");
+        Persona disponible = crearProfesor("B");
+        Ejecucion primera = crearEjecucion("PL001", "PLAN-1", 35, profesor);
+        Ejecucion segunda = crearEjecucion("PL002", "PLAN-1", 35, profesor);
+        Ejecucion tercera = crearEjecucion("PL003", "PLAN-1", 20, null);
+
+        SolicitudPlanificacion solicitud = new SolicitudPlanificacion(
+                List.of(new SalaPlanificacion("P-1", 40), new SalaPlanificacion("P-2", 25)),
+                List.of(new DisponibilidadProfesor(disponible.getId(), "Lunes 08:00-12:00")),
+                List.of("Lunes 08:00-09:30", "Lunes 10:00-11:30"),
+                null);
+
+        PlanificacionPeriodo propuesta = planificacionPeriodoService.previsualizar("PLAN-1", solicitud);
+
+        assertEquals(3, propuesta.getTotal());
+        assertEquals(3, propuesta.getAsignadas());
+        // Nada se guarda al previsualizar
+        assertNull(ejecucionRepository.findById(primera.getId()).orElseThrow().getHorario());
+        calendarioEjecucionesService.obtenerFuturas();
+
+        assertEquals(3, planificacionPeriodoService.aplicar("PLAN-1", propuesta.getAsignaciones()));
+
+        Ejecucion guardada = ejecucionRepository.findById(tercera.getId()).orElseThrow();
+        assertNotNull(guardada.getHorario());
+        assertEquals(disponible.getId(), guardada.getProfesor().getId());
+        assertNotEquals(ejecucionRepository.findById(primera.getId()).orElseThrow().getHorario(),
+                ejecucionRepository.findById(segunda.getId()).orElseThrow().getHorario());
+        assertTrue(ocupacionSalasService.obtenerChoques("PLAN-1").isEmpty());
+        assertEquals(2, cargaProfesoresService.obtenerCarga(profesor.getId()).getEjecuciones());
+        // El calendario se recargó con el horario y el profesor asignados
+        Ejecucion enCalendario = calendarioEjecucionesService.obtenerFuturas().stream()
+                .filter(e -> e.getId().equals(tercera.getId())).findFirst().orElseThrow();
+        assertEquals(guardada.getHorario(), enCalendario.getHorario());
+        assertEquals(disponible.getId(), enCalendario.getProfesor().getId());
+    }
+
+    @Test
+    void testAplicar_RechazaChoques() {
+        Persona profesor = crearProfesor("C");
+        Ejecucion primera = crearEjecucion("PL011", "PLAN-2", 30, profesor);
+        Ejecucion segunda = crearEjecucion("PL012", "PLAN-2", 30, profesor);
+
+        // Mismo profesor en horarios que se traslapan
+        assertThrows(IllegalArgumentException.class, () -> planificacionPeriodoService.aplicar("PLAN-2", List.of(
+                new AsignacionEjecucion(primera.getId(), "P-3", 40, "Martes 08:00-09:30", profesor.getId()),
+                new AsignacionEjecucion(segunda.getId(), "P-4", 40, "Martes 09:00-10:30", profesor.getId()))));
+
+        // Misma sala en horarios que se traslapan
+        assertThrows(IllegalArgumentException.class, () -> planificacionPeriodoService.aplicar("PLAN-2", List.of(
+                new AsignacionEjecucion(primera.getId(), "P-3", 40, "Martes 08:00-09:30", profesor.getId()),
+                new AsignacionEjecucion(segunda.getId(), "p-3", 40, "Martes 09:00-10:30", null))));
+
+        // Ejecución de otro período
+        assertThrows(IllegalArgumentException.class, () -> planificacionPeriodoService.aplicar("OTRO", List.of(
+                new AsignacionEjecucion(primera.getId(), "P-3", 40, "Martes 08:00-09:30", null))));
+
+        assertNull(ejecucionRepository.findById(primera.getId()).orElseThrow().getSala());
+    }
+
+    @Test
+    void testAplicar_RechazaSalaReservadaSinConfirmar() {
+        Ejecucion planificada = crearEjecucion("PL031", "PLAN-4", 30, null);
+        Ejecucion otra = crearEjecucion("PL032", "PLAN-4", 30, null);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            // Otra transacción mueve una ejecución a la sala P-9 y aún no confirma: la base no lo muestra
+            otra.setSala("P-9");
+            otra.setHorario("Jueves 08:00-09:30");
+            ocupacionSalasService.reservar(otra.getId(), ejecucionRepository.save(otra));
+
+            CompletableFuture<Integer> aplicada = CompletableFuture.supplyAsync(() ->
+                    planificacionPeriodoService.aplicar("PLAN-4", List.of(
+                            new AsignacionEjecucion(planificada.getId(), "P-9", 40, "Jueves 09:00-10:30", null))));
+            ExecutionException error = assertThrows(ExecutionException.class, () -> aplicada.get(30, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, error.getCause());
+        });
+
+        assertNull(ejecucionRepository.findById(planificada.getId()).orElseThrow().getSala());
+        assertTrue(ocupacionSalasService.obtenerChoques("PLAN-4").isEmpty());
+    }
+
+    @Test
+    void testAplicar_RechazaSalaChicaYChoquesDeEstudiantes() {
+        Ejecucion primera = crearEjecucion("PL021", "PLAN-3", 30, null);
+        Ejecucion segunda = crearEjecucion("PL022", "PLAN-3", 30, null);
+        segunda.setHorario("Miércoles 08:00-09:30");
+        ejecucionRepository.save(segunda);
+        Persona estudiante = crearProfesor("E");
+        inscribir(estudiante, primera);
+        inscribir(estudiante, segunda);
+
+        // Sala más chica que la capacidad máxima, o sin capacidad indicada
+        assertThrows(IllegalArgumentException.class, () -> planificacionPeriodoService.aplicar("PLAN-3", List.of(
+                new AsignacionEjecucion(primera.getId(), "P-5", 25, "Martes 08:00-09:30", null))));
+        assertThrows(IllegalArgumentException.class, () -> planificacionPeriodoService.aplicar("PLAN-3", List.of(
+                new AsignacionEjecucion(primera.getId(), "P-5", null, "Martes 08:00-09:30", null))));
+
+        // El estudiante inscrito en ambas quedaría con dos ejecuciones a la misma hora
+        IllegalArgumentException choque = assertThrows(IllegalArgumentException.class,
+                () -> planificacionPeriodoService.aplicar("PLAN-3", List.of(
+                        new AsignacionEjecucion(primera.getId(), "P-5", 30, "Miércoles 09:00-10:30", null))));
+        assertTrue(choque.getMessage().contains("estudiante " + estudiante.getId()));
+        // Ni al mover ambas a la misma hora en salas distintas
+        assertThrows(IllegalArgumentException.class, () -> planificacionPeriodoService.aplicar("PLAN-3", List.of(
+                new AsignacionEjecucion(primera.getId(), "P-5", 30, "Jueves 08:00-09:30", null),
+                new AsignacionEjecucion(segunda.getId(), "P-6", 30, "Jueves 09:00-10:30", null))));
+        assertNull(ejecucionRepository.findById(primera.getId()).orElseThrow().getSala());
+
+        assertEquals(1, planificacionPeriodoService.aplicar("PLAN-3", List.of(
+                new AsignacionEjecucion(primera.getId(), "P-5", 30, "Miércoles 10:00-11:30", null))));
+        assertEquals("P-5", ejecucionRepository.findById(primera.getId()).orElseThrow().getSala());
+    }
+
+    // ===== MÉTODOS AUXILIARES PARA CREAR OBJETOS DE PRUEBA =====
+
+    private void inscribir(Persona estudiante, Ejecucion ejecucion) {
+        Inscripcion inscripcion = new Inscripcion();
+        inscripcion.setPersona(estudiante);
+        inscripcion.setEjecucion(ejecucion);
+        inscripcion.setFechaInscripcion(LocalDateTime.now());
+        inscripcion.setEstado("ACTIVA");
+        inscripcion.setActivo(true);
+        inscripcionRepository.save(inscripcion);
+    }
+
+    private Ejecucion crearEjecucion(String codigo, String periodo, int capacidad, Persona profesor) {
+        Curso curso = new Curso();
+        curso.setCodigo(codigo);
+        curso.setNombre("Curso " + codigo);
+        curso.setCreditos(4);
+        curso.setHorasTeoricas(2);
+        curso.setHorasPracticas(2);
+        curso.setTotalHoras(4);
+        curso.setCiclo("I");
+        curso.setModalidad("PRESENCIAL");
+        curso = cursoRepository.save(curso);
+
+        Ejecucion ejecucion = new Ejecucion();
+        ejecucion.setCurso(curso);
+        ejecucion.setPeriodo(periodo);
+        ejecucion.setSeccion("A");
+        ejecucion.setFechaInicio(LocalDate.now().plusDays(30));
+        ejecucion.setFechaFin(LocalDate.now().plusDays(120));
+        ejecucion.setCapacidadMaxima(capacidad);
+        ejecucion.setInscritosActuales(0);
+        ejecucion.setProfesor(profesor);
+        ejecucion.setEstado("PROGRAMADA");
+        return ejecucionRepository.save(ejecucion);
+    }
+
+    private Persona crearProfesor(String sufijo) {
+        TipoPersona tipo = tipoPersonaRepository.findAll().stream()
+                .filter(t -> "PROFESOR".equals(t.getNombre()))
+                .findFirst()
+                .orElseGet(() -> {
+                    TipoPersona nuevo = new TipoPersona();
+                    nuevo.setNombre("PROFESOR");
+                    return tipoPersonaRepository.save(nuevo);
+                });
+
+        Persona persona = new Persona();
+        persona.setRut("PL-" + sufijo);
+        persona.setNombres("Profesor " + sufijo);
+        persona.setApellidoPaterno("Prueba");
+        persona.setApellidoMaterno("Planificacion");
+        persona.setCorreo("planificacion" + sufijo + "@edutech.cl");
+        persona.setTipoPersona(tipo);
+        return personaRepository.save(persona);
+    }
+}
@@ -0,0 +1,186 @@
+package com.edutech.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.edutech.dto.ReporteInscripcionLote;
+import com.edutech.dto.SolicitudInscripcion;
+import com.edutech.model.Curso;
+import com.edutech.model.Ejecucion;
+import com.edutech.model.Inscripcion;
+import com.edutech.model.Persona;
+import com.edutech.repository.CursoRepository;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.InscripcionRepository;
+
+/**
+ * Prerrequisitos con la base H2 real: cierre transitivo, rechazo de ciclos y
+ * verificación al inscribir (individual y por lote).
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@Import(DatosPrueba.class)
+class PrerrequisitoServiceTest {
+
+    @Autowired
+    private PrerrequisitoService prerrequisitoService;
+
+    @Autowired
+    private InscripcionService inscripcionService;
+
+    @Autowired
+    private InscripcionLoteService inscripcionLoteService;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private EjecucionRepository ejecucionRepository;
+
+    @Autowired
+    private InscripcionRepository inscripcionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @AfterEach
+    void limpiar() {
+        datos.limpiar();
+    }
+
+    @Test
+    void testAgregar_CierreTransitivoYCiclos() {
+        Long basico = crearCurso("PRE-A1").getId();
+        Long intermedio = crearCurso("PRE-A2").getId();
+        Long avanzado = crearCurso("PRE-A3").getId();
+
+        prerrequisitoService.agregar(intermedio, basico);
+        prerrequisitoService.agregar(avanzado, intermedio);
+
+        assertEquals(Set.of(basico, intermedio), new HashSet<>(prerrequisitoService.obtener(avanzado).getTodos()));
+        assertEquals(List.of(intermedio), prerrequisitoService.obtener(avanzado).getDirectos());
+        assertThrows(IllegalStateException.class, () -> prerrequisitoService.agregar(basico, avanzado));
+        assertThrows(IllegalStateException.class, () -> prerrequisitoService.agregar(intermedio, basico));
+        assertThrows(IllegalArgumentException.class, () -> prerrequisitoService.agregar(avanzado, -1L));
+
+        assertTrue(prerrequisitoService.quitar(intermedio, basico));
+        assertEquals(List.of(intermedio), prerrequisitoService.obtener(avanzado).getTodos());
+        assertFalse(prerrequisitoService.quitar(intermedio, basico));
+    }
+
+    @Test
+    void testAgregarConcurrente_LaAltaRepetidaNoQuitaLaArista() throws Exception {
+        Long basico = crearCurso("PRE-C1").getId();
+        Long avanzado = crearCurso("PRE-C2").getId();
+        CountDownLatch agregada = new CountDownLatch(1);
+        CountDownLatch confirmar = new CountDownLatch(1);
+
+        // La primera alta deja la arista en el grafo y espera antes del commit
+        CompletableFuture<Void> primera = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+                    prerrequisitoService.agregar(avanzado, basico);
+                    agregada.countDown();
+                    try {
+                        confirmar.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertTrue(agregada.await(10, TimeUnit.SECONDS));
+
+        // La segunda no ve la fila sin confirmar, encuentra la arista ya en el grafo y choca con la clave única
+        CompletableFuture<Void> segunda = CompletableFuture.runAsync(() -> prerrequisitoService.agregar(avanzado, basico));
+        Thread.sleep(200);
+        confirmar.countDown();
+        primera.get(10, TimeUnit.SECONDS);
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> segunda.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertTrue(error.getCause().getMessage().contains("ya es prerrequisito"));
+
+        // El rollback de la segunda no deshace la arista que confirmó la primera
+        assertEquals(List.of(basico), prerrequisitoService.obtener(avanzado).getDirectos());
+        assertTrue(prerrequisitoService.tieneRequisitos(avanzado));
+    }
+
+    @Test
+    void testInscribir_ExigePrerrequisitosAprobados() {
+        Ejecucion basico = crearEjecucion(crearCurso("PRE-B1"));
+        Ejecucion avanzado = crearEjecucion(crearCurso("PRE-B2"));
+        prerrequisitoService.agregar(avanzado.getCurso().getId(), basico.getCurso().getId());
+        List<Persona> estudiantes = datos.crearEstudiantes("PB", 2);
+        Long aprobado = estudiantes.get(0).getId();
+        Long sinAprobar = estudiantes.get(1).getId();
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> inscripcionService.inscribir(aprobado, avanzado.getId()));
+        assertTrue(error.getMessage().contains("prerrequisitos"));
+
+        completar(estudiantes.get(0), basico);
+        assertNotNull(inscripcionService.inscribir(aprobado, avanzado.getId()).getId());
+
+        ReporteInscripcionLote reporte = inscripcionLoteService.inscribirLote(
+                List.of(new SolicitudInscripcion(sinAprobar, avanzado.getId())));
+        assertEquals(0, reporte.getInscritos());
+        assertTrue(reporte.getResultados().get(0).getMotivo().contains("prerrequisitos"));
+        assertEquals(List.of(basico.getCurso().getId()),
+                prerrequisitoService.faltantesDelEstudiante(sinAprobar, avanzado.getCurso().getId()));
+    }
+
+    // Métodos auxiliares
+
+    private void completar(Persona estudiante, Ejecucion ejecucion) {
+        Inscripcion inscripcion = new Inscripcion();
+        inscripcion.setPersona(estudiante);
+        inscripcion.setEjecucion(ejecucion);
+        inscripcion.setFechaInscripcion(LocalDateTime.now().minusMonths(6));
+        inscripcion.setEstado("COMPLETADA");
+        inscripcion.setActivo(false);
+        inscripcionRepository.save(inscripcion);
+    }
+
+    private Curso crearCurso(String codigo) {
+        Curso curso = new Curso();
+        curso.setCodigo(codigo);
+        curso.setNombre("Curso " + codigo);
+        curso.setCreditos(4);
+        curso.setHorasTeoricas(2);
+        curso.setHorasPracticas(2);
+        curso.setCiclo("I");
+        curso.setModalidad("PRESENCIAL");
+        return cursoRepository.save(curso);
+    }
+
+    private Ejecucion crearEjecucion(Curso curso) {
+        Ejecucion ejecucion = new Ejecucion();
+        ejecucion.setCurso(curso);
+        ejecucion.setPeriodo("2024-1");
+        ejecucion.setSeccion("A");
+        ejecucion.setFechaInicio(LocalDate.now().minusDays(1));
+        ejecucion.setFechaFin(LocalDate.now().plusDays(90));
+        ejecucion.setCapacidadMaxima(10);
+        ejecucion.setInscritosActuales(0);
+        ejecucion.setEstado("EN_CURSO");
+        return ejecucionRepository.save(ejecucion);
+    }
+
+}
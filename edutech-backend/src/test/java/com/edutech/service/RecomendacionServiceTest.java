@@ -0,0 +1,115 @@
+package com.edutech.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.edutech.dto.CursoRecomendado;
+import com.edutech.model.Curso;
+import com.edutech.model.Ejecucion;
+import com.edutech.model.Inscripcion;
+import com.edutech.model.Persona;
+import com.edutech.repository.CursoRepository;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.InscripcionRepository;
+
+/**
+ * Recomendaciones por co-inscripción calculadas desde las inscripciones de la base H2.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@Import(DatosPrueba.class)
+class RecomendacionServiceTest {
+
+    @Autowired
+    private RecomendacionService recomendacionService;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private EjecucionRepository ejecucionRepository;
+
+    @Autowired
+    private InscripcionRepository inscripcionRepository;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @AfterEach
+    void limpiar() {
+        datos.limpiar();
+    }
+
+    @Test
+    void testRecalcular_RecomiendaCursosCoinscritos() {
+        Ejecucion base = crearEjecucion(crearCurso("REC-A1"));
+        Ejecucion comun = crearEjecucion(crearCurso("REC-A2"));
+        Ejecucion electivo = crearEjecucion(crearCurso("REC-A3"));
+        Ejecucion cancelado = crearEjecucion(crearCurso("REC-A4"));
+        List<Persona> estudiantes = datos.crearEstudiantes("RA", 4);
+        for (int i = 0; i < 3; i++) {
+            inscribir(estudiantes.get(i), base, "ACTIVA");
+            inscribir(estudiantes.get(i), comun, "COMPLETADA");
+            inscribir(estudiantes.get(i), cancelado, "CANCELADA");
+        }
+        inscribir(estudiantes.get(0), electivo, "ACTIVA");
+        inscribir(estudiantes.get(1), electivo, "ACTIVA");
+        inscribir(estudiantes.get(3), base, "ACTIVA");
+
+        recomendacionService.recalcular();
+
+        List<CursoRecomendado> paraCurso = recomendacionService.recomendadosParaCurso(comun.getCurso().getId(), 5);
+        assertEquals(List.of("REC-A1", "REC-A3"), paraCurso.stream().map(r -> r.getCurso().getCodigo()).toList());
+        assertEquals(3, paraCurso.get(0).getCoinscritos());
+
+        List<CursoRecomendado> paraPersona = recomendacionService.recomendadosParaPersona(estudiantes.get(3).getId(), 5);
+        assertEquals(List.of("REC-A2", "REC-A3"), paraPersona.stream().map(r -> r.getCurso().getCodigo()).toList());
+        assertTrue(recomendacionService.recomendadosParaCurso(cancelado.getCurso().getId(), 5).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> recomendacionService.recomendadosParaPersona(estudiantes.get(3).getId(), 0));
+    }
+
+    // Métodos auxiliares
+
+    private void inscribir(Persona estudiante, Ejecucion ejecucion, String estado) {
+        Inscripcion inscripcion = new Inscripcion();
+        inscripcion.setPersona(estudiante);
+        inscripcion.setEjecucion(ejecucion);
+        inscripcion.setEstado(estado);
+        inscripcion.setActivo(!"CANCELADA".equals(estado));
+        inscripcionRepository.save(inscripcion);
+    }
+
+    private Curso crearCurso(String codigo) {
+        Curso curso = new Curso();
+        curso.setCodigo(codigo);
+        curso.setNombre("Curso " + codigo);
+        curso.setCreditos(4);
+        curso.setHorasTeoricas(2);
+        curso.setHorasPracticas(2);
+        curso.setCiclo("I");
+        curso.setModalidad("PRESENCIAL");
+        return cursoRepository.save(curso);
+    }
+
+    private Ejecucion crearEjecucion(Curso curso) {
+        Ejecucion ejecucion = new Ejecucion();
+        ejecucion.setCurso(curso);
+        ejecucion.setPeriodo("2024-1");
+        ejecucion.setSeccion("A");
+        ejecucion.setFechaInicio(LocalDate.now().minusDays(1));
+        ejecucion.setFechaFin(LocalDate.now().plusDays(90));
+        ejecucion.setCapacidadMaxima(10);
+        ejecucion.setInscritosActuales(0);
+        ejecucion.setEstado("EN_CURSO");
+        return ejecucionRepository.save(ejecucion);
+    }
+
+}
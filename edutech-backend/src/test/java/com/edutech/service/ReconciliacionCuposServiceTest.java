@@ -0,0 +1,163 @@
+package com.edutech.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.edutech.model.Ejecucion;
+import com.edutech.model.Inscripcion;
+import com.edutech.model.Persona;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.InscripcionRepository;
+import com.edutech.repository.MigracionDatosRepository;
+
+/**
+ * Pruebas del contador inscritos_actuales y su reconciliación contra la base H2 real
+ * (bloques de 2 ejecuciones para recorrer varios bloques).
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "edutech.cupos.reconciliacion.habilitada=false",
+    "edutech.cupos.reconciliacion.tamano-bloque=2"
+})
+@Import(DatosPrueba.class)
+class ReconciliacionCuposServiceTest {
+
+    @Autowired
+    private ReconciliacionCuposService reconciliacionCuposService;
+
+    @Autowired
+    private InscripcionService inscripcionService;
+
+    @Autowired
+    private RetencionCupoService retencionCupoService;
+
+    @Autowired
+    private EjecucionService ejecucionService;
+
+    @Autowired
+    private EjecucionRepository ejecucionRepository;
+
+    @Autowired
+    private InscripcionRepository inscripcionRepository;
+
+    @Autowired
+    private MigracionDatosRepository migracionDatosRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @AfterEach
+    void limpiar() {
+        datos.limpiar();
+    }
+
+    @Test
+    void testContador_NoCuentaCanceladasYFiltraLlenas() {
+        Ejecucion ejecucion = datos.crearEjecucion("RC001", 2);
+        List<Persona> estudiantes = datos.crearEstudiantes("A", 3);
+
+        Inscripcion primera = inscripcionService.inscribir(estudiantes.get(0).getId(), ejecucion.getId());
+        inscripcionService.inscribir(estudiantes.get(1).getId(), ejecucion.getId());
+        assertEquals(2, ejecucionService.contarEstudiantesInscritos(ejecucion.getId()));
+        assertTrue(ejecucionService.obtenerConCuposDisponibles().stream().noneMatch(e -> e.getId().equals(ejecucion.getId())));
+
+        // La inscripción cancelada deja de contar
+        inscripcionService.cancelarInscripcion(primera.getId());
+        assertEquals(1, ejecucionService.contarEstudiantesInscritos(ejecucion.getId()));
+        assertTrue(ejecucionService.obtenerConCuposDisponibles().stream().anyMatch(e -> e.getId().equals(ejecucion.getId())));
+        assertTrue(ejecucionService.obtenerConCuposDisponiblesPorCurso(ejecucion.getCurso().getId()).stream()
+                .anyMatch(e -> e.getId().equals(ejecucion.getId())));
+    }
+
+    @Test
+    void testReconciliar_CorrigeDesajustesPorBloques() {
+        List<Ejecucion> ejecuciones = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ejecuciones.add(datos.crearEjecucion("RC01" + i, 10));
+        }
+        List<Persona> estudiantes = datos.crearEstudiantes("B", 3);
+
+        // Ejecución 0: dos inscripciones y una retención, contador desajustado a mano
+        inscripcionService.inscribir(estudiantes.get(0).getId(), ejecuciones.get(0).getId());
+        inscripcionService.inscribir(estudiantes.get(1).getId(), ejecuciones.get(0).getId());
+        retencionCupoService.retener(estudiantes.get(2).getId(), ejecuciones.get(0).getId(), 5);
+        jdbcTemplate.update("UPDATE ejecuciones SET inscritos_actuales = 9 WHERE id = ?", ejecuciones.get(0).getId());
+
+        // Ejecución 3: inscripción guardada sin pasar por el contador
+        Inscripcion directa = new Inscripcion();
+        directa.setPersona(estudiantes.get(0));
+        directa.setEjecucion(ejecuciones.get(3));
+        directa.setFechaInscripcion(LocalDateTime.now());
+        directa.setEstado("ACTIVA");
+        directa.setActivo(true);
+        inscripcionRepository.save(directa);
+
+        // Ejecución 4: contador nulo
+        jdbcTemplate.update("UPDATE ejecuciones SET inscritos_actuales = NULL WHERE id = ?", ejecuciones.get(4).getId());
+
+        assertTrue(reconciliacionCuposService.reconciliar() >= 3);
+
+        assertEquals(3, inscritos(ejecuciones.get(0)));
+        assertEquals(0, inscritos(ejecuciones.get(1)));
+        assertEquals(1, inscritos(ejecuciones.get(3)));
+        assertEquals(0, inscritos(ejecuciones.get(4)));
+        assertEquals(7, cuposLibres(ejecuciones.get(0)));
+        assertEquals(9, cuposLibres(ejecuciones.get(3)));
+        assertEquals(10, cuposLibres(ejecuciones.get(4)));
+        // Una segunda pasada no encuentra nada que corregir
+        assertEquals(0, reconciliacionCuposService.reconciliar());
+    }
+
+    @Test
+    void testCuposLibres_SeMantienenConElContadorYSeCompletanUnaVezAlIniciar() {
+        Ejecucion ejecucion = datos.crearEjecucion("RC021", 3);
+        Ejecucion anterior = datos.crearEjecucion("RC022", 4);
+        List<Persona> estudiantes = datos.crearEstudiantes("C", 2);
+        assertEquals(3, cuposLibres(ejecucion));
+
+        Inscripcion inscripcion = inscripcionService.inscribir(estudiantes.get(0).getId(), ejecucion.getId());
+        inscripcionService.inscribir(estudiantes.get(1).getId(), ejecucion.getId());
+        assertEquals(1, cuposLibres(ejecucion));
+        inscripcionService.cancelarInscripcion(inscripcion.getId());
+        assertEquals(2, cuposLibres(ejecucion));
+
+        // Filas creadas antes de la columna: con la corrección ya registrada, iniciar no las vuelve a buscar
+        jdbcTemplate.update("UPDATE ejecuciones SET cupos_libres = NULL WHERE id = ?", anterior.getId());
+        assertTrue(ejecucionService.obtenerConCuposDisponibles().stream().noneMatch(e -> e.getId().equals(anterior.getId())));
+        assertTrue(migracionDatosRepository.existsById("completar_cupos_libres"));
+        reconciliacionCuposService.iniciar();
+        assertNull(jdbcTemplate.queryForObject("SELECT cupos_libres FROM ejecuciones WHERE id = ?", Integer.class, anterior.getId()));
+
+        // Sin el registro vuelve a correr y luego no queda nada pendiente
+        migracionDatosRepository.deleteById("completar_cupos_libres");
+        reconciliacionCuposService.iniciar();
+        assertEquals(4, cuposLibres(anterior));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ejecuciones WHERE cupos_libres IS NULL", Integer.class));
+        assertTrue(migracionDatosRepository.existsById("completar_cupos_libres"));
+        assertTrue(ejecucionService.obtenerConCuposDisponibles().stream().anyMatch(e -> e.getId().equals(anterior.getId())));
+    }
+
+    // ===== MÉTODOS AUXILIARES PARA CREAR OBJETOS DE PRUEBA =====
+
+    private int cuposLibres(Ejecucion ejecucion) {
+        return jdbcTemplate.queryForObject("SELECT cupos_libres FROM ejecuciones WHERE id = ?", Integer.class, ejecucion.getId());
+    }
+
+    private int inscritos(Ejecucion ejecucion) {
+        return ejecucionRepository.findById(ejecucion.getId()).orElseThrow().getInscritosActuales();
+    }
+
+}
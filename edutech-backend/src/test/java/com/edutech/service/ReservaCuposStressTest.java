@@ -0,0 +1,93 @@
+package com.edutech.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.edutech.model.Ejecucion;
+import com.edutech.model.Persona;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.InscripcionRepository;
+
+/**
+ * Prueba de estrés: 1.000 solicitudes concurrentes contra una misma ejecución
+ * nunca deben superar la capacidad máxima (usa la base H2 real, sin mocks).
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@Tag("estres")
+@Import(DatosPrueba.class)
+class ReservaCuposStressTest {
+
+    private static final int SOLICITUDES = 1000;
+    private static final int CAPACIDAD = 40;
+    private static final int HILOS = 64;
+
+    @Autowired
+    private InscripcionService inscripcionService;
+
+    @Autowired
+    private EjecucionRepository ejecucionRepository;
+
+    @Autowired
+    private InscripcionRepository inscripcionRepository;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @AfterEach
+    void limpiar() {
+        datos.limpiar();
+    }
+
+    @Test
+    void testInscripcionesConcurrentes_NoSobrepasanCapacidad() throws Exception {
+        // Prepara una ejecución con pocos cupos y muchos estudiantes
+        Ejecucion ejecucion = datos.crearEjecucion("STR001", CAPACIDAD);
+        List<Persona> estudiantes = datos.crearEstudiantes("S", SOLICITUDES);
+
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch inicio = new CountDownLatch(1);
+        AtomicInteger exitosas = new AtomicInteger();
+        AtomicInteger sinCupo = new AtomicInteger();
+        AtomicInteger otrosErrores = new AtomicInteger();
+
+        // Todas las solicitudes parten al mismo tiempo
+        for (Persona estudiante : estudiantes) {
+            executor.submit(() -> {
+                try {
+                    inicio.await();
+                    inscripcionService.inscribir(estudiante.getId(), ejecucion.getId());
+                    exitosas.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    sinCupo.incrementAndGet();
+                } catch (Exception e) {
+                    otrosErrores.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        inicio.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+
+        // Verifica que no hubo sobreventa ni en el contador ni en las filas insertadas
+        Ejecucion resultado = ejecucionRepository.findById(ejecucion.getId()).orElseThrow();
+        assertEquals(0, otrosErrores.get());
+        assertEquals(CAPACIDAD, exitosas.get());
+        assertEquals(SOLICITUDES - CAPACIDAD, sinCupo.get());
+        assertEquals(CAPACIDAD, resultado.getInscritosActuales());
+        assertEquals(CAPACIDAD, inscripcionRepository.countByEjecucionId(ejecucion.getId()));
+    }
+}
@@ -0,0 +1,145 @@
+package com.edutech.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import com.edutech.model.Ejecucion;
+import com.edutech.model.Inscripcion;
+import com.edutech.model.Persona;
+import com.edutech.model.RetencionCupo;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.InscripcionRepository;
+import com.edutech.repository.RetencionCupoRepository;
+
+/**
+ * Pruebas de retenciones de cupo contra la base H2 real (tic de la rueda reducido a 50 ms).
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "edutech.retenciones.tic-milisegundos=50"
+})
+@Import(DatosPrueba.class)
+class RetencionCupoServiceTest {
+
+    @Autowired
+    private RetencionCupoService retencionCupoService;
+
+    @Autowired
+    private InscripcionService inscripcionService;
+
+    @Autowired
+    private ListaEsperaService listaEsperaService;
+
+    @Autowired
+    private EjecucionRepository ejecucionRepository;
+
+    @Autowired
+    private InscripcionRepository inscripcionRepository;
+
+    @Autowired
+    private RetencionCupoRepository retencionCupoRepository;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @AfterEach
+    void limpiar() {
+        datos.limpiar();
+    }
+
+    @Test
+    void testRetencion_OcupaCupoYSeConfirma() {
+        Ejecucion ejecucion = datos.crearEjecucion("RT001", 1);
+        List<Persona> estudiantes = datos.crearEstudiantes("A", 2);
+
+        RetencionCupo retencion = retencionCupoService.retener(estudiantes.get(0).getId(), ejecucion.getId(), 5);
+
+        // La retención cuenta contra la capacidad igual que una inscripción
+        assertThrows(IllegalStateException.class,
+                () -> inscripcionService.inscribir(estudiantes.get(1).getId(), ejecucion.getId()));
+
+        Inscripcion inscripcion = retencionCupoService.confirmar(retencion.getId());
+
+        assertEquals("ACTIVA", inscripcion.getEstado());
+        assertEquals(RetencionCupo.CONFIRMADA, retencionCupoRepository.findById(retencion.getId()).orElseThrow().getEstado());
+        assertEquals(1, ejecucionRepository.findById(ejecucion.getId()).orElseThrow().getInscritosActuales());
+        assertThrows(IllegalStateException.class, () -> retencionCupoService.confirmar(retencion.getId()));
+    }
+
+    @Test
+    void testRetencion_MinutosFueraDeRango() {
+        Ejecucion ejecucion = datos.crearEjecucion("RT002", 1);
+        List<Persona> estudiantes = datos.crearEstudiantes("B", 1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> retencionCupoService.retener(estudiantes.get(0).getId(), ejecucion.getId(), 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> retencionCupoService.retener(estudiantes.get(0).getId(), ejecucion.getId(), 500));
+    }
+
+    @Test
+    void testLiberar_DevuelveCupo() {
+        Ejecucion ejecucion = datos.crearEjecucion("RT003", 1);
+        List<Persona> estudiantes = datos.crearEstudiantes("C", 2);
+
+        RetencionCupo retencion = retencionCupoService.retener(estudiantes.get(0).getId(), ejecucion.getId(), 5);
+        retencionCupoService.liberar(retencion.getId());
+
+        assertEquals(0, ejecucionRepository.findById(ejecucion.getId()).orElseThrow().getInscritosActuales());
+        assertNotNull(inscripcionService.inscribir(estudiantes.get(1).getId(), ejecucion.getId()));
+        assertThrows(IllegalStateException.class, () -> retencionCupoService.liberar(retencion.getId()));
+    }
+
+    @Test
+    void testVencimiento_LiberaCupoYPromueveListaDeEspera() throws Exception {
+        Ejecucion ejecucion = datos.crearEjecucion("RT004", 1);
+        List<Persona> estudiantes = datos.crearEstudiantes("D", 2);
+
+        RetencionCupo retencion = retencionCupoService.retenerPor(
+                estudiantes.get(0).getId(), ejecucion.getId(), Duration.ofMillis(300));
+        listaEsperaService.inscribirEnLista(estudiantes.get(1).getId(), ejecucion.getId());
+
+        esperarHasta(() -> RetencionCupo.EXPIRADA.equals(
+                retencionCupoRepository.findById(retencion.getId()).orElseThrow().getEstado()));
+
+        // El cupo vencido pasa al primero de la lista de espera
+        assertTrue(inscripcionRepository.existsByPersonaIdAndEjecucionId(estudiantes.get(1).getId(), ejecucion.getId()));
+        assertEquals(1, ejecucionRepository.findById(ejecucion.getId()).orElseThrow().getInscritosActuales());
+        assertThrows(IllegalStateException.class, () -> retencionCupoService.confirmar(retencion.getId()));
+    }
+
+    @Test
+    void testMuchasRetenciones_VencenTodas() throws Exception {
+        int cantidad = 300;
+        Ejecucion ejecucion = datos.crearEjecucion("RT005", cantidad);
+        List<Persona> estudiantes = datos.crearEstudiantes("E", cantidad);
+
+        // Las retenciones vencen mientras se siguen creando otras sobre la misma ejecución
+        for (Persona estudiante : estudiantes) {
+            retencionCupoService.retenerPor(estudiante.getId(), ejecucion.getId(), Duration.ofMillis(200));
+        }
+
+        esperarHasta(() -> ejecucionRepository.findById(ejecucion.getId()).orElseThrow().getInscritosActuales() == 0);
+        assertEquals(0, retencionCupoRepository.countByEjecucion_IdAndEstado(ejecucion.getId(), RetencionCupo.ACTIVA));
+    }
+
+    // ===== MÉTODOS AUXILIARES PARA CREAR OBJETOS DE PRUEBA =====
+
+    private void esperarHasta(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 15_000;
+        while (!condicion.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < limite, "La condición no se cumplió a tiempo");
+            Thread.sleep(50);
+        }
+    }
+
+}
@@ -0,0 +1,251 @@
+package com.edutech.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.edutech.dto.ReporteCarrito;
+import com.edutech.dto.ReporteInscripcionLote;
+import com.edutech.dto.ResultadoInscripcionLote;
+import com.edutech.dto.SolicitudInscripcion;
+import com.edutech.model.Curso;
+import com.edutech.model.Ejecucion;
+import com.edutech.model.Inscripcion;
+import com.edutech.model.ListaEspera;
+import com.edutech.model.Persona;
+import com.edutech.model.RetencionCupo;
+import com.edutech.repository.CursoRepository;
+import com.edutech.repository.EjecucionRepository;
+import com.edutech.repository.InscripcionRepository;
+import com.edutech.repository.ListaEsperaRepository;
+import com.edutech.repository.RetencionCupoRepository;
+
+/**
+ * Retiro de cursos por conjunto y archivo por bloques con la base H2 real.
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "edutech.cursos.archivo.tamano-bloque=2"})
+@Import(DatosPrueba.class)
+class RetiroCursosServiceTest {
+
+    @Autowired
+    private CursoService cursoService;
+
+    @Autowired
+    private RetiroCursosService retiroCursosService;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private EjecucionRepository ejecucionRepository;
+
+    @Autowired
+    private InscripcionRepository inscripcionRepository;
+
+    @Autowired
+    private ListaEsperaRepository listaEsperaRepository;
+
+    @Autowired
+    private RetencionCupoRepository retencionCupoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InscripcionService inscripcionService;
+
+    @Autowired
+    private CarritoInscripcionService carritoInscripcionService;
+
+    @Autowired
+    private InscripcionLoteService inscripcionLoteService;
+
+    @Autowired
+    private ListaEsperaService listaEsperaService;
+
+    @Autowired
+    private RetencionCupoService retencionCupoService;
+
+    @Autowired
+    private EjecucionService ejecucionService;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @AfterEach
+    void limpiar() {
+        datos.limpiar();
+    }
+
+    @Test
+    void testEliminar_RetiraYCancelaPorConjunto() {
+        Curso curso = crearCurso("RET-A1");
+        Ejecucion vigente = crearEjecucion(curso, "A", LocalDate.now().minusDays(1), LocalDate.now().plusDays(90));
+        Ejecucion terminada = crearEjecucion(curso, "B", LocalDate.now().minusDays(200), LocalDate.now().minusDays(100));
+        List<Persona> estudiantes = datos.crearEstudiantes("RA", 3);
+        Inscripcion activa = inscribir(estudiantes.get(0), vigente, "ACTIVA");
+        Inscripcion completada = inscribir(estudiantes.get(1), terminada, "COMPLETADA");
+        ListaEspera espera = esperar(estudiantes.get(2), vigente);
+        RetencionCupo retencion = retener(estudiantes.get(1), vigente);
+
+        assertTrue(cursoService.eliminar(curso.getId()));
+
+        Curso retirado = cursoRepository.findById(curso.getId()).orElseThrow();
+        assertFalse(retirado.getActivo());
+        assertNotNull(retirado.getFechaRetiro());
+        Ejecucion cancelada = ejecucionRepository.findById(vigente.getId()).orElseThrow();
+        assertEquals(Ejecucion.CANCELADA, cancelada.getEstado());
+        assertEquals(0, cancelada.getInscritosActuales());
+        assertEquals(Ejecucion.FINALIZADA, ejecucionRepository.findById(terminada.getId()).orElseThrow().getEstado());
+        assertEquals("CANCELADA", inscripcionRepository.findById(activa.getId()).orElseThrow().getEstado());
+        assertEquals("COMPLETADA", inscripcionRepository.findById(completada.getId()).orElseThrow().getEstado());
+        assertEquals(ListaEspera.RETIRADA, listaEsperaRepository.findById(espera.getId()).orElseThrow().getEstado());
+        assertEquals(RetencionCupo.LIBERADA, retencionCupoRepository.findById(retencion.getId()).orElseThrow().getEstado());
+
+        assertTrue(cursoService.buscar("RET-A1", 10).isEmpty());
+        assertFalse(cursoService.eliminar(curso.getId()));
+
+        // Las ejecuciones con historial no se borran (se devuelve un error de negocio, no una violación de clave)
+        assertThrows(IllegalStateException.class, () -> ejecucionService.eliminar(vigente.getId()));
+        assertThrows(IllegalStateException.class, () -> ejecucionService.eliminar(terminada.getId()));
+        assertTrue(ejecucionRepository.existsById(vigente.getId()));
+        // Actualizar el curso no lo vuelve a activar
+        Curso cambios = new Curso();
+        cambios.setNombre("Curso RET-A1 renombrado");
+        cambios.setHorasTeoricas(2);
+        cambios.setHorasPracticas(2);
+        cambios.setActivo(true);
+        cursoService.actualizar(curso.getId(), cambios);
+        assertFalse(cursoRepository.findById(curso.getId()).orElseThrow().getActivo());
+    }
+
+    @Test
+    void testEliminar_LasEjecucionesCanceladasNoAdmitenInscripciones() {
+        Curso curso = crearCurso("RET-C1");
+        Ejecucion vigente = crearEjecucion(curso, "A", LocalDate.now().minusDays(1), LocalDate.now().plusDays(90));
+        Persona estudiante = datos.crearEstudiantes("RC", 1).get(0);
+        assertTrue(cursoService.eliminar(curso.getId()));
+
+        assertThrows(IllegalStateException.class, () -> inscripcionService.inscribir(estudiante.getId(), vigente.getId()));
+        assertThrows(IllegalStateException.class, () -> retencionCupoService.retener(estudiante.getId(), vigente.getId(), null));
+        assertThrows(IllegalStateException.class, () -> listaEsperaService.inscribirEnLista(estudiante.getId(), vigente.getId()));
+        ReporteCarrito carrito = carritoInscripcionService.inscribirCarrito(estudiante.getId(), List.of(vigente.getId()));
+        assertFalse(carrito.isCompletado());
+        assertEquals(ReservaCuposService.motivoEstado(Ejecucion.CANCELADA), carrito.getResultados().get(0).getMotivo());
+        ReporteInscripcionLote lote = inscripcionLoteService.inscribirLote(
+                List.of(new SolicitudInscripcion(estudiante.getId(), vigente.getId())));
+        assertEquals(ResultadoInscripcionLote.RECHAZADO, lote.getResultados().get(0).getEstado());
+
+        assertEquals(0, ejecucionRepository.findById(vigente.getId()).orElseThrow().getInscritosActuales());
+        assertFalse(inscripcionRepository.existsByPersonaIdAndEjecucionId(estudiante.getId(), vigente.getId()));
+    }
+
+    @Test
+    void testEliminar_LasEjecucionesCanceladasDejanDeEstarActivas() {
+        Curso curso = crearCurso("RET-D1");
+        Ejecucion vigente = crearEjecucion(curso, "A", LocalDate.now().minusDays(1), LocalDate.now().plusDays(90));
+        Ejecucion proxima = crearEjecucion(curso, "B", LocalDate.now().plusDays(10), LocalDate.now().plusDays(100));
+        ejecucionService.obtenerActivas();
+        assertTrue(ejecucionService.estaActiva(vigente.getId()));
+
+        assertTrue(cursoService.eliminar(curso.getId()));
+
+        assertFalse(ejecucionService.estaActiva(vigente.getId()));
+        assertTrue(ejecucionService.obtenerActivas().stream().noneMatch(e -> e.getId().equals(vigente.getId())));
+        assertTrue(ejecucionService.obtenerFuturas().stream().noneMatch(e -> e.getId().equals(proxima.getId())));
+    }
+
+    @Test
+    void testArchivar_MueveLosRetiradosPorBloques() {
+        Curso curso = crearCurso("RET-B1");
+        Ejecucion primera = crearEjecucion(curso, "A", LocalDate.now().minusDays(200), LocalDate.now().minusDays(100));
+        Ejecucion segunda = crearEjecucion(curso, "B", LocalDate.now().minusDays(1), LocalDate.now().plusDays(90));
+        List<Persona> estudiantes = datos.crearEstudiantes("RB", 3);
+        for (Persona estudiante : estudiantes) {
+            inscribir(estudiante, primera, "COMPLETADA");
+            inscribir(estudiante, segunda, "ACTIVA");
+        }
+        esperar(estudiantes.get(0), segunda);
+        Curso vigente = crearCurso("RET-B2");
+        assertTrue(cursoService.eliminar(curso.getId()));
+
+        // Solo los retirados antes de la fecha límite se archivan
+        jdbcTemplate.update("UPDATE cursos SET fecha_retiro = ? WHERE id = ?", LocalDateTime.now().minusYears(5), curso.getId());
+        assertEquals(1, retiroCursosService.archivarRetiradosAntesDe(LocalDateTime.now().minusYears(4)));
+
+        assertFalse(cursoRepository.existsById(curso.getId()));
+        assertTrue(cursoRepository.existsById(vigente.getId()));
+        assertFalse(ejecucionRepository.existsById(primera.getId()));
+        assertTrue(inscripcionRepository.findByEjecucionId(segunda.getId()).isEmpty());
+        assertEquals(1, contar("SELECT COUNT(*) FROM cursos_archivados WHERE id = ? AND codigo = 'RET-B1'", curso.getId()));
+        assertEquals(2, contar("SELECT COUNT(*) FROM ejecuciones_archivadas WHERE curso_id = ?", curso.getId()));
+        assertEquals(6, contar("SELECT COUNT(*) FROM inscripciones_archivadas WHERE curso_id = ?", curso.getId()));
+        assertEquals(3, contar("SELECT COUNT(*) FROM inscripciones_archivadas WHERE curso_id = ? AND estado = 'COMPLETADA'", curso.getId()));
+        assertEquals(0, contar("SELECT COUNT(*) FROM listas_espera WHERE ejecucion_id = ?", segunda.getId()));
+    }
+
+    // Métodos auxiliares
+
+    private int contar(String sql, Long id) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, id);
+    }
+
+    private Inscripcion inscribir(Persona estudiante, Ejecucion ejecucion, String estado) {
+        Inscripcion inscripcion = new Inscripcion();
+        inscripcion.setPersona(estudiante);
+        inscripcion.setEjecucion(ejecucion);
+        inscripcion.setEstado(estado);
+        inscripcion.setActivo("ACTIVA".equals(estado));
+        return inscripcionRepository.save(inscripcion);
+    }
+
+    private ListaEspera esperar(Persona estudiante, Ejecucion ejecucion) {
+        ListaEspera espera = new ListaEspera();
+        espera.setPersona(estudiante);
+        espera.setEjecucion(ejecucion);
+        return listaEsperaRepository.save(espera);
+    }
+
+    private RetencionCupo retener(Persona estudiante, Ejecucion ejecucion) {
+        RetencionCupo retencion = new RetencionCupo();
+        retencion.setPersona(estudiante);
+        retencion.setEjecucion(ejecucion);
+        retencion.setExpiraEn(LocalDateTime.now().plusMinutes(10));
+        return retencionCupoRepository.save(retencion);
+    }
+
+    private Curso crearCurso(String codigo) {
+        Curso curso = new Curso();
+        curso.setCodigo(codigo);
+        curso.setNombre("Curso " + codigo);
+        curso.setCreditos(4);
+        curso.setHorasTeoricas(2);
+        curso.setHorasPracticas(2);
+        curso.setCiclo("I");
+        curso.setModalidad("PRESENCIAL");
+        return cursoRepository.save(curso);
+    }
+
+    private Ejecucion crearEjecucion(Curso curso, String seccion, LocalDate inicio, LocalDate fin) {
+        Ejecucion ejecucion = new Ejecucion();
+        ejecucion.setCurso(curso);
+        ejecucion.setPeriodo("2024-1");
+        ejecucion.setSeccion(seccion);
+        ejecucion.setFechaInicio(inicio);
+        ejecucion.setFechaFin(fin);
+        ejecucion.setCapacidadMaxima(10);
+        ejecucion.setInscritosActuales(2);
+        ejecucion.setEstado(EstadoEjecucionesService.estadoSegunFechas(inicio, fin, LocalDate.now()));
+        return ejecucionRepository.save(ejecucion);
+    }
+
+}
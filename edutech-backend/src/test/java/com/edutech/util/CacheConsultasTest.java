@@ -0,0 +1,72 @@
+package com.edutech.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class CacheConsultasTest {
+
+    @Test
+    void testObtener_AciertosYFallos() {
+        CacheConsultas<String, Integer> cache = new CacheConsultas<>(10, Duration.ofMinutes(1));
+        AtomicInteger cargas = new AtomicInteger();
+
+        assertEquals(1, cache.obtener("a", cargas::incrementAndGet));
+        assertEquals(1, cache.obtener("a", cargas::incrementAndGet));
+        assertEquals(1, cargas.get());
+        assertEquals(1, cache.aciertos());
+        assertEquals(1, cache.fallos());
+    }
+
+    @Test
+    void testObtener_ExpulsaLaMenosUsadaYLasVencidas() {
+        AtomicLong ahora = new AtomicLong();
+        CacheConsultas<String, String> cache = new CacheConsultas<>(2, Duration.ofSeconds(10), ahora::get);
+        cache.obtener("a", () -> "A");
+        cache.obtener("b", () -> "B");
+        cache.obtener("a", () -> "otra");
+        cache.obtener("c", () -> "C");
+
+        // "b" fue la menos usada
+        assertEquals(2, cache.tamano());
+        assertEquals("A", cache.obtener("a", () -> "otra"));
+        assertEquals("B2", cache.obtener("b", () -> "B2"));
+        assertEquals(2, cache.expulsiones());
+
+        ahora.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertEquals("B3", cache.obtener("b", () -> "B3"));
+        assertEquals(3, cache.expulsiones());
+    }
+
+    @Test
+    void testInvalidar_SoloLasClavesAfectadas() {
+        CacheConsultas<String, String> cache = new CacheConsultas<>(10, Duration.ofMinutes(1));
+        cache.obtener("todos", () -> "v1");
+        cache.obtener("rango", () -> "v1");
+
+        cache.invalidar(clave -> clave.equals("todos"));
+
+        assertEquals("v2", cache.obtener("todos", () -> "v2"));
+        assertEquals("v1", cache.obtener("rango", () -> "v2"));
+        assertEquals(1, cache.invalidaciones());
+    }
+
+    @Test
+    void testObtener_NoGuardaLoCargadoAntesDeUnaInvalidacion() {
+        CacheConsultas<String, String> cache = new CacheConsultas<>(10, Duration.ofMinutes(1));
+
+        // La invalidación llega mientras la consulta aún lee datos anteriores al commit
+        String leido = cache.obtener("todos", () -> {
+            cache.invalidarTodo();
+            return "anterior";
+        });
+
+        assertEquals("anterior", leido);
+        assertEquals(0, cache.tamano());
+        assertEquals("nuevo", cache.obtener("todos", () -> "nuevo"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.edutech.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+class ColumnasCatalogoTest {
+
+    private static final List<ColumnasCatalogo.Fila> FILAS = List.of(
+            new ColumnasCatalogo.Fila(1, "PRESENCIAL", "I", 4),
+            new ColumnasCatalogo.Fila(2, "online", "I", 3),
+            new ColumnasCatalogo.Fila(3, "ONLINE", "II", 4),
+            new ColumnasCatalogo.Fila(4, "HIBRIDO", "II", 6),
+            new ColumnasCatalogo.Fila(5, "PRESENCIAL", "II", 4));
+
+    @Test
+    void testConsultar_SinFiltrosCuentaTodo() {
+        ColumnasCatalogo.Resultado resultado = new ColumnasCatalogo(FILAS).consultar(null, null, null, null, Long.MIN_VALUE, 10);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), resultado.ids());
+        assertEquals(5, resultado.total());
+        assertEquals(Map.of("HIBRIDO", 1, "ONLINE", 2, "PRESENCIAL", 2), resultado.modalidades());
+        assertEquals(Map.of(3, 1, 4, 3, 6, 1), resultado.creditos());
+    }
+
+    @Test
+    void testConsultar_CadaFacetaIgnoraSuPropioFiltro() {
+        ColumnasCatalogo.Resultado resultado = new ColumnasCatalogo(FILAS)
+                .consultar(List.of("online"), List.of("II"), null, null, Long.MIN_VALUE, 10);
+
+        assertEquals(List.of(3L), resultado.ids());
+        assertEquals(1, resultado.total());
+        // Modalidades dentro del ciclo II; ciclos dentro de ONLINE
+        assertEquals(Map.of("HIBRIDO", 1, "ONLINE", 1, "PRESENCIAL", 1), resultado.modalidades());
+        assertEquals(Map.of("I", 1, "II", 1), resultado.ciclos());
+        assertEquals(Map.of(3, 0, 4, 1, 6, 0), resultado.creditos());
+    }
+
+    @Test
+    void testConsultar_PaginacionPorClave() {
+        ColumnasCatalogo columnas = new ColumnasCatalogo(FILAS);
+
+        ColumnasCatalogo.Resultado primera = columnas.consultar(null, null, 4, 6, Long.MIN_VALUE, 2);
+        assertEquals(List.of(1L, 3L), primera.ids());
+        assertTrue(primera.hayMas());
+        assertEquals(4, primera.total());
+
+        ColumnasCatalogo.Resultado segunda = columnas.consultar(null, null, 4, 6, 3, 2);
+        assertEquals(List.of(4L, 5L), segunda.ids());
+        assertFalse(segunda.hayMas());
+        assertTrue(columnas.consultar(List.of("DESCONOCIDA"), null, null, null, Long.MIN_VALUE, 2).ids().isEmpty());
+    }
+
+    @Test
+    void testConsultar_CoincideConContarPorSeparado() {
+        String[] modalidades = {"PRESENCIAL", "ONLINE", "HIBRIDO"};
+        String[] ciclos = {"I", "II", "III", "IV", "V", "VI"};
+        Random random = new Random(7);
+        List<ColumnasCatalogo.Fila> filas = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            filas.add(new ColumnasCatalogo.Fila(i, modalidades[random.nextInt(3)], ciclos[random.nextInt(6)], 1 + random.nextInt(8)));
+        }
+        ColumnasCatalogo columnas = new ColumnasCatalogo(filas);
+        Set<String> modalidad = Set.of("ONLINE", "HIBRIDO");
+        Set<String> ciclo = Set.of("II", "III");
+
+        ColumnasCatalogo.Resultado resultado = columnas.consultar(modalidad, ciclo, 2, 6, Long.MIN_VALUE, 20);
+
+        // Lo mismo que una consulta por faceta con los filtros de las demás
+        int total = 0;
+        int online = 0;
+        int cicloUno = 0;
+        int ochoCreditos = 0;
+        for (ColumnasCatalogo.Fila fila : filas) {
+            boolean m = modalidad.contains(fila.modalidad());
+            boolean c = ciclo.contains(fila.ciclo());
+            boolean k = fila.creditos() >= 2 && fila.creditos() <= 6;
+            total += m && c && k ? 1 : 0;
+            online += fila.modalidad().equals("ONLINE") && c && k ? 1 : 0;
+            cicloUno += fila.ciclo().equals("I") && m && k ? 1 : 0;
+            ochoCreditos += fila.creditos() == 8 && m && c ? 1 : 0;
+        }
+        assertEquals(total, resultado.total());
+        assertEquals(online, resultado.modalidades().get("ONLINE"));
+        assertEquals(cicloUno, resultado.ciclos().get("I"));
+        assertEquals(ochoCreditos, resultado.creditos().get(8));
+        assertEquals(20, resultado.ids().size());
+    }
+}
@@ -0,0 +1,106 @@
+package com.edutech.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.edutech.util.GrafoPrerrequisitos.Resultado;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+class GrafoPrerrequisitosTest {
+
+    @Test
+    void testAgregar_CierreTransitivoYCiclos() {
+        GrafoPrerrequisitos grafo = new GrafoPrerrequisitos();
+        // 1 <- 2 <- 3 <- 4 (4 exige 3, que exige 2, que exige 1)
+        assertEquals(Resultado.AGREGADA, grafo.agregar(2, 1));
+        assertEquals(Resultado.AGREGADA, grafo.agregar(4, 3));
+        assertEquals(Resultado.AGREGADA, grafo.agregar(3, 2));
+
+        assertEquals(Set.of(1L, 2L, 3L), new HashSet<>(grafo.todos(4)));
+        assertEquals(List.of(3L), grafo.directos(4));
+        assertEquals(Resultado.CICLO, grafo.agregar(1, 4));
+        assertEquals(Resultado.CICLO, grafo.agregar(2, 2));
+        // Una arista repetida no cuenta dos veces ni se informa como agregada
+        assertEquals(Resultado.EXISTENTE, grafo.agregar(3, 2));
+        assertEquals(3, grafo.cantidadAristas());
+    }
+
+    @Test
+    void testQuitar_RecalculaSoloLoQueDejaDeExigirse() {
+        GrafoPrerrequisitos grafo = new GrafoPrerrequisitos();
+        // Rombo: 4 exige 2 y 3; ambos exigen 1
+        grafo.agregar(2, 1);
+        grafo.agregar(3, 1);
+        grafo.agregar(4, 2);
+        grafo.agregar(4, 3);
+
+        grafo.quitar(2, 1);
+        // 1 sigue siendo requisito de 4 a través de 3
+        assertEquals(Set.of(1L, 2L, 3L), new HashSet<>(grafo.todos(4)));
+        assertTrue(grafo.todos(2).isEmpty());
+
+        grafo.quitarCurso(3);
+        assertEquals(List.of(2L), grafo.todos(4));
+        assertEquals(1, grafo.cantidadAristas());
+        // Sin la arista, el ciclo ya no existe
+        assertEquals(Resultado.AGREGADA, grafo.agregar(1, 3));
+    }
+
+    @Test
+    void testFaltantes_InclusionEnAprobados() {
+        GrafoPrerrequisitos grafo = new GrafoPrerrequisitos();
+        grafo.agregar(2, 1);
+        grafo.agregar(3, 2);
+
+        assertEquals(Set.of(1L, 2L), new HashSet<>(grafo.faltantes(3, grafo.aBits(List.of()))));
+        assertEquals(List.of(1L), grafo.faltantes(3, grafo.aBits(List.of(2L, 99L))));
+        assertTrue(grafo.faltantes(3, grafo.aBits(List.of(1L, 2L))).isEmpty());
+        assertTrue(grafo.faltantes(99, new BitSet()).isEmpty());
+
+        // Los índices se conservan al vaciar: un BitSet ya calculado sigue valiendo
+        BitSet aprobados = grafo.aBits(List.of(1L));
+        grafo.vaciar();
+        grafo.agregar(2, 1);
+        assertTrue(grafo.faltantes(2, aprobados).isEmpty());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testFaltantes_CatalogoDeDosMilCursos() {
+        int cursos = 2_000;
+        Random random = new Random(42);
+        GrafoPrerrequisitos grafo = new GrafoPrerrequisitos();
+        // Cada curso exige hasta 3 cursos de índice menor (sin ciclos por construcción)
+        for (int c = 1; c < cursos; c++) {
+            for (int k = random.nextInt(4); k > 0; k--) {
+                assertNotEquals(Resultado.CICLO, grafo.agregar(c, random.nextInt(c)));
+            }
+        }
+
+        List<Long> aprobadosIds = new ArrayList<>();
+        for (long c = 0; c < cursos / 2; c++) {
+            aprobadosIds.add(c);
+        }
+        BitSet aprobados = grafo.aBits(aprobadosIds);
+        int consultas = 200_000;
+        int cumplen = 0;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < consultas; i++) {
+            if (grafo.faltantes(random.nextInt(cursos), aprobados).isEmpty()) {
+                cumplen++;
+            }
+        }
+        // Cota holgada: 200.000 verificaciones deben tomar bastante menos de 10 segundos
+        assertTrue(System.nanoTime() - inicio < 10_000_000_000L);
+        assertTrue(cumplen > 0 && cumplen < consultas);
+        assertTrue(grafo.cantidadAristas() > cursos);
+    }
+}
@@ -0,0 +1,63 @@
+package com.edutech.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class HorarioSemanalTest {
+
+    @Test
+    void testParsear_FormatosAceptados() {
+        assertEquals(List.of("Lunes 08:00-10:00"), HorarioSemanal.parsear("Lunes 08:00-10:00").describir());
+        assertEquals(List.of("Lunes 08:00-09:30", "Miércoles 08:00-09:30"),
+                HorarioSemanal.parsear("Lunes y Miércoles 08:00-09:30").describir());
+        assertEquals(List.of("Lunes 08:00-10:00", "Jueves 14:00-16:00"),
+                HorarioSemanal.parsear("Lun 08:00-10:00, Jue 14:00-16:00").describir());
+        assertEquals(List.of("Martes 08:00-10:00", "Viernes 08:00-10:00"),
+                HorarioSemanal.parsear("mar/vie 8:00 - 10:00").describir());
+
+        // Se redondea hacia afuera a franjas de 15 minutos
+        assertEquals(List.of("Sábado 08:00-10:00"), HorarioSemanal.parsear("Sabado 08:10-09:50").describir());
+        assertEquals(8, HorarioSemanal.parsear("Lunes 08:00-10:00").contarFranjas());
+        assertTrue(HorarioSemanal.parsear("  ").estaVacio());
+        assertTrue(HorarioSemanal.parsear(null).estaVacio());
+    }
+
+    @Test
+    void testParsear_Invalido() {
+        assertThrows(IllegalArgumentException.class, () -> HorarioSemanal.parsear("Lunes"));
+        assertThrows(IllegalArgumentException.class, () -> HorarioSemanal.parsear("Feriado 08:00-10:00"));
+        assertThrows(IllegalArgumentException.class, () -> HorarioSemanal.parsear("Lunes 10:00-08:00"));
+        assertThrows(IllegalArgumentException.class, () -> HorarioSemanal.parsear("Lunes 08:00-25:00"));
+        assertTrue(HorarioSemanal.parsearOVacio("Lunes").estaVacio());
+    }
+
+    @Test
+    void testTraslapes() {
+        HorarioSemanal lunesManana = HorarioSemanal.parsear("Lunes 08:00-10:00");
+
+        assertTrue(lunesManana.seTraslapaCon(HorarioSemanal.parsear("Lunes 09:45-11:00")));
+        // Bloques contiguos no chocan
+        assertFalse(lunesManana.seTraslapaCon(HorarioSemanal.parsear("Lunes 10:00-12:00")));
+        assertFalse(lunesManana.seTraslapaCon(HorarioSemanal.parsear("Martes 08:00-10:00")));
+        // Domingo en la última palabra del mapa de bits
+        assertTrue(HorarioSemanal.parsear("Domingo 22:00-24:00").seTraslapaCon(HorarioSemanal.parsear("Dom 23:45-24:00")));
+
+        HorarioSemanal union = HorarioSemanal.unir(List.of(lunesManana, HorarioSemanal.parsear("Jueves 14:00-16:00")));
+        assertEquals(16, union.contarFranjas());
+        assertTrue(union.seTraslapaCon(HorarioSemanal.parsear("Jueves 15:00-15:15")));
+        assertEquals(HorarioSemanal.parsear("Lunes 08:00-10:00; Jueves 14:00-16:00"), union);
+    }
+
+    @Test
+    void testDias() {
+        assertEquals(0b0000101, HorarioSemanal.parsear("Lu, Mi 08:00-09:30").dias());
+        assertEquals(0b1000000, HorarioSemanal.parsear("Domingo 10:00-12:00").dias());
+        assertEquals(0, HorarioSemanal.VACIO.dias());
+        assertEquals(2, HorarioSemanal.indiceDia("Miércoles"));
+        assertEquals(5, HorarioSemanal.indiceDia("sab"));
+        assertThrows(IllegalArgumentException.class, () -> HorarioSemanal.indiceDia("Feriado"));
+    }
+}
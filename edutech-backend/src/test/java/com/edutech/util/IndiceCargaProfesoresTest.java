@@ -0,0 +1,47 @@
+package com.edutech.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class IndiceCargaProfesoresTest {
+
+    @Test
+    void testResumen_MantieneTotalesAlReasignar() {
+        IndiceCargaProfesores indice = new IndiceCargaProfesores();
+        indice.poner(1, 10L, "2024-1", HorarioSemanal.parsear("Lunes 08:00-10:00"), 64);
+        indice.poner(2, 10L, "2024-1", HorarioSemanal.parsear("Martes 08:00-09:30"), 48);
+        indice.poner(3, 10L, "2024-2", HorarioSemanal.parsear("Lunes 08:00-10:00"), 64);
+
+        List<IndiceCargaProfesores.Resumen> resumen = indice.resumen(10L);
+        assertEquals(2, resumen.size());
+        assertEquals("2024-1", resumen.get(0).periodo());
+        assertEquals(2, resumen.get(0).ejecuciones());
+        assertEquals(112, resumen.get(0).horas());
+        assertEquals(210, resumen.get(0).minutosSemanales());
+        assertEquals(List.of("Lunes 08:00-10:00", "Martes 08:00-09:30"), resumen.get(0).horario().describir());
+
+        // Reasignar la ejecución 2 a otro profesor mueve sus horas
+        indice.poner(2, 20L, "2024-1", HorarioSemanal.parsear("Martes 08:00-09:30"), 48);
+        assertEquals(64, indice.resumen(10L).get(0).horas());
+        assertEquals(48, indice.resumen(20L).get(0).horas());
+
+        indice.quitar(1);
+        indice.quitar(3);
+        assertTrue(indice.resumen(10L).isEmpty());
+    }
+
+    @Test
+    void testChoquesCon_MismoProfesorYPeriodo() {
+        IndiceCargaProfesores indice = new IndiceCargaProfesores();
+        indice.poner(1, 10L, "2024-1", HorarioSemanal.parsear("Lunes 08:00-10:00"), 64);
+
+        HorarioSemanal traslapado = HorarioSemanal.parsear("Lunes 09:00-11:00");
+        assertEquals(List.of(1L), indice.choquesCon(null, 10L, "2024-1", traslapado));
+        assertEquals(List.of(), indice.choquesCon(null, 20L, "2024-1", traslapado));
+        assertEquals(List.of(), indice.choquesCon(null, 10L, "2024-2", traslapado));
+        assertEquals(List.of(), indice.choquesCon(1L, 10L, "2024-1", traslapado));
+    }
+}
@@ -0,0 +1,77 @@
+package com.edutech.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class IndiceEnMemoriaTest {
+
+    @Test
+    void testObtener_CargaUnaSolaVez() {
+        AtomicInteger cargas = new AtomicInteger();
+        IndiceEnMemoria<List<String>> indice = new IndiceEnMemoria<>(() -> {
+            cargas.incrementAndGet();
+            return new ArrayList<>();
+        });
+
+        assertSame(indice.obtener(), indice.obtener());
+        assertEquals(1, cargas.get());
+
+        indice.recargar();
+        assertEquals(2, cargas.get());
+    }
+
+    @Test
+    void testCambiar_AntesDeCargarNoHaceNada() {
+        List<String> base = new ArrayList<>(List.of("a"));
+        IndiceEnMemoria<List<String>> indice = new IndiceEnMemoria<>(() -> new ArrayList<>(base));
+
+        // El cambio ya está en la base, la primera carga lo lee
+        base.add("b");
+        indice.cambiar(lista -> lista.add("b"));
+        assertEquals(List.of("a", "b"), indice.obtener());
+
+        indice.cambiar(lista -> lista.add("c"));
+        assertEquals(List.of("a", "b", "c"), indice.obtener());
+
+        // usar() carga el índice si hace falta
+        IndiceEnMemoria<List<String>> otro = new IndiceEnMemoria<>(ArrayList::new);
+        otro.usar(lista -> lista.add("x"));
+        assertEquals(List.of("x"), otro.obtener());
+    }
+
+    @Test
+    void testCambiar_DuranteLaCargaSeAplicaSobreElIndiceNuevo() throws Exception {
+        CountDownLatch cargando = new CountDownLatch(1);
+        CountDownLatch continuar = new CountDownLatch(1);
+        AtomicInteger cargas = new AtomicInteger();
+        IndiceEnMemoria<List<String>> indice = new IndiceEnMemoria<>(() -> {
+            if (cargas.incrementAndGet() == 2) {
+                cargando.countDown();
+                try {
+                    continuar.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new ArrayList<>();
+        });
+        indice.obtener();
+
+        CompletableFuture<List<String>> recarga = CompletableFuture.supplyAsync(indice::recargar);
+        assertTrue(cargando.await(10, TimeUnit.SECONDS));
+        CompletableFuture<Void> cambio = CompletableFuture.runAsync(() -> indice.cambiar(lista -> lista.add("nuevo")));
+        continuar.countDown();
+        recarga.get(10, TimeUnit.SECONDS);
+        cambio.get(10, TimeUnit.SECONDS);
+
+        assertEquals(List.of("nuevo"), indice.obtener());
+    }
+}
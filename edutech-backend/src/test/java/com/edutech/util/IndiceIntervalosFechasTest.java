@@ -0,0 +1,58 @@
+package com.edutech.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+class IndiceIntervalosFechasTest {
+
+    private static final LocalDate HOY = LocalDate.of(2024, 3, 10);
+
+    @Test
+    void testClasificacion_YCambioDeDia() {
+        IndiceIntervalosFechas indice = new IndiceIntervalosFechas(HOY);
+        indice.poner(1, HOY.minusDays(30), HOY.minusDays(1));   // pasada
+        indice.poner(2, HOY.minusDays(5), HOY);                 // termina hoy
+        indice.poner(3, HOY, HOY.plusDays(10));                 // comienza hoy
+        indice.poner(4, HOY.plusDays(1), HOY.plusDays(20));     // comienza mañana
+        indice.poner(5, HOY.plusDays(40), HOY.plusDays(60));    // futura
+
+        assertEquals(List.of(1L), indice.pasados());
+        assertEquals(List.of(2L, 3L), indice.activos());
+        assertEquals(List.of(4L, 5L), indice.futuros());
+
+        // Medianoche: la 2 pasa a pasadas y la 4 a activas
+        indice.avanzarA(HOY.plusDays(1));
+        assertEquals(List.of(1L, 2L), indice.pasados());
+        assertEquals(List.of(3L, 4L), indice.activos());
+        assertEquals(List.of(5L), indice.futuros());
+
+        // Varios días de golpe: la 5 comienza y termina dentro del salto
+        indice.avanzarA(HOY.plusDays(100));
+        assertEquals(List.of(), indice.activos());
+        assertEquals(List.of(), indice.futuros());
+        assertEquals(5, indice.pasados().size());
+    }
+
+    @Test
+    void testPonerQuitar_YRelojHaciaAtras() {
+        IndiceIntervalosFechas indice = new IndiceIntervalosFechas(HOY);
+        indice.poner(1, HOY.plusDays(1), HOY.plusDays(5));
+        assertFalse(indice.estaActivo(1));
+
+        // Modificar las fechas reclasifica el intervalo
+        indice.poner(1, HOY.minusDays(1), HOY.plusDays(5));
+        assertTrue(indice.estaActivo(1));
+        assertEquals(1, indice.tamano());
+
+        indice.avanzarA(HOY.minusDays(3));
+        assertEquals(List.of(1L), indice.futuros());
+
+        indice.quitar(1);
+        assertFalse(indice.contiene(1));
+        assertEquals(List.of(), indice.futuros());
+    }
+}
@@ -0,0 +1,52 @@
+package com.edutech.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class IndiceOcupacionSalasTest {
+
+    @Test
+    void testChoquesCon_MismaSalaYPeriodo() {
+        IndiceOcupacionSalas indice = new IndiceOcupacionSalas();
+        indice.poner(1, "2024-1", "A-101", HorarioSemanal.parsear("Lunes 08:00-10:00"));
+        indice.poner(2, "2024-1", "A-102", HorarioSemanal.parsear("Lunes 08:00-10:00"));
+        indice.poner(3, "2024-2", "A-101", HorarioSemanal.parsear("Lunes 08:00-10:00"));
+
+        HorarioSemanal traslapado = HorarioSemanal.parsear("Lun 09:00-11:00");
+        assertEquals(List.of(1L), indice.choquesCon(null, "2024-1", " a-101 ", traslapado));
+        assertEquals(List.of(), indice.choquesCon(null, "2024-1", "A-101", HorarioSemanal.parsear("Lunes 10:00-11:00")));
+        assertEquals(List.of(), indice.choquesCon(null, "2024-1", "B-201", traslapado));
+
+        // Al modificar una ejecución su propio horario no cuenta como choque
+        assertEquals(List.of(), indice.choquesCon(1L, "2024-1", "A-101", traslapado));
+
+        indice.quitar(1);
+        assertEquals(List.of(), indice.choquesCon(null, "2024-1", "A-101", traslapado));
+        assertEquals(2, indice.tamano());
+    }
+
+    @Test
+    void testChoquesDelPeriodo() {
+        IndiceOcupacionSalas indice = new IndiceOcupacionSalas();
+        indice.poner(1, "2024-1", "A-101", HorarioSemanal.parsear("Lunes y Miércoles 08:00-10:00"));
+        indice.poner(2, "2024-1", "A-101", HorarioSemanal.parsear("Mie 09:00-11:00"));
+        indice.poner(3, "2024-1", "A-101", HorarioSemanal.parsear("Martes 08:00-10:00"));
+        indice.poner(4, "2024-1", "B-201", HorarioSemanal.parsear("Mie 09:00-11:00"));
+        indice.poner(5, "2024-1", null, HorarioSemanal.parsear("Mie 09:00-11:00"));
+
+        List<IndiceOcupacionSalas.Choque> choques = indice.choquesDelPeriodo("2024-1");
+
+        assertEquals(1, choques.size());
+        assertEquals("A-101", choques.get(0).sala());
+        assertEquals(1L, choques.get(0).ejecucionId());
+        assertEquals(2L, choques.get(0).otraEjecucionId());
+        assertEquals(List.of("Miércoles 09:00-10:00"), choques.get(0).franjas().describir());
+
+        // Al mover la ejecución 2 a otra sala el choque desaparece
+        indice.poner(2, "2024-1", "C-301", HorarioSemanal.parsear("Mie 09:00-11:00"));
+        assertTrue(indice.choquesDelPeriodo("2024-1").isEmpty());
+    }
+}
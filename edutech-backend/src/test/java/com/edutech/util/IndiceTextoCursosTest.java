@@ -0,0 +1,71 @@
+package com.edutech.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+class IndiceTextoCursosTest {
+
+    @Test
+    void testBuscar_TildesRaicesYRelevancia() {
+        IndiceTextoCursos indice = new IndiceTextoCursos();
+        indice.poner(1, "INF-101", "Introducción a la Programación", "Fundamentos de algoritmos");
+        indice.poner(2, "INF-202", "Bases de Datos", "Modelo relacional y programación de consultas");
+        indice.poner(3, "MAT-101", "Cálculo I", "Límites y derivadas");
+
+        // El nombre pesa más que la descripción
+        assertEquals(List.of(1L, 2L), indice.buscar("programacion", IndiceTextoCursos.TODOS, 10));
+        assertEquals(List.of(2L), indice.buscar("programas consultas", IndiceTextoCursos.TODOS, 10));
+        assertEquals(List.of(3L), indice.buscar("calculo", IndiceTextoCursos.TODOS, 10));
+        assertEquals(List.of(2L), indice.buscar("inf202", IndiceTextoCursos.TODOS, 10));
+        // Prefijo mientras se escribe
+        assertEquals(List.of(1L, 2L), indice.buscar("progra", IndiceTextoCursos.TODOS, 10));
+        // Todas las palabras deben aparecer, y solo en los campos pedidos
+        assertTrue(indice.buscar("programacion derivadas", IndiceTextoCursos.TODOS, 10).isEmpty());
+        assertEquals(List.of(1L), indice.buscar("programacion", IndiceTextoCursos.NOMBRE, 10));
+        assertEquals(List.of(1L), indice.buscar("programacion", IndiceTextoCursos.TODOS, 1));
+        assertTrue(indice.buscar("de la", IndiceTextoCursos.TODOS, 10).isEmpty());
+    }
+
+    @Test
+    void testPonerYQuitar_Incremental() {
+        IndiceTextoCursos indice = new IndiceTextoCursos();
+        indice.poner(1, "EDU001", "Matemáticas Básica", null);
+        indice.poner(1, "EDU001", "Física General", null);
+
+        assertTrue(indice.buscar("matematicas", IndiceTextoCursos.TODOS, 10).isEmpty());
+        assertEquals(List.of(1L), indice.buscar("fisica", IndiceTextoCursos.TODOS, 10));
+
+        indice.quitar(1);
+        assertTrue(indice.buscar("fisica", IndiceTextoCursos.TODOS, 10).isEmpty());
+        assertEquals(0, indice.tamano());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testBuscar_CincuentaMilCursos() {
+        String[] temas = {"Programación", "Bases de Datos", "Cálculo", "Álgebra", "Física", "Química", "Historia",
+                "Economía", "Estadística", "Redes", "Contabilidad", "Marketing", "Diseño", "Inglés", "Biología"};
+        String[] niveles = {"Básica", "Intermedia", "Avanzada", "Aplicada", "General"};
+        String[] descripciones = {"Curso teórico con ejercicios prácticos", "Laboratorio y proyectos en equipo",
+                "Fundamentos y aplicaciones profesionales", "Análisis de casos y evaluación continua"};
+        Random random = new Random(42);
+        IndiceTextoCursos indice = new IndiceTextoCursos();
+        for (int i = 0; i < 50_000; i++) {
+            indice.poner(i, "C" + i, temas[random.nextInt(temas.length)] + " " + niveles[random.nextInt(niveles.length)]
+                    + " " + (i % 500), descripciones[random.nextInt(descripciones.length)]);
+        }
+
+        String[] consultas = {"programacion avanzada 17", "estadistica aplicada 250", "c4242", "quimica basica 3"};
+        long inicio = System.nanoTime();
+        for (int i = 0; i < 2_000; i++) {
+            assertFalse(indice.buscar(consultas[i % consultas.length], IndiceTextoCursos.TODOS, 20).isEmpty());
+        }
+        // Cota holgada: 2.000 búsquedas deben tomar bastante menos de 10 segundos
+        assertTrue(System.nanoTime() - inicio < 10_000_000_000L);
+    }
+}
@@ -0,0 +1,121 @@
+package com.edutech.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+class IndiceTrigramasPersonasTest {
+
+    @Test
+    void testBuscar_TildesRutCorreoYRelevancia() {
+        IndiceTrigramasPersonas indice = new IndiceTrigramasPersonas();
+        indice.poner(1, "José Ignacio", "Muñoz", "Pérez", "jose.munoz@edutech.cl", "12.345.678-9");
+        indice.poner(2, "María Paz", "González", "Rojas", "maria.gonzalez@edutech.cl", "9.876.543-K");
+        indice.poner(3, "Josefina", "Soto", "Araya", "jsoto@correo.cl", "15.111.222-3");
+
+        // Sin tildes ni mayúsculas; "jose" completo pesa más que como prefijo de "josefina"
+        assertEquals(List.of(1L, 3L), indice.buscar("JOSÉ", 0, 10).ids());
+        assertEquals(List.of(1L), indice.buscar("munoz", 0, 10).ids());
+        assertEquals(List.of(2L), indice.buscar("maria gonzalez", 0, 10).ids());
+        // RUT con o sin puntos y guion, y texto del medio
+        assertEquals(List.of(1L), indice.buscar("12345678-9", 0, 10).ids());
+        assertEquals(List.of(2L), indice.buscar("9.876.543-k", 0, 10).ids());
+        assertEquals(List.of(1L), indice.buscar("5678", 0, 10).ids());
+        // Correo y error de tipeo
+        assertEquals(List.of(3L), indice.buscar("jsoto", 0, 10).ids());
+        assertEquals(List.of(2L), indice.buscar("gonzales", 0, 10).ids());
+        // Cada palabra de la consulta debe coincidir
+        assertTrue(indice.buscar("maria soto", 0, 10).ids().isEmpty());
+        assertTrue(indice.buscar("", 0, 10).ids().isEmpty());
+        assertTrue(indice.buscar(null, 0, 10).ids().isEmpty());
+    }
+
+    @Test
+    void testBuscarExacta_SoloTextoContenido() {
+        IndiceTrigramasPersonas indice = new IndiceTrigramasPersonas();
+        indice.poner(1, "Juan", "Pérez", "Soto", null, "12.345.678-9");
+        indice.poner(2, "Julián", "Rojas", "Díaz", null, null);
+        indice.poner(3, "Juana", "Muñoz", "Lara", null, null);
+
+        // La búsqueda aproximada acepta "Julián" para "juan"; la exacta no
+        assertTrue(indice.buscar("juan", 0, 10).ids().contains(2L));
+        assertEquals(List.of(1L, 3L), indice.buscarExacta("juan", 0, 10).ids().stream().sorted().toList());
+        // Texto del medio de una palabra, varias palabras y RUT
+        assertEquals(List.of(1L, 3L), indice.buscarExacta("UAN", 0, 10).ids().stream().sorted().toList());
+        assertEquals(List.of(3L), indice.buscarExacta("juan munoz", 0, 10).ids());
+        assertEquals(List.of(1L), indice.buscarExacta("5678", 0, 10).ids());
+        // Sin errores de tipeo
+        assertTrue(indice.buscarExacta("julain", 0, 10).ids().isEmpty());
+    }
+
+    @Test
+    void testBuscar_Paginacion() {
+        IndiceTrigramasPersonas indice = new IndiceTrigramasPersonas();
+        for (int i = 1; i <= 25; i++) {
+            indice.poner(i, "Camila", "Rojas", "Díaz", null, null);
+        }
+
+        IndiceTrigramasPersonas.Resultado primera = indice.buscar("camila", 0, 10);
+        IndiceTrigramasPersonas.Resultado tercera = indice.buscar("camila", 20, 10);
+        assertEquals(25, primera.total());
+        assertEquals(10, primera.ids().size());
+        assertEquals(List.of(21L, 22L, 23L, 24L, 25L), tercera.ids());
+        assertTrue(indice.buscar("camila", 30, 10).ids().isEmpty());
+    }
+
+    @Test
+    void testPonerYQuitar_IncrementalConCompactacion() {
+        IndiceTrigramasPersonas indice = new IndiceTrigramasPersonas();
+        indice.poner(1, "Pedro", "Soto", "Vera", "pedro@edutech.cl", "11.111.111-1");
+        indice.poner(1, "Pablo", "Soto", "Vera", "pablo@edutech.cl", "11.111.111-1");
+
+        assertTrue(indice.buscar("pedro", 0, 10).ids().isEmpty());
+        assertEquals(List.of(1L), indice.buscar("pablo", 0, 10).ids());
+        indice.quitar(1);
+        assertTrue(indice.buscar("pablo", 0, 10).ids().isEmpty());
+        assertEquals(0, indice.tamano());
+
+        // Suficientes reemplazos para compactar varias veces; solo cuentan las versiones vigentes
+        for (int i = 0; i < 5_000; i++) {
+            indice.poner(i % 100, "Persona", "Version" + i, "Vera", null, null);
+        }
+        assertEquals(100, indice.tamano());
+        assertEquals(100, indice.buscar("vera", 0, 10).total());
+        assertEquals(List.of(42L), indice.buscar("version4942", 0, 1).ids());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testBuscar_QuinientasMilPersonas() {
+        String[] nombres = {"María", "José", "Juan", "Camila", "Sofía", "Benjamín", "Valentina", "Matías", "Isidora",
+                "Tomás", "Catalina", "Diego", "Javiera", "Sebastián", "Fernanda", "Cristóbal", "Antonia", "Vicente",
+                "Martina", "Joaquín", "Francisca", "Nicolás", "Constanza", "Agustín", "Florencia", "Felipe"};
+        String[] apellidos = {"González", "Muñoz", "Rojas", "Díaz", "Pérez", "Soto", "Contreras", "Silva", "Martínez",
+                "Sepúlveda", "Morales", "Rodríguez", "López", "Fuentes", "Hernández", "Torres", "Araya", "Flores",
+                "Espinoza", "Valenzuela", "Castillo", "Tapia", "Reyes", "Gutiérrez", "Castro", "Pizarro", "Álvarez",
+                "Vásquez", "Sánchez", "Fernández", "Ramírez", "Carrasco", "Gómez", "Cortés", "Herrera", "Núñez"};
+        Random random = new Random(42);
+        IndiceTrigramasPersonas indice = new IndiceTrigramasPersonas();
+        int personas = 500_000;
+        for (int i = 0; i < personas; i++) {
+            String nombre = nombres[random.nextInt(nombres.length)];
+            String paterno = apellidos[random.nextInt(apellidos.length)];
+            String materno = apellidos[random.nextInt(apellidos.length)];
+            int cuerpo = 5_000_000 + i * 37;
+            indice.poner(i, nombre + " " + nombres[random.nextInt(nombres.length)], paterno, materno,
+                    TextoBusqueda.plegar(nombre + "." + paterno) + i + "@edutech.cl", cuerpo + "-" + (cuerpo % 11));
+        }
+
+        String[] consultas = {"gonzalez", "camila rojas", "sepulbeda", "matias fernandez soto", "5.123.456", "jua"};
+        long inicio = System.nanoTime();
+        for (int i = 0; i < 600; i++) {
+            assertFalse(indice.buscar(consultas[i % consultas.length], 0, 20).ids().isEmpty());
+        }
+        // Cota holgada: 600 búsquedas deben tomar bastante menos de 30 segundos
+        assertTrue(System.nanoTime() - inicio < 30_000_000_000L);
+    }
+}
@@ -0,0 +1,93 @@
+package com.edutech.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Medición del planificador con 1.000 a 5.000 secciones, en un hilo y en paralelo
+ * (un subproblema por procesador). Sin base de datos; fuera de la ejecución por defecto.
+ */
+@Tag("benchmark")
+class PlanificadorHorariosBenchmarkTest {
+
+    private static final int[] TAMANOS = {1000, 2500, 5000};
+    private static final int REPETICIONES = 3;
+
+    @Test
+    void testEscalamiento_HastaCincoMilSecciones() {
+        int procesadores = Runtime.getRuntime().availableProcessors();
+        List<HorarioSemanal> bloques = bloques();
+
+        for (int tamano : TAMANOS) {
+            Instancia instancia = generar(tamano, new Random(42));
+            long secuencial = medir(instancia, bloques, 1);
+            long paralelo = medir(instancia, bloques, procesadores);
+            // Cota holgada: con varios procesadores el reparto no debe ser más lento que un hilo
+            assertTrue(procesadores == 1 || paralelo <= secuencial * 2,
+                    tamano + " secciones: 1 hilo " + secuencial + " ms, " + procesadores + " hilos " + paralelo + " ms");
+        }
+    }
+
+    private long medir(Instancia instancia, List<HorarioSemanal> bloques, int paralelismo) {
+        PlanificadorHorarios planificador = new PlanificadorHorarios(bloques, paralelismo, Duration.ofSeconds(30));
+        long mejor = Long.MAX_VALUE;
+        for (int i = 0; i < REPETICIONES; i++) {
+            long inicio = System.nanoTime();
+            PlanificadorHorarios.Resultado resultado = planificador.resolver(
+                    instancia.secciones(), instancia.salas(), instancia.profesores());
+            mejor = Math.min(mejor, (System.nanoTime() - inicio) / 1_000_000);
+
+            assertFalse(resultado.tiempoAgotado());
+            assertTrue(resultado.sinAsignar().isEmpty(),
+                    resultado.sinAsignar().size() + " secciones sin asignar con paralelismo " + paralelismo);
+        }
+        return mejor;
+    }
+
+    // Bloques de 1,5 horas: lunes-miércoles, martes-jueves y viernes, de 08:00 a 20:00
+    private List<HorarioSemanal> bloques() {
+        List<HorarioSemanal> bloques = new ArrayList<>();
+        for (String dias : List.of("Lunes y Miércoles", "Martes y Jueves", "Viernes")) {
+            for (int hora = 8; hora < 20; hora += 2) {
+                bloques.add(HorarioSemanal.parsear(String.format("%s %02d:00-%02d:30", dias, hora, hora + 1)));
+            }
+        }
+        return bloques;
+    }
+
+    // Salas con ~20% de holgura; dos tercios de las secciones ya tienen profesor (unas 4 cada uno)
+    private Instancia generar(int tamano, Random random) {
+        List<PlanificadorHorarios.Seccion> secciones = new ArrayList<>();
+        int profesoresFijos = tamano / 6;
+        for (int i = 0; i < tamano; i++) {
+            Long profesorId = i % 3 == 0 ? null : (long) random.nextInt(profesoresFijos);
+            secciones.add(new PlanificadorHorarios.Seccion(i, 15 + random.nextInt(46), profesorId));
+        }
+
+        List<PlanificadorHorarios.Sala> salas = new ArrayList<>();
+        int cantidadSalas = tamano * 12 / 10 / 18 + 1;
+        for (int s = 0; s < cantidadSalas; s++) {
+            salas.add(new PlanificadorHorarios.Sala("S" + s, s % 3 == 0 ? 40 : 70));
+        }
+
+        // Profesores disponibles: la mitad solo en la mañana
+        List<PlanificadorHorarios.Profesor> profesores = new ArrayList<>();
+        HorarioSemanal mananas = HorarioSemanal.parsear("Lun, Mar, Mie, Jue y Vie 08:00-13:00");
+        for (int p = 0; p < tamano / 6; p++) {
+            profesores.add(new PlanificadorHorarios.Profesor(100_000L + p, p % 2 == 0 ? mananas : null));
+        }
+        return new Instancia(secciones, salas, profesores);
+    }
+
+    private record Instancia(List<PlanificadorHorarios.Seccion> secciones,
+                             List<PlanificadorHorarios.Sala> salas,
+                             List<PlanificadorHorarios.Profesor> profesores) {
+    }
+}
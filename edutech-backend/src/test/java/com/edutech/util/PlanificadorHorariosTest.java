@@ -0,0 +1,116 @@
+package com.edutech.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class PlanificadorHorariosTest {
+
+    // Dos bloques del lunes que se traslapan y uno del martes
+    private static final List<HorarioSemanal> BLOQUES = List.of(
+            HorarioSemanal.parsear("Lunes 08:00-09:30"),
+            HorarioSemanal.parsear("Lunes 09:00-10:30"),
+            HorarioSemanal.parsear("Martes 08:00-09:30"));
+
+    @Test
+    void testResolver_SinChoquesYRespetandoCapacidadYDisponibilidad() {
+        List<PlanificadorHorarios.Seccion> secciones = List.of(
+                new PlanificadorHorarios.Seccion(1, 60, null),
+                new PlanificadorHorarios.Seccion(2, 25, 100L),
+                new PlanificadorHorarios.Seccion(3, 25, 100L),
+                new PlanificadorHorarios.Seccion(4, 25, null),
+                new PlanificadorHorarios.Seccion(5, 25, null));
+        List<PlanificadorHorarios.Sala> salas = List.of(
+                new PlanificadorHorarios.Sala("Grande", 80),
+                new PlanificadorHorarios.Sala("Media", 40),
+                new PlanificadorHorarios.Sala("Chica", 30));
+        // El profesor 200 solo puede el martes
+        List<PlanificadorHorarios.Profesor> profesores = List.of(
+                new PlanificadorHorarios.Profesor(200L, HorarioSemanal.parsear("Martes 08:00-12:00")),
+                new PlanificadorHorarios.Profesor(300L, null));
+
+        PlanificadorHorarios.Resultado resultado = new PlanificadorHorarios(BLOQUES, 1, Duration.ofSeconds(5))
+                .resolver(secciones, salas, profesores);
+
+        assertTrue(resultado.sinAsignar().isEmpty());
+        assertFalse(resultado.tiempoAgotado());
+        Map<Long, PlanificadorHorarios.Asignacion> porId = new HashMap<>();
+        resultado.asignaciones().forEach(a -> porId.put(a.ejecucionId(), a));
+
+        assertEquals("Grande", porId.get(1L).sala());
+        assertEquals(100L, porId.get(2L).profesorId());
+        assertEquals(100L, porId.get(3L).profesorId());
+        for (PlanificadorHorarios.Asignacion asignacion : resultado.asignaciones()) {
+            if (asignacion.profesorId() == 200L) {
+                assertEquals(2, asignacion.bloque());
+            }
+        }
+        verificarSinChoques(resultado.asignaciones(), BLOQUES);
+    }
+
+    @Test
+    void testResolver_InformaLoQueNoCabe() {
+        // Una sola sala y bloques del lunes que se traslapan: solo cabe una sección por bloque real
+        List<PlanificadorHorarios.Seccion> secciones = List.of(
+                new PlanificadorHorarios.Seccion(1, 20, 100L),
+                new PlanificadorHorarios.Seccion(2, 20, 101L),
+                new PlanificadorHorarios.Seccion(3, 20, 102L),
+                new PlanificadorHorarios.Seccion(4, 50, 103L));
+
+        PlanificadorHorarios.Resultado resultado = new PlanificadorHorarios(BLOQUES, 1, Duration.ofSeconds(5))
+                .resolver(secciones, List.of(new PlanificadorHorarios.Sala("Única", 30)), List.of());
+
+        // Lunes (uno de los dos bloques) y martes; la de 50 no cabe en la sala
+        assertEquals(2, resultado.asignaciones().size());
+        assertTrue(resultado.sinAsignar().contains(4L));
+        verificarSinChoques(resultado.asignaciones(), BLOQUES);
+    }
+
+    @Test
+    void testResolver_EnParaleloSinChoques() {
+        List<PlanificadorHorarios.Seccion> secciones = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            secciones.add(new PlanificadorHorarios.Seccion(i, 20 + (i % 5) * 10, i % 3 == 0 ? null : (long) (i % 150)));
+        }
+        List<PlanificadorHorarios.Sala> salas = new ArrayList<>();
+        for (int s = 0; s < 40; s++) {
+            salas.add(new PlanificadorHorarios.Sala("S" + s, 30 + (s % 4) * 20));
+        }
+        List<PlanificadorHorarios.Profesor> profesores = new ArrayList<>();
+        for (long p = 1000; p < 1100; p++) {
+            profesores.add(new PlanificadorHorarios.Profesor(p, null));
+        }
+        List<HorarioSemanal> bloques = new ArrayList<>();
+        for (String dias : List.of("Lunes y Miércoles", "Martes y Jueves", "Viernes")) {
+            for (int hora = 8; hora < 20; hora += 2) {
+                bloques.add(HorarioSemanal.parsear(String.format("%s %02d:00-%02d:30", dias, hora, hora + 1)));
+            }
+        }
+
+        PlanificadorHorarios.Resultado resultado = new PlanificadorHorarios(bloques, 4, Duration.ofSeconds(10))
+                .resolver(secciones, salas, profesores);
+
+        assertEquals(600, resultado.asignaciones().size() + resultado.sinAsignar().size());
+        assertTrue(resultado.sinAsignar().isEmpty());
+        verificarSinChoques(resultado.asignaciones(), bloques);
+    }
+
+    private void verificarSinChoques(List<PlanificadorHorarios.Asignacion> asignaciones, List<HorarioSemanal> bloques) {
+        for (int i = 0; i < asignaciones.size(); i++) {
+            for (int j = i + 1; j < asignaciones.size(); j++) {
+                PlanificadorHorarios.Asignacion a = asignaciones.get(i);
+                PlanificadorHorarios.Asignacion b = asignaciones.get(j);
+                if (bloques.get(a.bloque()).seTraslapaCon(bloques.get(b.bloque()))) {
+                    assertNotEquals(a.sala(), b.sala(), "Choque de sala entre " + a + " y " + b);
+                    assertNotEquals(a.profesorId(), b.profesorId(), "Choque de profesor entre " + a + " y " + b);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.edutech.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class RuedaTemporizadoraTest {
+
+    @Test
+    void testVencimientos_RespetanEsperaYCancelaciones() throws Exception {
+        Set<Integer> vencidas = ConcurrentHashMap.newKeySet();
+        RuedaTemporizadora<Integer> rueda = new RuedaTemporizadora<>("rueda-prueba", Duration.ofMillis(10), 8, vencidas::add);
+        try {
+            rueda.programar(1, Duration.ofMillis(30));
+            // Más de una vuelta completa de la rueda (8 ranuras x 10 ms)
+            rueda.programar(2, Duration.ofMillis(250));
+            rueda.programar(3, Duration.ofMillis(30));
+            rueda.cancelar(3);
+            rueda.programar(4, Duration.ofSeconds(30));
+
+            Thread.sleep(150);
+            assertEquals(Set.of(1), vencidas);
+
+            Thread.sleep(300);
+            assertEquals(Set.of(1, 2), vencidas);
+            assertEquals(1, rueda.obtenerProgramadas());
+        } finally {
+            rueda.detener();
+        }
+    }
+
+    @Test
+    void testDecenasDeMilesDeVencimientos() throws Exception {
+        int total = 50_000;
+        CountDownLatch pendientes = new CountDownLatch(total);
+        RuedaTemporizadora<Integer> rueda = new RuedaTemporizadora<>("rueda-carga", Duration.ofMillis(10), 512,
+                clave -> pendientes.countDown());
+        try {
+            for (int i = 0; i < total; i++) {
+                rueda.programar(i, Duration.ofMillis(i % 500));
+            }
+            assertTrue(pendientes.await(10, TimeUnit.SECONDS));
+            assertEquals(0, rueda.obtenerProgramadas());
+        } finally {
+            rueda.detener();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.edutech.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+class SimilitudCursosTest {
+
+    // Persona 1..4 toman 10 y 20; 1..2 también 30; 3 toma 40; la 5 solo 10
+    private static final long[] PERSONAS = {1, 1, 1, 2, 2, 2, 3, 3, 3, 4, 4, 5, 1};
+    private static final long[] CURSOS = {10, 20, 30, 10, 20, 30, 10, 20, 40, 10, 20, 10, 10};
+
+    @Test
+    void testSimilares_OrdenadosPorCoseno() {
+        SimilitudCursos similitud = new SimilitudCursos(PERSONAS, CURSOS, PERSONAS.length, 5, 2);
+
+        assertEquals(4, similitud.cantidadCursos());
+        assertEquals(5, similitud.cantidadPersonas());
+        assertEquals(12, similitud.cantidadPares());
+
+        List<SimilitudCursos.Recomendacion> similares = similitud.similares(10, 5);
+        assertEquals(List.of(20L, 30L), similares.stream().map(SimilitudCursos.Recomendacion::cursoId).toList());
+        assertEquals(4 / Math.sqrt(5 * 4), similares.get(0).puntaje(), 1e-6);
+        assertEquals(4, similares.get(0).coinscritos());
+        // 40 comparte una sola persona con 10 y 20: no alcanza el mínimo de co-inscritos
+        assertTrue(similitud.similares(40, 5).isEmpty());
+        assertEquals(1, similitud.similares(30, 1).size());
+        assertTrue(similitud.similares(99, 5).isEmpty());
+    }
+
+    @Test
+    void testRecomendar_OmiteCursosTomados() {
+        SimilitudCursos similitud = new SimilitudCursos(PERSONAS, CURSOS, PERSONAS.length, 5, 1);
+
+        List<SimilitudCursos.Recomendacion> recomendados = similitud.recomendar(4, 5);
+        assertEquals(List.of(30L), recomendados.stream().map(SimilitudCursos.Recomendacion::cursoId).toList());
+        assertEquals(4, recomendados.get(0).coinscritos());
+        assertEquals(List.of(20L, 30L), similitud.recomendar(5, 5).stream().map(SimilitudCursos.Recomendacion::cursoId).toList());
+        assertTrue(similitud.recomendar(1, 5).isEmpty());
+        assertTrue(similitud.recomendar(99, 5).isEmpty());
+    }
+
+    @Test
+    void testConstruir_SinParesYParametrosInvalidos() {
+        SimilitudCursos vacia = new SimilitudCursos(new long[0], new long[0], 0, 5, 2);
+        assertEquals(0, vacia.cantidadCursos());
+        assertTrue(vacia.similares(1, 5).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new SimilitudCursos(PERSONAS, CURSOS, PERSONAS.length, 0, 1));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testConstruir_UnMillonDeInscripciones() {
+        int programas = 100;
+        int cursosPorPrograma = 30;
+        int personas = 125_000;
+        int cursosPorPersona = 8;
+        Random random = new Random(23);
+        long[] personaDe = new long[personas * cursosPorPersona];
+        long[] cursoDe = new long[personas * cursosPorPersona];
+        int n = 0;
+        for (int p = 0; p < personas; p++) {
+            int programa = random.nextInt(programas);
+            for (int c = 0; c < cursosPorPersona; c++) {
+                // La mayoría de los cursos son del programa de la persona; algunos electivos de cualquiera
+                int curso = random.nextInt(10) < 8
+                        ? programa * cursosPorPrograma + random.nextInt(cursosPorPrograma)
+                        : random.nextInt(programas * cursosPorPrograma);
+                personaDe[n] = 1_000_000L + p;
+                cursoDe[n] = curso;
+                n++;
+            }
+        }
+
+        long inicio = System.nanoTime();
+        SimilitudCursos similitud = new SimilitudCursos(personaDe, cursoDe, n, 20,
+                Runtime.getRuntime().availableProcessors());
+        long milisegundos = (System.nanoTime() - inicio) / 1_000_000;
+
+        assertEquals(programas * cursosPorPrograma, similitud.cantidadCursos());
+        assertTrue(milisegundos < 60_000);
+        // Los vecinos de un curso son sobre todo cursos de su mismo programa
+        List<SimilitudCursos.Recomendacion> similares = similitud.similares(0, 20);
+        assertEquals(20, similares.size());
+        assertTrue(similares.stream().filter(r -> r.cursoId() < cursosPorPrograma).count() >= 15);
+        assertEquals(10, similitud.recomendar(1_000_000L, 10).size());
+    }
+}
@@ -0,0 +1,29 @@
+package com.edutech.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class TextoBusquedaTest {
+
+    @Test
+    void testPalabras_SinTildesNiPalabrasVacias() {
+        assertEquals(List.of("introduccion", "programacion"), TextoBusqueda.palabras("Introducción a la Programación"));
+        assertEquals(List.of("inf", "101"), TextoBusqueda.palabras("INF-101"));
+        assertTrue(TextoBusqueda.palabras(null).isEmpty());
+    }
+
+    @Test
+    void testRaiz_UneVariantes() {
+        String programa = TextoBusqueda.raiz("programacion");
+        assertEquals(programa, TextoBusqueda.raiz("programas"));
+        assertEquals(programa, TextoBusqueda.raiz("programar"));
+        assertEquals(TextoBusqueda.raiz("matematicas"), TextoBusqueda.raiz("matematico"));
+        assertEquals(TextoBusqueda.raiz("datos"), TextoBusqueda.raiz("dato"));
+        assertEquals(TextoBusqueda.raiz("redes"), TextoBusqueda.raiz("red"));
+        // Los códigos no se recortan
+        assertEquals("inf101", TextoBusqueda.raiz("inf101"));
+    }
+}